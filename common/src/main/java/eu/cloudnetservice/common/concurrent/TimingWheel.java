@@ -0,0 +1,231 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.common.concurrent;
+
+import com.google.common.base.Preconditions;
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.Logger;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.LockSupport;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * A hashed timing wheel which executes scheduled timeouts with a precision of one tick. Scheduling and cancelling a
+ * timeout are both constant time operations which makes this wheel suitable for a large amount of timeouts which are
+ * cancelled most of the time before they expire (for example query timeouts). All timeout tasks are executed on the
+ * single worker thread of the wheel, therefore tasks should be short-living and must not block.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class TimingWheel {
+
+  private static final Logger LOGGER = LogManager.logger(TimingWheel.class);
+  private static final TimingWheel DEFAULT_WHEEL = new TimingWheel("Timing-Wheel", Duration.ofMillis(100), 512);
+
+  private final int mask;
+  private final long tickNanos;
+  private final long startNanos;
+
+  private final Queue<Timeout>[] buckets;
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+
+  // only accessed by the worker thread
+  private long currentTick;
+
+  /**
+   * Constructs a new timing wheel and starts the associated worker thread.
+   *
+   * @param threadName    the name of the worker thread of the wheel.
+   * @param tickDuration  the duration of one tick of the wheel, timeouts are executed with this precision.
+   * @param ticksPerWheel the amount of buckets in the wheel, will be rounded up to the next power of two.
+   * @throws NullPointerException     if the given thread name or tick duration is null.
+   * @throws IllegalArgumentException if the tick duration or ticks per wheel is not positive.
+   */
+  @SuppressWarnings("unchecked")
+  public TimingWheel(@NonNull String threadName, @NonNull Duration tickDuration, int ticksPerWheel) {
+    Preconditions.checkArgument(ticksPerWheel > 0, "ticks per wheel must be positive");
+    Preconditions.checkArgument(!tickDuration.isNegative() && !tickDuration.isZero(), "tick duration must be positive");
+
+    // round the wheel size to the next power of two to allow masking instead of modulo operations
+    var wheelSize = Integer.highestOneBit(ticksPerWheel - 1) << 1;
+    wheelSize = Math.max(1, wheelSize);
+
+    this.mask = wheelSize - 1;
+    this.tickNanos = tickDuration.toNanos();
+    this.startNanos = System.nanoTime();
+
+    this.buckets = new Queue[wheelSize];
+    for (var i = 0; i < wheelSize; i++) {
+      this.buckets[i] = new ArrayDeque<>();
+    }
+
+    // start the worker thread
+    var workerThread = new Thread(this::runWorker, threadName);
+    workerThread.setDaemon(true);
+    workerThread.start();
+  }
+
+  /**
+   * Get the jvm-wide default timing wheel which has a precision of 100 milliseconds.
+   *
+   * @return the jvm-wide default timing wheel.
+   */
+  public static @NonNull TimingWheel defaultWheel() {
+    return DEFAULT_WHEEL;
+  }
+
+  /**
+   * Schedules the given task to be executed once the given delay elapsed. The task is executed on the worker thread of
+   * this wheel and should therefore not block.
+   *
+   * @param delay the delay after which the given task should get executed.
+   * @param task  the task to execute once the delay elapsed.
+   * @return a handle to the scheduled timeout which can be used to cancel the execution.
+   * @throws NullPointerException if the given delay or task is null.
+   */
+  public @NonNull Timeout schedule(@NonNull Duration delay, @NonNull Runnable task) {
+    var deadline = System.nanoTime() - this.startNanos + Math.max(0, delay.toNanos());
+    var timeout = new Timeout(deadline, task);
+
+    // the timeout gets moved into the correct bucket by the worker thread during the next tick
+    this.pendingTimeouts.add(timeout);
+    return timeout;
+  }
+
+  /**
+   * The main loop of the worker thread, waiting for the next tick and expiring all timeouts of the current bucket.
+   */
+  private void runWorker() {
+    while (true) {
+      // wait until the next tick is reached
+      var tickDeadline = this.tickNanos * (this.currentTick + 1);
+      var sleepNanos = tickDeadline - (System.nanoTime() - this.startNanos);
+      if (sleepNanos > 0) {
+        LockSupport.parkNanos(this, sleepNanos);
+        continue;
+      }
+
+      // move all pending timeouts into their buckets & expire the timeouts of the current bucket
+      this.transferPendingTimeouts();
+      this.expireTimeouts(this.buckets[(int) (this.currentTick & this.mask)]);
+
+      this.currentTick++;
+    }
+  }
+
+  /**
+   * Moves all timeouts which were scheduled since the last tick into their target bucket.
+   */
+  private void transferPendingTimeouts() {
+    Timeout timeout;
+    while ((timeout = this.pendingTimeouts.poll()) != null) {
+      // skip timeouts which were cancelled before even being added to a bucket
+      if (timeout.cancelled()) {
+        continue;
+      }
+
+      // calculate the tick in which the timeout expires and the wheel rounds to wait before
+      var expirationTick = Math.max(timeout.deadline / this.tickNanos, this.currentTick);
+      timeout.remainingRounds = (expirationTick - this.currentTick) / this.buckets.length;
+      this.buckets[(int) (expirationTick & this.mask)].add(timeout);
+    }
+  }
+
+  /**
+   * Expires all timeouts in the given bucket which reached their deadline, removing cancelled timeouts on the way.
+   *
+   * @param bucket the bucket to expire the timeouts of.
+   */
+  private void expireTimeouts(@NonNull Queue<Timeout> bucket) {
+    var iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      var timeout = iterator.next();
+      if (timeout.cancelled()) {
+        iterator.remove();
+      } else if (timeout.remainingRounds <= 0) {
+        iterator.remove();
+        timeout.expire();
+      } else {
+        timeout.remainingRounds--;
+      }
+    }
+  }
+
+  /**
+   * A handle to a scheduled timeout of a timing wheel.
+   *
+   * @since 4.0
+   */
+  public static final class Timeout {
+
+    private final long deadline;
+    private volatile Runnable task;
+
+    // only accessed by the worker thread
+    private long remainingRounds;
+
+    /**
+     * Constructs a new timeout instance.
+     *
+     * @param deadline the deadline of the timeout, relative to the start of the wheel.
+     * @param task     the task to execute when the timeout expires.
+     * @throws NullPointerException if the given task is null.
+     */
+    private Timeout(long deadline, @NonNull Runnable task) {
+      this.deadline = deadline;
+      this.task = task;
+    }
+
+    /**
+     * Cancels this timeout, the associated task will not get executed if it was not executed yet.
+     */
+    public void cancel() {
+      // release the task reference to allow garbage collection before the bucket of the timeout is visited
+      this.task = null;
+    }
+
+    /**
+     * Get if this timeout was either cancelled or already expired.
+     *
+     * @return true if this timeout was cancelled or expired, false otherwise.
+     */
+    public boolean cancelled() {
+      return this.task == null;
+    }
+
+    /**
+     * Expires this timeout, executing the associated task if the timeout was not cancelled.
+     */
+    private void expire() {
+      var task = this.task;
+      if (task != null) {
+        this.task = null;
+        try {
+          task.run();
+        } catch (Exception exception) {
+          // don't let the task kill the worker thread
+          LOGGER.severe("Exception while executing timeout task", exception);
+        }
+      }
+    }
+  }
+}
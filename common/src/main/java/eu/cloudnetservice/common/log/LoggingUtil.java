@@ -29,6 +29,12 @@
  */
 public final class LoggingUtil {
 
+  private static final int INITIAL_FORMAT_BUFFER_CAPACITY = 256;
+  private static final int MAX_FORMAT_BUFFER_CAPACITY = 1 << 16;
+
+  // the format buffer which is reusable by the current thread, null while the buffer is in use
+  private static final ThreadLocal<StringBuilder> FORMAT_BUFFER = new ThreadLocal<>();
+
   private LoggingUtil() {
     throw new UnsupportedOperationException();
   }
@@ -66,6 +72,38 @@ public static void removeHandlers(@NonNull Logger logger) {
     }
   }
 
+  /**
+   * Acquires a cleared string builder which can be used to format a log record. The builder is reused for the next
+   * record formatted by the current thread once it was released using {@link #releaseFormatBuffer(StringBuilder)}.
+   * Acquiring a buffer while the buffer of the current thread is in use (for example when a record is logged while
+   * formatting another record) returns a new builder.
+   *
+   * @return a cleared string builder to format a log record into.
+   */
+  public static @NonNull StringBuilder acquireFormatBuffer() {
+    var buffer = FORMAT_BUFFER.get();
+    if (buffer == null) {
+      return new StringBuilder(INITIAL_FORMAT_BUFFER_CAPACITY);
+    }
+
+    FORMAT_BUFFER.set(null);
+    return buffer;
+  }
+
+  /**
+   * Releases the given format buffer, allowing it to be reused by the current thread. Buffers which grew too large
+   * while formatting (for example because of a long stack trace) are not reused to not keep the memory allocated.
+   *
+   * @param buffer the buffer to release.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  public static void releaseFormatBuffer(@NonNull StringBuilder buffer) {
+    if (buffer.capacity() <= MAX_FORMAT_BUFFER_CAPACITY) {
+      buffer.setLength(0);
+      FORMAT_BUFFER.set(buffer);
+    }
+  }
+
   /**
    * Prints the throwable of the log record into the given string builder. If the given record has no associated
    * exception set this method does nothing.
@@ -58,16 +58,21 @@ private DefaultLogFormatter(boolean closeWithLineSeparator) {
    */
   @Override
   public @NonNull String format(@NonNull LogRecord record) {
-    var builder = new StringBuilder()
-      .append('[')
-      .append(DATE_TIME_FORMATTER.format(record.getInstant().atZone(ZoneId.systemDefault())))
-      .append("] ")
-      .append(record.getLevel().getLocalizedName())
-      .append(": ")
-      .append(super.formatMessage(record))
-      .append(this.closeWithLineSeparator ? System.lineSeparator() : "");
-    LoggingUtil.printStackTraceInto(builder, record);
+    var builder = LoggingUtil.acquireFormatBuffer();
+    try {
+      builder.append('[');
+      DATE_TIME_FORMATTER.formatTo(record.getInstant().atZone(ZoneId.systemDefault()), builder);
+      builder
+        .append("] ")
+        .append(record.getLevel().getLocalizedName())
+        .append(": ")
+        .append(super.formatMessage(record))
+        .append(this.closeWithLineSeparator ? System.lineSeparator() : "");
+      LoggingUtil.printStackTraceInto(builder, record);
 
-    return builder.toString();
+      return builder.toString();
+    } finally {
+      LoggingUtil.releaseFormatBuffer(builder);
+    }
   }
 }
@@ -0,0 +1,428 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.common.log.defaults;
+
+import com.google.common.base.Preconditions;
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.LogRecordDispatcher;
+import eu.cloudnetservice.common.log.Logger;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A log record dispatcher which dispatches requested log records on a single thread, using a bounded lock-free ring
+ * buffer to pass the records from the logging threads to the dispatcher thread. The dispatcher thread drains the buffer
+ * in batches and only parks if the buffer is empty.
+ * <p>
+ * If the buffer is full (for example because a service spams errors faster than they can be written) the configured
+ * overflow policy decides what happens with the record. Records with a level of {@link Level#WARNING} or higher are
+ * never dropped, the logging thread waits for space in the buffer instead. The amount of dropped records is counted
+ * and reported as a warning once the dispatcher was able to catch up.
+ *
+ * @since 4.0
+ */
+public final class RingBufferLogRecordDispatcher extends Thread implements LogRecordDispatcher {
+
+  public static final String THREAD_NAME_FORMAT = "Log record dispatcher %s";
+
+  private static final Logger LOGGER = LogManager.logger(RingBufferLogRecordDispatcher.class);
+
+  public static final int DEFAULT_CAPACITY = Integer.getInteger("cloudnet.log.dispatcher.capacity", 8192);
+  public static final int DEFAULT_SAMPLE_RATE = Integer.getInteger("cloudnet.log.dispatcher.sample-rate", 100);
+  public static final OverflowPolicy DEFAULT_OVERFLOW_POLICY = RingBufferLogRecordDispatcher.readOverflowPolicy(
+    System.getProperty("cloudnet.log.dispatcher.overflow-policy"));
+
+  private static final int MAX_BATCH_SIZE = 256;
+  private static final long BLOCK_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(50);
+
+  private final Logger logger;
+  private final OverflowPolicy overflowPolicy;
+  private final int sampleRate;
+
+  // the ring buffer, each slot has a sequence which indicates if the slot is writable or readable
+  private final int mask;
+  private final AtomicReferenceArray<LogRecord> slots;
+  private final AtomicLongArray sequences;
+  private final AtomicLong producerIndex = new AtomicLong();
+  private long consumerIndex;
+
+  private final LongAdder dispatchedRecords = new LongAdder();
+  private final LongAdder droppedRecords = new LongAdder();
+  private final LongAdder blockedRecords = new LongAdder();
+  private final AtomicLong overflowedRecords = new AtomicLong();
+
+  private long reportedDroppedRecords;
+  private volatile boolean waiting;
+
+  /**
+   * Constructs a new ring buffer log record dispatcher instance. This automatically starts the thread.
+   *
+   * @param logger         the logger to which log records should get logged.
+   * @param threadName     the name of the thread to use.
+   * @param capacity       the capacity of the ring buffer, rounded up to the next power of two.
+   * @param overflowPolicy the policy to apply when the ring buffer is full.
+   * @param sampleRate     the rate in which records are kept when sampling, every n-th overflowing record is kept.
+   * @throws NullPointerException     if the given logger, thread name or overflow policy is null.
+   * @throws IllegalArgumentException if the given capacity or sample rate is not positive.
+   */
+  private RingBufferLogRecordDispatcher(
+    @NonNull Logger logger,
+    @NonNull String threadName,
+    int capacity,
+    @NonNull OverflowPolicy overflowPolicy,
+    int sampleRate
+  ) {
+    super(threadName);
+    Preconditions.checkArgument(capacity > 0 && capacity <= 1 << 30, "capacity must be in range 1 to 2^30");
+    Preconditions.checkArgument(sampleRate > 0, "sample rate must be positive");
+
+    this.setDaemon(true);
+    this.setPriority(Thread.MIN_PRIORITY);
+
+    this.logger = logger;
+    this.overflowPolicy = overflowPolicy;
+    this.sampleRate = sampleRate;
+
+    var size = capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+    this.mask = size - 1;
+    this.slots = new AtomicReferenceArray<>(size);
+    this.sequences = new AtomicLongArray(size);
+    for (var index = 0; index < size; index++) {
+      this.sequences.set(index, index);
+    }
+
+    this.start();
+  }
+
+  /**
+   * Creates a new ring buffer log record dispatcher instance using the given logger as the target and formatting the
+   * default thread name format using the given loggers name. The capacity and overflow policy of the dispatcher are
+   * read from the system properties, falling back to a capacity of 8192 records and sampling every 100th overflowing
+   * record below the warning level.
+   *
+   * @param logger the logger this dispatcher should pump requests to.
+   * @return a new ring buffer log record dispatcher instance.
+   * @throws NullPointerException if the given logger is null.
+   */
+  public static @NonNull RingBufferLogRecordDispatcher forLogger(@NonNull Logger logger) {
+    return RingBufferLogRecordDispatcher.newInstance(
+      logger,
+      String.format(THREAD_NAME_FORMAT, logger.getName()),
+      DEFAULT_CAPACITY,
+      DEFAULT_OVERFLOW_POLICY,
+      DEFAULT_SAMPLE_RATE);
+  }
+
+  /**
+   * Creates a new ring buffer log record dispatcher instance using the given logger as the target and the given
+   * settings.
+   *
+   * @param logger         the logger this dispatcher should pump requests to.
+   * @param threadName     the name of the dispatcher thread to use.
+   * @param capacity       the capacity of the ring buffer, rounded up to the next power of two.
+   * @param overflowPolicy the policy to apply when the ring buffer is full.
+   * @param sampleRate     the rate in which records are kept when sampling, every n-th overflowing record is kept.
+   * @return a new ring buffer log record dispatcher instance.
+   * @throws NullPointerException     if the given logger, thread name or overflow policy is null.
+   * @throws IllegalArgumentException if the given capacity or sample rate is not positive.
+   */
+  public static @NonNull RingBufferLogRecordDispatcher newInstance(
+    @NonNull Logger logger,
+    @NonNull String threadName,
+    int capacity,
+    @NonNull OverflowPolicy overflowPolicy,
+    int sampleRate
+  ) {
+    return new RingBufferLogRecordDispatcher(logger, threadName, capacity, overflowPolicy, sampleRate);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void dispatchRecord(@NonNull Logger logger, @NonNull LogRecord record) {
+    if (super.isInterrupted()) {
+      return;
+    }
+
+    // records logged while handling a record (for example by a handler) can't wait for the dispatcher thread
+    if (Thread.currentThread() == this) {
+      this.dispatch(record);
+      return;
+    }
+
+    if (!this.offer(record)) {
+      // warnings and errors are never dropped, they are usually what one is looking for when the buffer overflows
+      var important = record.getLevel().intValue() >= Level.WARNING.intValue();
+      switch (important ? OverflowPolicy.BLOCK : this.overflowPolicy) {
+        case BLOCK -> this.offerBlocking(record);
+        case DROP -> this.droppedRecords.increment();
+        case SAMPLE -> {
+          if (this.overflowedRecords.getAndIncrement() % this.sampleRate == 0) {
+            this.offerBlocking(record);
+          } else {
+            this.droppedRecords.increment();
+          }
+        }
+        default -> throw new IllegalStateException("Unhandled overflow policy " + this.overflowPolicy);
+      }
+    }
+
+    // wake up the dispatcher thread if it's waiting for records
+    if (this.waiting) {
+      LockSupport.unpark(this);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void run() {
+    while (!super.isInterrupted()) {
+      if (this.drainBatch() == 0) {
+        // re-check after announcing that we're waiting, a record might have been added in the meantime
+        this.waiting = true;
+        if (this.empty()) {
+          LockSupport.park(this);
+        }
+        this.waiting = false;
+      }
+    }
+    // log all waiting records now
+    while (this.drainBatch() > 0) {
+      // drain until the buffer is empty
+    }
+    // reset the interrupted state of the thread
+    Thread.currentThread().interrupt();
+  }
+
+  /**
+   * Get the policy which is applied when the ring buffer of this dispatcher is full.
+   *
+   * @return the overflow policy of this dispatcher.
+   */
+  public @NonNull OverflowPolicy overflowPolicy() {
+    return this.overflowPolicy;
+  }
+
+  /**
+   * Get the capacity of the ring buffer of this dispatcher.
+   *
+   * @return the capacity of the ring buffer of this dispatcher.
+   */
+  public int capacity() {
+    return this.mask + 1;
+  }
+
+  /**
+   * Get the amount of records which were dispatched to the logger by this dispatcher.
+   *
+   * @return the amount of dispatched records.
+   */
+  public long dispatchedRecords() {
+    return this.dispatchedRecords.sum();
+  }
+
+  /**
+   * Get the amount of records which were dropped because the ring buffer was full.
+   *
+   * @return the amount of dropped records.
+   */
+  public long droppedRecords() {
+    return this.droppedRecords.sum();
+  }
+
+  /**
+   * Get the amount of records for which the logging thread had to wait because the ring buffer was full.
+   *
+   * @return the amount of records for which the logging thread was blocked.
+   */
+  public long blockedRecords() {
+    return this.blockedRecords.sum();
+  }
+
+  /**
+   * Parses the given overflow policy name, falling back to the sample policy if no name is given or the given name
+   * doesn't match any overflow policy.
+   *
+   * @param policyName the name of the overflow policy to parse, can be null.
+   * @return the overflow policy with the given name or the sample policy.
+   */
+  static @NonNull OverflowPolicy readOverflowPolicy(@Nullable String policyName) {
+    if (policyName != null) {
+      try {
+        return OverflowPolicy.valueOf(policyName.trim().toUpperCase(Locale.ROOT));
+      } catch (IllegalArgumentException exception) {
+        LOGGER.warning(
+          "Unknown log record dispatcher overflow policy %s, falling back to %s",
+          null,
+          policyName,
+          OverflowPolicy.SAMPLE);
+      }
+    }
+    return OverflowPolicy.SAMPLE;
+  }
+
+  /**
+   * Tries to add the given record to the ring buffer.
+   *
+   * @param record the record to add.
+   * @return true if the record was added, false if the ring buffer is full.
+   * @throws NullPointerException if the given record is null.
+   */
+  private boolean offer(@NonNull LogRecord record) {
+    while (true) {
+      var position = this.producerIndex.get();
+      var index = (int) (position & this.mask);
+      var difference = this.sequences.get(index) - position;
+      if (difference == 0) {
+        // the slot is free, try to claim it
+        if (this.producerIndex.compareAndSet(position, position + 1)) {
+          this.slots.set(index, record);
+          this.sequences.set(index, position + 1);
+          return true;
+        }
+      } else if (difference < 0) {
+        // the slot was not consumed yet, the buffer is full
+        return false;
+      }
+      // another producer claimed the slot in the meantime, retry
+    }
+  }
+
+  /**
+   * Adds the given record to the ring buffer, waiting until there is space available in the buffer.
+   *
+   * @param record the record to add.
+   * @throws NullPointerException if the given record is null.
+   */
+  private void offerBlocking(@NonNull LogRecord record) {
+    this.blockedRecords.increment();
+    while (!this.offer(record)) {
+      // the record can't be dispatched anymore if the dispatcher was stopped
+      if (super.isInterrupted()) {
+        this.droppedRecords.increment();
+        return;
+      }
+
+      // make sure the dispatcher thread is draining while we're waiting
+      LockSupport.unpark(this);
+      LockSupport.parkNanos(this, BLOCK_PARK_NANOS);
+    }
+  }
+
+  /**
+   * Dispatches up to {@code MAX_BATCH_SIZE} records from the ring buffer to the logger. This method must only be called
+   * from the dispatcher thread.
+   *
+   * @return the amount of dispatched records.
+   */
+  private int drainBatch() {
+    var drained = 0;
+    while (drained < MAX_BATCH_SIZE) {
+      var index = (int) (this.consumerIndex & this.mask);
+      if (this.sequences.get(index) != this.consumerIndex + 1) {
+        break;
+      }
+
+      // free the slot for the next round of the producers
+      var record = this.slots.get(index);
+      this.slots.set(index, null);
+      this.sequences.set(index, this.consumerIndex + this.mask + 1);
+      this.consumerIndex++;
+
+      this.dispatch(record);
+      drained++;
+    }
+
+    this.reportDroppedRecords();
+    return drained;
+  }
+
+  /**
+   * Reports the records which were dropped since the last report as a warning.
+   */
+  private void reportDroppedRecords() {
+    var droppedRecords = this.droppedRecords.sum();
+    if (droppedRecords != this.reportedDroppedRecords) {
+      var record = new LogRecord(
+        Level.WARNING,
+        "Dropped {0} log records because they were logged faster than they could be written");
+      record.setParameters(new Object[]{droppedRecords - this.reportedDroppedRecords});
+      record.setLoggerName(this.logger.getName());
+
+      this.reportedDroppedRecords = droppedRecords;
+      this.dispatch(record);
+    }
+  }
+
+  /**
+   * Get if the ring buffer is empty. This method must only be called from the dispatcher thread.
+   *
+   * @return true if the ring buffer is empty, false otherwise.
+   */
+  private boolean empty() {
+    var index = (int) (this.consumerIndex & this.mask);
+    return this.sequences.get(index) != this.consumerIndex + 1;
+  }
+
+  /**
+   * Dispatches the given record to the logger of this dispatcher.
+   *
+   * @param record the record to dispatch.
+   * @throws NullPointerException if the given record is null.
+   */
+  private void dispatch(@NonNull LogRecord record) {
+    this.dispatchedRecords.increment();
+    this.logger.forceLog(record);
+  }
+
+  /**
+   * The policies which can be applied when a record is dispatched while the ring buffer of the dispatcher is full.
+   *
+   * @since 4.0
+   */
+  public enum OverflowPolicy {
+
+    /**
+     * Waits until space is available in the ring buffer. No records are lost, but logging threads are slowed down to
+     * the speed of the dispatcher.
+     */
+    BLOCK,
+    /**
+     * Drops the record. Logging threads are not slowed down by records below the warning level, but all of these
+     * records are lost while the buffer is full.
+     */
+    DROP,
+    /**
+     * Keeps every n-th overflowing record (waiting until space is available in the ring buffer for it) and drops all
+     * other records below the warning level. Logging threads are slowed down slightly, but some records are still
+     * written while the buffer is full.
+     */
+    SAMPLE
+  }
+}
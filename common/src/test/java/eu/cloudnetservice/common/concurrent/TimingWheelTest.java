@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.common.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+public class TimingWheelTest {
+
+  @Test
+  @Timeout(10)
+  void testTimeoutExpires() throws InterruptedException {
+    var wheel = new TimingWheel("Test-Timing-Wheel", Duration.ofMillis(10), 8);
+    var latch = new CountDownLatch(2);
+
+    // one timeout which expires in the first round of the wheel, one which needs multiple rounds
+    var startTime = System.nanoTime();
+    wheel.schedule(Duration.ofMillis(20), latch::countDown);
+    wheel.schedule(Duration.ofMillis(250), latch::countDown);
+
+    Assertions.assertTrue(latch.await(5, TimeUnit.SECONDS));
+    Assertions.assertTrue(System.nanoTime() - startTime >= TimeUnit.MILLISECONDS.toNanos(250));
+  }
+
+  @Test
+  @Timeout(10)
+  void testCancelledTimeoutDoesNotExpire() throws InterruptedException {
+    var wheel = new TimingWheel("Test-Timing-Wheel", Duration.ofMillis(10), 8);
+    var executed = new AtomicBoolean();
+
+    var timeout = wheel.schedule(Duration.ofMillis(50), () -> executed.set(true));
+    Assertions.assertFalse(timeout.cancelled());
+
+    timeout.cancel();
+    Assertions.assertTrue(timeout.cancelled());
+
+    Thread.sleep(200);
+    Assertions.assertFalse(executed.get());
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.common.log.defaults;
+
+import eu.cloudnetservice.common.log.LogRecordDispatcher;
+import eu.cloudnetservice.common.log.Logger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+public class RingBufferLogRecordDispatcherTest {
+
+  @Test
+  @Timeout(20)
+  void testRecordsAreDispatchedInOrder() throws InterruptedException {
+    var recordCount = 10_000;
+    var latch = new CountDownLatch(recordCount);
+    List<String> messages = Collections.synchronizedList(new ArrayList<>());
+
+    var logger = new HandlingLogger(record -> {
+      messages.add(record.getMessage());
+      latch.countDown();
+    });
+    var dispatcher = RingBufferLogRecordDispatcher.newInstance(
+      logger,
+      "Test-Log-Dispatcher",
+      64,
+      RingBufferLogRecordDispatcher.OverflowPolicy.BLOCK,
+      1);
+
+    try {
+      for (var index = 0; index < recordCount; index++) {
+        dispatcher.dispatchRecord(logger, new LogRecord(Level.INFO, Integer.toString(index)));
+      }
+
+      Assertions.assertTrue(latch.await(10, TimeUnit.SECONDS));
+      Assertions.assertEquals(0, dispatcher.droppedRecords());
+      for (var index = 0; index < recordCount; index++) {
+        Assertions.assertEquals(Integer.toString(index), messages.get(index));
+      }
+    } finally {
+      dispatcher.interrupt();
+    }
+  }
+
+  @Test
+  @Timeout(20)
+  void testDroppedRecordsAreCountedAndReported() throws InterruptedException {
+    var entered = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+
+    // blocks the dispatcher thread on the first record to fill up the buffer
+    var logger = new HandlingLogger(record -> {
+      records.add(record);
+      if (entered.getCount() > 0) {
+        entered.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    var dispatcher = RingBufferLogRecordDispatcher.newInstance(
+      logger,
+      "Test-Log-Dispatcher",
+      4,
+      RingBufferLogRecordDispatcher.OverflowPolicy.DROP,
+      1);
+
+    try {
+      dispatcher.dispatchRecord(logger, new LogRecord(Level.INFO, "0"));
+      Assertions.assertTrue(entered.await(10, TimeUnit.SECONDS));
+
+      // 4 records fit into the buffer, all other records are dropped
+      for (var index = 1; index <= 20; index++) {
+        dispatcher.dispatchRecord(logger, new LogRecord(Level.INFO, Integer.toString(index)));
+      }
+      Assertions.assertEquals(16, dispatcher.droppedRecords());
+
+      release.countDown();
+      while (records.size() < 6) {
+        Thread.sleep(10);
+      }
+
+      // the first record, the 4 buffered records and the report of the dropped records
+      Assertions.assertEquals(6, records.size());
+      Assertions.assertEquals("4", records.get(4).getMessage());
+      Assertions.assertEquals(Level.WARNING, records.get(5).getLevel());
+      Assertions.assertEquals(16L, records.get(5).getParameters()[0]);
+    } finally {
+      dispatcher.interrupt();
+    }
+  }
+
+  @Test
+  @Timeout(20)
+  void testWarningsAreNeverDropped() throws InterruptedException {
+    var entered = new CountDownLatch(1);
+    var release = new CountDownLatch(1);
+    List<LogRecord> records = Collections.synchronizedList(new ArrayList<>());
+
+    // blocks the dispatcher thread on the first record to fill up the buffer
+    var logger = new HandlingLogger(record -> {
+      records.add(record);
+      if (entered.getCount() > 0) {
+        entered.countDown();
+        try {
+          release.await();
+        } catch (InterruptedException exception) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    });
+    var dispatcher = RingBufferLogRecordDispatcher.newInstance(
+      logger,
+      "Test-Log-Dispatcher",
+      4,
+      RingBufferLogRecordDispatcher.OverflowPolicy.DROP,
+      1);
+
+    try {
+      dispatcher.dispatchRecord(logger, new LogRecord(Level.INFO, "0"));
+      Assertions.assertTrue(entered.await(10, TimeUnit.SECONDS));
+      for (var index = 1; index <= 4; index++) {
+        dispatcher.dispatchRecord(logger, new LogRecord(Level.INFO, Integer.toString(index)));
+      }
+
+      // the buffer is full, the error must wait for space instead of being dropped
+      var producer = new Thread(() -> dispatcher.dispatchRecord(logger, new LogRecord(Level.SEVERE, "error")));
+      producer.start();
+      dispatcher.dispatchRecord(logger, new LogRecord(Level.INFO, "dropped"));
+
+      release.countDown();
+      producer.join();
+      while (records.size() < 7) {
+        Thread.sleep(10);
+      }
+
+      Assertions.assertEquals(1, dispatcher.droppedRecords());
+      Assertions.assertTrue(records.stream().anyMatch(record -> record.getMessage().equals("error")));
+      Assertions.assertTrue(records.stream().noneMatch(record -> record.getMessage().equals("dropped")));
+    } finally {
+      dispatcher.interrupt();
+    }
+  }
+
+  @Test
+  void testOverflowPolicyParsing() {
+    Assertions.assertEquals(
+      RingBufferLogRecordDispatcher.OverflowPolicy.SAMPLE,
+      RingBufferLogRecordDispatcher.readOverflowPolicy(null));
+    Assertions.assertEquals(
+      RingBufferLogRecordDispatcher.OverflowPolicy.BLOCK,
+      RingBufferLogRecordDispatcher.readOverflowPolicy(" block "));
+    Assertions.assertEquals(
+      RingBufferLogRecordDispatcher.OverflowPolicy.SAMPLE,
+      RingBufferLogRecordDispatcher.readOverflowPolicy("unknown"));
+  }
+
+  @Test
+  @Timeout(120)
+  @EnabledIfSystemProperty(named = "cloudnet.log.benchmark", matches = "true")
+  void benchmarkDispatchers() throws InterruptedException {
+    var producers = 4;
+    var recordsPerProducer = 1_000_000;
+
+    for (var round = 0; round < 3; round++) {
+      var threadedLatch = new CountDownLatch(producers * recordsPerProducer);
+      var threadedLogger = new HandlingLogger($ -> threadedLatch.countDown());
+      var threaded = ThreadedLogRecordDispatcher.forLogger(threadedLogger);
+      var threadedRate = this.measure(threaded, threadedLogger, threadedLatch, producers, recordsPerProducer);
+      threaded.interrupt();
+
+      var ringBufferLatch = new CountDownLatch(producers * recordsPerProducer);
+      var ringBufferLogger = new HandlingLogger($ -> ringBufferLatch.countDown());
+      var ringBuffer = RingBufferLogRecordDispatcher.newInstance(
+        ringBufferLogger,
+        "Test-Log-Dispatcher",
+        RingBufferLogRecordDispatcher.DEFAULT_CAPACITY,
+        RingBufferLogRecordDispatcher.OverflowPolicy.BLOCK,
+        1);
+      var ringBufferRate = this.measure(ringBuffer, ringBufferLogger, ringBufferLatch, producers, recordsPerProducer);
+      ringBuffer.interrupt();
+
+      System.out.printf(
+        "Round %d: threaded dispatcher %,d records/s, ring buffer dispatcher %,d records/s%n",
+        round,
+        threadedRate,
+        ringBufferRate);
+    }
+  }
+
+  private long measure(
+    LogRecordDispatcher dispatcher,
+    Logger logger,
+    CountDownLatch latch,
+    int producers,
+    int recordsPerProducer
+  ) throws InterruptedException {
+    var startTime = System.nanoTime();
+    for (var producer = 0; producer < producers; producer++) {
+      var thread = new Thread(() -> {
+        var record = new LogRecord(Level.INFO, "Benchmark");
+        for (var index = 0; index < recordsPerProducer; index++) {
+          dispatcher.dispatchRecord(logger, record);
+        }
+      });
+      thread.start();
+    }
+
+    latch.await();
+    var elapsedNanos = System.nanoTime() - startTime;
+    return (long) producers * recordsPerProducer * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+  }
+
+  private static final class HandlingLogger extends Logger {
+
+    private final Consumer<LogRecord> handler;
+
+    public HandlingLogger(Consumer<LogRecord> handler) {
+      super("test", null);
+      this.handler = handler;
+    }
+
+    @Override
+    public void forceLog(LogRecord logRecord) {
+      this.handler.accept(logRecord);
+    }
+
+    @Override
+    public LogRecordDispatcher logRecordDispatcher() {
+      return null;
+    }
+
+    @Override
+    public void logRecordDispatcher(LogRecordDispatcher dispatcher) {
+    }
+  }
+}
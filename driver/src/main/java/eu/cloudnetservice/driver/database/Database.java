@@ -66,6 +66,17 @@ public interface Database extends Named, AutoCloseable {
    */
   boolean insert(@NonNull String key, @NonNull Document document);
 
+  /**
+   * Associates each given key with the given document in the database, overriding the documents of keys which already
+   * exist. Implementations write all documents in one bulk operation if possible, which is much faster than inserting
+   * each document on its own.
+   *
+   * @param documents the key-document pairs to insert into the database.
+   * @return true if all documents were associated with their key successfully, false otherwise.
+   * @throws NullPointerException if the given document map is null.
+   */
+  boolean insertAll(@NonNull Map<String, Document> documents);
+
   /**
    * Tests whether a document is associated with the given key.
    *
@@ -84,6 +95,16 @@ public interface Database extends Named, AutoCloseable {
    */
   boolean delete(@NonNull String key);
 
+  /**
+   * Removes all given keys and their associated documents from the database. Implementations remove all keys in one
+   * bulk operation if possible, which is much faster than removing each key on its own.
+   *
+   * @param keys the keys to remove.
+   * @return the amount of keys which were removed from the database.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  long deleteAll(@NonNull Collection<String> keys);
+
   /**
    * Gets the associated document with the given key from the database. If the returned document is null than there is
    * no document associated with the given key.
@@ -179,6 +200,23 @@ public interface Database extends Named, AutoCloseable {
     return Task.supply(() -> this.insert(key, document));
   }
 
+  /**
+   * Associates each given key with the given document in the database, overriding the documents of keys which already
+   * exist. Implementations write all documents in one bulk operation if possible, which is much faster than inserting
+   * each document on its own.
+   * <p>
+   * The returned future, if completed successfully, completes with true to indicate that all documents were written
+   * into the database successfully. Will be completed with false if the data wasn't written without specifying a
+   * reason.
+   *
+   * @param documents the key-document pairs to insert into the database.
+   * @return a future completed with the write operation status.
+   * @throws NullPointerException if the given document map is null.
+   */
+  default @NonNull Task<Boolean> insertAllAsync(@NonNull Map<String, Document> documents) {
+    return Task.supply(() -> this.insertAll(documents));
+  }
+
   /**
    * Tests whether a document is associated with the given key.
    * <p>
@@ -209,6 +247,21 @@ public interface Database extends Named, AutoCloseable {
     return Task.supply(() -> this.delete(key));
   }
 
+  /**
+   * Removes all given keys and their associated documents from the database. Implementations remove all keys in one
+   * bulk operation if possible, which is much faster than removing each key on its own.
+   * <p>
+   * The returned future, if completed successfully, completes with the amount of keys which were removed from the
+   * database.
+   *
+   * @param keys the keys to remove.
+   * @return a future completed with the amount of removed keys.
+   * @throws NullPointerException if the given key collection is null.
+   */
+  default @NonNull Task<Long> deleteAllAsync(@NonNull Collection<String> keys) {
+    return Task.supply(() -> this.deleteAll(keys));
+  }
+
   /**
    * Gets the associated document with the given key from the database. If the returned document is null than there is
    * no document associated with the given key.
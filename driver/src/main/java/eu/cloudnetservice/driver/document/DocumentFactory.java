@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.document;
 
+import eu.cloudnetservice.driver.document.gson.BinaryDocumentFactory;
 import eu.cloudnetservice.driver.document.gson.GsonDocumentFactory;
 import eu.cloudnetservice.driver.document.send.DocumentSend;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
@@ -42,6 +43,16 @@ public interface DocumentFactory {
     return GsonDocumentFactory.INSTANCE;
   }
 
+  /**
+   * Gets the jvm static document factory for binary documents. Binary documents provide the same functionality as json
+   * documents, but are encoded in a compact binary format when written to streams, files or buffers.
+   *
+   * @return the jvm static document factory for binary documents.
+   */
+  static @NonNull DocumentFactory binary() {
+    return BinaryDocumentFactory.INSTANCE;
+  }
+
   /**
    * Get the name of the format that this factory produces documents for.
    *
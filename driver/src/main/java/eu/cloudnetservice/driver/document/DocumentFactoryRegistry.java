@@ -26,6 +26,7 @@
  * following standard factories are registered:
  * <ol>
  *   <li>json
+ *   <li>binary
  *   <li>empty
  * </ol>
  * <p>
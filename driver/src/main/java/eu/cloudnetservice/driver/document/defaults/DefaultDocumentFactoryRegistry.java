@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.driver.document.DocumentFactoryRegistry;
 import eu.cloudnetservice.driver.document.empty.EmptyDocumentFactory;
+import eu.cloudnetservice.driver.document.gson.BinaryDocumentFactory;
 import eu.cloudnetservice.driver.document.gson.GsonDocumentFactory;
 import jakarta.inject.Singleton;
 import java.util.Collection;
@@ -44,10 +45,11 @@ final class DefaultDocumentFactoryRegistry implements DocumentFactoryRegistry {
 
   /**
    * Sealed constructor as this constructor should only get accessed from the injector. The constructor auto registers
-   * the json and empty document factory.
+   * the json, binary and empty document factory.
    */
   private DefaultDocumentFactoryRegistry() {
     this.registeredFactories.put("json", GsonDocumentFactory.INSTANCE);
+    this.registeredFactories.put("binary", BinaryDocumentFactory.INSTANCE);
     this.registeredFactories.put("empty", EmptyDocumentFactory.INSTANCE);
   }
 
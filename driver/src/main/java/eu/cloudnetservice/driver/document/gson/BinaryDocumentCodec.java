@@ -0,0 +1,360 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.document.gson;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes json objects into the binary document format and decodes them again. The binary format starts with a magic
+ * byte (which is never the first byte of a json document) and the format version, followed by the root object. Each
+ * element is written as a type byte followed by the value of the element. Objects and arrays are prefixed with their
+ * size, strings with their length. All lengths and integral numbers are written as variable length integers.
+ * <p>
+ * Strings (keys and values) are interned per document: the first occurrence of a string is written in full and gets
+ * the next index in the string table, all following occurrences only write the index of the string.
+ *
+ * @since 4.0
+ */
+final class BinaryDocumentCodec {
+
+  static final byte MAGIC = (byte) 0xCB;
+  static final byte VERSION = 1;
+
+  private static final byte TYPE_NULL = 0;
+  private static final byte TYPE_TRUE = 1;
+  private static final byte TYPE_FALSE = 2;
+  private static final byte TYPE_INTEGER = 3;
+  private static final byte TYPE_FLOAT = 4;
+  private static final byte TYPE_DOUBLE = 5;
+  private static final byte TYPE_NUMBER = 6;
+  private static final byte TYPE_STRING = 7;
+  private static final byte TYPE_ARRAY = 8;
+  private static final byte TYPE_OBJECT = 9;
+
+  private BinaryDocumentCodec() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Get if the given data starts with the header of the binary document format.
+   *
+   * @param data the data to check.
+   * @return true if the given data starts with the binary document header, false otherwise.
+   */
+  static boolean binaryDocument(byte[] data) {
+    return data.length >= 2 && data[0] == MAGIC;
+  }
+
+  /**
+   * Encodes the given json object into a new byte array.
+   *
+   * @param object the object to encode.
+   * @return the encoded object.
+   * @throws NullPointerException if the given object is null.
+   */
+  static byte[] encode(@NonNull JsonObject object) {
+    var stream = new ByteArrayOutputStream();
+    try {
+      encode(object, stream);
+    } catch (IOException exception) {
+      throw new AssertionError("ByteArrayOutputStream threw an IOException", exception);
+    }
+    return stream.toByteArray();
+  }
+
+  /**
+   * Encodes the given json object into the given stream. The stream is not closed by this method.
+   *
+   * @param object the object to encode.
+   * @param stream the stream to write the encoded object to.
+   * @throws IOException          if an i/o error occurs while writing to the stream.
+   * @throws NullPointerException if the given object or stream is null.
+   */
+  static void encode(@NonNull JsonObject object, @NonNull OutputStream stream) throws IOException {
+    var output = new DataOutputStream(stream);
+    output.writeByte(MAGIC);
+    output.writeByte(VERSION);
+    new Encoder(output).writeObject(object);
+    output.flush();
+  }
+
+  /**
+   * Decodes a json object from the given stream. The stream is not closed by this method.
+   *
+   * @param stream the stream to read the object from.
+   * @return the decoded json object.
+   * @throws IOException          if an i/o error occurs or the data is not a binary document.
+   * @throws NullPointerException if the given stream is null.
+   */
+  static @NonNull JsonObject decode(@NonNull InputStream stream) throws IOException {
+    var input = new DataInputStream(stream);
+    if (input.readByte() != MAGIC) {
+      throw new IOException("Data is not a binary document");
+    }
+
+    var version = input.readByte();
+    if (version != VERSION) {
+      throw new IOException("Unsupported binary document version " + version);
+    }
+
+    return new Decoder(input).readObject();
+  }
+
+  private static @Nullable Long parseIntegral(@NonNull String representation) {
+    try {
+      return Long.parseLong(representation);
+    } catch (NumberFormatException exception) {
+      return null;
+    }
+  }
+
+  private static void writeRawString(@NonNull DataOutput output, @NonNull String string) throws IOException {
+    var bytes = string.getBytes(StandardCharsets.UTF_8);
+    writeVarInt(output, bytes.length);
+    output.write(bytes);
+  }
+
+  private static @NonNull String readRawString(@NonNull DataInputStream input) throws IOException {
+    var length = readVarInt(input);
+    if (length <= input.available()) {
+      var bytes = new byte[length];
+      input.readFully(bytes);
+      return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // the length can't be trusted if it exceeds the known remaining input, only allocate what is actually readable
+    var bytes = input.readNBytes(length);
+    if (bytes.length != length) {
+      throw new EOFException("String length " + length + " exceeds the remaining input of " + bytes.length + " bytes");
+    }
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeVarInt(@NonNull DataOutput output, int value) throws IOException {
+    while ((value & ~0x7F) != 0) {
+      output.writeByte((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    output.writeByte(value);
+  }
+
+  private static int readVarInt(@NonNull DataInput input) throws IOException {
+    var value = 0;
+    for (var shift = 0; shift < 32; shift += 7) {
+      var current = input.readByte();
+      value |= (current & 0x7F) << shift;
+      if ((current & 0x80) == 0) {
+        if (value < 0) {
+          throw new IOException("Negative length " + value);
+        }
+        return value;
+      }
+    }
+    throw new IOException("VarInt is too big");
+  }
+
+  private static void writeVarLong(@NonNull DataOutput output, long value) throws IOException {
+    // zig-zag encode the value to write small negative values in a few bytes as well
+    var encoded = (value << 1) ^ (value >> 63);
+    while ((encoded & ~0x7FL) != 0) {
+      output.writeByte((int) ((encoded & 0x7F) | 0x80));
+      encoded >>>= 7;
+    }
+    output.writeByte((int) encoded);
+  }
+
+  private static long readVarLong(@NonNull DataInput input) throws IOException {
+    var encoded = 0L;
+    for (var shift = 0; shift < 64; shift += 7) {
+      var current = input.readByte();
+      encoded |= (long) (current & 0x7F) << shift;
+      if ((current & 0x80) == 0) {
+        return (encoded >>> 1) ^ -(encoded & 1);
+      }
+    }
+    throw new IOException("VarLong is too big");
+  }
+
+  /**
+   * The encoder for a single document, holding the string table of the document.
+   *
+   * @since 4.0
+   */
+  private static final class Encoder {
+
+    private final DataOutput output;
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    private Encoder(@NonNull DataOutput output) {
+      this.output = output;
+    }
+
+    private void writeElement(@NonNull JsonElement element) throws IOException {
+      if (element.isJsonObject()) {
+        this.output.writeByte(TYPE_OBJECT);
+        this.writeObject(element.getAsJsonObject());
+      } else if (element.isJsonArray()) {
+        var array = element.getAsJsonArray();
+        this.output.writeByte(TYPE_ARRAY);
+        writeVarInt(this.output, array.size());
+        for (var entry : array) {
+          this.writeElement(entry);
+        }
+      } else if (element.isJsonPrimitive()) {
+        this.writePrimitive(element.getAsJsonPrimitive());
+      } else {
+        this.output.writeByte(TYPE_NULL);
+      }
+    }
+
+    private void writeObject(@NonNull JsonObject object) throws IOException {
+      writeVarInt(this.output, object.size());
+      for (var entry : object.entrySet()) {
+        this.writeString(entry.getKey());
+        this.writeElement(entry.getValue());
+      }
+    }
+
+    private void writePrimitive(@NonNull JsonPrimitive primitive) throws IOException {
+      if (primitive.isBoolean()) {
+        this.output.writeByte(primitive.getAsBoolean() ? TYPE_TRUE : TYPE_FALSE);
+      } else if (primitive.isString()) {
+        this.output.writeByte(TYPE_STRING);
+        this.writeString(primitive.getAsString());
+      } else {
+        var number = primitive.getAsNumber();
+        if (number instanceof Integer || number instanceof Long || number instanceof Short || number instanceof Byte) {
+          this.output.writeByte(TYPE_INTEGER);
+          writeVarLong(this.output, number.longValue());
+        } else if (number instanceof Double) {
+          this.output.writeByte(TYPE_DOUBLE);
+          this.output.writeDouble(number.doubleValue());
+        } else if (number instanceof Float) {
+          this.output.writeByte(TYPE_FLOAT);
+          this.output.writeFloat(number.floatValue());
+        } else {
+          // numbers parsed from json (or big numbers) are only known by their string representation
+          var representation = number.toString();
+          var integral = parseIntegral(representation);
+          if (integral != null) {
+            this.output.writeByte(TYPE_INTEGER);
+            writeVarLong(this.output, integral);
+          } else {
+            this.output.writeByte(TYPE_NUMBER);
+            writeRawString(this.output, representation);
+          }
+        }
+      }
+    }
+
+    private void writeString(@NonNull String string) throws IOException {
+      var index = this.strings.get(string);
+      if (index != null) {
+        writeVarInt(this.output, index + 1);
+      } else {
+        // 0 indicates that the string follows and gets the next index in the string table
+        writeVarInt(this.output, 0);
+        writeRawString(this.output, string);
+        this.strings.put(string, this.strings.size());
+      }
+    }
+  }
+
+  /**
+   * The decoder for a single document, holding the string table of the document.
+   *
+   * @since 4.0
+   */
+  private static final class Decoder {
+
+    private final DataInputStream input;
+    private final List<String> strings = new ArrayList<>();
+
+    private Decoder(@NonNull DataInputStream input) {
+      this.input = input;
+    }
+
+    private @NonNull JsonElement readElement() throws IOException {
+      var type = this.input.readByte();
+      return switch (type) {
+        case TYPE_NULL -> JsonNull.INSTANCE;
+        case TYPE_TRUE -> new JsonPrimitive(true);
+        case TYPE_FALSE -> new JsonPrimitive(false);
+        case TYPE_INTEGER -> new JsonPrimitive(readVarLong(this.input));
+        case TYPE_FLOAT -> new JsonPrimitive(this.input.readFloat());
+        case TYPE_DOUBLE -> new JsonPrimitive(this.input.readDouble());
+        case TYPE_NUMBER -> new JsonPrimitive(new BigDecimal(readRawString(this.input)));
+        case TYPE_STRING -> new JsonPrimitive(this.readString());
+        case TYPE_ARRAY -> {
+          var size = readVarInt(this.input);
+          var array = new JsonArray();
+          for (var index = 0; index < size; index++) {
+            array.add(this.readElement());
+          }
+          yield array;
+        }
+        case TYPE_OBJECT -> this.readObject();
+        default -> throw new IOException("Unknown element type " + type);
+      };
+    }
+
+    private @NonNull JsonObject readObject() throws IOException {
+      var size = readVarInt(this.input);
+      var object = new JsonObject();
+      for (var index = 0; index < size; index++) {
+        var key = this.readString();
+        object.add(key, this.readElement());
+      }
+      return object;
+    }
+
+    private @NonNull String readString() throws IOException {
+      var reference = readVarInt(this.input);
+      if (reference == 0) {
+        var string = readRawString(this.input);
+        this.strings.add(string);
+        return string;
+      }
+
+      if (reference > this.strings.size()) {
+        throw new IOException("Invalid string reference " + reference);
+      }
+      return this.strings.get(reference - 1);
+    }
+  }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.document.gson;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.document.DocumentParseException;
+import eu.cloudnetservice.driver.document.send.DocumentSend;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A document factory for documents in a compact binary format. The documents have the same features as json documents
+ * (and are backed by gson as well), but are written to streams, files and buffers in a binary format in which each
+ * element is prefixed by its type and strings are interned per document. Parsing a binary document is considerably
+ * faster than parsing the same document from json, and the encoded document is smaller. The format name of this
+ * factory is {@code binary}.
+ * <p>
+ * Parsing a document from a string or reader expects json, as the binary format can't be represented as text.
+ *
+ * @since 4.0
+ */
+public final class BinaryDocumentFactory implements DocumentFactory {
+
+  /**
+   * The name of the format produced by this factory.
+   */
+  public static final String FORMAT_NAME = "binary";
+
+  /**
+   * The singleton instance of this document factory. External api users should not depend on this field and use
+   * {@link DocumentFactory#binary()} instead.
+   */
+  public static final DocumentFactory INSTANCE = new BinaryDocumentFactory();
+
+  /**
+   * Sealed constructor as there should only be one singleton binary document factory.
+   */
+  private BinaryDocumentFactory() {
+  }
+
+  /**
+   * Get if the given data starts with the header of the binary document format. This can be used to decide which
+   * factory should be used to parse data which might be in either the json or the binary format.
+   *
+   * @param data the data to check.
+   * @return true if the given data is in the binary document format, false otherwise.
+   */
+  public static boolean binaryDocument(byte[] data) {
+    return BinaryDocumentCodec.binaryDocument(data);
+  }
+
+  /**
+   * Encodes the given document into the binary document format. Documents backed by gson are encoded directly from
+   * their json tree, all other documents are sent into a binary document first.
+   *
+   * @param document the document to encode.
+   * @return the given document encoded in the binary document format.
+   * @throws NullPointerException if the given document is null.
+   */
+  public static byte[] encode(@NonNull Document document) {
+    if (document instanceof ImmutableGsonDocument gsonDocument) {
+      return BinaryDocumentCodec.encode(gsonDocument.internalObject());
+    }
+
+    var binaryDocument = new MutableBinaryGsonDocument();
+    binaryDocument.receive(document.send());
+    return BinaryDocumentCodec.encode(binaryDocument.internalObject());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String formatName() {
+    return FORMAT_NAME;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable parse(byte[] data) {
+    return this.parse(new ByteArrayInputStream(data));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable parse(@NonNull Path path) {
+    if (Files.exists(path) && Files.isRegularFile(path)) {
+      try (var stream = new BufferedInputStream(Files.newInputStream(path))) {
+        return this.parse(stream);
+      } catch (IOException exception) {
+        throw new DocumentParseException("Unable to parse document from path " + path, exception);
+      }
+    }
+
+    // in case that the file does not exist just return an empty document
+    return this.newDocument();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable parse(@NonNull String data) {
+    try (var reader = new StringReader(data)) {
+      return this.parse(reader);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable parse(@NonNull Reader reader) {
+    try {
+      var element = JsonParser.parseReader(reader);
+      return element.isJsonObject() ? new MutableBinaryGsonDocument(element.getAsJsonObject()) : this.newDocument();
+    } catch (JsonParseException exception) {
+      throw new DocumentParseException(exception);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable parse(@NonNull InputStream stream) {
+    try {
+      return new MutableBinaryGsonDocument(BinaryDocumentCodec.decode(stream));
+    } catch (IOException exception) {
+      throw new DocumentParseException(exception);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable parse(@NonNull DataBuf dataBuf) {
+    return this.parse(dataBuf.readByteArray());
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable newDocument() {
+    return new MutableBinaryGsonDocument();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable newDocument(@Nullable Object wrapped) {
+    var element = GsonProvider.NORMAL_GSON_INSTANCE.toJsonTree(wrapped);
+    return element.isJsonObject() ? new MutableBinaryGsonDocument(element.getAsJsonObject()) : this.newDocument();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable newDocument(@NonNull String key, @Nullable Object value) {
+    var object = new JsonObject();
+    object.add(key, GsonProvider.NORMAL_GSON_INSTANCE.toJsonTree(value));
+    return new MutableBinaryGsonDocument(object);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable receive(@NonNull DocumentSend send) {
+    return this.newDocument().receive(send);
+  }
+}
@@ -58,14 +58,14 @@ public void write(@NonNull JsonWriter out, @Nullable Document value) throws IOEx
 
     // check if the document is already in json form
     if (value instanceof ImmutableGsonDocument gsonDocument) {
-      this.jsonElementTypeAdapter.write(out, gsonDocument.internalObject);
+      this.jsonElementTypeAdapter.write(out, gsonDocument.internalObject());
       return;
     }
 
     // convert the document to json
     var targetDocument = new MutableGsonDocument();
     targetDocument.receive(value.send());
-    this.jsonElementTypeAdapter.write(out, targetDocument.internalObject);
+    this.jsonElementTypeAdapter.write(out, targetDocument.internalObject());
   }
 
   /**
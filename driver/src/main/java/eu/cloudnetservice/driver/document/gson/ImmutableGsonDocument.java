@@ -55,6 +55,11 @@
 
 /**
  * Immutable version of a gson document implementing the full document functionality.
+ * <p>
+ * Json elements held by a gson document are never modified in place, with the exception of the root object of a
+ * mutable document which is not shared with any other document. Copies and nested documents can therefore share the
+ * json elements with the document they were created from instead of copying them. A mutable document copies its root
+ * object before the first modification if the object is shared (copy-on-write).
  *
  * @since 4.0
  */
@@ -83,6 +88,16 @@ public ImmutableGsonDocument() {
     this.internalObject = internalObject;
   }
 
+  /**
+   * Get the json object which currently holds the content of this document. Immutable documents always return the
+   * object given on construction, mutable documents might replace the object when they are modified.
+   *
+   * @return the json object which currently holds the content of this document.
+   */
+  protected @NonNull JsonObject internalObject() {
+    return this.internalObject;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -96,7 +111,7 @@ public ImmutableGsonDocument() {
    */
   @Override
   public boolean empty() {
-    return this.internalObject.isEmpty();
+    return this.internalObject().isEmpty();
   }
 
   /**
@@ -104,7 +119,7 @@ public boolean empty() {
    */
   @Override
   public int elementCount() {
-    return this.internalObject.size();
+    return this.internalObject().size();
   }
 
   /**
@@ -112,7 +127,7 @@ public int elementCount() {
    */
   @Override
   public boolean contains(@NonNull String key) {
-    return this.internalObject.has(key);
+    return this.internalObject().has(key);
   }
 
   /**
@@ -120,7 +135,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public @NonNull DocumentSend send() {
-    return GsonDocumentSend.fromJsonObject(this.internalObject);
+    return GsonDocumentSend.fromJsonObject(this.internalObject());
   }
 
   /**
@@ -128,8 +143,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public @NonNull Document immutableCopy() {
-    var objectCopy = this.internalObject.deepCopy();
-    return new ImmutableGsonDocument(objectCopy);
+    return this.newImmutableDocument(this.internalObject());
   }
 
   /**
@@ -137,8 +151,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public @NonNull Document.Mutable mutableCopy() {
-    var objectCopy = this.internalObject.deepCopy();
-    return new MutableGsonDocument(objectCopy);
+    return this.newMutableDocument(this.internalObject());
   }
 
   /**
@@ -146,7 +159,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public @Unmodifiable @NonNull Set<String> keys() {
-    return Set.copyOf(this.internalObject.keySet());
+    return Set.copyOf(this.internalObject().keySet());
   }
 
   /**
@@ -164,7 +177,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public <T> @UnknownNullability T toInstanceOf(@NonNull Type type) {
-    return GsonProvider.NORMAL_GSON_INSTANCE.fromJson(this.internalObject, type);
+    return GsonProvider.NORMAL_GSON_INSTANCE.fromJson(this.internalObject(), type);
   }
 
   /**
@@ -172,7 +185,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public <T> @UnknownNullability T toInstanceOf(@NonNull Class<T> type) {
-    return GsonProvider.NORMAL_GSON_INSTANCE.fromJson(this.internalObject, type);
+    return GsonProvider.NORMAL_GSON_INSTANCE.fromJson(this.internalObject(), type);
   }
 
   /**
@@ -188,7 +201,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public <T> @UnknownNullability T readObject(@NonNull String key, @NonNull Type type, @Nullable T def) {
-    var objectElement = this.internalObject.get(key);
+    var objectElement = this.internalObject().get(key);
     return objectElement == null ? def : GsonProvider.NORMAL_GSON_INSTANCE.fromJson(objectElement, type);
   }
 
@@ -197,7 +210,7 @@ public boolean contains(@NonNull String key) {
    */
   @Override
   public <T> @UnknownNullability T readObject(@NonNull String key, @NonNull Class<T> type, @Nullable T def) {
-    var objectElement = this.internalObject.get(key);
+    var objectElement = this.internalObject().get(key);
     return objectElement == null ? def : GsonProvider.NORMAL_GSON_INSTANCE.fromJson(objectElement, type);
   }
 
@@ -217,7 +230,7 @@ public boolean contains(@NonNull String key) {
     var documentElement = this.getElementSafe(key);
     if (documentElement.isJsonObject()) {
       var documentObject = documentElement.getAsJsonObject();
-      return new ImmutableGsonDocument(documentObject.deepCopy());
+      return this.newImmutableDocument(documentObject);
     } else {
       return def;
     }
@@ -231,7 +244,7 @@ public boolean contains(@NonNull String key) {
     var documentElement = this.getElementSafe(key);
     if (documentElement.isJsonObject()) {
       var documentObject = documentElement.getAsJsonObject();
-      return new MutableGsonDocument(documentObject.deepCopy());
+      return this.newMutableDocument(documentObject);
     } else {
       return def;
     }
@@ -323,6 +336,30 @@ public boolean getBoolean(@NonNull String key, boolean def) {
     return element.isJsonPrimitive() ? element.getAsJsonPrimitive() : null;
   }
 
+  /**
+   * Creates a new immutable document of the same format as this document, wrapping the given json object. The given
+   * object is not copied, it is shared with this document.
+   *
+   * @param object the json object to wrap.
+   * @return a new immutable document wrapping the given object.
+   * @throws NullPointerException if the given object is null.
+   */
+  protected @NonNull Document newImmutableDocument(@NonNull JsonObject object) {
+    return new ImmutableGsonDocument(object);
+  }
+
+  /**
+   * Creates a new mutable document of the same format as this document, wrapping the given json object. The given
+   * object is shared with this document, the created document copies it before it gets modified for the first time.
+   *
+   * @param object the json object to wrap.
+   * @return a new mutable document wrapping the given object.
+   * @throws NullPointerException if the given object is null.
+   */
+  protected @NonNull Document.Mutable newMutableDocument(@NonNull JsonObject object) {
+    return new MutableGsonDocument(object, true);
+  }
+
   /**
    * Internal helper method to safely read a json element from the underlying json object. In comparison to the
    * JsonObject.get(String) method, this method returns the jvm-static JsonNull instance if no element with the given
@@ -333,7 +370,7 @@ public boolean getBoolean(@NonNull String key, boolean def) {
    * @throws NullPointerException if the given key is null.
    */
   private @NonNull JsonElement getElementSafe(@NonNull String key) {
-    var element = this.internalObject.get(key);
+    var element = this.internalObject().get(key);
     return Objects.requireNonNullElse(element, JsonNull.INSTANCE);
   }
 
@@ -369,7 +406,7 @@ public void writeTo(@NonNull OutputStream stream, @NonNull SerialisationStyle st
   public void writeTo(@NonNull Appendable appendable, @NonNull SerialisationStyle style) {
     try {
       var serialisationGsonInstance = this.resolveSerialisationGsonInstance(style);
-      serialisationGsonInstance.toJson(this.internalObject, appendable);
+      serialisationGsonInstance.toJson(this.internalObject(), appendable);
     } catch (JsonIOException exception) {
       throw new DocumentSerialisationException(exception);
     }
@@ -391,7 +428,7 @@ public void writeTo(@NonNull DataBuf.Mutable dataBuf, @NonNull SerialisationStyl
   public @NonNull String serializeToString(@NonNull SerialisationStyle style) {
     try {
       var serialisationGsonInstance = this.resolveSerialisationGsonInstance(style);
-      return serialisationGsonInstance.toJson(this.internalObject);
+      return serialisationGsonInstance.toJson(this.internalObject());
     } catch (JsonIOException exception) {
       throw new DocumentSerialisationException(exception);
     }
@@ -436,7 +473,7 @@ public boolean equals(@Nullable Object other) {
     }
 
     if (other instanceof ImmutableGsonDocument document) {
-      return Objects.equals(this.internalObject, document.internalObject);
+      return Objects.equals(this.internalObject(), document.internalObject());
     }
 
     return false;
@@ -447,7 +484,7 @@ public boolean equals(@Nullable Object other) {
    */
   @Override
   public int hashCode() {
-    return Objects.hash(this.internalObject);
+    return Objects.hash(this.internalObject());
   }
 
   /**
@@ -489,7 +526,7 @@ private void readObject(@NonNull ObjectInputStream in) throws IOException {
     // clone the elements as they are freshly parsed and never shared anywhere.
     var object = parsedDocument.getAsJsonObject();
     for (var entry : object.entrySet()) {
-      this.internalObject.add(entry.getKey(), entry.getValue());
+      this.internalObject().add(entry.getKey(), entry.getValue());
     }
   }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.document.gson;
+
+import com.google.gson.JsonObject;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.document.SerialisationStyle;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import java.io.OutputStream;
+import java.io.Serial;
+import lombok.NonNull;
+
+/**
+ * Mutable version of a gson document which is serialized to streams and buffers in the binary document format. The
+ * serialisation style is ignored for the binary format. Serializing the document to a string or appendable still
+ * produces json.
+ *
+ * @since 4.0
+ */
+final class MutableBinaryGsonDocument extends MutableGsonDocument {
+
+  @Serial
+  private static final long serialVersionUID = 2617457452064927460L;
+
+  /**
+   * Constructs a new, empty binary gson document instance.
+   */
+  public MutableBinaryGsonDocument() {
+    this(new JsonObject());
+  }
+
+  /**
+   * Constructs a new binary gson document instance using the given initial internal object. Note that the given object
+   * is not copied, it is up to the caller to ensure no races or data leaks are created when using this constructor.
+   *
+   * @param internalObject the initial internal json object to use.
+   * @throws NullPointerException if the given internal object is null.
+   */
+  MutableBinaryGsonDocument(@NonNull JsonObject internalObject) {
+    super(internalObject);
+  }
+
+  /**
+   * Constructs a new binary gson document instance using the given initial internal object. If the given object is
+   * shared with other documents, it is copied before this document modifies it for the first time.
+   *
+   * @param internalObject the initial internal json object to use.
+   * @param shared         if the given object is shared with other documents.
+   * @throws NullPointerException if the given internal object is null.
+   */
+  MutableBinaryGsonDocument(@NonNull JsonObject internalObject, boolean shared) {
+    super(internalObject, shared);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull String factoryName() {
+    return BinaryDocumentFactory.FORMAT_NAME;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeTo(@NonNull OutputStream stream, @NonNull SerialisationStyle style) {
+    ImmutableBinaryGsonDocument.writeBinary(this.internalObject(), stream);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void writeTo(@NonNull DataBuf.Mutable dataBuf, @NonNull SerialisationStyle style) {
+    dataBuf.writeByteArray(BinaryDocumentCodec.encode(this.internalObject()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected @NonNull Document newImmutableDocument(@NonNull JsonObject object) {
+    return new ImmutableBinaryGsonDocument(object);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected @NonNull Document.Mutable newMutableDocument(@NonNull JsonObject object) {
+    return new MutableBinaryGsonDocument(object, true);
+  }
+}
@@ -30,7 +30,6 @@
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serial;
-import java.util.Set;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -39,13 +38,21 @@
  *
  * @since 4.0
  */
-final class MutableGsonDocument
+class MutableGsonDocument
   extends ImmutableGsonDocument
   implements Document.Mutable, DefaultedDocPropertyHolder.Mutable<Document.Mutable> {
 
   @Serial
   private static final long serialVersionUID = 4248891600084741117L;
 
+  // the object currently holding the content of this document, replaced when copying a shared object or clearing.
+  // the final object of the super class only holds the initial content of this document
+  private transient volatile JsonObject currentObject;
+  // true if the current object is shared with other documents and must be copied before modifying it. set from the
+  // thread creating a copy of this document, volatile so that a modifying thread sees it and doesn't modify the
+  // object in place which is now shared with the copy
+  private transient volatile boolean shared;
+
   /**
    * Constructs a new, empty gson document instance.
    */
@@ -61,7 +68,39 @@ public MutableGsonDocument() {
    * @throws NullPointerException if the given internal object is null.
    */
   MutableGsonDocument(@NonNull JsonObject internalObject) {
+    this(internalObject, false);
+  }
+
+  /**
+   * Constructs a new gson document instance using the given initial internal object. If the given object is shared
+   * with other documents, it is copied before this document modifies it for the first time.
+   *
+   * @param internalObject the initial internal json object to use.
+   * @param shared         if the given object is shared with other documents.
+   * @throws NullPointerException if the given internal object is null.
+   */
+  MutableGsonDocument(@NonNull JsonObject internalObject, boolean shared) {
     super(internalObject);
+    this.currentObject = internalObject;
+    this.shared = shared;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document immutableCopy() {
+    this.shared = true;
+    return super.immutableCopy();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Document.Mutable mutableCopy() {
+    this.shared = true;
+    return super.mutableCopy();
   }
 
   /**
@@ -69,10 +108,9 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable clear() {
-    var keys = Set.copyOf(this.internalObject.keySet());
-    for (var key : keys) {
-      this.internalObject.remove(key);
-    }
+    // no need to copy the shared object if all members get removed anyway
+    this.currentObject = new JsonObject();
+    this.shared = false;
     return this;
   }
 
@@ -81,7 +119,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable remove(@NonNull String key) {
-    this.internalObject.remove(key);
+    this.writableObject().remove(key);
     return this;
   }
 
@@ -90,7 +128,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable receive(@NonNull DocumentSend send) {
-    var visitor = new GsonRootObjectVisitor(this.internalObject);
+    var visitor = new GsonRootObjectVisitor(this.writableObject());
     send.rootElement().accept(visitor);
     return this;
   }
@@ -100,7 +138,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable appendNull(@NonNull String key) {
-    this.internalObject.add(key, JsonNull.INSTANCE);
+    this.writableObject().add(key, JsonNull.INSTANCE);
     return this;
   }
 
@@ -113,8 +151,9 @@ public MutableGsonDocument() {
     if (element.isJsonObject()) {
       // append all key-value pairs of the document
       var jsonObject = element.getAsJsonObject();
+      var targetObject = this.writableObject();
       for (var entry : jsonObject.entrySet()) {
-        this.internalObject.add(entry.getKey(), entry.getValue());
+        targetObject.add(entry.getKey(), entry.getValue());
       }
     }
 
@@ -136,7 +175,7 @@ public MutableGsonDocument() {
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable Object value) {
     var element = value == null ? JsonNull.INSTANCE : GsonProvider.NORMAL_GSON_INSTANCE.toJsonTree(value);
-    this.internalObject.add(key, element);
+    this.writableObject().add(key, element);
     return this;
   }
 
@@ -145,7 +184,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable Number value) {
-    this.internalObject.addProperty(key, value);
+    this.writableObject().addProperty(key, value);
     return this;
   }
 
@@ -154,7 +193,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable Boolean value) {
-    this.internalObject.addProperty(key, value);
+    this.writableObject().addProperty(key, value);
     return this;
   }
 
@@ -163,7 +202,7 @@ public MutableGsonDocument() {
    */
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable String value) {
-    this.internalObject.addProperty(key, value);
+    this.writableObject().addProperty(key, value);
     return this;
   }
 
@@ -173,13 +212,13 @@ public MutableGsonDocument() {
   @Override
   public @NonNull Document.Mutable append(@NonNull String key, @Nullable Document value) {
     if (value == null) {
-      this.internalObject.add(key, JsonNull.INSTANCE);
+      this.writableObject().add(key, JsonNull.INSTANCE);
       return this;
     }
 
     // put in a new object for the document
     var object = new JsonObject();
-    this.internalObject.add(key, object);
+    this.writableObject().add(key, object);
 
     // receive and convert the content of the document into this document
     var send = value.send();
@@ -197,6 +236,34 @@ public MutableGsonDocument() {
     return this;
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected @NonNull JsonObject internalObject() {
+    return this.currentObject;
+  }
+
+  /**
+   * Get the internal object of this document for modification. If the internal object is shared with other documents,
+   * the root object is copied first. Nested elements don't need to be copied as they are never modified in place.
+   *
+   * @return the internal object of this document which can be modified safely.
+   */
+  protected @NonNull JsonObject writableObject() {
+    if (this.shared) {
+      var objectCopy = new JsonObject();
+      for (var entry : this.currentObject.entrySet()) {
+        objectCopy.add(entry.getKey(), entry.getValue());
+      }
+
+      this.currentObject = objectCopy;
+      this.shared = false;
+    }
+
+    return this.currentObject;
+  }
+
   /**
    * Writes this document in a compact way to the given output stream. This method is part of the java serialisation
    * api.
@@ -227,7 +294,7 @@ private void readObject(@NonNull ObjectInputStream in) throws IOException {
     // put all elements of the parsed object into the internal object
     var object = parsedDocument.getAsJsonObject();
     for (var entry : object.entrySet()) {
-      this.internalObject.add(entry.getKey(), entry.getValue());
+      this.writableObject().add(entry.getKey(), entry.getValue());
     }
   }
 }
@@ -20,11 +20,13 @@
 import eu.cloudnetservice.driver.inject.InjectionLayer;
 import jakarta.inject.Singleton;
 import java.lang.reflect.Modifier;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -33,6 +35,11 @@
 
 /**
  * The default implementation of an event manager.
+ * <p>
+ * Listeners are dispatched from a lock-free cache holding the sorted listeners for each combination of event type and
+ * channel. The cached listeners include the listeners of all supertypes of the event type, meaning that a listener for
+ * an event type also receives all subtypes of that event. The cache is populated lazily when an event is called and
+ * invalidated each time a listener gets registered or unregistered.
  *
  * @since 4.0
  */
@@ -42,6 +49,8 @@ public class DefaultEventManager implements EventManager {
 
   protected final Lock bakeLock = new ReentrantLock(true);
   protected final Map<Class<?>, List<RegisteredEventListener>> listeners = new HashMap<>();
+  // event type -> channel -> sorted listeners, only populated and invalidated while holding the bake lock
+  protected final Map<Class<?>, Map<String, RegisteredEventListener[]>> bakedListeners = new ConcurrentHashMap<>();
 
   /**
    * {@inheritDoc}
@@ -69,25 +78,9 @@ public class DefaultEventManager implements EventManager {
    */
   @Override
   public <T extends Event> @NonNull T callEvent(@NonNull String channel, @NonNull T event) {
-    // get all registered listeners of the event
-    var listeners = this.listeners.get(event.getClass());
-    if (listeners != null && !listeners.isEmpty()) {
-      // check if there is only one listener
-      if (listeners.size() == 1) {
-        var listener = listeners.get(0);
-        // check if the event gets called on the same channel as the listener is listening to
-        if (listener.channel().equals(channel)) {
-          listener.fireEvent(event);
-        }
-      } else {
-        // post the event to the listeners
-        for (var listener : listeners) {
-          // check if the event gets called on the same channel as the listener is listening to
-          if (listener.channel().equals(channel)) {
-            listener.fireEvent(event);
-          }
-        }
-      }
+    // get all listeners for the event type which are listening to the given channel
+    for (var listener : this.bakedListeners(event.getClass(), channel)) {
+      listener.fireEvent(event);
     }
     // for chaining
     return event;
@@ -153,6 +146,8 @@ public class DefaultEventManager implements EventManager {
           listeners.add(eventListener);
           // sort now - we don't need to sort lather then
           Collections.sort(listeners);
+          // invalidate the baked listeners, they get re-baked on the next call
+          this.bakedListeners.clear();
         } finally {
           this.bakeLock.unlock();
         }
@@ -181,8 +176,66 @@ protected void safeRemove(@NonNull Predicate<RegisteredEventListener> predicate)
           iterator.remove();
         }
       }
+      // invalidate the baked listeners, this also drops event types of unloaded class loaders
+      this.bakedListeners.clear();
     } finally {
       this.bakeLock.unlock();
     }
   }
+
+  /**
+   * Get the sorted listeners for the given event type which are listening to the given channel. The listeners are
+   * served from the cache if already baked, without acquiring any lock.
+   *
+   * @param eventClass the type of event to get the listeners for.
+   * @param channel    the channel to get the listeners for.
+   * @return the sorted listeners for the given event type and channel.
+   * @throws NullPointerException if the given event class or channel is null.
+   */
+  protected @NonNull RegisteredEventListener[] bakedListeners(@NonNull Class<?> eventClass, @NonNull String channel) {
+    var channelListeners = this.bakedListeners.get(eventClass);
+    if (channelListeners != null) {
+      var listeners = channelListeners.get(channel);
+      if (listeners != null) {
+        return listeners;
+      }
+    }
+
+    // not baked yet, bake while holding the lock to prevent an invalidation in the meantime
+    this.bakeLock.lock();
+    try {
+      return this.bakedListeners
+        .computeIfAbsent(eventClass, $ -> new ConcurrentHashMap<>())
+        .computeIfAbsent(channel, $ -> this.bakeListeners(eventClass, channel));
+    } finally {
+      this.bakeLock.unlock();
+    }
+  }
+
+  /**
+   * Collects all listeners for the given event type or one of its supertypes which are listening to the given channel.
+   * This method must only be called while holding the bake lock.
+   *
+   * @param eventClass the type of event to collect the listeners for.
+   * @param channel    the channel to collect the listeners for.
+   * @return the sorted listeners for the given event type and channel.
+   * @throws NullPointerException if the given event class or channel is null.
+   */
+  protected @NonNull RegisteredEventListener[] bakeListeners(@NonNull Class<?> eventClass, @NonNull String channel) {
+    List<RegisteredEventListener> result = new ArrayList<>();
+    for (var entry : this.listeners.entrySet()) {
+      if (entry.getKey().isAssignableFrom(eventClass)) {
+        for (var listener : entry.getValue()) {
+          // check if the event gets called on the same channel as the listener is listening to
+          if (listener.channel().equals(channel)) {
+            result.add(listener);
+          }
+        }
+      }
+    }
+
+    // sort the listeners, the sort is stable which keeps the registration order for listeners of the same type
+    Collections.sort(result);
+    return result.toArray(RegisteredEventListener[]::new);
+  }
 }
@@ -17,8 +17,6 @@
 package eu.cloudnetservice.driver.event;
 
 import dev.derklaro.aerogel.Element;
-import dev.derklaro.reflexion.MethodAccessor;
-import dev.derklaro.reflexion.Reflexion;
 import eu.cloudnetservice.common.log.LogManager;
 import eu.cloudnetservice.common.log.Logger;
 import eu.cloudnetservice.driver.inject.InjectUtil;
@@ -41,7 +39,7 @@ final class DefaultRegisteredEventListener implements RegisteredEventListener {
 
   private final String methodName;
   private final Element[] methodArguments;
-  private final MethodAccessor<?> methodAccessor;
+  private final EventListenerInvoker invoker;
 
   private final InjectionLayer<?> injectionLayer;
 
@@ -70,8 +68,7 @@ final class DefaultRegisteredEventListener implements RegisteredEventListener {
     this.eventClass = targetMethod.getParameterTypes()[0];
 
     // method access
-    var reflexion = Reflexion.onBound(instance);
-    this.methodAccessor = reflexion.unreflect(targetMethod);
+    this.invoker = EventListenerInvokerGenerator.makeInvoker(targetMethod);
 
     // injection stuff, ignore the first element (the event itself)
     this.methodArguments = InjectUtil.buildElementsForParameters(targetMethod.getParameters(), 1);
@@ -88,18 +85,18 @@ public void fireEvent(@NonNull Event event) {
       event.getClass().getName(),
       this.instance().getClass().getName());
 
-    // find the parameter instances, set the first argument to the event instance
-    var instances = InjectUtil.findAllInstances(this.injectionLayer, this.methodArguments, 1);
-    instances[0] = event;
+    // find the additional parameter instances, no lookup needed if the listener only takes the event
+    var instances = InjectUtil.findAllInstances(this.injectionLayer, this.methodArguments);
 
     // invoke the event listener & rethrow any thrown exceptions wrapped
-    var result = this.methodAccessor.invokeWithArgs(instances);
-    if (result.wasExceptional()) {
+    try {
+      this.invoker.invoke(this.instance, event, instances);
+    } catch (Throwable throwable) {
       throw new EventListenerException(String.format(
         "Error while invoking event listener %s in class %s",
         this.methodName,
         this.instance.getClass().getName()
-      ), result.getException());
+      ), throwable);
     }
   }
 
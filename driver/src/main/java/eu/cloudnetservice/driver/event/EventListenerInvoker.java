@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.event;
+
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An invoker for a single event listener method. Invokers are either generated at runtime, calling the target method
+ * directly, or fall back to reflective access if generating an invoker is not possible for the target method.
+ *
+ * @since 4.0
+ */
+@FunctionalInterface
+@ApiStatus.Internal
+public interface EventListenerInvoker {
+
+  /**
+   * Invokes the target listener method on the given listener instance.
+   *
+   * @param listener  the instance of the listener to invoke the method on.
+   * @param event     the event to pass as the first argument to the listener method.
+   * @param arguments the additional arguments of the listener method, excluding the event.
+   * @throws NullPointerException if the given listener, event or arguments array is null.
+   * @throws Throwable            any exception thrown by the listener method.
+   */
+  void invoke(@NonNull Object listener, @NonNull Event event, @NonNull Object[] arguments) throws Throwable;
+}
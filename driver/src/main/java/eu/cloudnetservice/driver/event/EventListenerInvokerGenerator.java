@@ -0,0 +1,216 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.event;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.POP2;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.V17;
+
+import dev.derklaro.reflexion.Reflexion;
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.Logger;
+import eu.cloudnetservice.common.util.StringUtil;
+import eu.cloudnetservice.driver.util.asm.AsmHelper;
+import eu.cloudnetservice.driver.util.define.ClassDefiners;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import lombok.NonNull;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+/**
+ * A utility class to generate and define invokers for event listener methods in the runtime. A generated invoker calls
+ * the target method directly instead of going through reflection, which allows the jit to inline the listener method
+ * into the event dispatch loop.
+ *
+ * @since 4.0
+ */
+final class EventListenerInvokerGenerator {
+
+  private static final Logger LOGGER = LogManager.logger(EventListenerInvokerGenerator.class);
+
+  private static final String SUPER = "java/lang/Object";
+  private static final String[] EVENT_LISTENER_INVOKER = new String[]{Type.getInternalName(EventListenerInvoker.class)};
+  private static final String INVOKE_METHOD_DESCRIPTOR = Type.getMethodDescriptor(
+    Type.VOID_TYPE,
+    Type.getType(Object.class),
+    Type.getType(Event.class),
+    Type.getType(Object[].class));
+  // generated classes related stuff
+  private static final String CLASS_NAME_FORMAT = "%s$GeneratedEventInvoker_%s_%s";
+
+  private EventListenerInvokerGenerator() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Makes an invoker for the given event listener method. If the method is not accessible to a generated class or the
+   * generation fails for some reason, an invoker based on reflection is returned instead.
+   *
+   * @param method the listener method to make the invoker for.
+   * @return an invoker for the given listener method.
+   * @throws NullPointerException if the given method is null.
+   */
+  static @NonNull EventListenerInvoker makeInvoker(@NonNull Method method) {
+    if (canGenerateInvoker(method)) {
+      try {
+        return generateInvoker(method);
+      } catch (Exception exception) {
+        LOGGER.fine(
+          "Unable to generate event invoker for method %s in %s, using reflection instead",
+          exception,
+          method.getName(),
+          method.getDeclaringClass().getName());
+      }
+    }
+
+    // fall back to reflective access, the listener instance is passed to the accessor with each call
+    var accessor = Reflexion.on(method.getDeclaringClass()).unreflect(method);
+    return (listener, event, arguments) -> {
+      // the first argument is the event, followed by the additional arguments
+      var instances = new Object[arguments.length + 1];
+      instances[0] = event;
+      System.arraycopy(arguments, 0, instances, 1, arguments.length);
+
+      var result = accessor.invoke(listener, instances);
+      if (result.wasExceptional()) {
+        throw result.getException();
+      }
+    };
+  }
+
+  /**
+   * Checks if a class defined by the current class definer is able to access the given method and all types used in
+   * the signature of it.
+   *
+   * @param method the method to check.
+   * @return true if an invoker can be generated for the given method, false otherwise.
+   * @throws NullPointerException if the given method is null.
+   */
+  private static boolean canGenerateInvoker(@NonNull Method method) {
+    // nestmates are able to access everything the declaring class can access
+    if (ClassDefiners.definesNestmates()) {
+      return true;
+    }
+
+    // the generated class is not in the same runtime package, ensure that everything is public
+    if (!Modifier.isPublic(method.getModifiers()) || !Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+      return false;
+    }
+    for (var parameterType : method.getParameterTypes()) {
+      var componentType = parameterType;
+      while (componentType.isArray()) {
+        componentType = componentType.getComponentType();
+      }
+      if (!componentType.isPrimitive() && !Modifier.isPublic(componentType.getModifiers())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Generates and defines an invoker class for the given listener method.
+   *
+   * @param method the listener method to generate the invoker for.
+   * @return an instance of the generated invoker class.
+   * @throws NullPointerException if the given method is null.
+   * @throws Exception            if any exception occurs during the generation or instantiation of the class.
+   */
+  private static @NonNull EventListenerInvoker generateInvoker(@NonNull Method method) throws Exception {
+    var declaringClass = method.getDeclaringClass();
+    var className = String.format(
+      CLASS_NAME_FORMAT,
+      Type.getInternalName(declaringClass),
+      method.getName(),
+      StringUtil.generateRandomString(25));
+
+    // init the class writer for a public final class implementing the EventListenerInvoker
+    var cw = new ClassWriter(ClassWriter.COMPUTE_FRAMES | ClassWriter.COMPUTE_MAXS);
+    cw.visit(V17, ACC_PUBLIC | ACC_FINAL, className, null, SUPER, EVENT_LISTENER_INVOKER);
+    // generate a no-args constructor and the invoke method
+    MethodVisitor mv;
+    {
+      mv = cw.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+      mv.visitCode();
+      mv.visitVarInsn(ALOAD, 0);
+      mv.visitMethodInsn(INVOKESPECIAL, SUPER, "<init>", "()V", false);
+      mv.visitInsn(RETURN);
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+    {
+      mv = cw.visitMethod(ACC_PUBLIC, "invoke", INVOKE_METHOD_DESCRIPTOR, null, null);
+      mv.visitCode();
+      // load the listener instance and the event
+      mv.visitVarInsn(ALOAD, 1);
+      mv.visitTypeInsn(CHECKCAST, Type.getInternalName(declaringClass));
+      mv.visitVarInsn(ALOAD, 2);
+      mv.visitTypeInsn(CHECKCAST, Type.getInternalName(method.getParameterTypes()[0]));
+      // load each additional argument of the method
+      var parameterTypes = method.getParameterTypes();
+      for (var i = 1; i < parameterTypes.length; i++) {
+        mv.visitVarInsn(ALOAD, 3);
+        AsmHelper.pushInt(mv, i - 1);
+        mv.visitInsn(AALOAD);
+        // check if the raw type is primitive
+        var parameterType = parameterTypes[i];
+        if (parameterType.isPrimitive()) {
+          AsmHelper.wrapperToPrimitive(mv, parameterType);
+        } else {
+          mv.visitTypeInsn(CHECKCAST, Type.getInternalName(parameterType));
+        }
+      }
+      // invoke the method
+      mv.visitMethodInsn(
+        INVOKEVIRTUAL,
+        Type.getInternalName(declaringClass),
+        method.getName(),
+        Type.getMethodDescriptor(method),
+        false);
+      // discard the return value of the method, if any
+      var returnType = method.getReturnType();
+      if (returnType == long.class || returnType == double.class) {
+        mv.visitInsn(POP2);
+      } else if (returnType != void.class) {
+        mv.visitInsn(POP);
+      }
+      mv.visitInsn(RETURN);
+      // finish the method
+      mv.visitMaxs(0, 0);
+      mv.visitEnd();
+    }
+    // finish the class
+    cw.visitEnd();
+
+    // define the class and create a new instance of it
+    var constructor = ClassDefiners.current()
+      .defineClass(className, declaringClass, cw.toByteArray())
+      .getDeclaredConstructor();
+    constructor.setAccessible(true);
+    return (EventListenerInvoker) constructor.newInstance();
+  }
+}
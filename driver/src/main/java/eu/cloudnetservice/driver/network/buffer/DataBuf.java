@@ -17,7 +17,9 @@
 package eu.cloudnetservice.driver.network.buffer;
 
 import eu.cloudnetservice.driver.network.rpc.object.ObjectMapper;
+import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
 import java.util.UUID;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
@@ -158,6 +160,21 @@ public interface DataBuf extends AutoCloseable {
    */
   byte[] readByteArray();
 
+  /**
+   * Reads the next array of bytes from the buffer without copying the bytes into a new array. Instead, read-only views
+   * of the bytes are passed to the given consumer. If the bytes are not stored in a contiguous memory region, multiple
+   * consecutive views are passed to the consumer. The views are only valid while the consumer is called and must not be
+   * stored anywhere. See {@link #readByteArray()} for an explanation of the expected format.
+   *
+   * @param consumer the consumer to pass the views of the next byte array to.
+   * @return the amount of bytes in the byte array which was read.
+   * @throws IOException               if the given consumer throws an i/o exception.
+   * @throws NullPointerException      if the given consumer is null.
+   * @throws IndexOutOfBoundsException if there are fewer bytes than expected in the buffer.
+   * @throws IllegalStateException     if this buffer was released.
+   */
+  int readByteArray(@NonNull ByteViewConsumer consumer) throws IOException;
+
   /**
    * Reads the next unique id from the buffer at the current reader index. The operation reads two longs from the
    * buffer: the most significant bits of the unique id, and the least significant bits of the unique id. This totals to
@@ -290,6 +307,19 @@ public interface DataBuf extends AutoCloseable {
    */
   @NonNull DataBuf.Mutable asMutable();
 
+  /**
+   * Creates a read-only duplicate of the readable bytes of this buffer which shares the underlying memory with this
+   * buffer instead of copying it. This buffer is made read-only by this call, writes to it are no longer possible
+   * afterwards. The duplicate has its own reader index and must be released independently of this buffer, the shared
+   * memory is freed once this buffer and all duplicates were released.
+   * <p>
+   * This method is useful to send the same content to many receivers while only encoding it once.
+   *
+   * @return a read-only duplicate of the readable bytes of this buffer.
+   * @throws IllegalStateException if this buffer was released.
+   */
+  @NonNull DataBuf retainedDuplicate();
+
   // direct memory access
 
   /**
@@ -333,6 +363,24 @@ public interface DataBuf extends AutoCloseable {
   @Override
   void close();
 
+  /**
+   * A consumer for read-only views of bytes stored in a data buf.
+   *
+   * @since 4.0
+   */
+  @FunctionalInterface
+  interface ByteViewConsumer {
+
+    /**
+     * Consumes the given read-only view of bytes in a buffer. The view is only valid during the call to this method.
+     *
+     * @param view the view of the bytes to consume.
+     * @throws IOException          if an i/o error occurs while consuming the bytes.
+     * @throws NullPointerException if the given view is null.
+     */
+    void accept(@NonNull ByteBuffer view) throws IOException;
+  }
+
   /**
    * Represents a mutable version of a data buf.
    *
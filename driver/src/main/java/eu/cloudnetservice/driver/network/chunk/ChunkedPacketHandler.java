@@ -50,7 +50,7 @@ public interface ChunkedPacketHandler extends ChunkedPacketProvider {
    *
    * @param chunkPosition the position of the chunk, starting from 0.
    * @param dataBuf       the data in the chunk.
-   * @return true, if the chunk was the last chunk and the callback was called, false otherwise or in case of a failure.
+   * @return true, if the session is done because the callback was called or the transfer failed, false otherwise.
    */
   boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf);
 
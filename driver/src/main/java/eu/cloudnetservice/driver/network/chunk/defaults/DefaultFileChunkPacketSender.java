@@ -20,9 +20,11 @@
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketSender;
 import eu.cloudnetservice.driver.network.chunk.TransferStatus;
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkChecksums;
 import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacket;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.function.Consumer;
 import lombok.NonNull;
 
@@ -83,24 +85,36 @@ public DefaultFileChunkPacketSender(
   public @NonNull Task<TransferStatus> transferChunkedData() {
     return Task.supply(() -> {
       var readCalls = 0;
+      var chunkChecksums = new long[16];
       var backingArray = new byte[this.chunkSessionInformation.chunkSize()];
 
       while (true) {
-        var bytesRead = this.source.read(backingArray);
-        if (bytesRead != -1 && bytesRead == backingArray.length) {
+        // fill the whole chunk, the network splitter only enqueues the previous chunk which allows reading the next
+        // chunk while the previous one is still being written into the channels
+        var bytesRead = this.source.readNBytes(backingArray, 0, backingArray.length);
+        if (readCalls == chunkChecksums.length) {
+          chunkChecksums = Arrays.copyOf(chunkChecksums, readCalls << 1);
+        }
+
+        if (bytesRead == backingArray.length) {
           // acquire the transfer information once before writing the data of the chunk
           this.chunkSessionInformation.transferInformation().acquire();
+          chunkChecksums[readCalls] = ChunkChecksums.chunkChecksum(backingArray, bytesRead);
           this.packetSplitter.accept(ChunkedPacket.createChunk(
             this.chunkSessionInformation,
             readCalls++,
             backingArray));
         } else {
+          // the final chunk, holding the checksum of the whole transfer
+          chunkChecksums[readCalls] = ChunkChecksums.chunkChecksum(backingArray, bytesRead);
+          var transferChecksum = ChunkChecksums.transferChecksum(Arrays.copyOf(chunkChecksums, readCalls + 1));
           this.packetSplitter.accept(ChunkedPacket.createChunk(
             this.chunkSessionInformation,
             readCalls,
+            transferChecksum,
             readCalls,
-            bytesRead == -1 ? 0 : bytesRead,
-            bytesRead == -1 ? EMPTY_BYTE_ARRAY : backingArray));
+            bytesRead,
+            bytesRead == 0 ? EMPTY_BYTE_ARRAY : backingArray));
 
           // close the stream after reading the final chunk & release the extra content now
           this.source.close();
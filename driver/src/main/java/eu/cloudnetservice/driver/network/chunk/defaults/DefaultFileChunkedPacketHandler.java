@@ -18,34 +18,56 @@
 
 import com.google.common.base.Preconditions;
 import eu.cloudnetservice.common.io.FileUtil;
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.Logger;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketHandler;
 import eu.cloudnetservice.driver.network.chunk.TransferStatus;
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkChecksums;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32C;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents a handler for a chunked packet transfer which transfers a file.
+ * <p>
+ * Chunks are written into the target file using positional writes, allowing multiple chunks to be written concurrently
+ * and in any order. The data is not synced to the disk after each write, the file is forced to the disk once after all
+ * chunks were received. Each chunk is validated against its checksum before it is counted as received, a corrupted
+ * chunk is dropped and the transfer continues once the chunk was sent again. The whole transfer is validated against
+ * the transfer checksum sent with the final chunk, a mismatch fails the transfer and discards the received data.
+ * Chunks which were already received (for example because a transfer was resumed) are skipped.
  *
  * @since 4.0
  */
 public class DefaultFileChunkedPacketHandler extends DefaultChunkedPacketProvider implements ChunkedPacketHandler {
 
+  private static final Logger LOGGER = LogManager.logger(DefaultFileChunkedPacketHandler.class);
+
   protected final Path tempFilePath;
-  protected final RandomAccessFile targetFile;
+  protected final FileChannel targetChannel;
   protected final Callback writeCompleteHandler;
-  protected final Lock lock = new ReentrantLock(true);
+  protected final Lock lock = new ReentrantLock();
+
+  // the checksums of all chunks which were written, by their index
+  protected final Map<Integer, Long> writtenChunks = new HashMap<>();
+  // the indexes of the chunks which are currently written, only one copy of a chunk is written at a time
+  protected final Set<Integer> writingChunks = new HashSet<>();
 
-  protected int writtenFileParts = -1;
   protected Integer expectedFileParts;
+  protected Long expectedTransferChecksum;
 
   /**
    * Creates the session handler initially. Sessions should be manged by some sort of handler which is responsible for
@@ -81,16 +103,11 @@ public DefaultFileChunkedPacketHandler(
     // general information
     this.tempFilePath = tempFilePath;
     this.writeCompleteHandler = completeHandler;
-    // open the temp file raf access
+    // open the channel to the temp file, creating the file if needed
     try {
-      // create the file
-      if (Files.notExists(tempFilePath)) {
-        Files.createFile(tempFilePath);
-      }
-      // open the file
-      this.targetFile = new RandomAccessFile(this.tempFilePath.toFile(), "rwd");
+      this.targetChannel = FileChannel.open(tempFilePath, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
     } catch (IOException exception) {
-      throw new AssertionError("Unable to open raf to temp file, this should not happen", exception);
+      throw new AssertionError("Unable to open channel to temp file, this should not happen", exception);
     }
   }
 
@@ -99,47 +116,100 @@ public DefaultFileChunkedPacketHandler(
    */
   @Override
   public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
-    // if the handling failed before we skip the handling of the packet
+    // if the handling failed before we skip the handling of the packet, the session can be removed
     if (this.transferStatus == TransferStatus.FAILURE) {
-      return false;
+      dataBuf.release();
+      return true;
     }
     // validate that this is still in the running state when receiving the packet
     Preconditions.checkState(this.transferStatus == TransferStatus.RUNNING, "Received transfer part after success");
     // extract some information from the body
     var isFinalPacket = dataBuf.readBoolean();
     if (isFinalPacket) {
-      this.expectedFileParts = dataBuf.readInt();
+      var expectedFileParts = dataBuf.readInt();
+      this.lock.lock();
+      try {
+        this.expectedFileParts = expectedFileParts;
+      } finally {
+        this.lock.unlock();
+      }
     }
-    // execute the write operation with the content of the packet
+
     try {
-      // we can only perform one write operation at a time
+      // skip chunks which were already written, for example when a transfer gets resumed
+      if (!this.claimChunk(chunkPosition)) {
+        dataBuf.release();
+        return false;
+      }
+
+      // write the chunk outside the lock, positional writes can be executed concurrently
+      long chunkChecksum;
+      try {
+        chunkChecksum = this.writePacketContent(chunkPosition, dataBuf);
+      } catch (IOException exception) {
+        this.releaseChunk(chunkPosition);
+        throw exception;
+      }
+
+      // the checksums are appended after the chunk data, senders which are not validating checksums are not sending
+      // them. in that case the chunk and transfer are taken as-is
+      var expectedChunkChecksum = this.readChecksum(dataBuf);
+      var expectedTransferChecksum = isFinalPacket ? this.readChecksum(dataBuf) : null;
+
       this.lock.lock();
-      // execute
-      this.writePacketContent(chunkPosition, dataBuf);
-      // update the data transfer status
-      this.updateStatus();
-      // check if the expected ending is reached
-      if (this.transferStatus == TransferStatus.SUCCESS) {
-        // the file was written completely
-        this.targetFile.close();
-        // post the result to the complete handler
-        if (this.writeCompleteHandler == null) {
-          // no handler - will be handled otherwise
-          return true;
+      try {
+        this.writingChunks.remove(chunkPosition);
+
+        // check if the transfer was completed by another chunk in the meantime
+        if (this.transferStatus != TransferStatus.RUNNING) {
+          return this.transferStatus == TransferStatus.FAILURE;
+        }
+
+        // a corrupted chunk is not counted as received, the data is overwritten when the chunk is sent again
+        if (expectedChunkChecksum != null && chunkChecksum != expectedChunkChecksum) {
+          LOGGER.warning(
+            "Checksum mismatch for chunk %d of session %s, expected %d but got %d. Dropping the chunk",
+            null,
+            chunkPosition,
+            this.chunkSessionInformation.sessionUniqueId(),
+            expectedChunkChecksum,
+            chunkChecksum);
+          return false;
+        }
+
+        // register the chunk & update the data transfer status
+        if (expectedTransferChecksum != null) {
+          this.expectedTransferChecksum = expectedTransferChecksum;
         }
-        // delete the file after posting
-        try (var inputStream = Files.newInputStream(this.tempFilePath, StandardOpenOption.DELETE_ON_CLOSE)) {
-          this.writeCompleteHandler.handleSessionComplete(this.chunkSessionInformation, inputStream);
+        this.writtenChunks.putIfAbsent(chunkPosition, chunkChecksum);
+        this.updateStatus();
+        // check if the expected ending is reached
+        if (this.transferStatus == TransferStatus.SUCCESS) {
+          return this.completeTransfer();
+        }
+        // check if the validation of the transfer checksum failed, the transfer can't be continued in that case
+        if (this.transferStatus == TransferStatus.FAILURE) {
+          LOGGER.severe(
+            "Checksum mismatch for chunked transfer %s, discarding the received data",
+            null,
+            this.chunkSessionInformation.sessionUniqueId());
+          this.failTransfer();
           return true;
         }
+      } finally {
+        this.lock.unlock();
       }
+
       // not completed yet
       return false;
     } catch (IOException exception) {
-      this.transferStatus = TransferStatus.FAILURE;
+      // concurrent writes fail once the channel was closed because the transfer failed
+      if (this.transferStatus == TransferStatus.FAILURE) {
+        return true;
+      }
+
+      this.failTransfer();
       throw new IllegalStateException("Unexpected exception handling chunk part", exception);
-    } finally {
-      this.lock.unlock();
     }
   }
 
@@ -152,22 +222,70 @@ public boolean handleChunkPart(int chunkPosition, @NonNull DataBuf dataBuf) {
   }
 
   /**
-   * Writes the content of a chunk part to the backing file, increasing the amount of written bytes by one.
+   * Claims the chunk at the given index for writing. A chunk can't be claimed if it was already written successfully
+   * or if another copy of the chunk is currently written.
+   *
+   * @param chunkPosition the index of the chunk to claim.
+   * @return true if the chunk was claimed and should be written, false otherwise.
+   */
+  protected boolean claimChunk(int chunkPosition) {
+    this.lock.lock();
+    try {
+      return !this.writtenChunks.containsKey(chunkPosition) && this.writingChunks.add(chunkPosition);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Releases the claim on the chunk at the given index without counting the chunk as received.
+   *
+   * @param chunkPosition the index of the chunk to release.
+   */
+  protected void releaseChunk(int chunkPosition) {
+    this.lock.lock();
+    try {
+      this.writingChunks.remove(chunkPosition);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+   * Reads the next checksum from the given buffer, if the sender of the chunk wrote one.
+   *
+   * @param dataBuf the buf transferred to this handler, positioned at the checksum to read.
+   * @return the checksum read from the buffer, null if the sender didn't write one.
+   * @throws NullPointerException if the given buffer is null.
+   */
+  protected @Nullable Long readChecksum(@NonNull DataBuf dataBuf) {
+    // the buffer is released once it was read fully, which is the case if no checksum was written
+    return dataBuf.accessible() && dataBuf.readableBytes() >= Long.BYTES ? dataBuf.readLong() : null;
+  }
+
+  /**
+   * Writes the content of a chunk part to the backing file at the position of the chunk. This method can be called
+   * concurrently for different chunks.
    *
    * @param chunkPosition the index of the chunk to write.
    * @param dataBuf       the buf transferred to this handler, the next content should be the actual chunk data.
+   * @return the checksum of the written chunk data.
    * @throws IOException          if an i/o error occurs during the chunk write.
    * @throws NullPointerException if the given buffer is null.
    */
-  protected void writePacketContent(int chunkPosition, @NonNull DataBuf dataBuf) throws IOException {
-    // calculate the index of to which we need to sink in order to write
-    var targetIndex = chunkPosition * this.chunkSessionInformation.chunkSize();
-    // sink to the index of the chunk position we need to write to
-    this.targetFile.seek(targetIndex);
-    // write the content into the file at the current offset we sunk to
-    this.targetFile.write(dataBuf.readByteArray());
-    // notify our index about the write operation
-    this.writtenFileParts++;
+  protected long writePacketContent(int chunkPosition, @NonNull DataBuf dataBuf) throws IOException {
+    var checksum = new CRC32C();
+    var position = new long[]{(long) chunkPosition * this.chunkSessionInformation.chunkSize()};
+
+    // write the chunk data directly from the buffer into the file, calculating the checksum on the way
+    dataBuf.readByteArray(view -> {
+      checksum.update(view.duplicate());
+      while (view.hasRemaining()) {
+        position[0] += this.targetChannel.write(view, position[0]);
+      }
+    });
+
+    return checksum.getValue();
   }
 
   /**
@@ -177,14 +295,85 @@ protected void writePacketContent(int chunkPosition, @NonNull DataBuf dataBuf) t
    *   <li>The amount of chunk parts of the transfer is known.
    *   <li>The amount of written chunk parts matches the amount of expected chunk parts.
    * </ol>
+   * If all chunks were written but the checksum of the transfer doesn't match the expected checksum (if the sender
+   * provided one) the status is set to failed.
    */
   protected void updateStatus() {
     // we only need to update the status when the transfer is running but the whole content was written
     if (this.transferStatus == TransferStatus.RUNNING
       && this.expectedFileParts != null
-      && this.expectedFileParts == this.writtenFileParts
+      && this.expectedFileParts + 1 == this.writtenChunks.size()
     ) {
-      this.transferStatus = TransferStatus.SUCCESS;
+      // validate the checksum of the full transfer
+      var chunkChecksums = new long[this.writtenChunks.size()];
+      for (var index = 0; index < chunkChecksums.length; index++) {
+        var chunkChecksum = this.writtenChunks.get(index);
+        if (chunkChecksum == null) {
+          // unexpected chunk index, can't be a valid transfer
+          this.transferStatus = TransferStatus.FAILURE;
+          return;
+        }
+
+        chunkChecksums[index] = chunkChecksum;
+      }
+
+      // senders which are not validating checksums are not sending the transfer checksum
+      if (this.expectedTransferChecksum == null) {
+        this.transferStatus = TransferStatus.SUCCESS;
+        return;
+      }
+
+      var transferChecksum = ChunkChecksums.transferChecksum(chunkChecksums);
+      this.transferStatus = transferChecksum == this.expectedTransferChecksum
+        ? TransferStatus.SUCCESS
+        : TransferStatus.FAILURE;
+    }
+  }
+
+  /**
+   * Completes the transfer after all chunks were written successfully, syncing the target file to the disk and posting
+   * it to the complete handler.
+   *
+   * @return true if the complete handler was called, false otherwise.
+   * @throws IOException if an i/o error occurs while syncing the file or calling the complete handler.
+   */
+  protected boolean completeTransfer() throws IOException {
+    // the file was written completely, sync it once to the disk
+    this.targetChannel.force(false);
+    this.targetChannel.close();
+    // post the result to the complete handler
+    if (this.writeCompleteHandler == null) {
+      // no handler - will be handled otherwise
+      return true;
+    }
+    // delete the file after posting
+    try (var inputStream = Files.newInputStream(this.tempFilePath, StandardOpenOption.DELETE_ON_CLOSE)) {
+      this.writeCompleteHandler.handleSessionComplete(this.chunkSessionInformation, inputStream);
+      return true;
+    }
+  }
+
+  /**
+   * Marks the transfer as failed, closing the channel to the target file and deleting the file. Further chunks of the
+   * transfer are ignored and signal that the session can be removed.
+   */
+  protected void failTransfer() {
+    this.transferStatus = TransferStatus.FAILURE;
+    this.closeTargetChannel();
+    try {
+      Files.deleteIfExists(this.tempFilePath);
+    } catch (IOException exception) {
+      LOGGER.fine("Unable to delete temp file %s of failed chunked transfer", exception, this.tempFilePath);
+    }
+  }
+
+  /**
+   * Closes the channel to the target file, ignoring any exception.
+   */
+  protected void closeTargetChannel() {
+    try {
+      this.targetChannel.close();
+    } catch (IOException ignored) {
     }
   }
 }
@@ -17,6 +17,7 @@
 package eu.cloudnetservice.driver.network.chunk.defaults.splitter;
 
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import java.util.Collection;
 import java.util.function.Consumer;
@@ -24,6 +25,11 @@
 
 /**
  * A default implementation of a chunked packet splitter, splitting each packet chunk to multiple channels.
+ * <p>
+ * Chunks are written asynchronously, allowing the sender to prepare the next chunk while the previous one is still
+ * being written. To bound the amount of chunk data which is in flight, a chunk is written synchronously into a channel
+ * which is not writable (which is the case once the pending writes of the channel exceeded its write buffer water
+ * mark), waiting until the chunk and all writes enqueued before it were written.
  *
  * @since 4.0
  */
@@ -37,19 +43,20 @@ public record NetworkChannelsPacketSplitter(@NonNull Collection<NetworkChannel>
    */
   @Override
   public void accept(@NonNull Packet packet) {
-    // write to all channels
-    for (var channel : this.channels) {
-      try {
-        // acquire the packet content and start a transaction, then send the data
-        packet.content().acquire().startTransaction();
-        channel.sendPacketSync(packet);
-      } finally {
-        // redo the transaction to allow further writes
-        packet.content().redoTransaction();
+    try {
+      for (var channel : this.channels) {
+        // each channel gets a read-only duplicate of the content which shares the memory with the content
+        var chunk = new BasePacket(packet.channel(), packet.prioritized(), packet.content().retainedDuplicate());
+        if (channel.writeable() || !channel.active()) {
+          channel.sendPacket(chunk);
+        } else {
+          // wait for the pending writes of the channel to drain before reading the next chunk
+          channel.sendPacketSync(chunk);
+        }
       }
+    } finally {
+      // release the packet content, the duplicates are released once written
+      packet.content().release();
     }
-
-    // release the packet content
-    packet.content().release();
   }
 }
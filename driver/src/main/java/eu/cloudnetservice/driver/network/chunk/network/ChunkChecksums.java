@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.chunk.network;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * Utility to calculate the checksums which are sent along with chunked packets. Each chunk carries the CRC32C checksum
+ * of its data, the last chunk of a transfer additionally carries the checksum of the whole transfer. The transfer
+ * checksum is calculated over the checksums of all chunks in their order, which allows the receiver to validate the
+ * whole transfer without reading the received data again, even if the chunks were handled out of order.
+ * <p>
+ * The checksums are appended after the data of a chunk, keeping the chunk format compatible in both directions:
+ * receivers which are not validating checksums ignore the trailing bytes, and chunks without trailing checksums are
+ * accepted without validation.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class ChunkChecksums {
+
+  private ChunkChecksums() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Calculates the checksum of the given chunk data.
+   *
+   * @param data   the array holding the data of the chunk.
+   * @param length the amount of bytes in the given array which belong to the chunk, starting at index 0.
+   * @return the checksum of the given chunk data.
+   * @throws NullPointerException      if the given data array is null.
+   * @throws IndexOutOfBoundsException if the given length is out of bounds for the given array.
+   */
+  public static long chunkChecksum(byte[] data, int length) {
+    var checksum = new CRC32C();
+    checksum.update(data, 0, length);
+    return checksum.getValue();
+  }
+
+  /**
+   * Calculates the checksum of a transfer based on the checksums of all chunks of the transfer.
+   *
+   * @param chunkChecksums the checksums of all chunks of the transfer, ordered by the chunk index.
+   * @return the checksum of the whole transfer.
+   * @throws NullPointerException if the given checksum array is null.
+   */
+  public static long transferChecksum(long @NonNull [] chunkChecksums) {
+    var buffer = ByteBuffer.allocate(chunkChecksums.length * Long.BYTES);
+    buffer.asLongBuffer().put(chunkChecksums);
+
+    var checksum = new CRC32C();
+    checksum.update(buffer);
+    return checksum.getValue();
+  }
+}
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.driver.network.chunk.network;
 
+import com.google.common.base.Preconditions;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
@@ -35,7 +36,7 @@ public class ChunkedPacket extends BasePacket {
    * Creates a new chunk part. The given buffer must contain all needed information for the receiver.
    * <p>
    * Using this constructor is not recommended, better use {@link #createChunk(ChunkSessionInformation, int, byte[])} or
-   * {@link #createChunk(ChunkSessionInformation, Integer, int, int, byte[])}, based on the state of the transfer.
+   * {@link #createChunk(ChunkSessionInformation, Integer, Long, int, int, byte[])}, based on the state of the transfer.
    *
    * @param dataBuf the backing buffer.
    * @throws NullPointerException if the given buffer is null.
@@ -48,7 +49,8 @@ public ChunkedPacket(@NonNull DataBuf dataBuf) {
    * Creates a new chunk part. This method is used when the full chunk data is not yet known. It gives no information
    * about the amount of chunks in the full transfer and uses the length of the given array as the data length.
    * <p>
-   * This call is equivalent to {@code ChunkedPacket.createChunk(information, null, chunkIndex, data.length, data)}.
+   * This call is equivalent to {@code ChunkedPacket.createChunk(information, null, null, chunkIndex, data.length,
+   * data)}.
    *
    * @param information the session information this chunk belongs to.
    * @param chunkIndex  the index of the written chunk.
@@ -61,29 +63,37 @@ public ChunkedPacket(@NonNull DataBuf dataBuf) {
     int chunkIndex,
     byte[] data
   ) {
-    return createChunk(information, null, chunkIndex, data.length, data);
+    return createChunk(information, null, null, chunkIndex, data.length, data);
   }
 
   /**
    * Creates a new chunk part based on the given information. This method is used primarily to create a chunk part when
    * all information needed to complete the transfer are available (normally when the last chunk was read from the
-   * backing stream)
+   * backing stream). The checksum of the chunk data is calculated and written into the chunk automatically.
    *
-   * @param information the session information this chunk belongs to.
-   * @param chunkAmount the amount of chunks which were read from the backing buffer.
-   * @param chunkIndex  the index of the written chunk.
-   * @param dataLength  the amount of bytes in the current packet chunk.
-   * @param data        the data of the chunk.
+   * @param information      the session information this chunk belongs to.
+   * @param chunkAmount      the amount of chunks which were read from the backing buffer.
+   * @param transferChecksum the checksum of the whole transfer, must be given if the chunk amount is given.
+   * @param chunkIndex       the index of the written chunk.
+   * @param dataLength       the amount of bytes in the current packet chunk.
+   * @param data             the data of the chunk.
    * @return the created chunk packet based on the information.
-   * @throws NullPointerException if the given chunk information is null.
+   * @throws NullPointerException     if the given chunk information is null.
+   * @throws IllegalArgumentException if only one of the chunk amount and transfer checksum is given.
+   * @see ChunkChecksums
    */
   public static @NonNull ChunkedPacket createChunk(
     @NonNull ChunkSessionInformation information,
     @Nullable Integer chunkAmount,
+    @Nullable Long transferChecksum,
     int chunkIndex,
     int dataLength,
     byte[] data
   ) {
+    Preconditions.checkArgument(
+      (chunkAmount == null) == (transferChecksum == null),
+      "chunk amount and transfer checksum must be given together");
+
     var dataBuf = DataBuf.empty()
       // transfer information
       .writeObject(information)
@@ -96,6 +106,12 @@ public ChunkedPacket(@NonNull DataBuf dataBuf) {
       dataBuf.writeInt(chunkAmount);
     }
     // write the actual content of the chunk
-    return new ChunkedPacket(dataBuf.writeByteArray(data, dataLength));
+    dataBuf.writeByteArray(data, dataLength);
+    // append the checksums after the content, receivers which are not validating them are ignoring the trailing data
+    dataBuf.writeLong(ChunkChecksums.chunkChecksum(data, dataLength));
+    if (transferChecksum != null) {
+      dataBuf.writeLong(transferChecksum);
+    }
+    return new ChunkedPacket(dataBuf);
   }
 }
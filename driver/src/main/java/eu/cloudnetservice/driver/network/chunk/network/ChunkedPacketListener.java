@@ -18,6 +18,7 @@
 
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.chunk.ChunkedPacketHandler;
+import eu.cloudnetservice.driver.network.chunk.TransferStatus;
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
@@ -58,9 +59,14 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
     // get or create the session associated with the packet
     var handler = this.runningSessions.computeIfAbsent(information, this.handlerFactory);
     // post the packet and check if the session is done
-    if (handler.handleChunkPart(chunkIndex, packet.content())) {
-      // done, remove the session
-      this.runningSessions.remove(information);
+    var done = false;
+    try {
+      done = handler.handleChunkPart(chunkIndex, packet.content());
+    } finally {
+      // remove the session once it's done or failed, resent chunks would never be handled otherwise
+      if (done || handler.transferStatus() == TransferStatus.FAILURE) {
+        this.runningSessions.remove(information, handler);
+      }
     }
   }
 }
@@ -35,10 +35,16 @@ public final class NetworkConstants {
   public static final int CHUNKED_PACKET_COM_CHANNEL = 2;
   public static final int INTERNAL_AUTHORIZATION_CHANNEL = 3;
   public static final int INTERNAL_SERVICE_SYNC_ACK_CHANNEL = 4;
+  public static final int INTERNAL_RPC_BATCH_COM_CHANNEL = 5;
 
   // channel message channels
   public static final String INTERNAL_MSG_CHANNEL = "cloudnet:internal";
 
+  // database near-cache messages, sent in the internal channel
+  public static final String DATABASE_NEAR_CACHE_SUBSCRIBE = "database_near_cache_subscribe";
+  public static final String DATABASE_NEAR_CACHE_UNSUBSCRIBE = "database_near_cache_unsubscribe";
+  public static final String DATABASE_NEAR_CACHE_INVALIDATE = "database_near_cache_invalidate";
+
   private NetworkConstants() {
     throw new UnsupportedOperationException();
   }
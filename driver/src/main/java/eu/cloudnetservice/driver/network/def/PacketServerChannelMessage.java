@@ -38,9 +38,34 @@ public final class PacketServerChannelMessage extends BasePacket {
    * @throws NullPointerException if the given channel message is null.
    */
   public PacketServerChannelMessage(@NonNull ChannelMessage message, boolean wrapper) {
-    super(
-      NetworkConstants.CHANNEL_MESSAGING_CHANNEL,
-      message.prioritized(),
-      DataBuf.empty().writeBoolean(wrapper).writeObject(message));
+    this(message.prioritized(), encode(message, wrapper));
+  }
+
+  /**
+   * Constructs a new channel message packet instance using the given, already encoded message. The given buffer must
+   * be encoded using {@link #encode(ChannelMessage, boolean)}.
+   *
+   * @param prioritized    if the channel message is prioritized.
+   * @param encodedMessage the encoded channel message to send to the other component.
+   * @throws NullPointerException if the given encoded message is null.
+   */
+  public PacketServerChannelMessage(boolean prioritized, @NonNull DataBuf encodedMessage) {
+    super(NetworkConstants.CHANNEL_MESSAGING_CHANNEL, prioritized, encodedMessage);
+  }
+
+  /**
+   * Encodes the given channel message into a buffer which can be used as the content of a channel message packet.
+   * Encoding the message releases the content of the message once. The encoded message can be sent to multiple
+   * components by using retained duplicates of the returned buffer, instead of encoding the message for each
+   * component.
+   *
+   * @param message the channel message to encode.
+   * @param wrapper if the channel was sent by a wrapper component.
+   * @return a buffer containing the encoded channel message.
+   * @throws NullPointerException if the given channel message is null.
+   * @see DataBuf#retainedDuplicate()
+   */
+  public static @NonNull DataBuf encode(@NonNull ChannelMessage message, boolean wrapper) {
+    return DataBuf.empty().writeBoolean(wrapper).writeObject(message);
   }
 }
@@ -53,6 +53,9 @@ public final class NettyUtil {
   // transport
   private static final boolean NO_NATIVE_TRANSPORT = Boolean.getBoolean("cloudnet.no-native");
   private static final NettyTransport CURR_NETTY_TRANSPORT = NettyTransport.availableTransport(NO_NATIVE_TRANSPORT);
+  // packet codec
+  private static final boolean COPYING_PACKET_DECODER = Boolean.getBoolean("cloudnet.network.copying-decoder");
+  private static final boolean COPYING_PACKET_ENCODER = Boolean.getBoolean("cloudnet.network.copying-encoder");
   // packet thread handling
   private static final RejectedExecutionHandler DEFAULT_REJECT_HANDLER = new ThreadPoolExecutor.CallerRunsPolicy();
 
@@ -240,6 +243,29 @@ public static int varIntBytes(int contentLength) {
     return environment.equals(DriverEnvironment.NODE) ? Math.max(8, Runtime.getRuntime().availableProcessors() * 2) : 4;
   }
 
+  /**
+   * Get if the copying packet decoding pipeline (a separate frame and packet decoder, each copying the received data)
+   * should be used instead of the zero-copy packet frame decoder. The copying pipeline can be enabled by setting the
+   * {@code cloudnet.network.copying-decoder} system property to {@code true}.
+   *
+   * @return true if the copying packet decoding pipeline should be used, false otherwise.
+   */
+  public static boolean copyingPacketDecoder() {
+    return COPYING_PACKET_DECODER;
+  }
+
+  /**
+   * Get if the copying packet encoding pipeline (a separate packet encoder and frame prepender, each copying the packet
+   * content) should be used instead of the packet frame encoder which writes the packet content without copying. The
+   * copying pipeline can be enabled by setting the {@code cloudnet.network.copying-encoder} system property to
+   * {@code true}.
+   *
+   * @return true if the copying packet encoding pipeline should be used, false otherwise.
+   */
+  public static boolean copyingPacketEncoder() {
+    return COPYING_PACKET_ENCODER;
+  }
+
   /**
    * Get the selected netty transport which will be used for client/server channel and event loop group construction.
    *
@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
 import io.netty5.buffer.Buffer;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.nio.charset.StandardCharsets;
 import java.util.UUID;
@@ -130,6 +131,43 @@ public byte[] readByteArray() {
     });
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int readByteArray(@NonNull ByteViewConsumer consumer) throws IOException {
+    var length = NettyUtil.readVarInt(this.buffer);
+    if (length > this.buffer.readableBytes()) {
+      throw new IndexOutOfBoundsException(String.format(
+        "Byte array length %d exceeds the readable bytes %d",
+        length,
+        this.buffer.readableBytes()));
+    }
+
+    try (var iteration = this.buffer.forEachComponent()) {
+      // pass the views of all components which are holding bytes of the array
+      var remaining = length;
+      for (var component = iteration.firstReadable(); component != null && remaining > 0;
+        component = component.nextReadable()) {
+        var view = component.readableBuffer();
+        if (view.remaining() > remaining) {
+          view.limit(view.position() + remaining);
+        }
+
+        remaining -= view.remaining();
+        consumer.accept(view);
+      }
+    }
+
+    // skip the bytes we've passed to the consumer & release the buffer if it was fully read
+    this.buffer.skipReadableBytes(length);
+    if (this.buffer.readableBytes() <= 0) {
+      this.release();
+    }
+
+    return length;
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -252,6 +290,20 @@ public int readableBytes() {
     return this.buffer.readOnly() ? new NettyMutableDataBuf(this.buffer.copy()) : new NettyMutableDataBuf(this.buffer);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull DataBuf retainedDuplicate() {
+    // a read-only copy of a read-only buffer shares the memory of the buffer
+    if (!this.buffer.readOnly()) {
+      this.buffer.makeReadOnly();
+    }
+
+    var duplicate = this.buffer.copy(this.buffer.readerOffset(), this.buffer.readableBytes(), true);
+    return new NettyImmutableDataBuf(duplicate);
+  }
+
   /**
    * {@inheritDoc}
    */
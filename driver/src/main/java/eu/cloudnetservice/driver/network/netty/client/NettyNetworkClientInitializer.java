@@ -19,8 +19,11 @@
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.netty.NettyOptionSettingChannelInitializer;
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.netty.codec.NettyPacketDecoder;
 import eu.cloudnetservice.driver.network.netty.codec.NettyPacketEncoder;
+import eu.cloudnetservice.driver.network.netty.codec.NettyPacketFrameDecoder;
+import eu.cloudnetservice.driver.network.netty.codec.NettyPacketFrameEncoder;
 import eu.cloudnetservice.driver.network.netty.codec.VarInt32FrameDecoder;
 import eu.cloudnetservice.driver.network.netty.codec.VarInt32FramePrepender;
 import io.netty5.channel.Channel;
@@ -67,12 +70,23 @@ protected void doInitChannel(@NonNull Channel channel) {
         this.hostAndPort.port()));
     }
 
-    channel.pipeline()
-      .addLast("packet-length-deserializer", new VarInt32FrameDecoder())
-      .addLast("packet-decoder", new NettyPacketDecoder())
-      .addLast("packet-length-serializer", VarInt32FramePrepender.INSTANCE)
-      .addLast("packet-encoder", NettyPacketEncoder.INSTANCE)
-      .addLast("network-client-handler",
-        new NettyNetworkClientHandler(this.eventManager, this.nettyNetworkClient, this.hostAndPort));
+    if (NettyUtil.copyingPacketDecoder()) {
+      channel.pipeline()
+        .addLast("packet-length-deserializer", new VarInt32FrameDecoder())
+        .addLast("packet-decoder", new NettyPacketDecoder());
+    } else {
+      channel.pipeline().addLast("packet-decoder", new NettyPacketFrameDecoder());
+    }
+
+    if (NettyUtil.copyingPacketEncoder()) {
+      channel.pipeline()
+        .addLast("packet-length-serializer", VarInt32FramePrepender.INSTANCE)
+        .addLast("packet-encoder", NettyPacketEncoder.INSTANCE);
+    } else {
+      channel.pipeline().addLast("packet-encoder", NettyPacketFrameEncoder.INSTANCE);
+    }
+
+    channel.pipeline().addLast("network-client-handler",
+      new NettyNetworkClientHandler(this.eventManager, this.nettyNetworkClient, this.hostAndPort));
   }
 }
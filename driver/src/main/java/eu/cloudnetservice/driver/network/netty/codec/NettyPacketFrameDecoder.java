@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.codec;
+
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.Logger;
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
+import eu.cloudnetservice.driver.network.netty.buffer.NettyImmutableDataBuf;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import io.netty5.buffer.Buffer;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.handler.codec.ByteToMessageDecoder;
+import java.util.UUID;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An internal implementation of a packet decoder which combines the steps done by {@link VarInt32FrameDecoder} and
+ * {@link NettyPacketDecoder} into a single stage. Instead of copying the frame and then the packet body out of the
+ * cumulation buffer, the body of a packet is split off the cumulation buffer without copying the underlying memory.
+ * The split buffer is owned by the resulting packet and released by the consumer once the content was fully read or
+ * the packet was discarded.
+ * <p>
+ * A frame always contains the following data:
+ * <ol>
+ *   <li>The length of the following frame content, as a var int.
+ *   <li>The numeric id of the channel being sent to, by default a var int.
+ *   <li>An optional query unique id if the packet is a query.
+ *   <li>The data transferred to this component, might be empty.
+ * </ol>
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class NettyPacketFrameDecoder extends ByteToMessageDecoder {
+
+  private static final Logger LOGGER = LogManager.logger(NettyPacketFrameDecoder.class);
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void decode(@NonNull ChannelHandlerContext ctx, @NonNull Buffer in) {
+    // ensure that the channel we're reading from is still open
+    if (!ctx.channel().isActive()) {
+      return;
+    }
+
+    var readerIndex = in.readerOffset();
+
+    // try to read the full frame length from the buffer, reset the buffer if we've read nothing
+    var length = NettyUtil.readVarIntOrNull(in);
+    if (length == null || readerIndex == in.readerOffset()) {
+      in.readerOffset(readerIndex);
+      return;
+    }
+
+    // skip empty packets silently
+    if (length <= 0) {
+      // check if there are bytes to skip
+      if (in.readableBytes() > 0) {
+        in.skipReadableBytes(in.readableBytes());
+      }
+      return;
+    }
+
+    // check if the packet data supplied in the buffer is actually at least the transmitted size
+    if (in.readableBytes() < length) {
+      // reset the reader index, there is still data missing
+      in.readerOffset(readerIndex);
+      return;
+    }
+
+    // the offset at which the next frame starts, used to keep the stream in sync even if the frame is malformed
+    var frameEnd = in.readerOffset() + length;
+
+    int channel;
+    int bodyLength;
+    boolean prioritized;
+    UUID queryUniqueId;
+    try {
+      // read the required base data from the buffer
+      channel = NettyUtil.readVarInt(in);
+      prioritized = in.readBoolean();
+      queryUniqueId = in.readBoolean() ? new UUID(in.readLong(), in.readLong()) : null;
+
+      // validate that the body is fully contained in the current frame
+      bodyLength = NettyUtil.readVarInt(in);
+      if (bodyLength < 0 || bodyLength > frameEnd - in.readerOffset()) {
+        throw new IllegalStateException(String.format(
+          "Packet body length %d exceeds the remaining frame length %d",
+          bodyLength,
+          frameEnd - in.readerOffset()));
+      }
+    } catch (Exception exception) {
+      LOGGER.severe("Exception while decoding packet", exception);
+      // skip the remaining bytes of the frame to continue with the next frame
+      in.readerOffset(frameEnd);
+      return;
+    }
+
+    // split the rest of the frame off the cumulation buffer, the returned buffer shares the memory with the cumulation
+    // buffer but is owned by the packet from now on. Trailing bytes of the frame which are not part of the body are
+    // excluded by moving the writer offset of the split buffer
+    var frame = in.readSplit(frameEnd - in.readerOffset());
+    var body = frame.writerOffset(frame.readerOffset() + bodyLength).makeReadOnly();
+
+    // construct the packet
+    var packet = new BasePacket(channel, prioritized, new NettyImmutableDataBuf(body));
+    packet.uniqueId(queryUniqueId);
+
+    // register the packet for further downstream handling
+    ctx.fireChannelRead(packet);
+  }
+}
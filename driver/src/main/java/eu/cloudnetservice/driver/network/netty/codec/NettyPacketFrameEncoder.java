@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.codec;
+
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
+import eu.cloudnetservice.driver.network.netty.buffer.NettyImmutableDataBuf;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import io.netty5.buffer.Buffer;
+import io.netty5.channel.ChannelHandler;
+import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.util.concurrent.Future;
+import io.netty5.util.concurrent.PromiseCombiner;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+
+/**
+ * An internal implementation of a packet encoder which combines the steps done by {@link NettyPacketEncoder} and
+ * {@link VarInt32FramePrepender} into a single stage. Instead of copying the packet content into a new buffer (and
+ * copying that buffer again to prepend the frame length) this encoder only allocates a small buffer holding the frame
+ * length and packet header. The packet body is written as a separate buffer directly after the header, allowing the
+ * transport to send both buffers using a gathering write without ever copying the body bytes.
+ * <p>
+ * A frame always contains the following data:
+ * <ol>
+ *   <li>The length of the following frame content, as a var int.
+ *   <li>The numeric id of the channel being sent to, by default a var int.
+ *   <li>An optional query unique id if the packet is a query.
+ *   <li>The data transferred to this component, might be empty.
+ * </ol>
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+public final class NettyPacketFrameEncoder implements ChannelHandler {
+
+  public static final NettyPacketFrameEncoder INSTANCE = new NettyPacketFrameEncoder();
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public @NonNull Future<Void> write(@NonNull ChannelHandlerContext ctx, @NonNull Object msg) {
+    // pass all messages which are not packets to the next handler
+    if (!(msg instanceof Packet packet)) {
+      return ctx.write(msg);
+    }
+
+    // extract the body of the packet, this either transfers or shares the memory of the packet content
+    var body = extractBody(packet);
+    var bodyLength = body.readableBytes();
+
+    // channel + 2 booleans (prioritized and isQuery) + body length
+    var queryUniqueId = packet.uniqueId();
+    var headerLength = NettyUtil.varIntBytes(packet.channel()) + 2 + NettyUtil.varIntBytes(bodyLength);
+    // if the given packet has a query unique id we need two longs for that unique id as well
+    if (queryUniqueId != null) {
+      headerLength += 16;
+    }
+
+    // allocate the header buffer, only containing the frame length and the packet header
+    var frameLength = headerLength + bodyLength;
+    var header = ctx.bufferAllocator().allocate(NettyUtil.varIntBytes(frameLength) + headerLength);
+
+    // frame length
+    NettyUtil.writeVarInt(header, frameLength);
+    // channel
+    NettyUtil.writeVarInt(header, packet.channel());
+    // packet priority
+    header.writeBoolean(packet.prioritized());
+    // query id (if present)
+    header.writeBoolean(queryUniqueId != null);
+    if (queryUniqueId != null) {
+      header
+        .writeLong(queryUniqueId.getMostSignificantBits())
+        .writeLong(queryUniqueId.getLeastSignificantBits());
+    }
+    // body length
+    NettyUtil.writeVarInt(header, bodyLength);
+
+    // write the header, don't write the body if there is no content to write
+    if (bodyLength == 0) {
+      body.close();
+      return ctx.write(header);
+    } else {
+      // combine the futures of both writes, a failure of either write must fail the returned future
+      var promise = ctx.<Void>newPromise();
+      var combiner = new PromiseCombiner(ctx.executor());
+      combiner.add(ctx.write(header));
+      combiner.add(ctx.write(body));
+      combiner.finish(promise);
+      return promise.asFuture();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public boolean isSharable() {
+    return true;
+  }
+
+  /**
+   * Extracts the readable bytes of the given packet content into a buffer which is owned by the caller and releases
+   * the packet content afterwards. If the content is not acquired anywhere else, the readable bytes are split off the
+   * content buffer without copying. If the content is shared (for example because the packet is sent to multiple
+   * channels) a read-only copy is created instead, which shares the memory of the content buffer if it is read-only.
+   *
+   * @param packet the packet to extract the body of.
+   * @return a buffer owned by the caller containing the body of the given packet.
+   * @throws NullPointerException if the given packet is null.
+   * @throws ClassCastException   if the content of the given packet is not backed by a netty buffer.
+   */
+  private static @NonNull Buffer extractBody(@NonNull Packet packet) {
+    // we only support netty buf
+    var content = (NettyImmutableDataBuf) packet.content();
+    var contentBuffer = content.buffer();
+
+    Buffer body;
+    if (content.acquires() <= 1) {
+      // the content is only used by this packet, transfer the ownership of the readable bytes
+      body = contentBuffer.readSplit(contentBuffer.readableBytes());
+    } else {
+      // the content is shared, the content buffer must stay intact for other users
+      body = contentBuffer.copy(contentBuffer.readerOffset(), contentBuffer.readableBytes(), true);
+    }
+
+    // release the content of the packet now, don't use the local field to respect if releasing was disabled in the
+    // original buffer.
+    packet.content().release();
+    return body;
+  }
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.http;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable tree of all http handlers registered to a http server, compiled once when the registered handlers change.
+ * Each node of the tree represents a path segment, handler paths can contain the following segment types:
+ * <ol>
+ *   <li>Static segments, which must match the requested path segment exactly.
+ *   <li>Path parameters in the form {@code {name}}, matching any segment and exposing it as a path parameter.
+ *   <li>Wildcards ({@code *}), matching any segment. A trailing wildcard matches all remaining segments.
+ * </ol>
+ * <p>
+ * The handlers are ranked by their priority during compilation, the routes stored in each node are already ordered by
+ * that rank. Matching a request therefore only walks the segments of the request and merges the pre-ordered routes of
+ * the visited nodes, without splitting any handler path or sorting the registered handlers.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Internal
+final class HttpRouteTree {
+
+  private static final Route[] EMPTY_ROUTES = new Route[0];
+
+  static final HttpRouteTree EMPTY = compile(List.of());
+
+  private final Node root;
+
+  /**
+   * Constructs a new route tree with the given root node.
+   *
+   * @param root the root node of the tree, representing the root path.
+   * @throws NullPointerException if the given root node is null.
+   */
+  private HttpRouteTree(@NonNull Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Compiles a new route tree from the given handler entries. Handlers with a higher priority are ranked before
+   * handlers with a lower priority, handlers with the same priority are ranked in the iteration order of the given
+   * collection.
+   *
+   * @param entries the handler entries to compile into a route tree.
+   * @return the compiled route tree.
+   * @throws NullPointerException if the given entry collection is null.
+   */
+  static @NonNull HttpRouteTree compile(@NonNull Collection<NettyHttpServer.HttpHandlerEntry> entries) {
+    // the sort is stable, keeping the given order for handlers with the same priority
+    List<NettyHttpServer.HttpHandlerEntry> rankedEntries = new ArrayList<>(entries);
+    rankedEntries.sort(Comparator.comparingInt(NettyHttpServer.HttpHandlerEntry::priority).reversed());
+
+    var root = new Node();
+    for (var rank = 0; rank < rankedEntries.size(); rank++) {
+      var entry = rankedEntries.get(rank);
+      var segments = segments(entry.path());
+      var parameterNames = new String[segments.length];
+
+      // walk down the tree, creating the nodes for all segments that are not the trailing wildcard
+      var node = root;
+      var trailingWildcard = segments.length > 0 && segments[segments.length - 1].equals("*");
+      var nodeSegments = trailingWildcard ? segments.length - 1 : segments.length;
+      for (var index = 0; index < nodeSegments; index++) {
+        var segment = segments[index];
+        if (segment.equals("*")) {
+          node = node.anyChild();
+        } else if (segment.startsWith("{") && segment.endsWith("}") && segment.length() > 2) {
+          parameterNames[index] = segment.substring(1, segment.length() - 1);
+          node = node.anyChild();
+        } else {
+          node = node.staticChild(segment);
+        }
+      }
+
+      // routes are added in rank order, the routes of each node are therefore already ordered
+      var route = new Route(rank, entry, parameterNames);
+      if (trailingWildcard) {
+        node.wildcardRoutes.add(route);
+      } else {
+        node.routes.add(route);
+      }
+    }
+
+    root.freeze();
+    return new HttpRouteTree(root);
+  }
+
+  /**
+   * Splits the given path into its segments, ignoring the leading slash of the path. The root path has no segments.
+   *
+   * @param path the path to split.
+   * @return the segments of the given path.
+   * @throws NullPointerException if the given path is null.
+   */
+  static @NonNull String[] segments(@NonNull String path) {
+    var segments = path.split("/");
+    if (segments.length > 0 && segments[0].isEmpty()) {
+      var withoutLeading = new String[segments.length - 1];
+      System.arraycopy(segments, 1, withoutLeading, 0, withoutLeading.length);
+      return withoutLeading;
+    }
+
+    return segments;
+  }
+
+  /**
+   * Resolves all routes which are matching the given path segments, ordered by their rank.
+   *
+   * @param pathSegments the segments of the requested path.
+   * @return all routes matching the given path segments, ordered by their rank.
+   * @throws NullPointerException if the given segment array is null.
+   */
+  @NonNull List<Route> match(@NonNull String[] pathSegments) {
+    List<Route> result = new ArrayList<>();
+    this.collectMatches(this.root, pathSegments, 0, result);
+    return result;
+  }
+
+  /**
+   * Collects the routes of the given node and all child nodes which are matching the remaining path segments.
+   *
+   * @param node         the node to collect the matching routes of.
+   * @param pathSegments the segments of the requested path.
+   * @param index        the index of the first path segment which was not matched yet.
+   * @param result       the list to merge the matching routes into, ordered by rank.
+   * @throws NullPointerException if the given node, segment array or result list is null.
+   */
+  private void collectMatches(
+    @NonNull Node node,
+    @NonNull String[] pathSegments,
+    int index,
+    @NonNull List<Route> result
+  ) {
+    if (index == pathSegments.length) {
+      mergeRoutes(result, node.frozenRoutes);
+      return;
+    }
+
+    // a trailing wildcard matches if there is at least one more segment
+    mergeRoutes(result, node.frozenWildcardRoutes);
+
+    var staticChild = node.staticChildren.get(pathSegments[index]);
+    if (staticChild != null) {
+      this.collectMatches(staticChild, pathSegments, index + 1, result);
+    }
+
+    if (node.anyChild != null) {
+      this.collectMatches(node.anyChild, pathSegments, index + 1, result);
+    }
+  }
+
+  /**
+   * Merges the given routes into the given target list, keeping the rank order of the target list. Both the target
+   * list and the given route array must be ordered by rank.
+   *
+   * @param target the target list to merge the routes into.
+   * @param routes the routes to merge into the target list.
+   * @throws NullPointerException if the given target list or route array is null.
+   */
+  private static void mergeRoutes(@NonNull List<Route> target, @NonNull Route[] routes) {
+    if (routes.length == 0) {
+      return;
+    }
+
+    // fast path: all routes are ranked after the routes which are already in the list
+    if (target.isEmpty() || target.get(target.size() - 1).rank() < routes[0].rank()) {
+      Collections.addAll(target, routes);
+      return;
+    }
+
+    var insertIndex = 0;
+    for (var route : routes) {
+      while (insertIndex < target.size() && target.get(insertIndex).rank() < route.rank()) {
+        insertIndex++;
+      }
+      target.add(insertIndex++, route);
+    }
+  }
+
+  /**
+   * A handler entry compiled into the route tree.
+   *
+   * @param rank           the rank of the route, routes with a lower rank are called first.
+   * @param entry          the handler entry of this route.
+   * @param parameterNames the path parameter name for each segment, null for segments which are not parameters.
+   * @since 4.0
+   */
+  record Route(int rank, @NonNull NettyHttpServer.HttpHandlerEntry entry, @Nullable String[] parameterNames) {
+
+  }
+
+  /**
+   * A node in the route tree, representing a path segment. Nodes are mutable during compilation only.
+   *
+   * @since 4.0
+   */
+  private static final class Node {
+
+    private final Map<String, Node> staticChildren = new HashMap<>();
+
+    private final List<Route> routes = new ArrayList<>();
+    private final List<Route> wildcardRoutes = new ArrayList<>();
+
+    private Node anyChild;
+
+    private Route[] frozenRoutes = EMPTY_ROUTES;
+    private Route[] frozenWildcardRoutes = EMPTY_ROUTES;
+
+    /**
+     * Get the child node for the given static segment, creating it if needed.
+     *
+     * @param segment the static segment to get the child node of.
+     * @return the child node for the given static segment.
+     * @throws NullPointerException if the given segment is null.
+     */
+    private @NonNull Node staticChild(@NonNull String segment) {
+      return this.staticChildren.computeIfAbsent(segment, $ -> new Node());
+    }
+
+    /**
+     * Get the child node matching any segment, creating it if needed.
+     *
+     * @return the child node matching any segment.
+     */
+    private @NonNull Node anyChild() {
+      if (this.anyChild == null) {
+        this.anyChild = new Node();
+      }
+      return this.anyChild;
+    }
+
+    /**
+     * Converts the routes of this node and all child nodes into arrays for faster iteration during matching.
+     */
+    private void freeze() {
+      this.frozenRoutes = this.routes.toArray(EMPTY_ROUTES);
+      this.frozenWildcardRoutes = this.wildcardRoutes.toArray(EMPTY_ROUTES);
+
+      for (var child : this.staticChildren.values()) {
+        child.freeze();
+      }
+      if (this.anyChild != null) {
+        this.anyChild.freeze();
+      }
+    }
+  }
+}
@@ -35,6 +35,7 @@
 import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -49,7 +50,10 @@ public class NettyHttpServer extends NettySslServer implements HttpServer {
   private static final Logger LOGGER = LogManager.logger(NettyHttpServer.class);
 
   protected final Map<HostAndPort, Future<Void>> channelFutures = new ConcurrentHashMap<>();
-  protected final Collection<HttpHandlerEntry> registeredHandlers = ConcurrentHashMap.newKeySet();
+  // keeps the registration order of the handlers, which is used to order handlers with the same priority
+  protected final Collection<HttpHandlerEntry> registeredHandlers = new CopyOnWriteArraySet<>();
+  // compiled from the registered handlers, recompiled each time the registered handlers change
+  volatile HttpRouteTree routeTree = HttpRouteTree.EMPTY;
 
   protected final EventLoopGroup bossGroup = NettyUtil.newEventLoopGroup(1);
   protected final EventLoopGroup workerGroup = NettyUtil.newEventLoopGroup(0);
@@ -175,6 +179,7 @@ public boolean sslEnabled() {
       this.registeredHandlers.add(new HttpHandlerEntry(path, httpHandler, port, priority));
     }
 
+    this.recompileRouteTree();
     return this;
   }
 
@@ -184,6 +189,7 @@ public boolean sslEnabled() {
   @Override
   public @NonNull HttpServer removeHandler(@NonNull HttpHandler handler) {
     this.registeredHandlers.removeIf(registeredHandler -> registeredHandler.httpHandler.equals(handler));
+    this.recompileRouteTree();
     return this;
   }
 
@@ -193,6 +199,7 @@ public boolean sslEnabled() {
   @Override
   public @NonNull HttpServer removeHandler(@NonNull ClassLoader classLoader) {
     this.registeredHandlers.removeIf(handler -> handler.httpHandler.getClass().getClassLoader().equals(classLoader));
+    this.recompileRouteTree();
     return this;
   }
 
@@ -212,6 +219,7 @@ public boolean sslEnabled() {
   @Override
   public @NonNull HttpServer clearHandlers() {
     this.registeredHandlers.clear();
+    this.recompileRouteTree();
     return this;
   }
 
@@ -229,6 +237,14 @@ public void close() {
     this.clearHandlers();
   }
 
+  /**
+   * Recompiles the route tree from the currently registered handlers. Compilations are serialized, the last compilation
+   * therefore always sees all changes made to the registered handlers before.
+   */
+  protected synchronized void recompileRouteTree() {
+    this.routeTree = HttpRouteTree.compile(this.registeredHandlers);
+  }
+
   /**
    * Represents a registered http handler, holding all the information needed for later calling of it.
    *
@@ -40,8 +40,6 @@
 import io.netty5.util.concurrent.Future;
 import java.io.IOException;
 import java.net.URI;
-import java.util.ArrayList;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Objects;
 import lombok.NonNull;
@@ -151,23 +149,23 @@ private void handleMessage(@NonNull Channel channel, @NonNull HttpRequest httpRe
       fullPath = fullPath.substring(0, fullPath.length() - 1);
     }
 
-    // get all handlers which should be tested if they can accept the http request
-    var entries = new ArrayList<>(this.nettyHttpServer.registeredHandlers);
-    entries.sort(Comparator.comparingInt(NettyHttpServer.HttpHandlerEntry::priority).reversed());
+    // resolve all handlers which are matching the request path, already ordered by their priority
+    var pathSegments = HttpRouteTree.segments(fullPath);
+    var routes = this.nettyHttpServer.routeTree.match(pathSegments);
 
     // build the context around the http request
-    var pathEntries = fullPath.split("/");
+    var lowerCasePath = StringUtil.toLower(fullPath);
     var context = new NettyHttpServerContext(this.nettyHttpServer, this.channel, uri, new HashMap<>(), httpRequest);
 
     // loop over each handler, posting the message to the handlers which are matching the request uri
-    for (var httpHandlerEntry : entries) {
+    for (var route : routes) {
       // prepare the context to post to the handler
+      var httpHandlerEntry = route.entry();
       context.invocationHints.clear();
       context.pathPrefix(httpHandlerEntry.path());
 
       // check and post to the handler if matching
-      var handlerPathEntries = httpHandlerEntry.path().split("/");
-      if (this.handleMessage0(httpHandlerEntry, context, fullPath, pathEntries, handlerPathEntries)) {
+      if (this.handleMessage0(route, context, lowerCasePath, pathSegments)) {
         // update the last handler in the pipeline which handled the request
         context.pushChain(httpHandlerEntry.httpHandler());
         // stop processing the request if a handler requested that
@@ -221,66 +219,33 @@ private void handleMessage(@NonNull Channel channel, @NonNull HttpRequest httpRe
   }
 
   /**
-   * Handles the incoming request and posts it the given handler if the data matches the settings of the handler.
+   * Posts the incoming request to the handler of the given route if the port of the handler matches. The path of the
+   * request must already match the path of the route.
    *
-   * @param httpHandlerEntry   the handler to post to if everything matches.
-   * @param context            the context of the request.
-   * @param fullPath           the full requested path.
-   * @param pathEntries        the entries one by one of the path uri.
-   * @param handlerPathEntries the entries of the http handler.
+   * @param route        the matched route of the handler to post to.
+   * @param context      the context of the request.
+   * @param path         the full requested path, in lower case.
+   * @param pathSegments the segments of the requested path.
    * @return true if the message was posted to the handler, false otherwise.
    * @throws NullPointerException if one of the given parameters is null.
    */
   private boolean handleMessage0(
-    @NonNull NettyHttpServer.HttpHandlerEntry httpHandlerEntry,
+    @NonNull HttpRouteTree.Route route,
     @NonNull HttpContext context,
-    @NonNull String fullPath,
-    @NonNull String[] pathEntries,
-    @NonNull String[] handlerPathEntries
+    @NonNull String path,
+    @NonNull String[] pathSegments
   ) {
-    var path = StringUtil.toLower(fullPath);
-
     // validate that the port (if given) of the server and entry are matching
+    var httpHandlerEntry = route.entry();
     if (httpHandlerEntry.port() != null && httpHandlerEntry.port() != this.connectedAddress.port()) {
       return false;
     }
 
-    // check if the path either ends with a wildcard or if the path entry length are matching
-    if (!httpHandlerEntry.path().endsWith("*") && pathEntries.length != handlerPathEntries.length) {
-      return false;
-    }
-
-    // wildcard path check, if the path handler expects more entries than the original requested path
-    if (pathEntries.length < handlerPathEntries.length) {
-      return false;
-    }
-
-    // validate that all path entries are matching
-    if (pathEntries.length != 1 || handlerPathEntries.length != 1) {
-      for (var index = 1; index < pathEntries.length; ++index) {
-        // check if the current index of the handler entries is a wildcard char and continue without further checking
-        var entry = handlerPathEntries[index];
-        if (entry.equals("*")) {
-          // special case: if the entry is the last entry of the path entries we can stop the check as it should
-          // match all upcoming uri path parts
-          if (handlerPathEntries.length - 1 == index) {
-            break;
-          }
-          continue;
-        }
-
-        // check for a path parameter in the form {name}
-        if (entry.startsWith("{") && entry.endsWith("}") && entry.length() > 2) {
-          // remove the initial { and ending } and register the name with the provided value in the path
-          // parameters in the context and continue.
-          context.request().pathParameters().put(entry.substring(1, entry.length() - 1), pathEntries[index]);
-          continue;
-        }
-
-        // check if the uri does match at the position
-        if (!entry.equals(pathEntries[index])) {
-          return false;
-        }
+    // register the values of the path parameters of the route in the context
+    var parameterNames = route.parameterNames();
+    for (var index = 0; index < parameterNames.length; index++) {
+      if (parameterNames[index] != null) {
+        context.request().pathParameters().put(parameterNames[index], pathSegments[index]);
       }
     }
 
@@ -19,8 +19,11 @@
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.netty.NettyOptionSettingChannelInitializer;
+import eu.cloudnetservice.driver.network.netty.NettyUtil;
 import eu.cloudnetservice.driver.network.netty.codec.NettyPacketDecoder;
 import eu.cloudnetservice.driver.network.netty.codec.NettyPacketEncoder;
+import eu.cloudnetservice.driver.network.netty.codec.NettyPacketFrameDecoder;
+import eu.cloudnetservice.driver.network.netty.codec.NettyPacketFrameEncoder;
 import eu.cloudnetservice.driver.network.netty.codec.VarInt32FrameDecoder;
 import eu.cloudnetservice.driver.network.netty.codec.VarInt32FramePrepender;
 import io.netty5.channel.Channel;
@@ -64,12 +67,23 @@ protected void doInitChannel(@NonNull Channel ch) {
       ch.pipeline().addLast("ssl-handler", this.networkServer.sslContext.newHandler(ch.bufferAllocator()));
     }
 
-    ch.pipeline()
-      .addLast("packet-length-deserializer", new VarInt32FrameDecoder())
-      .addLast("packet-decoder", new NettyPacketDecoder())
-      .addLast("packet-length-serializer", VarInt32FramePrepender.INSTANCE)
-      .addLast("packet-encoder", NettyPacketEncoder.INSTANCE)
-      .addLast("network-server-handler",
-        new NettyNetworkServerHandler(this.eventManager, this.networkServer, this.serverLocalAddress));
+    if (NettyUtil.copyingPacketDecoder()) {
+      ch.pipeline()
+        .addLast("packet-length-deserializer", new VarInt32FrameDecoder())
+        .addLast("packet-decoder", new NettyPacketDecoder());
+    } else {
+      ch.pipeline().addLast("packet-decoder", new NettyPacketFrameDecoder());
+    }
+
+    if (NettyUtil.copyingPacketEncoder()) {
+      ch.pipeline()
+        .addLast("packet-length-serializer", VarInt32FramePrepender.INSTANCE)
+        .addLast("packet-encoder", NettyPacketEncoder.INSTANCE);
+    } else {
+      ch.pipeline().addLast("packet-encoder", NettyPacketFrameEncoder.INSTANCE);
+    }
+
+    ch.pipeline().addLast("network-server-handler",
+      new NettyNetworkServerHandler(this.eventManager, this.networkServer, this.serverLocalAddress));
   }
 }
@@ -16,11 +16,10 @@
 
 package eu.cloudnetservice.driver.network.protocol.defaults;
 
-import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.RemovalListener;
-import com.github.benmanes.caffeine.cache.Scheduler;
+import com.google.common.collect.Maps;
 import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.common.concurrent.TimingWheel;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.QueryPacketManager;
@@ -28,13 +27,21 @@
 import java.util.Collections;
 import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnmodifiableView;
 
 /**
- * The default implementation of the query manager.
+ * The default implementation of the query manager. Query packets are sent without waiting for the write operation of
+ * the underlying channel to complete, the timeout of each query is tracked by the jvm-wide {@link TimingWheel}.
+ * <p>
+ * Query unique ids generated by this manager consist of a random prefix which is chosen once per manager and a
+ * monotonic counter, making them unique for the associated channel without the need of a secure random source.
  *
  * @since 4.0
  */
@@ -44,7 +51,11 @@ public class DefaultQueryPacketManager implements QueryPacketManager {
 
   private final Duration queryTimeout;
   private final NetworkChannel networkChannel;
-  private final Cache<UUID, Task<Packet>> waitingHandlers;
+  private final Map<UUID, WaitingQuery> waitingHandlers;
+
+  // query unique id generation
+  private final long queryIdPrefix;
+  private final AtomicLong queryIdCounter;
 
   /**
    * Constructs a new query manager for the given network channel and a timeout of 30 seconds for each query.
@@ -66,12 +77,10 @@ public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel) {
   public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel, @NonNull Duration queryTimeout) {
     this.networkChannel = networkChannel;
     this.queryTimeout = queryTimeout;
-    // construct the cache based on the given information
-    this.waitingHandlers = Caffeine.newBuilder()
-      .expireAfterWrite(queryTimeout)
-      .scheduler(Scheduler.systemScheduler())
-      .removalListener(this.newRemovalListener())
-      .build();
+    this.waitingHandlers = new ConcurrentHashMap<>();
+    // initialize the query id generation
+    this.queryIdPrefix = ThreadLocalRandom.current().nextLong();
+    this.queryIdCounter = new AtomicLong();
   }
 
   /**
@@ -95,7 +104,7 @@ public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel, @NonNul
    */
   @Override
   public @NonNull @UnmodifiableView Map<UUID, Task<Packet>> waitingHandlers() {
-    return Collections.unmodifiableMap(this.waitingHandlers.asMap());
+    return Collections.unmodifiableMap(Maps.transformValues(this.waitingHandlers, WaitingQuery::task));
   }
 
   /**
@@ -103,7 +112,7 @@ public DefaultQueryPacketManager(@NonNull NetworkChannel networkChannel, @NonNul
    */
   @Override
   public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
-    return this.waitingHandlers.getIfPresent(queryUniqueId) != null;
+    return this.waitingHandlers.containsKey(queryUniqueId);
   }
 
   /**
@@ -111,8 +120,12 @@ public boolean hasWaitingHandler(@NonNull UUID queryUniqueId) {
    */
   @Override
   public boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId) {
-    this.waitingHandlers.invalidate(queryUniqueId);
-    return true;
+    var waitingQuery = this.waitingHandlers.remove(queryUniqueId);
+    if (waitingQuery != null) {
+      waitingQuery.cancelTimeout();
+      return true;
+    }
+    return false;
   }
 
   /**
@@ -120,11 +133,12 @@ public boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId) {
    */
   @Override
   public @Nullable Task<Packet> waitingHandler(@NonNull UUID queryUniqueId) {
-    var task = this.waitingHandlers.getIfPresent(queryUniqueId);
-    if (task != null) {
-      this.waitingHandlers.invalidate(queryUniqueId);
+    var waitingQuery = this.waitingHandlers.remove(queryUniqueId);
+    if (waitingQuery != null) {
+      waitingQuery.cancelTimeout();
+      return waitingQuery.task();
     }
-    return task;
+    return null;
   }
 
   /**
@@ -132,7 +146,7 @@ public boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId) {
    */
   @Override
   public @NonNull Task<Packet> sendQueryPacket(@NonNull Packet packet) {
-    return this.sendQueryPacket(packet, UUID.randomUUID());
+    return this.sendQueryPacket(packet, this.nextQueryUniqueId());
   }
 
   /**
@@ -142,20 +156,39 @@ public boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId) {
   public @NonNull Task<Packet> sendQueryPacket(@NonNull Packet packet, @NonNull UUID queryUniqueId) {
     // create & register the result handler
     var task = new Task<Packet>();
-    this.waitingHandlers.put(queryUniqueId, task);
-    // set the unique id of the packet and send
+    var waitingQuery = new WaitingQuery(task);
+    this.waitingHandlers.put(queryUniqueId, waitingQuery);
+    // schedule the timeout only after registering the handler, a fast timeout must find the registered handler
+    waitingQuery.timeout(TimingWheel.defaultWheel().schedule(
+      this.queryTimeout,
+      () -> this.handleTimeout(queryUniqueId, task)));
+    // set the unique id of the packet and send, without waiting for the write to complete
     packet.uniqueId(queryUniqueId);
-    this.networkChannel.sendPacketSync(packet);
+    this.networkChannel.sendPacket(packet);
     // return the created handler
     return task;
   }
 
+  /**
+   * Generates the next query unique id for this manager. The generated ids are unique for the associated network
+   * channel and cheap to generate.
+   *
+   * @return the next query unique id.
+   */
+  protected @NonNull UUID nextQueryUniqueId() {
+    return new UUID(this.queryIdPrefix, this.queryIdCounter.incrementAndGet());
+  }
+
   /**
    * Constructs a new removal listener for the cache, completing the future of a query packet with a timeout exception
    * when evicted from the cache.
    *
    * @return a new removal listeners for unanswered packet future completion.
+   * @deprecated query timeouts are no longer tracked by a cache, this listener is not used anymore. Timeouts are
+   * handled by {@link #handleTimeout(UUID, Task)} instead.
    */
+  @Deprecated(since = "4.0", forRemoval = true)
+  @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
   protected @NonNull RemovalListener<UUID, Task<Packet>> newRemovalListener() {
     return ($, value, cause) -> {
       if (cause.wasEvicted() && value != null) {
@@ -163,4 +196,79 @@ public boolean unregisterWaitingHandler(@NonNull UUID queryUniqueId) {
       }
     };
   }
+
+  /**
+   * Handles the timeout of a query, completing the task of the query with a timeout exception if the query is still
+   * waiting for a response.
+   *
+   * @param queryUniqueId the unique id of the query which timed out.
+   * @param task          the task associated with the query which timed out.
+   * @throws NullPointerException if the given unique id or task is null.
+   */
+  protected void handleTimeout(@NonNull UUID queryUniqueId, @NonNull Task<Packet> task) {
+    // only complete the task if the handler is still registered (and is the same as the timed out one)
+    var waitingQuery = this.waitingHandlers.get(queryUniqueId);
+    if (waitingQuery != null
+      && waitingQuery.task() == task
+      && this.waitingHandlers.remove(queryUniqueId, waitingQuery)) {
+      task.completeExceptionally(new TimeoutException());
+    }
+  }
+
+  /**
+   * A query which is currently waiting for a response.
+   *
+   * @since 4.0
+   */
+  private static final class WaitingQuery {
+
+    private final Task<Packet> task;
+    private volatile boolean removed;
+    private volatile TimingWheel.Timeout timeout;
+
+    /**
+     * Constructs a new waiting query for the given task, the timeout is set after the query was registered.
+     *
+     * @param task the task to complete when the response is received.
+     * @throws NullPointerException if the given task is null.
+     */
+    private WaitingQuery(@NonNull Task<Packet> task) {
+      this.task = task;
+    }
+
+    /**
+     * Get the task to complete when the response is received.
+     *
+     * @return the task of this query.
+     */
+    public @NonNull Task<Packet> task() {
+      return this.task;
+    }
+
+    /**
+     * Sets the timeout handle of this query. If this query was removed already (for example because the response was
+     * received before the timeout was scheduled) the timeout is cancelled directly.
+     *
+     * @param timeout the timeout handle of this query.
+     * @throws NullPointerException if the given timeout is null.
+     */
+    public void timeout(@NonNull TimingWheel.Timeout timeout) {
+      this.timeout = timeout;
+      if (this.removed) {
+        timeout.cancel();
+      }
+    }
+
+    /**
+     * Cancels the timeout of this query after it was removed from the waiting queries. If the timeout was not
+     * scheduled yet, it gets cancelled as soon as it is set.
+     */
+    public void cancelTimeout() {
+      this.removed = true;
+      var timeout = this.timeout;
+      if (timeout != null) {
+        timeout.cancel();
+      }
+    }
+  }
 }
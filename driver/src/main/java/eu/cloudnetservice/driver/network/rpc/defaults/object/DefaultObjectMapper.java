@@ -49,6 +49,7 @@
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
@@ -67,6 +68,7 @@
 import java.util.concurrent.ConcurrentNavigableMap;
 import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
@@ -147,6 +149,16 @@ public class DefaultObjectMapper implements ObjectMapper {
   }
 
   private final Map<Type, ObjectSerializer<?>> registeredSerializers = new ConcurrentHashMap<>();
+
+  // the resolved serializers of types, invalidated by increasing the generation when a binding changes
+  private final AtomicInteger serializerGeneration = new AtomicInteger();
+  private final Map<Type, ResolvedSerializers> resolvedTypeSerializers = new ConcurrentHashMap<>();
+  private final ClassValue<ResolvedSerializers> resolvedClassSerializers = new ClassValue<>() {
+    @Override
+    protected @NonNull ResolvedSerializers computeValue(@NonNull Class<?> type) {
+      return new ResolvedSerializers(type);
+    }
+  };
   private final LoadingCache<Type, Collection<Tuple2<Type, Type>>> typeCache = Caffeine.newBuilder()
     .expireAfterAccess(Duration.ofDays(1))
     .scheduler(Scheduler.systemScheduler())
@@ -194,6 +206,7 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
       // we don't need to unregister the subtypes of the type, skip the lookup
       this.registeredSerializers.remove(type);
     }
+    this.invalidateResolvedSerializers();
     return this;
   }
 
@@ -207,6 +220,7 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
         this.registeredSerializers.remove(entry.getKey(), entry.getValue());
       }
     }
+    this.invalidateResolvedSerializers();
     // for chaining
     return this;
   }
@@ -231,6 +245,7 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
       // we don't need to register the subtypes of the type, skip the lookup
       this.registeredSerializers.putIfAbsent(type, serializer);
     }
+    this.invalidateResolvedSerializers();
     return this;
   }
 
@@ -238,20 +253,19 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
    * {@inheritDoc}
    */
   @Override
+  @SuppressWarnings("unchecked")
   public @NonNull <T> DataBuf.Mutable writeObject(@NonNull DataBuf.Mutable dataBuf, @Nullable T object) {
     return dataBuf.writeNullable(object, (buffer, obj) -> {
-      // Get the type token of the type
-      var subTypes = this.typeCache.get(obj.getClass());
-      // get the registered serializer for the type
+      // get the serializer candidates for the type, ordered by their specificity
       ObjectSerializer<T> serializer = null;
-      for (var subType : subTypes) {
-        serializer = this.serializerForType(subType);
-        if (serializer != null && serializer.preWriteCheckAccepts(obj, this)) {
+      for (var candidate : this.resolveSerializers(obj.getClass())) {
+        if (candidate.preWriteCheckAccepts(obj, this)) {
+          serializer = (ObjectSerializer<T>) candidate;
           break;
         }
       }
       // check if a serializer was found
-      if (serializer == null || !serializer.preWriteCheckAccepts(obj, this)) {
+      if (serializer == null) {
         throw new MissingObjectSerializerException(obj.getClass());
       }
       // serialize the object into the buffer
@@ -266,18 +280,16 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
   @SuppressWarnings("unchecked")
   public <T> @Nullable T readObject(@NonNull DataBuf dataBuf, @NonNull Type type) {
     return dataBuf.readNullable(buffer -> {
-      // Get the type token of the type
-      var subTypes = this.typeCache.get(type);
-      // get the registered serializer for the type
+      // get the serializer candidates for the type, ordered by their specificity
       ObjectSerializer<?> serializer = null;
-      for (var subType : subTypes) {
-        serializer = this.serializerForType(subType);
-        if (serializer != null && serializer.preReadCheckAccepts(type, this)) {
+      for (var candidate : this.resolveSerializers(type)) {
+        if (candidate.preReadCheckAccepts(type, this)) {
+          serializer = candidate;
           break;
         }
       }
       // check if a serializer was found
-      if (serializer == null || !serializer.preReadCheckAccepts(type, this)) {
+      if (serializer == null) {
         throw new MissingObjectSerializerException(type);
       }
       // read the object from the buffer
@@ -299,4 +311,95 @@ public DefaultObjectMapper(boolean registerDefaultSerializers) {
     var byType = (ObjectSerializer<T>) this.registeredSerializers.get(typePair.first());
     return byType == null ? (ObjectSerializer<T>) this.registeredSerializers.get(typePair.second()) : byType;
   }
+
+  /**
+   * Get all registered serializers which are candidates to (de-)serialize the given type, ordered by the specificity of
+   * the type they are registered for. The candidates are resolved once per type and cached until a binding changes.
+   *
+   * @param type the type to get the serializer candidates for.
+   * @return the serializer candidates for the given type, ordered by their specificity.
+   * @throws NullPointerException if the given type is null.
+   */
+  protected @NonNull ObjectSerializer<?>[] resolveSerializers(@NonNull Type type) {
+    var resolvedSerializers = type instanceof Class<?> clazz
+      ? this.resolvedClassSerializers.get(clazz)
+      : this.resolvedTypeSerializers.computeIfAbsent(type, ResolvedSerializers::new);
+    return resolvedSerializers.serializers();
+  }
+
+  /**
+   * Invalidates all cached serializer candidates of all types, forcing them to be resolved again on the next lookup.
+   */
+  protected void invalidateResolvedSerializers() {
+    this.serializerGeneration.incrementAndGet();
+    this.resolvedTypeSerializers.clear();
+  }
+
+  /**
+   * Finds the serializer candidates of the given type by walking the full type hierarchy of the type and collecting the
+   * serializers registered for each type in the hierarchy.
+   *
+   * @param type the type to find the serializer candidates for.
+   * @return the serializer candidates for the given type, ordered by their specificity.
+   * @throws NullPointerException if the given type is null.
+   */
+  private @NonNull ObjectSerializer<?>[] findSerializers(@NonNull Type type) {
+    Set<ObjectSerializer<?>> serializers = new LinkedHashSet<>();
+    for (var subType : this.typeCache.get(type)) {
+      var serializer = this.serializerForType(subType);
+      if (serializer != null) {
+        serializers.add(serializer);
+      }
+    }
+    return serializers.toArray(ObjectSerializer<?>[]::new);
+  }
+
+  /**
+   * The cached serializer candidates of a type, together with the generation of the bindings they were resolved at.
+   *
+   * @param generation  the generation of the bindings when the serializers were resolved.
+   * @param serializers the resolved serializer candidates.
+   * @since 4.0
+   */
+  private record ResolvedSerializersSnapshot(int generation, @NonNull ObjectSerializer<?>[] serializers) {
+
+  }
+
+  /**
+   * A holder for the resolved serializer candidates of a single type, which are resolved again lazily if the bindings
+   * of the object mapper changed since they were resolved.
+   *
+   * @since 4.0
+   */
+  private final class ResolvedSerializers {
+
+    private final Type type;
+    private volatile ResolvedSerializersSnapshot snapshot;
+
+    /**
+     * Constructs a new resolved serializers holder for the given type.
+     *
+     * @param type the type to resolve the serializer candidates of.
+     * @throws NullPointerException if the given type is null.
+     */
+    private ResolvedSerializers(@NonNull Type type) {
+      this.type = type;
+    }
+
+    /**
+     * Get the serializer candidates of the type, resolving them again if the bindings changed since the last call.
+     *
+     * @return the serializer candidates of the type, ordered by their specificity.
+     */
+    private @NonNull ObjectSerializer<?>[] serializers() {
+      var snapshot = this.snapshot;
+      var generation = DefaultObjectMapper.this.serializerGeneration.get();
+      if (snapshot == null || snapshot.generation() != generation) {
+        // concurrent resolves are fine, they are all producing the same result
+        snapshot = new ResolvedSerializersSnapshot(generation, DefaultObjectMapper.this.findSerializers(this.type));
+        this.snapshot = snapshot;
+      }
+      return snapshot.serializers();
+    }
+  }
 }
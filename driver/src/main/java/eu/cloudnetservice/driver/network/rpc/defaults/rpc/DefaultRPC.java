@@ -182,6 +182,10 @@ public void fireAndForget(@NonNull NetworkChannel component) {
   public <T> @Nullable T fireSync(@NonNull NetworkChannel component) {
     try {
       Task<T> queryTask = this.fire(component);
+      // a batch scope of the current thread would only send the request once closed, which never happens while waiting
+      if (this.resultExpectation) {
+        RPCBatcher.flushCurrentScope();
+      }
       return queryTask.get();
     } catch (ExecutionException exception) {
       if (exception.getCause() instanceof RPCExecutionException executionException) {
@@ -213,6 +217,16 @@ public void fireAndForget(@NonNull NetworkChannel component) {
     for (var argument : this.arguments) {
       this.objectMapper.writeObject(dataBuf, argument);
     }
+    // add the request to a batch if batching is enabled
+    if (RPCBatcher.batching()) {
+      var responseTask = RPCBatcher.enqueue(component, dataBuf, this.resultExpectation);
+      if (this.resultExpectation) {
+        var resultMapper = new RPCResultMapper<T>(this.expectedResultType, this.objectMapper);
+        return Task.wrapFuture(responseTask.thenApply(resultMapper));
+      } else {
+        return Task.completedTask(null);
+      }
+    }
     // send query if result is needed
     if (this.resultExpectation) {
       // now send the query and read the response
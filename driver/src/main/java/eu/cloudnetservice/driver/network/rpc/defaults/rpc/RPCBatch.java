@@ -0,0 +1,211 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.rpc;
+
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCBatchRequestPacket;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCRequestPacket;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A batch of rpc requests which are all sent to the same network channel in one packet. The remote responds with a
+ * single packet containing the results of all requests in the batch, which are then dispatched to the tasks of the
+ * single requests.
+ *
+ * @since 4.0
+ */
+final class RPCBatch {
+
+  private final NetworkChannel channel;
+  private final List<DataBuf> requests = new ArrayList<>();
+  private final List<Task<Packet>> responseTasks = new ArrayList<>();
+
+  private boolean sealed;
+
+  /**
+   * Constructs a new rpc batch for the given channel.
+   *
+   * @param channel the channel to send the batch to.
+   * @throws NullPointerException if the given channel is null.
+   */
+  public RPCBatch(@NonNull NetworkChannel channel) {
+    this.channel = channel;
+  }
+
+  /**
+   * Get the channel to which this batch gets sent.
+   *
+   * @return the channel to which this batch gets sent.
+   */
+  public @NonNull NetworkChannel channel() {
+    return this.channel;
+  }
+
+  /**
+   * Adds the given encoded rpc request to this batch. This method returns null if the batch was already sealed and no
+   * more requests can be added to it.
+   *
+   * @param request       the encoded rpc request to add.
+   * @param expectsResult if the request expects a result.
+   * @return a task completed with the response to the request, null if this batch is already sealed.
+   * @throws NullPointerException if the given request is null.
+   */
+  public synchronized @Nullable Task<Packet> add(@NonNull DataBuf request, boolean expectsResult) {
+    if (this.sealed) {
+      return null;
+    }
+
+    var responseTask = expectsResult ? new Task<Packet>() : null;
+    this.requests.add(request);
+    this.responseTasks.add(responseTask);
+    return responseTask == null ? Task.completedTask(null) : responseTask;
+  }
+
+  /**
+   * Get the amount of requests which were added to this batch.
+   *
+   * @return the amount of requests in this batch.
+   */
+  public synchronized int size() {
+    return this.requests.size();
+  }
+
+  /**
+   * Seals this batch, no more requests can be added to it afterwards.
+   *
+   * @return true if this call sealed the batch, false if the batch was already sealed before.
+   */
+  public synchronized boolean seal() {
+    if (this.sealed) {
+      return false;
+    }
+
+    this.sealed = true;
+    return true;
+  }
+
+  /**
+   * Sends all requests of this batch into the associated channel. This method should only be called once the batch
+   * was sealed by the caller.
+   */
+  public void send() {
+    var size = this.requests.size();
+    if (size == 0) {
+      return;
+    }
+
+    // record the batch size
+    RPCBatcher.recordBatch(size);
+
+    // a single request does not need to be wrapped into a batch
+    if (size == 1) {
+      var responseTask = this.responseTasks.get(0);
+      var packet = new RPCRequestPacket(this.requests.get(0));
+      if (responseTask == null) {
+        this.channel.sendPacket(packet);
+      } else {
+        this.channel.sendQueryAsync(packet).whenComplete((response, throwable) -> {
+          if (throwable == null) {
+            responseTask.complete(response);
+          } else {
+            responseTask.completeExceptionally(throwable);
+          }
+        });
+      }
+      return;
+    }
+
+    // encode all requests into one buffer
+    var content = DataBufFactory.defaultFactory().createEmpty().writeInt(size);
+    for (var request : this.requests) {
+      content.writeDataBuf(request);
+    }
+
+    // only send a query if at least one request expects a result
+    var packet = new RPCBatchRequestPacket(content);
+    if (this.responseTasks.stream().allMatch(task -> task == null)) {
+      this.channel.sendPacket(packet);
+    } else {
+      this.channel.sendQueryAsync(packet).whenComplete((response, throwable) -> {
+        if (throwable == null) {
+          this.dispatchResponse(response);
+        } else {
+          this.completeExceptionally(throwable);
+        }
+      });
+    }
+  }
+
+  /**
+   * Dispatches the results of the given batch response to the tasks of the requests in this batch.
+   *
+   * @param response the response to the batch request.
+   * @throws NullPointerException if the given response is null.
+   */
+  private void dispatchResponse(@NonNull Packet response) {
+    // an unreadable response indicates that the query was completed before the remote was able to respond
+    if (!response.readable()) {
+      for (var responseTask : this.responseTasks) {
+        if (responseTask != null) {
+          responseTask.complete(response);
+        }
+      }
+      return;
+    }
+
+    var content = response.content();
+    var resultCount = content.readInt();
+    for (var i = 0; i < this.responseTasks.size(); i++) {
+      var responseTask = this.responseTasks.get(i);
+      var result = i < resultCount && content.readBoolean() ? content.readDataBuf() : null;
+      if (responseTask == null) {
+        // no result expected, release the result (if any)
+        if (result != null) {
+          result.forceRelease();
+        }
+      } else if (result == null) {
+        // the remote was unable to handle the request, for example because no handler is registered
+        responseTask.completeExceptionally(
+          new IllegalStateException("Remote did not respond to request " + i + " of the rpc batch"));
+      } else {
+        responseTask.complete(new BasePacket(-1, result));
+      }
+    }
+  }
+
+  /**
+   * Completes all tasks of the requests in this batch with the given throwable.
+   *
+   * @param throwable the throwable to complete the tasks with.
+   * @throws NullPointerException if the given throwable is null.
+   */
+  private void completeExceptionally(@NonNull Throwable throwable) {
+    for (var responseTask : this.responseTasks) {
+      if (responseTask != null) {
+        responseTask.completeExceptionally(throwable);
+      }
+    }
+  }
+}
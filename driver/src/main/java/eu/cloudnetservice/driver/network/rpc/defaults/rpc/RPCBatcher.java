@@ -0,0 +1,313 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.defaults.rpc;
+
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.common.concurrent.TimingWheel;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.NonNull;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Coalesces independent rpc requests which are sent to the same network channel into a single batch packet. The remote
+ * handles all requests of a batch and responds with a single packet containing the results of all requests, while the
+ * task of each single request is completed as if the request was sent on its own.
+ * <p>
+ * Batching is opt-in and can be used in two ways:
+ * <ol>
+ *   <li>Explicitly by opening a batch scope using {@link #openScope()}. All rpc requests fired by the current thread
+ *   while the scope is open are collected and sent when the scope gets closed.
+ *   <li>Implicitly by setting the {@code cloudnet.rpc.batch-window} system property to a positive amount of
+ *   milliseconds. All rpc requests fired within the window are collected and sent once the window elapsed or the batch
+ *   reached the maximum size defined by the {@code cloudnet.rpc.max-batch-size} system property (256 by default).
+ * </ol>
+ * Note that the remote must be able to handle batched rpc requests, which is the case for all nodes.
+ *
+ * @since 4.0
+ */
+@ApiStatus.Experimental
+public final class RPCBatcher {
+
+  private static final long BATCH_WINDOW_MILLIS = Long.getLong("cloudnet.rpc.batch-window", 0);
+  private static final int MAX_BATCH_SIZE = Math.max(2, Integer.getInteger("cloudnet.rpc.max-batch-size", 256));
+
+  private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+  private static final Map<NetworkChannel, RPCBatch> WINDOW_BATCHES = new ConcurrentHashMap<>();
+
+  // batch statistics
+  private static final LongAdder SENT_BATCHES = new LongAdder();
+  private static final LongAdder BATCHED_REQUESTS = new LongAdder();
+  private static final AtomicInteger LARGEST_BATCH_SIZE = new AtomicInteger();
+
+  private RPCBatcher() {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Opens a new batch scope for the current thread. All rpc requests which are fired by the current thread while the
+   * scope is open are collected and sent in one batch per target channel once the scope gets closed. Scopes can be
+   * nested, requests are always added to the innermost scope.
+   * <p>
+   * Synchronous rpc calls made while a scope is open send all requests collected so far before waiting for their
+   * result. Waiting for the task of an asynchronous request fired in the scope requires a call to
+   * {@link #flushCurrentScope()} (or closing the scope) first, as the request is not sent otherwise.
+   *
+   * @return the opened batch scope, must be closed by the caller to send the collected requests.
+   */
+  public static @NonNull Scope openScope() {
+    var scope = new Scope(CURRENT_SCOPE.get());
+    CURRENT_SCOPE.set(scope);
+    return scope;
+  }
+
+  /**
+   * Sends all rpc requests which were collected by the batch scopes of the current thread so far, leaving the scopes
+   * open. This must be called before waiting for the result of a request fired in a scope on the thread which opened
+   * the scope, as the request would otherwise never be sent.
+   */
+  public static void flushCurrentScope() {
+    for (var scope = CURRENT_SCOPE.get(); scope != null; scope = scope.parent) {
+      scope.flush();
+    }
+  }
+
+  /**
+   * Get if rpc requests which are fired by the current thread should be added to a batch rather than being sent
+   * directly. This is the case if either a batch scope is open or the batch window is enabled.
+   *
+   * @return true if rpc requests of the current thread should be batched, false otherwise.
+   */
+  public static boolean batching() {
+    return BATCH_WINDOW_MILLIS > 0 || CURRENT_SCOPE.get() != null;
+  }
+
+  /**
+   * Adds the given encoded rpc request to a batch for the given channel. If a batch scope is open on the current
+   * thread the request is added to the scope, else the request is added to the current window batch of the channel.
+   *
+   * @param channel       the channel to send the request to.
+   * @param request       the encoded rpc request.
+   * @param expectsResult if the request expects a result.
+   * @return a task completed with the response packet to the request, completed with null if no result is expected.
+   * @throws NullPointerException if the given channel or request is null.
+   */
+  public static @NonNull Task<Packet> enqueue(
+    @NonNull NetworkChannel channel,
+    @NonNull DataBuf request,
+    boolean expectsResult
+  ) {
+    // add the request to the current scope if there is one
+    var scope = CURRENT_SCOPE.get();
+    if (scope != null) {
+      return scope.enqueue(channel, request, expectsResult);
+    }
+
+    while (true) {
+      var batch = WINDOW_BATCHES.computeIfAbsent(channel, RPCBatcher::newWindowBatch);
+      var responseTask = batch.add(request, expectsResult);
+      if (responseTask == null) {
+        // the batch was sealed in the meantime, retry with a new batch
+        continue;
+      }
+
+      // send the batch directly if the maximum batch size was reached
+      if (batch.size() >= MAX_BATCH_SIZE) {
+        flushWindowBatch(batch);
+      }
+      return responseTask;
+    }
+  }
+
+  /**
+   * Get the total amount of batches which were sent by this component.
+   *
+   * @return the total amount of sent batches.
+   */
+  public static long sentBatches() {
+    return SENT_BATCHES.sum();
+  }
+
+  /**
+   * Get the total amount of rpc requests which were sent as part of a batch.
+   *
+   * @return the total amount of batched requests.
+   */
+  public static long batchedRequests() {
+    return BATCHED_REQUESTS.sum();
+  }
+
+  /**
+   * Get the size of the largest batch sent by this component.
+   *
+   * @return the size of the largest sent batch.
+   */
+  public static int largestBatchSize() {
+    return LARGEST_BATCH_SIZE.get();
+  }
+
+  /**
+   * Get the average size of the batches which were sent by this component, 0 if no batch was sent yet.
+   *
+   * @return the average size of the sent batches.
+   */
+  public static double averageBatchSize() {
+    var batches = SENT_BATCHES.sum();
+    return batches == 0 ? 0 : (double) BATCHED_REQUESTS.sum() / batches;
+  }
+
+  /**
+   * Records a batch with the given size which was sent, updating the batch statistics.
+   *
+   * @param size the size of the sent batch.
+   */
+  static void recordBatch(int size) {
+    SENT_BATCHES.increment();
+    BATCHED_REQUESTS.add(size);
+    LARGEST_BATCH_SIZE.accumulateAndGet(size, Math::max);
+  }
+
+  /**
+   * Creates a new window batch for the given channel and schedules the flush of it once the batch window elapsed.
+   *
+   * @param channel the channel to create the batch for.
+   * @return the created window batch.
+   * @throws NullPointerException if the given channel is null.
+   */
+  private static @NonNull RPCBatch newWindowBatch(@NonNull NetworkChannel channel) {
+    var batch = new RPCBatch(channel);
+    WindowWheelHolder.WHEEL.schedule(Duration.ofMillis(BATCH_WINDOW_MILLIS), () -> flushWindowBatch(batch));
+    return batch;
+  }
+
+  /**
+   * Flushes the given window batch if it wasn't flushed before.
+   *
+   * @param batch the batch to flush.
+   * @throws NullPointerException if the given batch is null.
+   */
+  private static void flushWindowBatch(@NonNull RPCBatch batch) {
+    WINDOW_BATCHES.remove(batch.channel(), batch);
+    if (batch.seal()) {
+      batch.send();
+    }
+  }
+
+  /**
+   * A holder for the timing wheel used to flush window batches, only initialized when the batch window is enabled.
+   *
+   * @since 4.0
+   */
+  private static final class WindowWheelHolder {
+
+    private static final TimingWheel WHEEL = new TimingWheel(
+      "RPC-Batch-Window",
+      Duration.ofMillis(Math.max(1, BATCH_WINDOW_MILLIS)),
+      64);
+  }
+
+  /**
+   * An explicit batch scope which collects all rpc requests fired by the thread which opened the scope.
+   *
+   * @since 4.0
+   */
+  public static final class Scope implements AutoCloseable {
+
+    private final Scope parent;
+    private final Map<NetworkChannel, RPCBatch> batches = new LinkedHashMap<>();
+
+    private boolean closed;
+
+    /**
+     * Constructs a new batch scope.
+     *
+     * @param parent the scope which was open on the current thread before this scope, null if no scope was open.
+     */
+    private Scope(@Nullable Scope parent) {
+      this.parent = parent;
+    }
+
+    /**
+     * Adds the given encoded rpc request to the batch of the given channel in this scope.
+     *
+     * @param channel       the channel to send the request to.
+     * @param request       the encoded rpc request.
+     * @param expectsResult if the request expects a result.
+     * @return a task completed with the response packet to the request, completed with null if no result is expected.
+     * @throws NullPointerException if the given channel or request is null.
+     */
+    private @NonNull Task<Packet> enqueue(
+      @NonNull NetworkChannel channel,
+      @NonNull DataBuf request,
+      boolean expectsResult
+    ) {
+      var batch = this.batches.computeIfAbsent(channel, RPCBatch::new);
+      var responseTask = batch.add(request, expectsResult);
+
+      // send the batch directly if the maximum batch size was reached
+      if (batch.size() >= MAX_BATCH_SIZE) {
+        this.batches.remove(channel);
+        batch.seal();
+        batch.send();
+      }
+
+      // the batch is never sealed while in the scope
+      return responseTask;
+    }
+
+    /**
+     * Sends all rpc requests which were collected by this scope so far, without closing this scope.
+     */
+    private void flush() {
+      for (var batch : this.batches.values()) {
+        batch.seal();
+        batch.send();
+      }
+      this.batches.clear();
+    }
+
+    /**
+     * Closes this scope, sending all collected rpc requests and restoring the previously open scope of the thread. This
+     * method must be called from the thread which opened the scope.
+     */
+    @Override
+    public void close() {
+      if (this.closed) {
+        return;
+      }
+
+      // restore the previous scope of the thread
+      this.closed = true;
+      if (this.parent == null) {
+        CURRENT_SCOPE.remove();
+      } else {
+        CURRENT_SCOPE.set(this.parent);
+      }
+
+      // send all collected batches
+      this.flush();
+    }
+  }
+}
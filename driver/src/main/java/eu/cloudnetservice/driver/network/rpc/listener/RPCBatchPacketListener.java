@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.listener;
+
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.protocol.BasePacket;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.rpc.RPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.util.ExceptionalResultUtil;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import lombok.NonNull;
+
+/**
+ * A network packet listener which handles batched rpc requests. Each request in the batch is handled in the order it
+ * was added to the batch, the results of all requests are sent back in a single response packet.
+ *
+ * @since 4.0
+ */
+@Singleton
+public class RPCBatchPacketListener extends RPCPacketListener {
+
+  /**
+   * Constructs a new rpc batch packet listener instance.
+   *
+   * @param rpcHandlerRegistry the registry to use to downstream call instructions to.
+   * @throws NullPointerException if the given rpc handler registry is null.
+   */
+  @Inject
+  public RPCBatchPacketListener(@NonNull RPCHandlerRegistry rpcHandlerRegistry) {
+    super(rpcHandlerRegistry);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) throws Exception {
+    var content = packet.content();
+    var requestCount = content.readInt();
+
+    // handle each request of the batch and collect the results
+    var response = DataBufFactory.defaultFactory().createEmpty().writeInt(requestCount);
+    for (var i = 0; i < requestCount; i++) {
+      var request = content.readDataBuf();
+      try {
+        var result = this.handleRequest(channel, request);
+        response.writeBoolean(result != null);
+        if (result != null) {
+          response.writeDataBuf(result);
+        }
+      } catch (Exception exception) {
+        // an exception must not break the handling of the following requests in the batch
+        var result = ExceptionalResultUtil.serializeThrowable(
+          DataBufFactory.defaultFactory().createEmpty().writeBoolean(false),
+          exception);
+        response.writeBoolean(true).writeDataBuf(result);
+      } finally {
+        // release the remaining content of the request (if any)
+        request.forceRelease();
+      }
+    }
+
+    // send the results of the batch if requested
+    if (packet.uniqueId() != null) {
+      var responsePacket = new BasePacket(-1, response);
+      responsePacket.uniqueId(packet.uniqueId());
+      channel.sendPacket(responsePacket);
+    } else {
+      response.release();
+    }
+  }
+}
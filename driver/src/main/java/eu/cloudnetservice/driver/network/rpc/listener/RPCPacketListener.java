@@ -60,10 +60,27 @@ public RPCPacketListener(@NonNull RPCHandlerRegistry rpcHandlerRegistry) {
    */
   @Override
   public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) throws Exception {
+    // handle the request and check if we need to send a result
+    var result = this.handleRequest(channel, packet.content());
+    if (result != null && packet.uniqueId() != null) {
+      var response = new BasePacket(-1, result);
+      response.uniqueId(packet.uniqueId());
+      channel.sendPacket(response);
+    }
+  }
+
+  /**
+   * Handles the encoded rpc request in the given buffer, either invoking a single method or a method chain.
+   *
+   * @param channel the network channel on which the rpc request was received.
+   * @param buf     the buffer containing the encoded rpc request.
+   * @return the serialized result of the invocation, null if no result is expected or no handler is registered.
+   * @throws NullPointerException  if either the given channel or buffer is null.
+   * @throws CannotDecideException if none or multiple methods are matching the method to call in the target class.
+   */
+  protected @Nullable DataBuf handleRequest(@NonNull NetworkChannel channel, @NonNull DataBuf buf) {
     // the result of the invocation, encoded
     DataBuf result = null;
-    // the input information we get
-    var buf = packet.content();
     // check if the invocation is chained
     if (buf.readBoolean()) {
       // get the chain size
@@ -106,12 +123,8 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) thro
       // just invoke the method
       result = this.handle(buf.readString(), this.buildContext(channel, buf, null, false));
     }
-    // check if we need to send a result
-    if (result != null && packet.uniqueId() != null) {
-      var response = new BasePacket(-1, result);
-      response.uniqueId(packet.uniqueId());
-      channel.sendPacket(response);
-    }
+
+    return result;
   }
 
   /**
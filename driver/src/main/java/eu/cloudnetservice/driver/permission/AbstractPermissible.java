@@ -22,9 +22,11 @@
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 import lombok.EqualsAndHashCode;
 import lombok.NonNull;
 import lombok.ToString;
+import org.jetbrains.annotations.ApiStatus;
 
 /**
  * An abstract implementation of a permissible for shared usage.
@@ -35,6 +37,9 @@
 @EqualsAndHashCode
 public abstract class AbstractPermissible implements DefaultedDocPropertyHolder, Permissible {
 
+  private static final AtomicIntegerFieldUpdater<AbstractPermissible> MODIFICATION_COUNT_UPDATER =
+    AtomicIntegerFieldUpdater.newUpdater(AbstractPermissible.class, "modificationCount");
+
   protected final String name;
   protected final int potency;
   protected final long createdTime;
@@ -44,6 +49,10 @@ public abstract class AbstractPermissible implements DefaultedDocPropertyHolder,
 
   protected final Document properties;
 
+  // the amount of modifications made through this permissible, used to detect outdated compiled permissions
+  @ToString.Exclude
+  protected transient volatile int modificationCount;
+
   /**
    * Constructs a new abstract permissible instance.
    *
@@ -71,6 +80,27 @@ public AbstractPermissible(
     this.properties = properties;
   }
 
+  /**
+   * Get the amount of modifications which were made to the permissions or groups of this permissible. The count is
+   * increased by all modification methods of this permissible, but not by modifications made directly to the
+   * collections returned by this permissible. Such modifications must be followed by a call to {@link #markModified()}.
+   *
+   * @return the amount of modifications made to this permissible.
+   */
+  @ApiStatus.Internal
+  public int modificationCount() {
+    return this.modificationCount;
+  }
+
+  /**
+   * Marks the permissions or groups of this permissible as modified, invalidating the permissions which were compiled
+   * for this permissible before.
+   */
+  @ApiStatus.Internal
+  public void markModified() {
+    MODIFICATION_COUNT_UPDATER.incrementAndGet(this);
+  }
+
   /**
    * Adds the given permission into the set of permissions. If the collection contains a permission with the same name
    * it is removed before adding the new permission.
@@ -82,6 +112,7 @@ public AbstractPermissible(
   private void addPermission(@NonNull Set<Permission> permissions, @NonNull Permission permission) {
     permissions.removeIf(existingPermission -> existingPermission.name().equalsIgnoreCase(permission.name()));
     permissions.add(permission);
+    this.markModified();
   }
 
   /**
@@ -108,7 +139,9 @@ public boolean removePermission(@NonNull String permission) {
     var exist = this.permission(permission);
 
     if (exist != null) {
-      return this.permissions.remove(exist);
+      var removed = this.permissions.remove(exist);
+      this.markModified();
+      return removed;
     } else {
       return false;
     }
@@ -122,8 +155,11 @@ public boolean removePermission(@NonNull String permission, @NonNull String grou
     var permissions = this.groupPermissions.get(group);
     if (permissions != null) {
       var removed = permissions.removeIf(perm -> perm.name().equalsIgnoreCase(permission));
-      if (removed && permissions.isEmpty()) {
-        this.groupPermissions.remove(group);
+      if (removed) {
+        this.markModified();
+        if (permissions.isEmpty()) {
+          this.groupPermissions.remove(group);
+        }
       }
 
       return removed;
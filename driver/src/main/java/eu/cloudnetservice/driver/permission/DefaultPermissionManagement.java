@@ -16,12 +16,19 @@
 
 package eu.cloudnetservice.driver.permission;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import lombok.NonNull;
@@ -37,6 +44,14 @@
  */
 public abstract class DefaultPermissionManagement implements PermissionManagement {
 
+  private static final String[] NO_GROUPS = new String[0];
+
+  // the compiled permission evaluators, invalidated by increasing the generation when a group changes
+  protected final AtomicInteger permissionEvaluatorGeneration = new AtomicInteger();
+  protected final Cache<EvaluatorKey, CachedEvaluator> permissionEvaluatorCache = Caffeine.newBuilder()
+    .expireAfterAccess(5, TimeUnit.MINUTES)
+    .build();
+
   /**
    * Gets the child permission management. The default implementation does not allow a child permission management,
    * therefore it's always null.
@@ -78,8 +93,17 @@ public boolean testPermissionUser(@Nullable PermissionUser permissionUser) {
       return false;
     }
 
-    return this.testPermissible(permissionUser) || permissionUser.groups().removeIf(
+    if (this.testPermissible(permissionUser)) {
+      return true;
+    }
+
+    var result = permissionUser.groups().removeIf(
       groupInfo -> groupInfo.timeOutMillis() > 0 && groupInfo.timeOutMillis() < System.currentTimeMillis());
+    if (result) {
+      permissionUser.markModified();
+    }
+
+    return result;
   }
 
   /**
@@ -99,6 +123,11 @@ public boolean testPermissible(@Nullable Permissible permissible) {
       result |= entry.getValue().removeIf(tester);
     }
 
+    // the permissions were modified directly, mark the permissible as modified
+    if (result && permissible instanceof AbstractPermissible abstractPermissible) {
+      abstractPermissible.markModified();
+    }
+
     return result;
   }
 
@@ -135,8 +164,7 @@ public boolean testPermissible(@Nullable Permissible permissible) {
     @NonNull Permissible permissible,
     @NonNull Permission permission
   ) {
-    return PermissionCheckResult.fromPermission(
-      this.findHighestPermission(this.collectAllPermissions(permissible, null), permission));
+    return this.permissionEvaluator(permissible, NO_GROUPS).evaluate(permission);
   }
 
   /**
@@ -158,39 +186,88 @@ public boolean testPermissible(@Nullable Permissible permissible) {
   public @NonNull PermissionCheckResult groupsPermissionResult(@NonNull Permissible permissible,
     @NonNull String[] groups,
     @NonNull Permission permission) {
-    return PermissionCheckResult
-      .fromPermission(this.findHighestPermission(this.collectAllPermissions(permissible, groups), permission));
+    return this.permissionEvaluator(permissible, groups).evaluate(permission);
   }
 
   /**
    * {@inheritDoc}
+   * <p>
+   * The evaluators are cached per permissible and groups. A cached evaluator is reused if no permission group was
+   * changed since it was compiled and the permissible instance wasn't modified since. Other instances of the
+   * permissible can reuse the evaluator if their permissions and groups are equal to the ones it was compiled from.
    */
   @Override
-  @Nullable
-  public Permission findHighestPermission(@NonNull Collection<Permission> permissions, @NonNull Permission permission) {
-    Permission lastMatch = null;
-    // search for a better match
-    for (var permissionEntry : permissions) {
-      var used = lastMatch == null ? permission : lastMatch;
-      // the "star" permission represents a permission which allows access to every command
-      if (permissionEntry.name().equals("*") && permissionEntry.compareTo(used) >= 0) {
-        lastMatch = permissionEntry;
-        continue;
+  public @NonNull PermissionEvaluator permissionEvaluator(@NonNull Permissible permissible, @NonNull String[] groups) {
+    var key = new EvaluatorKey(
+      permissible instanceof PermissionUser user ? user.uniqueId() : permissible.name(),
+      List.of(groups));
+    // read the versions before collecting the permissions, a concurrent modification invalidates the compiled evaluator
+    var generation = this.permissionEvaluatorGeneration.get();
+    var version = this.permissibleVersion(permissible);
+
+    // check if the cached evaluator is still valid for the given permissible
+    var cachedEvaluator = this.permissionEvaluatorCache.getIfPresent(key);
+    if (cachedEvaluator != null && cachedEvaluator.generation() == generation) {
+      // the same permissible instance which wasn't modified since the evaluator was compiled
+      if (version >= 0 && cachedEvaluator.permissible() == permissible && cachedEvaluator.version() == version) {
+        return cachedEvaluator.evaluator();
       }
-      // searches for "perm.*"-permissions (allowing all sub permissions of the given permission name start
-      if (permissionEntry.name().endsWith("*")
-        && permission.name().contains(permissionEntry.name().replace("*", ""))
-        && permissionEntry.compareTo(used) >= 0) {
-        lastMatch = permissionEntry;
-        continue;
-      }
-      // checks if the current permission is exactly (case-sensitive) the permission for which we are searching
-      if (permission.name().equalsIgnoreCase(permissionEntry.name()) && permissionEntry.compareTo(used) >= 0) {
-        lastMatch = permissionEntry;
+
+      // a different instance of the permissible (for example a freshly loaded one), reuse the evaluator if the
+      // permissions and groups are still the same
+      var state = PermissibleState.of(permissible);
+      if (cachedEvaluator.state().equals(state)) {
+        this.permissionEvaluatorCache.put(key, new CachedEvaluator(
+          permissible,
+          version,
+          state,
+          generation,
+          cachedEvaluator.evaluator()));
+        return cachedEvaluator.evaluator();
       }
     }
 
-    return lastMatch;
+    // compile & cache a new evaluator
+    var state = PermissibleState.of(permissible);
+    var evaluator = PermissionEvaluator.compile(this.collectAllPermissions(permissible, groups));
+    this.permissionEvaluatorCache.put(key, new CachedEvaluator(permissible, version, state, generation, evaluator));
+    return evaluator;
+  }
+
+  /**
+   * Get the version of the permissions and groups of the given permissible instance. Permissibles extending the
+   * abstract permissible are tracking their modifications, other implementations have no version and their state must
+   * be compared instead.
+   *
+   * @param permissible the permissible to get the version of.
+   * @return the version of the permissions and groups of the given permissible, -1 if the version is unknown.
+   * @throws NullPointerException if the given permissible is null.
+   */
+  protected int permissibleVersion(@NonNull Permissible permissible) {
+    if (permissible instanceof AbstractPermissible abstractPermissible) {
+      return abstractPermissible.modificationCount();
+    }
+
+    return -1;
+  }
+
+  /**
+   * Invalidates the cached permission evaluators of all permissibles. This method must be called whenever a permission
+   * group changes, as the change might affect the permissions of all permissibles.
+   */
+  public void invalidatePermissionEvaluators() {
+    this.permissionEvaluatorGeneration.incrementAndGet();
+    this.permissionEvaluatorCache.invalidateAll();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  @Nullable
+  public Permission findHighestPermission(@NonNull Collection<Permission> permissions, @NonNull Permission permission) {
+    // use the same matching rules as the compiled evaluators, checks of the same permissions must give the same result
+    return PermissionEvaluator.compile(permissions).findHighestPermission(permission);
   }
 
   protected @NonNull Collection<Permission> collectAllPermissions(
@@ -348,4 +425,70 @@ protected void collectPermissionsInto(
 
     return users;
   }
+
+  /**
+   * The key of a cached permission evaluator.
+   *
+   * @param permissible the identifier of the permissible, the unique id for users and the name for groups.
+   * @param groups      the groups to include the group specific permissions of.
+   * @since 4.0
+   */
+  protected record EvaluatorKey(@NonNull Object permissible, @NonNull List<String> groups) {
+
+  }
+
+  /**
+   * A cached permission evaluator.
+   *
+   * @param permissible the permissible instance the evaluator was compiled from.
+   * @param version     the version of the permissible at the time the evaluator was compiled, -1 if unknown.
+   * @param state       the permissions and groups of the permissible the evaluator was compiled from.
+   * @param generation  the evaluator generation at the time the evaluator was compiled.
+   * @param evaluator   the compiled evaluator.
+   * @since 4.0
+   */
+  protected record CachedEvaluator(
+    @NonNull Permissible permissible,
+    int version,
+    @NonNull PermissibleState state,
+    int generation,
+    @NonNull PermissionEvaluator evaluator
+  ) {
+
+  }
+
+  /**
+   * A snapshot of the permissions and groups of a permissible, used to check if an evaluator compiled for one instance
+   * of a permissible can be reused for another instance.
+   *
+   * @param permissions      the permissions of the permissible.
+   * @param groupPermissions the group specific permissions of the permissible.
+   * @param groupNames       the names of the groups the permissible inherits from.
+   * @since 4.0
+   */
+  protected record PermissibleState(
+    @NonNull Set<Permission> permissions,
+    @NonNull Map<String, Set<Permission>> groupPermissions,
+    @NonNull List<String> groupNames
+  ) {
+
+    /**
+     * Creates a snapshot of the permissions and groups of the given permissible.
+     *
+     * @param permissible the permissible to create the snapshot of.
+     * @return a snapshot of the permissions and groups of the given permissible.
+     * @throws NullPointerException if the given permissible is null.
+     */
+    public static @NonNull PermissibleState of(@NonNull Permissible permissible) {
+      Map<String, Set<Permission>> groupPermissions = new HashMap<>();
+      for (var entry : permissible.groupPermissions().entrySet()) {
+        groupPermissions.put(entry.getKey(), Set.copyOf(entry.getValue()));
+      }
+
+      return new PermissibleState(
+        Set.copyOf(permissible.permissions()),
+        Map.copyOf(groupPermissions),
+        List.copyOf(permissible.groupNames()));
+    }
+  }
 }
@@ -0,0 +1,169 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.permission;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable, compiled view of a set of permissions which allows fast evaluation of permission checks. The compiled
+ * permissions are split into exact permissions, which are looked up by their name, and wildcard permissions, which are
+ * stored in a prefix trie. A wildcard permission is a permission ending with {@code *}, granting (or forbidding) all
+ * permissions starting with the name of the wildcard permission without the star. The {@code *} permission matches all
+ * permissions. All permission names are compared case-insensitively.
+ * <p>
+ * Evaluating a permission only walks the characters of the checked permission through the trie, the cost of a check is
+ * therefore independent of the amount of compiled permissions. An evaluator does not reflect changes made to the
+ * permissions it was compiled from, a new evaluator must be compiled in that case.
+ *
+ * @see PermissionManagement#permissionEvaluator(Permissible, String[])
+ * @since 4.0
+ */
+public final class PermissionEvaluator {
+
+  private final Node wildcardRoot;
+  private final Map<String, Permission> exactPermissions;
+
+  /**
+   * Constructs a new permission evaluator.
+   *
+   * @param wildcardRoot     the root node of the wildcard permission trie.
+   * @param exactPermissions the exact permissions, mapped by their lower-cased name.
+   * @throws NullPointerException if the given root node or exact permission map is null.
+   */
+  private PermissionEvaluator(@NonNull Node wildcardRoot, @NonNull Map<String, Permission> exactPermissions) {
+    this.wildcardRoot = wildcardRoot;
+    this.exactPermissions = exactPermissions;
+  }
+
+  /**
+   * Compiles a new permission evaluator from the given permissions. If multiple permissions with the same name are
+   * given, the one with the highest absolute potency is used. If the potency is equal as well, the permission which
+   * comes later in the iteration order of the given permissions is used.
+   *
+   * @param permissions the permissions to compile.
+   * @return the compiled evaluator for the given permissions.
+   * @throws NullPointerException if the given permissions are null.
+   */
+  public static @NonNull PermissionEvaluator compile(@NonNull Iterable<Permission> permissions) {
+    var wildcardRoot = new Node();
+    Map<String, Permission> exactPermissions = new HashMap<>();
+
+    for (var permission : permissions) {
+      var name = permission.name().toLowerCase(Locale.ROOT);
+      if (name.endsWith("*")) {
+        // walk down the trie to the node representing the prefix of the wildcard permission
+        var node = wildcardRoot;
+        var prefix = name.replace("*", "");
+        for (var index = 0; index < prefix.length(); index++) {
+          node = node.children.computeIfAbsent(prefix.charAt(index), $ -> new Node());
+        }
+        node.permission = higher(node.permission, permission);
+      } else {
+        exactPermissions.merge(name, permission, PermissionEvaluator::higher);
+      }
+    }
+
+    return new PermissionEvaluator(wildcardRoot, exactPermissions);
+  }
+
+  /**
+   * Finds the highest compiled permission matching the given permission. The absolute potency of a matching permission
+   * must be at least the absolute potency of the given permission. If multiple permissions with the same absolute
+   * potency are matching, the more specific one wins: an exact permission is more specific than a wildcard permission,
+   * a wildcard permission with a longer prefix is more specific than one with a shorter prefix.
+   *
+   * @param permission the permission to find the highest matching permission for.
+   * @return the highest compiled permission matching the given permission, null if no permission matches.
+   * @throws NullPointerException if the given permission is null.
+   */
+  public @Nullable Permission findHighestPermission(@NonNull Permission permission) {
+    var name = permission.name().toLowerCase(Locale.ROOT);
+
+    // collect the matching wildcard permissions, from the least to the most specific one
+    var node = this.wildcardRoot;
+    var lastMatch = matchOrNull(null, node.permission, permission);
+    for (var index = 0; index < name.length(); index++) {
+      node = node.children.get(name.charAt(index));
+      if (node == null) {
+        break;
+      }
+      lastMatch = matchOrNull(lastMatch, node.permission, permission);
+    }
+
+    // the exact permission is the most specific one
+    return matchOrNull(lastMatch, this.exactPermissions.get(name), permission);
+  }
+
+  /**
+   * Evaluates the given permission against the compiled permissions.
+   *
+   * @param permission the permission to evaluate.
+   * @return the result of the permission check.
+   * @throws NullPointerException if the given permission is null.
+   */
+  public @NonNull PermissionCheckResult evaluate(@NonNull Permission permission) {
+    return PermissionCheckResult.fromPermission(this.findHighestPermission(permission));
+  }
+
+  /**
+   * Get the permission with the higher absolute potency, preferring the candidate if both potencies are equal.
+   *
+   * @param current   the current permission, can be null.
+   * @param candidate the candidate to replace the current permission.
+   * @return the permission with the higher absolute potency.
+   * @throws NullPointerException if the given candidate is null.
+   */
+  private static @NonNull Permission higher(@Nullable Permission current, @NonNull Permission candidate) {
+    return current == null || candidate.compareTo(current) >= 0 ? candidate : current;
+  }
+
+  /**
+   * Replaces the last match with the given candidate if the candidate has at least the absolute potency of the last
+   * match, or the checked permission if there is no last match yet.
+   *
+   * @param lastMatch the last matching permission, can be null.
+   * @param candidate the candidate permission, can be null.
+   * @param checked   the permission which is checked.
+   * @return the new last match, null if there was no match yet.
+   * @throws NullPointerException if the given checked permission is null.
+   */
+  private static @Nullable Permission matchOrNull(
+    @Nullable Permission lastMatch,
+    @Nullable Permission candidate,
+    @NonNull Permission checked
+  ) {
+    if (candidate != null && candidate.compareTo(lastMatch == null ? checked : lastMatch) >= 0) {
+      return candidate;
+    }
+    return lastMatch;
+  }
+
+  /**
+   * A node in the wildcard permission trie, representing a single character of a wildcard permission prefix.
+   *
+   * @since 4.0
+   */
+  private static final class Node {
+
+    private final Map<Character, Node> children = new HashMap<>();
+    private Permission permission;
+  }
+}
@@ -18,6 +18,7 @@
 
 import eu.cloudnetservice.common.concurrent.Task;
 import eu.cloudnetservice.driver.network.rpc.annotation.RPCValidation;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
@@ -191,6 +192,37 @@ default boolean hasGroupPermission(
   @Nullable Permission findHighestPermission(@NonNull Collection<Permission> permissions,
     @NonNull Permission permission);
 
+  /**
+   * Get a compiled evaluator for all permissions of the given permissible, including the permissions of all groups the
+   * permissible inherits from. The returned evaluator does not reflect changes made to the permissible or its groups
+   * after it was compiled.
+   *
+   * @param permissible the permissible to get the evaluator for.
+   * @return a compiled evaluator for all permissions of the given permissible.
+   * @throws NullPointerException if the given permissible is null.
+   */
+  default @NonNull PermissionEvaluator permissionEvaluator(@NonNull Permissible permissible) {
+    return this.permissionEvaluator(permissible, new String[0]);
+  }
+
+  /**
+   * Get a compiled evaluator for all permissions of the given permissible, including the permissions of all groups the
+   * permissible inherits from and the group specific permissions of the given groups. The returned evaluator does not
+   * reflect changes made to the permissible or its groups after it was compiled.
+   *
+   * @param permissible the permissible to get the evaluator for.
+   * @param groups      the groups to include the group specific permissions of.
+   * @return a compiled evaluator for all permissions of the given permissible.
+   * @throws NullPointerException if the given permissible or groups array is null.
+   */
+  default @NonNull PermissionEvaluator permissionEvaluator(@NonNull Permissible permissible, @NonNull String[] groups) {
+    Collection<Permission> permissions = new ArrayList<>(this.allPermissions(permissible));
+    for (var group : groups) {
+      permissions.addAll(this.allGroupPermissions(permissible, group));
+    }
+    return PermissionEvaluator.compile(permissions);
+  }
+
   /**
    * Gets all permission of the specified permissible.
    *
@@ -54,4 +54,15 @@ private ClassDefiners() {
   public static @NonNull ClassDefiner current() {
     return DEFINER;
   }
+
+  /**
+   * Get if the classes defined by the current definer are nestmates of their parent class. Nestmates have access to all
+   * members of the parent class, regardless of their visibility. If this method returns false, generated classes can
+   * only access public members of public classes.
+   *
+   * @return true if classes are defined as nestmates of their parent class, false otherwise.
+   */
+  public static boolean definesNestmates() {
+    return DEFINER instanceof LookupClassDefiner;
+  }
 }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.document;
+
+import eu.cloudnetservice.driver.document.gson.BinaryDocumentFactory;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.rpc.object.AllPrimitiveTypesDataClass;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.CleanupMode;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+public class BinaryDocumentSerialisationTest {
+
+  @TempDir(cleanup = CleanupMode.ON_SUCCESS)
+  private Path tempDir;
+
+  static Stream<Arguments> serialisationInputSource() {
+    return Stream.of(
+      Arguments.of(DocumentFactory.binary().newDocument()),
+      Arguments.of(DocumentFactory.binary().newDocument()
+        .append("test", 1234)
+        .append("negative", -1234567890123L)
+        .append("world", 5.999)
+        .append("float", 1234.34F)
+        .append("boolean", false)
+        .append("hello", "world")),
+      Arguments.of(DocumentFactory.binary().newDocument()
+        .appendTree(new AllPrimitiveTypesDataClass())
+        .append("cloud", List.of("Ben?", "Yes", "No", "HoHoHoHo", "Yes", "No"))
+        .append("world", Map.of("hello", "world", "this", "is", "insane", "!"))),
+      Arguments.of(DocumentFactory.binary().newDocument()
+        .appendNull("testing")
+        .append("key", List.of("the", "best", "value"))
+        .append("other", Document.newJsonDocument().append("hello", "world").append("key", "value"))));
+  }
+
+  static Document.Mutable propertyHeavyDocument() {
+    List<Document> players = new ArrayList<>();
+    for (var index = 0; index < 100; index++) {
+      players.add(Document.newJsonDocument()
+        .append("name", "Player" + index)
+        .append("uniqueId", "0b5c1b4e-2a3f-4d17-9a8e-" + String.format("%012d", index))
+        .append("online", index % 2 == 0)
+        .append("ping", index * 3)
+        .append("server", Document.newJsonDocument().append("name", "Lobby-1").append("task", "Lobby")));
+    }
+
+    return Document.newJsonDocument()
+      .append("Online", true)
+      .append("Motd", "A CloudNet service")
+      .append("Extra", "")
+      .append("State", "LOBBY")
+      .append("Max-Players", 100)
+      .append("Online-Count", players.size())
+      .append("Version", "1.20.1")
+      .append("Players", players);
+  }
+
+  @Test
+  void testFileReadReturnsNewDocumentIfMissing() {
+    var deserialized = DocumentFactory.binary().parse(this.tempDir.resolve("missing"));
+    Assertions.assertTrue(deserialized.empty());
+    Assertions.assertEquals("binary", deserialized.factoryName());
+  }
+
+  @ParameterizedTest
+  @MethodSource("serialisationInputSource")
+  void testFileSerialisation(Document input) {
+    var targetFile = this.tempDir.resolve("world").resolve("out.bin");
+    Assertions.assertDoesNotThrow(() -> input.writeTo(targetFile));
+    Assertions.assertTrue(Files.isRegularFile(targetFile));
+
+    var deserialized = Assertions.assertDoesNotThrow(() -> DocumentFactory.binary().parse(targetFile));
+    Assertions.assertEquals(input, deserialized);
+  }
+
+  @ParameterizedTest
+  @MethodSource("serialisationInputSource")
+  void testOutputStreamAndByteArraySerialisation(Document input) {
+    var out = new ByteArrayOutputStream();
+    Assertions.assertDoesNotThrow(() -> input.writeTo(out));
+
+    var deserializedFromStream = DocumentFactory.binary().parse(new ByteArrayInputStream(out.toByteArray()));
+    Assertions.assertEquals(input, deserializedFromStream);
+
+    var deserializedFromBytes = DocumentFactory.binary().parse(out.toByteArray());
+    Assertions.assertEquals(input, deserializedFromBytes);
+  }
+
+  @ParameterizedTest
+  @MethodSource("serialisationInputSource")
+  void testDataBufSerialisation(Document input) {
+    try (var buf = DataBuf.empty()) {
+      input.writeTo(buf);
+      buf.writeInt(1234);
+
+      var deserialized = Assertions.assertDoesNotThrow(() -> DocumentFactory.binary().parse(buf));
+      Assertions.assertEquals(input, deserialized);
+      Assertions.assertEquals(1234, buf.readInt());
+    }
+  }
+
+  @ParameterizedTest
+  @MethodSource("serialisationInputSource")
+  void testStringSerialisationProducesJson(Document input) {
+    var encoded = input.serializeToString();
+    Assertions.assertEquals(input, DocumentFactory.json().parse(encoded));
+    Assertions.assertEquals(input, DocumentFactory.binary().parse(encoded));
+  }
+
+  @Test
+  void testParsedJsonNumbersAreKept() {
+    var jsonDocument = DocumentFactory.json().parse("{\"int\":1,\"long\":-12345678901,\"double\":1.5}");
+    var binaryDocument = DocumentFactory.binary().receive(jsonDocument.send());
+
+    var out = new ByteArrayOutputStream();
+    binaryDocument.writeTo(out);
+    var deserialized = DocumentFactory.binary().parse(out.toByteArray());
+
+    Assertions.assertEquals(1, deserialized.getInt("int"));
+    Assertions.assertEquals(-12345678901L, deserialized.getLong("long"));
+    Assertions.assertEquals(1.5, deserialized.getDouble("double"));
+    Assertions.assertEquals(jsonDocument, deserialized);
+  }
+
+  @Test
+  void testBinaryDocumentDetection() {
+    var document = propertyHeavyDocument();
+    var json = document.serializeToString(StandardSerialisationStyle.COMPACT).getBytes(StandardCharsets.UTF_8);
+
+    var out = new ByteArrayOutputStream();
+    DocumentFactory.binary().receive(document.send()).writeTo(out);
+    var binary = out.toByteArray();
+
+    Assertions.assertTrue(BinaryDocumentFactory.binaryDocument(binary));
+    Assertions.assertFalse(BinaryDocumentFactory.binaryDocument(json));
+    Assertions.assertTrue(binary.length < json.length);
+  }
+
+  @Test
+  void testDirectEncoding() {
+    var jsonDocument = propertyHeavyDocument();
+    var encodedJson = BinaryDocumentFactory.encode(jsonDocument);
+    Assertions.assertTrue(BinaryDocumentFactory.binaryDocument(encodedJson));
+    Assertions.assertEquals(jsonDocument, DocumentFactory.binary().parse(encodedJson));
+
+    var out = new ByteArrayOutputStream();
+    var binaryDocument = DocumentFactory.binary().receive(jsonDocument.send());
+    binaryDocument.writeTo(out);
+    Assertions.assertArrayEquals(out.toByteArray(), BinaryDocumentFactory.encode(binaryDocument));
+  }
+
+  @Test
+  void testStringLengthIsBoundByInput() {
+    // an object with a single key which claims to be Integer.MAX_VALUE bytes long, but only 3 bytes follow
+    var data = new byte[]{
+      (byte) 0xCB, 1, 1, 0,
+      (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07,
+      'k', 'e', 'y'};
+
+    Assertions.assertThrows(DocumentParseException.class, () -> DocumentFactory.binary().parse(data));
+    Assertions.assertThrows(
+      DocumentParseException.class,
+      () -> DocumentFactory.binary().parse(new ByteArrayInputStream(data)));
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "cloudnet.document.benchmark", matches = "true")
+  void benchmarkBinaryAgainstJson() {
+    var document = propertyHeavyDocument();
+    var binaryDocument = DocumentFactory.binary().receive(document.send());
+    var iterations = 20_000;
+
+    for (var round = 0; round < 3; round++) {
+      var jsonSize = 0;
+      var jsonStart = System.nanoTime();
+      for (var index = 0; index < iterations; index++) {
+        try (var buf = DataBuf.empty()) {
+          document.writeTo(buf);
+          jsonSize = buf.readableBytes();
+          DocumentFactory.json().parse(buf);
+        }
+      }
+      var jsonNanos = System.nanoTime() - jsonStart;
+
+      var binarySize = 0;
+      var binaryStart = System.nanoTime();
+      for (var index = 0; index < iterations; index++) {
+        try (var buf = DataBuf.empty()) {
+          binaryDocument.writeTo(buf);
+          binarySize = buf.readableBytes();
+          DocumentFactory.binary().parse(buf);
+        }
+      }
+      var binaryNanos = System.nanoTime() - binaryStart;
+
+      System.out.printf(
+        "Round %d: json %d bytes, %d ns/roundtrip; binary %d bytes, %d ns/roundtrip%n",
+        round,
+        jsonSize,
+        jsonNanos / iterations,
+        binarySize,
+        binaryNanos / iterations);
+    }
+  }
+}
@@ -19,10 +19,13 @@
 import eu.cloudnetservice.driver.network.rpc.object.AllPrimitiveTypesDataClass;
 import eu.cloudnetservice.driver.service.ProcessConfiguration;
 import io.leangen.geantyref.TypeFactory;
+import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -30,12 +33,13 @@
 public class DocumentTest {
 
   static Stream<Arguments> documentTypeProvider() {
-    return Stream.of(Arguments.of(Document.newJsonDocument()));
+    return Stream.of(Arguments.of(Document.newJsonDocument()), Arguments.of(DocumentFactory.binary().newDocument()));
   }
 
   static Stream<Arguments> documentTypeFactoryNameProvider() {
     return Stream.of(
       Arguments.of("json", Document.newJsonDocument()),
+      Arguments.of("binary", DocumentFactory.binary().newDocument()),
       Arguments.of("empty", Document.emptyDocument()));
   }
 
@@ -221,6 +225,85 @@ void testDocumentCopy(Document.Mutable document) {
     Assertions.assertNull(immutableCopy.getString("stringD"));
   }
 
+  @ParameterizedTest
+  @MethodSource("documentTypeProvider")
+  void testDocumentCopyOnWrite(Document.Mutable document) {
+    document.append("nested", Document.newJsonDocument().append("stringA", "World"));
+    document.append("stringB", "Hello");
+
+    // modifying a nested mutable document must not modify the parent
+    var nestedMutable = document.readMutableDocument("nested");
+    var nestedImmutable = document.readDocument("nested");
+    nestedMutable.append("stringC", ":)");
+    Assertions.assertEquals(2, nestedMutable.elementCount());
+    Assertions.assertEquals(1, nestedImmutable.elementCount());
+    Assertions.assertEquals(1, document.readDocument("nested").elementCount());
+
+    // modifying a copy must not modify the original and the other way around
+    var immutableCopy = document.immutableCopy();
+    var mutableCopy = document.mutableCopy();
+    mutableCopy.remove("stringB");
+    document.append("nested", Document.newJsonDocument());
+    Assertions.assertEquals(2, document.elementCount());
+    Assertions.assertEquals(1, mutableCopy.elementCount());
+    Assertions.assertEquals(2, immutableCopy.elementCount());
+    Assertions.assertEquals("World", immutableCopy.readDocument("nested").getString("stringA"));
+    Assertions.assertEquals("World", mutableCopy.readDocument("nested").getString("stringA"));
+    Assertions.assertTrue(document.readDocument("nested").empty());
+
+    // clearing a document must not clear the copies
+    var secondCopy = mutableCopy.mutableCopy();
+    mutableCopy.clear();
+    Assertions.assertTrue(mutableCopy.empty());
+    Assertions.assertEquals(1, secondCopy.elementCount());
+    Assertions.assertEquals(2, immutableCopy.elementCount());
+
+    // the replaced content must be used when writing the document after it was copied
+    secondCopy.append("stringD", "Copied");
+    var serialized = DocumentFactory.json().parse(secondCopy.serializeToString());
+    Assertions.assertEquals(secondCopy, serialized);
+    Assertions.assertEquals("Copied", serialized.getString("stringD"));
+  }
+
+  @Test
+  @EnabledIfSystemProperty(named = "cloudnet.document.benchmark", matches = "true")
+  void benchmarkSnapshotAllocations() {
+    var document = Document.newJsonDocument();
+    for (var index = 0; index < 200; index++) {
+      document.append("property" + index, Document.newJsonDocument()
+        .append("name", "Property" + index)
+        .append("value", index)
+        .append("tags", List.of("a", "b", "c")));
+    }
+
+    var threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    var iterations = 10_000;
+    for (var round = 0; round < 3; round++) {
+      // full copies of the document, the way snapshots were taken before copies were shared
+      var fullCopyStart = threadBean.getCurrentThreadAllocatedBytes();
+      for (var index = 0; index < iterations; index++) {
+        var snapshot = Document.newJsonDocument().append(document).immutableCopy();
+        snapshot.readDocument("property" + (index % 200));
+      }
+      var fullCopyBytes = threadBean.getCurrentThreadAllocatedBytes() - fullCopyStart;
+
+      // snapshots sharing the document content, modifying the document after each snapshot
+      var sharedStart = threadBean.getCurrentThreadAllocatedBytes();
+      for (var index = 0; index < iterations; index++) {
+        var snapshot = document.immutableCopy();
+        snapshot.readDocument("property" + (index % 200));
+        document.append("counter", index);
+      }
+      var sharedBytes = threadBean.getCurrentThreadAllocatedBytes() - sharedStart;
+
+      System.out.printf(
+        "Round %d: full copy %d bytes/snapshot; shared %d bytes/snapshot%n",
+        round,
+        fullCopyBytes / iterations,
+        sharedBytes / iterations);
+    }
+  }
+
   @ParameterizedTest
   @MethodSource("documentTypeProvider")
   void testClassMemberAnnotations(Document.Mutable document) {
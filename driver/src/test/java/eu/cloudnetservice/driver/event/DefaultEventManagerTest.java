@@ -89,6 +89,49 @@ void testUnregisterListenerByClassLoader() {
     Assertions.assertEquals(0, eventManager.listeners.size());
   }
 
+  @Test
+  @Order(40)
+  void testSupertypeAndChannelDispatch() {
+    var eventManager = new DefaultEventManager();
+    eventManager.registerListener(SupertypeListener.INSTANCE);
+
+    var event = new SubTestEvent();
+    eventManager.callEvent(event);
+    Assertions.assertEquals(2, event.counter);
+
+    // the listener for channel 123 should only receive the event when called on that channel
+    eventManager.callEvent("123", event);
+    Assertions.assertEquals(3, event.counter);
+  }
+
+  @Test
+  @Order(50)
+  void testBakedListenersInvalidatedOnUnregister() {
+    var eventManager = new DefaultEventManager();
+    eventManager.registerListener(SupertypeListener.INSTANCE);
+
+    var event = new SubTestEvent();
+    eventManager.callEvent(event);
+    Assertions.assertEquals(2, event.counter);
+
+    // the listeners were baked by the call, they must not be called anymore after unregistering
+    eventManager.unregisterListener(SupertypeListener.INSTANCE);
+    eventManager.callEvent(event);
+    Assertions.assertEquals(2, event.counter);
+  }
+
+  @Test
+  @Order(60)
+  void testListenerExceptionIsWrapped() {
+    var eventManager = new DefaultEventManager();
+    eventManager.registerListener(ThrowingListener.INSTANCE);
+
+    var exception = Assertions.assertThrows(
+      EventListenerException.class,
+      () -> eventManager.callEvent(new TestEvent(0)));
+    Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+  }
+
   private DefaultEventManager newEventManagerWithListener() {
     var eventManager = new DefaultEventManager();
 
@@ -132,13 +175,52 @@ public boolean equals(Object obj) {
     }
   }
 
-  private static final class TestEvent extends Event {
+  private static final class SupertypeListener {
+
+    private static final SupertypeListener INSTANCE = new SupertypeListener();
+
+    @EventListener(order = InvocationOrder.LATE)
+    private void handleSub(SubTestEvent event) {
+      Assertions.assertEquals(1, event.counter);
+      event.counter++;
+    }
+
+    @EventListener(order = InvocationOrder.FIRST)
+    private void handleSuper(TestEvent event) {
+      Assertions.assertEquals(0, event.counter);
+      event.counter++;
+    }
+
+    @EventListener(channel = "123")
+    private void handleChannel(SubTestEvent event) {
+      event.counter++;
+    }
+  }
+
+  private static final class ThrowingListener {
+
+    private static final ThrowingListener INSTANCE = new ThrowingListener();
+
+    @EventListener
+    public void handle(TestEvent event) {
+      throw new IllegalStateException();
+    }
+  }
+
+  private static class TestEvent extends Event {
 
-    private int number;
-    private int counter;
+    protected int number;
+    protected int counter;
 
     private TestEvent(int number) {
       this.number = number;
     }
   }
+
+  private static final class SubTestEvent extends TestEvent {
+
+    private SubTestEvent() {
+      super(0);
+    }
+  }
 }
@@ -19,13 +19,20 @@
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.chunk.data.ChunkSessionInformation;
+import eu.cloudnetservice.driver.network.chunk.defaults.DefaultFileChunkedPacketHandler;
 import eu.cloudnetservice.driver.network.chunk.defaults.splitter.NetworkChannelsPacketSplitter;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkChecksums;
+import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacket;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -95,6 +102,141 @@ void testNetworkChannelSplitter() throws Exception {
       .get());
   }
 
+  @Test
+  @Order(20)
+  @Timeout(20)
+  void testFileChunkedPacketHandler() throws Exception {
+    var chunkData = this.generateRandomChunkData();
+    var packets = new ArrayList<Packet>();
+
+    Assertions.assertEquals(TransferStatus.SUCCESS, ChunkedPacketSender.forFileTransfer()
+      .chunkSize(256)
+      .transferChannel("hello_world")
+      .source(new ByteArrayInputStream(chunkData))
+      .packetSplitter(packets::add)
+      .build()
+      .transferChunkedData()
+      .get());
+
+    // deliver the chunks out of order and resend the first chunk, as it would happen when resuming a transfer
+    Collections.shuffle(packets);
+    packets.add(1, new ChunkedPacket(packets.get(0).content().retainedDuplicate()));
+
+    var receivedData = new AtomicReference<byte[]>();
+    var handler = new DefaultFileChunkedPacketHandler(
+      packets.get(0).content().startTransaction().readObject(ChunkSessionInformation.class),
+      (information, stream) -> receivedData.set(stream.readAllBytes()));
+    packets.get(0).content().redoTransaction();
+
+    var completions = 0;
+    for (var packet : packets) {
+      packet.content().readObject(ChunkSessionInformation.class);
+      if (handler.handleChunkPart(packet.content().readInt(), packet.content())) {
+        completions++;
+      }
+    }
+
+    Assertions.assertEquals(1, completions);
+    Assertions.assertEquals(TransferStatus.SUCCESS, handler.transferStatus());
+    Assertions.assertArrayEquals(chunkData, receivedData.get());
+  }
+
+  @Test
+  @Order(30)
+  @Timeout(20)
+  void testFileChunkedPacketHandlerDropsCorruptedChunk() throws Exception {
+    var chunkData = new byte[300];
+    ThreadLocalRandom.current().nextBytes(chunkData);
+    var firstChunk = Arrays.copyOfRange(chunkData, 0, 256);
+    var lastChunk = Arrays.copyOfRange(chunkData, 256, chunkData.length);
+    var firstChecksum = ChunkChecksums.chunkChecksum(firstChunk, firstChunk.length);
+    var lastChecksum = ChunkChecksums.chunkChecksum(lastChunk, lastChunk.length);
+
+    var receivedData = new AtomicReference<byte[]>();
+    var information = new ChunkSessionInformation(256, UUID.randomUUID(), "hello_world", DataBuf.empty());
+    var handler = new DefaultFileChunkedPacketHandler(
+      information,
+      (info, stream) -> receivedData.set(stream.readAllBytes()));
+
+    // the chunk is written with a checksum that doesn't match its content, it must be dropped
+    var corrupted = DataBuf.empty().writeBoolean(false).writeByteArray(firstChunk).writeLong(firstChecksum + 1);
+    Assertions.assertFalse(handler.handleChunkPart(0, corrupted));
+    Assertions.assertEquals(TransferStatus.RUNNING, handler.transferStatus());
+
+    // the resent chunk continues the transfer
+    var last = DataBuf.empty()
+      .writeBoolean(true)
+      .writeInt(1)
+      .writeByteArray(lastChunk)
+      .writeLong(lastChecksum)
+      .writeLong(ChunkChecksums.transferChecksum(new long[]{firstChecksum, lastChecksum}));
+    Assertions.assertFalse(handler.handleChunkPart(1, last));
+    var resent = DataBuf.empty().writeBoolean(false).writeByteArray(firstChunk).writeLong(firstChecksum);
+    Assertions.assertTrue(handler.handleChunkPart(0, resent));
+
+    Assertions.assertEquals(TransferStatus.SUCCESS, handler.transferStatus());
+    Assertions.assertArrayEquals(chunkData, receivedData.get());
+  }
+
+  @Test
+  @Order(35)
+  @Timeout(20)
+  void testFileChunkedPacketHandlerFailsOnTransferChecksumMismatch() throws Exception {
+    var tempFile = Files.createTempFile("cloudnet", "chunk");
+    var information = new ChunkSessionInformation(256, UUID.randomUUID(), "hello_world", DataBuf.empty());
+    var handler = new DefaultFileChunkedPacketHandler(
+      information,
+      (info, stream) -> Assertions.fail("Transfer with a wrong transfer checksum should not complete"),
+      tempFile);
+
+    var chunk = new byte[100];
+    ThreadLocalRandom.current().nextBytes(chunk);
+    var checksum = ChunkChecksums.chunkChecksum(chunk, chunk.length);
+
+    // the transfer can't be continued, the session must be reported as done to get removed
+    var content = DataBuf.empty()
+      .writeBoolean(true)
+      .writeInt(0)
+      .writeByteArray(chunk)
+      .writeLong(checksum)
+      .writeLong(ChunkChecksums.transferChecksum(new long[]{checksum}) + 1);
+    Assertions.assertTrue(handler.handleChunkPart(0, content));
+    Assertions.assertEquals(TransferStatus.FAILURE, handler.transferStatus());
+    Assertions.assertFalse(Files.exists(tempFile));
+
+    // further chunks are ignored
+    var nextContent = DataBuf.empty().writeBoolean(false).writeByteArray(chunk).writeLong(checksum);
+    Assertions.assertTrue(handler.handleChunkPart(1, nextContent));
+    Assertions.assertFalse(Files.exists(tempFile));
+  }
+
+  @Test
+  @Order(40)
+  @Timeout(20)
+  void testFileChunkedPacketHandlerAcceptsChunksWithoutChecksums() {
+    var chunkData = new byte[300];
+    ThreadLocalRandom.current().nextBytes(chunkData);
+
+    var receivedData = new AtomicReference<byte[]>();
+    var information = new ChunkSessionInformation(256, UUID.randomUUID(), "hello_world", DataBuf.empty());
+    var handler = new DefaultFileChunkedPacketHandler(
+      information,
+      (info, stream) -> receivedData.set(stream.readAllBytes()));
+
+    // chunks as sent by senders which are not appending checksums
+    var firstChunk = DataBuf.empty().writeBoolean(false).writeByteArray(Arrays.copyOfRange(chunkData, 0, 256));
+    var lastChunk = DataBuf.empty()
+      .writeBoolean(true)
+      .writeInt(1)
+      .writeByteArray(Arrays.copyOfRange(chunkData, 256, chunkData.length));
+
+    Assertions.assertFalse(handler.handleChunkPart(1, lastChunk));
+    Assertions.assertTrue(handler.handleChunkPart(0, firstChunk));
+
+    Assertions.assertEquals(TransferStatus.SUCCESS, handler.transferStatus());
+    Assertions.assertArrayEquals(chunkData, receivedData.get());
+  }
+
   private byte[] generateRandomChunkData() {
     var data = new byte[4096];
     ThreadLocalRandom.current().nextBytes(data);
@@ -131,17 +273,38 @@ private void validatePacket(Packet packet, UUID sessionId, AtomicInteger splits,
     Assertions.assertArrayEquals(
       contentAtPosition,
       packet.content().readByteArray());
+    Assertions.assertEquals(
+      ChunkChecksums.chunkChecksum(contentAtPosition, contentAtPosition.length),
+      packet.content().readLong());
+
+    if (isFinalPacket) {
+      Assertions.assertEquals(this.transferChecksum(data), packet.content().readLong());
+    }
+  }
+
+  private long transferChecksum(byte[] data) {
+    var chunkChecksums = new long[data.length / 256 + 1];
+    for (var index = 0; index < chunkChecksums.length; index++) {
+      var chunk = Arrays.copyOfRange(
+        data,
+        Math.min(data.length, index * 256),
+        Math.min(data.length, (index + 1) * 256));
+      chunkChecksums[index] = ChunkChecksums.chunkChecksum(chunk, chunk.length);
+    }
+    return ChunkChecksums.transferChecksum(chunkChecksums);
   }
 
-  private NetworkChannel mockNetworkChannel(Consumer<Packet> packetSyncSendHandler) {
+  private NetworkChannel mockNetworkChannel(Consumer<Packet> packetSendHandler) {
     var channel = Mockito.mock(NetworkChannel.class);
+    Mockito.when(channel.active()).thenReturn(true);
+    Mockito.when(channel.writeable()).thenReturn(true);
     Mockito
       .doAnswer(invocation -> {
-        packetSyncSendHandler.accept(invocation.getArgument(0));
+        packetSendHandler.accept(invocation.getArgument(0));
         return null;
       })
       .when(channel)
-      .sendPacketSync(Mockito.any(Packet.class));
+      .sendPacket(Mockito.any(Packet.class));
 
     return channel;
   }
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.buffer;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class NettyDataBufTest {
+
+  @Test
+  void testRetainedDuplicatesOutliveOriginal() {
+    var original = DataBuf.empty().writeInt(1234).writeString("Hello World");
+    // skip the int, the duplicates should only contain the readable bytes
+    Assertions.assertEquals(1234, original.readInt());
+
+    var first = original.retainedDuplicate();
+    var second = original.retainedDuplicate();
+    original.release();
+    Assertions.assertFalse(original.accessible());
+
+    // each duplicate has its own reader index
+    Assertions.assertEquals("Hello World", first.readString());
+    Assertions.assertEquals("Hello World", second.readString());
+    Assertions.assertFalse(first.accessible());
+    Assertions.assertFalse(second.accessible());
+  }
+
+  @Test
+  void testRetainedDuplicateMakesOriginalReadOnly() {
+    var original = DataBuf.empty().writeInt(1234);
+    var duplicate = original.retainedDuplicate();
+
+    Assertions.assertThrows(Exception.class, () -> original.writeInt(5678));
+    Assertions.assertEquals(1234, duplicate.readInt());
+
+    original.release();
+  }
+}
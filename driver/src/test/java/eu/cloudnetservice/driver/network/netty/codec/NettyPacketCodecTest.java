@@ -24,7 +24,10 @@
 import io.netty5.buffer.DefaultBufferAllocators;
 import io.netty5.channel.Channel;
 import io.netty5.channel.ChannelHandlerContext;
+import io.netty5.util.concurrent.ImmediateEventExecutor;
+import java.util.UUID;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -76,4 +79,134 @@ void testNettyPacketCodec() {
     // encode the packet
     NettyPacketEncoder.INSTANCE.write(outCtx, new BasePacket(packetChannel, dataBuf));
   }
+
+  @Test
+  void testNettyPacketFrameDecoder() {
+    var packetChannel = ThreadLocalRandom.current().nextInt();
+    DataBuf dataBuf = DataBufFactory.defaultFactory().createEmpty()
+      .writeString("Hello World")
+      .writeLong(5678L);
+
+    var outCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(outCtx.bufferAllocator()).thenReturn(DefaultBufferAllocators.onHeapAllocator());
+    Mockito.when(outCtx.write(Mockito.any(Buffer.class))).then(invocation -> {
+      Buffer packetBuffer = invocation.getArgument(0);
+
+      // prepend the frame length, and add a second frame to ensure that the split leaves the following frame intact
+      var frameBuffer = DefaultBufferAllocators.onHeapAllocator().allocate(128);
+      VarInt32FramePrepender.INSTANCE.encode(outCtx, packetBuffer.copy(), frameBuffer);
+      VarInt32FramePrepender.INSTANCE.encode(outCtx, packetBuffer, frameBuffer);
+
+      var inChannel = Mockito.mock(Channel.class);
+      Mockito.when(inChannel.isActive()).thenReturn(true);
+
+      var decodedPackets = new AtomicInteger();
+      var inCtx = Mockito.mock(ChannelHandlerContext.class);
+      Mockito.when(inCtx.channel()).thenReturn(inChannel);
+      Mockito.when(inCtx.fireChannelRead(Mockito.any(Packet.class))).then(inv -> {
+        Packet packet = inv.getArgument(0);
+        // validate
+        Assertions.assertEquals(packetChannel, packet.channel());
+        Assertions.assertEquals("Hello World", packet.content().readString());
+        Assertions.assertEquals(5678L, packet.content().readLong());
+        // the content should be released after reading it fully
+        Assertions.assertFalse(packet.content().accessible());
+
+        decodedPackets.incrementAndGet();
+        return null;
+      });
+
+      // decode both frames
+      var decoder = new NettyPacketFrameDecoder();
+      decoder.decode(inCtx, frameBuffer);
+      decoder.decode(inCtx, frameBuffer);
+
+      Assertions.assertEquals(2, decodedPackets.get());
+      Assertions.assertEquals(0, frameBuffer.readableBytes());
+
+      // whatever
+      return null;
+    });
+
+    // encode the packet
+    NettyPacketEncoder.INSTANCE.write(outCtx, new BasePacket(packetChannel, dataBuf));
+  }
+
+  @Test
+  void testNettyPacketFrameCodec() {
+    var packetChannel = ThreadLocalRandom.current().nextInt();
+    var queryUniqueId = UUID.randomUUID();
+    DataBuf dataBuf = DataBufFactory.defaultFactory().createEmpty()
+      .writeString("Hello World")
+      .writeInt(1234);
+
+    // collect all buffers written by the encoder
+    var frameBuffer = DefaultBufferAllocators.onHeapAllocator().allocate(128);
+    var outCtx = mockFrameEncoderContext();
+    Mockito.when(outCtx.write(Mockito.any(Buffer.class))).then(invocation -> {
+      try (Buffer buffer = invocation.getArgument(0)) {
+        frameBuffer.writeBytes(buffer);
+      }
+      return ImmediateEventExecutor.INSTANCE.newSucceededFuture(null);
+    });
+
+    // encode the packet, the header and body should be written separately
+    var packet = new BasePacket(packetChannel, true, dataBuf);
+    packet.uniqueId(queryUniqueId);
+    var writeFuture = NettyPacketFrameEncoder.INSTANCE.write(outCtx, packet);
+    Mockito.verify(outCtx, Mockito.times(2)).write(Mockito.any(Buffer.class));
+    Assertions.assertTrue(writeFuture.isSuccess());
+
+    var inChannel = Mockito.mock(Channel.class);
+    Mockito.when(inChannel.isActive()).thenReturn(true);
+
+    var decodedPackets = new AtomicInteger();
+    var inCtx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(inCtx.channel()).thenReturn(inChannel);
+    Mockito.when(inCtx.fireChannelRead(Mockito.any(Packet.class))).then(inv -> {
+      Packet decoded = inv.getArgument(0);
+      // validate
+      Assertions.assertEquals(packetChannel, decoded.channel());
+      Assertions.assertEquals(queryUniqueId, decoded.uniqueId());
+      Assertions.assertTrue(decoded.prioritized());
+      Assertions.assertEquals("Hello World", decoded.content().readString());
+      Assertions.assertEquals(1234, decoded.content().readInt());
+
+      decodedPackets.incrementAndGet();
+      return null;
+    });
+
+    // decode the frame again
+    new NettyPacketFrameDecoder().decode(inCtx, frameBuffer);
+    Assertions.assertEquals(1, decodedPackets.get());
+    Assertions.assertEquals(0, frameBuffer.readableBytes());
+  }
+
+  @Test
+  void testNettyPacketFrameEncoderPropagatesHeaderWriteFailure() {
+    var writeCount = new AtomicInteger();
+    var outCtx = mockFrameEncoderContext();
+    Mockito.when(outCtx.write(Mockito.any(Buffer.class))).then(invocation -> {
+      try (Buffer ignored = invocation.getArgument(0)) {
+        // only the first write (the header) fails
+        return writeCount.getAndIncrement() == 0
+          ? ImmediateEventExecutor.INSTANCE.newFailedFuture(new IllegalStateException("header write failed"))
+          : ImmediateEventExecutor.INSTANCE.newSucceededFuture(null);
+      }
+    });
+
+    var dataBuf = DataBufFactory.defaultFactory().createEmpty().writeString("Hello World");
+    var writeFuture = NettyPacketFrameEncoder.INSTANCE.write(outCtx, new BasePacket(1, dataBuf));
+    Assertions.assertEquals(2, writeCount.get());
+    Assertions.assertTrue(writeFuture.isFailed());
+    Assertions.assertInstanceOf(IllegalStateException.class, writeFuture.cause());
+  }
+
+  private static ChannelHandlerContext mockFrameEncoderContext() {
+    var ctx = Mockito.mock(ChannelHandlerContext.class);
+    Mockito.when(ctx.bufferAllocator()).thenReturn(DefaultBufferAllocators.onHeapAllocator());
+    Mockito.when(ctx.executor()).thenReturn(ImmediateEventExecutor.INSTANCE);
+    Mockito.when(ctx.newPromise()).then(invocation -> ImmediateEventExecutor.INSTANCE.newPromise());
+    return ctx;
+  }
 }
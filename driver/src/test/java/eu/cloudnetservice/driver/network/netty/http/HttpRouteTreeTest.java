@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.netty.http;
+
+import eu.cloudnetservice.driver.network.http.HttpContext;
+import eu.cloudnetservice.driver.network.http.HttpHandler;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class HttpRouteTreeTest {
+
+  private static NettyHttpServer.HttpHandlerEntry entry(String path, int priority) {
+    return new NettyHttpServer.HttpHandlerEntry(path, new HttpHandler() {
+      @Override
+      public void handle(String path, HttpContext context) {
+      }
+    }, null, priority);
+  }
+
+  private static List<String> matchPaths(HttpRouteTree tree, String path) {
+    return tree.match(HttpRouteTree.segments(path)).stream()
+      .map(route -> route.entry().path())
+      .toList();
+  }
+
+  @Test
+  void testStaticAndRootRoutes() {
+    var tree = HttpRouteTree.compile(List.of(entry("/", 0), entry("/api/v1", 0), entry("/api", 0)));
+
+    Assertions.assertEquals(List.of("/"), matchPaths(tree, "/"));
+    Assertions.assertEquals(List.of("/api"), matchPaths(tree, "/api"));
+    Assertions.assertEquals(List.of("/api/v1"), matchPaths(tree, "/api/v1"));
+    Assertions.assertTrue(matchPaths(tree, "/api/v2").isEmpty());
+    Assertions.assertTrue(matchPaths(tree, "/unknown").isEmpty());
+  }
+
+  @Test
+  void testWildcardRoutes() {
+    var tree = HttpRouteTree.compile(List.of(entry("/api/*", 0), entry("/api/*/info", 0), entry("/*", 0)));
+
+    // a trailing wildcard requires at least one more segment
+    Assertions.assertTrue(matchPaths(tree, "/").isEmpty());
+    Assertions.assertEquals(List.of("/*"), matchPaths(tree, "/api"));
+    Assertions.assertEquals(List.of("/api/*", "/*"), matchPaths(tree, "/api/service/logs"));
+    Assertions.assertEquals(List.of("/api/*", "/api/*/info", "/*"), matchPaths(tree, "/api/service/info"));
+  }
+
+  @Test
+  void testPathParameters() {
+    var tree = HttpRouteTree.compile(List.of(entry("/service/{id}/info", 0), entry("/service/{}", 0)));
+
+    var routes = tree.match(HttpRouteTree.segments("/service/1234/info"));
+    Assertions.assertEquals(1, routes.size());
+    Assertions.assertArrayEquals(new String[]{null, "id", null}, routes.get(0).parameterNames());
+
+    // {} is not a valid path parameter and treated as a static segment
+    Assertions.assertTrue(matchPaths(tree, "/service/1234").isEmpty());
+    Assertions.assertEquals(List.of("/service/{}"), matchPaths(tree, "/service/{}"));
+  }
+
+  @Test
+  void testPriorityOrder() {
+    var tree = HttpRouteTree.compile(List.of(
+      entry("/*", 0),
+      entry("/api/info", 10),
+      entry("/api/*", 5),
+      entry("/api/{name}", 10)));
+
+    Assertions.assertEquals(List.of("/api/info", "/api/{name}", "/api/*", "/*"), matchPaths(tree, "/api/info"));
+  }
+}
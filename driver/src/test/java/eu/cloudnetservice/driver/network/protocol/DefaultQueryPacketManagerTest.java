@@ -21,6 +21,8 @@
 import eu.cloudnetservice.driver.network.protocol.defaults.DefaultQueryPacketManager;
 import java.time.Duration;
 import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicReference;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -59,6 +61,26 @@ void testSendQueryPacketWithFixedId() {
     Assertions.assertFalse(manager.hasWaitingHandler(uniqueId));
   }
 
+  @Test
+  void testSendQueryPacketDoesNotBlock() {
+    var channel = Mockito.mock(NetworkChannel.class);
+    var firstPacket = this.mockUniqueIdAblePacket();
+    var secondPacket = this.mockUniqueIdAblePacket();
+    QueryPacketManager manager = new DefaultQueryPacketManager(channel);
+
+    manager.sendQueryPacket(firstPacket.first());
+    manager.sendQueryPacket(secondPacket.first());
+
+    // the packets should be sent without waiting for the write to complete
+    Mockito.verify(channel).sendPacket(firstPacket.first());
+    Mockito.verify(channel).sendPacket(secondPacket.first());
+    Mockito.verify(channel, Mockito.never()).sendPacketSync(Mockito.any(Packet.class));
+
+    // each query should get a unique id
+    Assertions.assertNotEquals(firstPacket.second().get(), secondPacket.second().get());
+    Assertions.assertEquals(2, manager.waitingHandlers().size());
+  }
+
   @Test
   void testGetAndRemoveHandler() {
     var mockedPacket = this.mockUniqueIdAblePacket();
@@ -89,6 +111,19 @@ void testHandlerTimeout() throws InterruptedException {
     Assertions.assertTrue(task.isDone());
   }
 
+  @Test
+  @Timeout(10)
+  void testImmediateHandlerTimeout() {
+    var mockedPacket = this.mockUniqueIdAblePacket();
+    QueryPacketManager manager = new DefaultQueryPacketManager(Mockito.mock(NetworkChannel.class), Duration.ZERO);
+
+    // the timeout must find the registered handler even if it expires immediately
+    var task = manager.sendQueryPacket(mockedPacket.first());
+    var exception = Assertions.assertThrows(ExecutionException.class, task::get);
+    Assertions.assertInstanceOf(TimeoutException.class, exception.getCause());
+    Assertions.assertFalse(manager.hasWaitingHandler(mockedPacket.second().get()));
+  }
+
   private Tuple2<Packet, AtomicReference<UUID>> mockUniqueIdAblePacket() {
     var reference = new AtomicReference<UUID>();
 
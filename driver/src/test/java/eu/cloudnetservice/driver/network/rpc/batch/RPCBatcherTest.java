@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.network.rpc.batch;
+
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.NetworkComponent;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.network.protocol.Packet;
+import eu.cloudnetservice.driver.network.rpc.defaults.DefaultRPCFactory;
+import eu.cloudnetservice.driver.network.rpc.defaults.handler.DefaultRPCHandlerRegistry;
+import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.defaults.rpc.RPCBatcher;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCBatchPacketListener;
+import eu.cloudnetservice.driver.network.rpc.packet.RPCBatchRequestPacket;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.mockito.Mockito;
+
+public class RPCBatcherTest {
+
+  private final DefaultRPCHandlerRegistry registry = new DefaultRPCHandlerRegistry();
+  private final RPCBatchPacketListener listener = new RPCBatchPacketListener(this.registry);
+  private final DefaultRPCFactory factory = new DefaultRPCFactory(
+    new DefaultObjectMapper(),
+    DataBufFactory.defaultFactory());
+
+  @BeforeEach
+  void registerHandler() {
+    this.registry.registerHandler(this.factory.newHandler(TestBatchApi.class, new TestBatchApi()));
+  }
+
+  @Test
+  @Timeout(20)
+  void testBatchScope() {
+    var channel = mockBatchChannel();
+    var sender = this.factory.providerForClass(mockComponent(channel), TestBatchApi.class);
+
+    var sentBatches = RPCBatcher.sentBatches();
+    Task<Integer> first;
+    Task<Integer> second;
+    Task<Integer> third;
+    try (var ignored = RPCBatcher.openScope()) {
+      first = sender.invokeMethod("add", 1, 2).fire();
+      second = sender.invokeMethod("add", 3, 4).fire();
+      third = sender.invokeMethod("divide", 1, 0).fire();
+
+      // nothing should be sent before the scope is closed
+      Assertions.assertFalse(first.isDone());
+      Mockito.verify(channel, Mockito.never()).sendQueryAsync(Mockito.any(Packet.class));
+    }
+
+    // all requests should be sent in one batch
+    Mockito.verify(channel, Mockito.times(1)).sendQueryAsync(Mockito.any(Packet.class));
+    Assertions.assertEquals(sentBatches + 1, RPCBatcher.sentBatches());
+    Assertions.assertTrue(RPCBatcher.largestBatchSize() >= 3);
+
+    // each request should be completed with its own result
+    Assertions.assertEquals(3, first.join());
+    Assertions.assertEquals(7, second.join());
+    Assertions.assertTrue(third.isCompletedExceptionally());
+  }
+
+  @Test
+  @Timeout(20)
+  void testFireSyncInBatchScope() {
+    var channel = mockBatchChannel();
+    var sender = this.factory.providerForClass(mockComponent(channel), TestBatchApi.class);
+
+    try (var ignored = RPCBatcher.openScope()) {
+      Task<Integer> first = sender.invokeMethod("add", 1, 2).fire();
+      // a synchronous call must send the collected requests instead of waiting for the scope to close
+      Integer second = sender.invokeMethod("add", 3, 4).fireSync();
+
+      Assertions.assertEquals(7, second);
+      Assertions.assertEquals(3, first.join());
+      Mockito.verify(channel, Mockito.times(1)).sendQueryAsync(Mockito.any(Packet.class));
+    }
+
+    // the scope was flushed already, closing it must not send anything
+    Mockito.verify(channel, Mockito.times(1)).sendQueryAsync(Mockito.any(Packet.class));
+  }
+
+  @Test
+  @Timeout(20)
+  void testUnhandledBatchRequestFails() {
+    var channel = mockBatchChannel();
+    var component = mockComponent(channel);
+    var sender = this.factory.providerForClass(component, TestBatchApi.class);
+    var unregisteredSender = this.factory.providerForClass(component, UnregisteredBatchApi.class);
+
+    Task<Integer> handled;
+    Task<Integer> unhandled;
+    try (var ignored = RPCBatcher.openScope()) {
+      handled = sender.invokeMethod("add", 1, 2).fire();
+      unhandled = unregisteredSender.invokeMethod("subtract", 3, 4).fire();
+    }
+
+    // a request without a registered handler must fail instead of timing out
+    Assertions.assertEquals(3, handled.join());
+    var exception = Assertions.assertThrows(CompletionException.class, unhandled::join);
+    Assertions.assertInstanceOf(IllegalStateException.class, exception.getCause());
+  }
+
+  private NetworkChannel mockBatchChannel() {
+    // the channel to which the result should be sent
+    var resultListener = new AtomicReference<Task<Packet>>();
+    var resultChannel = Mockito.mock(NetworkChannel.class);
+    Mockito
+      .doAnswer(invocation -> {
+        resultListener.get().complete(invocation.getArgument(0));
+        return null;
+      })
+      .when(resultChannel)
+      .sendPacket(Mockito.any(Packet.class));
+
+    // the channel to which the batch is sent
+    var channel = Mockito.mock(NetworkChannel.class);
+    Mockito
+      .doAnswer(invocation -> {
+        Packet packet = invocation.getArgument(0);
+        Assertions.assertInstanceOf(RPCBatchRequestPacket.class, packet);
+        // post the packet to the listener
+        resultListener.set(new Task<>());
+        packet.uniqueId(UUID.randomUUID());
+        this.listener.handle(resultChannel, packet);
+        return resultListener.get();
+      })
+      .when(channel)
+      .sendQueryAsync(Mockito.any(Packet.class));
+    return channel;
+  }
+
+  private static NetworkComponent mockComponent(NetworkChannel channel) {
+    var component = Mockito.mock(NetworkComponent.class);
+    Mockito.when(component.firstChannel()).thenReturn(channel);
+    return component;
+  }
+
+  public static final class TestBatchApi {
+
+    public int add(int first, int second) {
+      return first + second;
+    }
+
+    public int divide(int first, int second) {
+      return first / second;
+    }
+  }
+
+  public static final class UnregisteredBatchApi {
+
+    public int subtract(int first, int second) {
+      return first - second;
+    }
+  }
+}
@@ -23,6 +23,8 @@
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.rpc.defaults.object.DefaultObjectMapper;
+import eu.cloudnetservice.driver.network.rpc.defaults.object.serializers.FunctionalObjectSerializer;
+import eu.cloudnetservice.driver.network.rpc.exception.MissingObjectSerializerException;
 import eu.cloudnetservice.driver.service.ProcessSnapshot;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.driver.service.ServiceEnvironmentType;
@@ -255,4 +257,30 @@ void testByteArrayWriting() {
     Assertions.assertNotNull(result);
     Assertions.assertArrayEquals(bytes, result);
   }
+
+  @Test
+  @Order(80)
+  void testBindingChangesInvalidateResolvedSerializers() {
+    var mapper = new DefaultObjectMapper();
+
+    // resolve the serializer of the type once
+    var buf = mapper.writeObject(DataBuf.empty(), "hello");
+    Assertions.assertEquals("hello", mapper.readObject(buf, String.class));
+
+    // replace the serializer, the new serializer must be used from now on
+    mapper.unregisterBinding(String.class, false);
+    mapper.registerBinding(String.class, FunctionalObjectSerializer.<String>of(
+      source -> source.readString().toUpperCase(),
+      (target, string) -> target.writeString(string)), false);
+
+    buf = mapper.writeObject(DataBuf.empty(), "world");
+    Assertions.assertEquals("WORLD", mapper.readObject(buf, String.class));
+
+    // remove the serializer, no serializer must be found for the type now
+    mapper.unregisterBinding(String.class, false);
+    mapper.unregisterBinding(Object.class, false);
+    Assertions.assertThrows(
+      MissingObjectSerializerException.class,
+      () -> mapper.writeObject(DataBuf.empty(), "hello"));
+  }
 }
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.driver.permission;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class DefaultPermissionManagementTest {
+
+  private static final String[] NO_GROUPS = new String[0];
+
+  private DefaultPermissionManagement management;
+
+  @BeforeEach
+  void setup() {
+    this.management = Mockito.mock(
+      DefaultPermissionManagement.class,
+      Mockito.withSettings().useConstructor().defaultAnswer(Mockito.CALLS_REAL_METHODS));
+  }
+
+  @Test
+  void testEvaluatorIsReusedForUnmodifiedPermissible() {
+    var group = PermissionGroup.builder().name("admin").build();
+    group.addPermission(Permission.of("cloudnet.command"));
+
+    var evaluator = this.management.permissionEvaluator(group, NO_GROUPS);
+    Assertions.assertSame(evaluator, this.management.permissionEvaluator(group, NO_GROUPS));
+  }
+
+  @Test
+  void testModificationInvalidatesEvaluator() {
+    var group = PermissionGroup.builder().name("admin").build();
+    group.addPermission(Permission.of("cloudnet.command"));
+    Assertions.assertFalse(this.management.hasPermission(group, Permission.of("cloudnet.service")));
+
+    group.addPermission(Permission.of("cloudnet.service"));
+    Assertions.assertTrue(this.management.hasPermission(group, Permission.of("cloudnet.service")));
+
+    group.removePermission("cloudnet.service");
+    Assertions.assertFalse(this.management.hasPermission(group, Permission.of("cloudnet.service")));
+  }
+
+  @Test
+  void testEqualInstanceReusesEvaluator() {
+    var group = PermissionGroup.builder().name("admin").build();
+    group.addPermission(Permission.of("cloudnet.command"));
+    var evaluator = this.management.permissionEvaluator(group, NO_GROUPS);
+
+    var loadedGroup = PermissionGroup.builder(group).build();
+    Assertions.assertSame(evaluator, this.management.permissionEvaluator(loadedGroup, NO_GROUPS));
+
+    loadedGroup.addPermission(Permission.of("cloudnet.service"));
+    Assertions.assertNotSame(evaluator, this.management.permissionEvaluator(loadedGroup, NO_GROUPS));
+  }
+
+  @Test
+  void testEvaluatorIsNotReusedForCollidingPermissions() {
+    // "Aa" and "BB" have the same hash code
+    var group = PermissionGroup.builder().name("admin").build();
+    group.addPermission(Permission.of("Aa"));
+    this.management.permissionEvaluator(group, NO_GROUPS);
+
+    var loadedGroup = PermissionGroup.builder().name("admin").build();
+    loadedGroup.addPermission(Permission.of("BB"));
+    Assertions.assertTrue(this.management.hasPermission(loadedGroup, Permission.of("BB")));
+    Assertions.assertFalse(this.management.hasPermission(loadedGroup, Permission.of("Aa")));
+  }
+
+  @Test
+  void testFindHighestPermissionMatchesEvaluator() {
+    var permissions = List.of(
+      Permission.builder().name("cloudnet.*").potency(1).build(),
+      Permission.builder().name("cloudnet.command.*").potency(1).build(),
+      Permission.builder().name("*").potency(-1).build());
+    var evaluator = PermissionEvaluator.compile(permissions);
+
+    for (var name : List.of("cloudnet.command", "cloudnet.command.service", "other.cloudnet.command", "other")) {
+      var permission = Permission.of(name);
+      Assertions.assertEquals(
+        evaluator.findHighestPermission(permission),
+        this.management.findHighestPermission(permissions, permission));
+    }
+
+    // wildcard permissions only match permissions starting with their prefix
+    Assertions.assertEquals(
+      "*",
+      this.management.findHighestPermission(permissions, Permission.of("other.cloudnet.command")).name());
+  }
+
+  @Test
+  void testGroupChangeInvalidatesEvaluators() {
+    var group = PermissionGroup.builder().name("admin").build();
+    var evaluator = this.management.permissionEvaluator(group, NO_GROUPS);
+
+    this.management.invalidatePermissionEvaluators();
+    Assertions.assertNotSame(evaluator, this.management.permissionEvaluator(group, NO_GROUPS));
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.driver.permission;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class PermissionEvaluatorTest {
+
+  private static Permission permission(String name, int potency) {
+    return Permission.builder().name(name).potency(potency).build();
+  }
+
+  @Test
+  void testStarPermission() {
+    var evaluator = PermissionEvaluator.compile(List.of(Permission.of("*")));
+
+    Assertions.assertEquals(PermissionCheckResult.ALLOWED, evaluator.evaluate(Permission.of("cloudnet.command")));
+    Assertions.assertEquals(PermissionCheckResult.DENIED, evaluator.evaluate(permission("cloudnet.command", 5)));
+  }
+
+  @Test
+  void testPrefixWildcardPermission() {
+    var evaluator = PermissionEvaluator.compile(List.of(
+      Permission.of("cloudnet.command.*"),
+      permission("cloudnet.command.tasks.*", -1)));
+
+    Assertions.assertEquals(PermissionCheckResult.ALLOWED, evaluator.evaluate(Permission.of("cloudnet.command.me")));
+    Assertions.assertEquals(
+      PermissionCheckResult.FORBIDDEN,
+      evaluator.evaluate(Permission.of("cloudnet.command.tasks.list")));
+    Assertions.assertEquals(PermissionCheckResult.DENIED, evaluator.evaluate(Permission.of("cloudnet.other")));
+  }
+
+  @Test
+  void testExactPermissionWinsOnEqualPotency() {
+    var evaluator = PermissionEvaluator.compile(List.of(
+      permission("cloudnet.*", -10),
+      permission("cloudnet.command", 10)));
+
+    Assertions.assertEquals(PermissionCheckResult.ALLOWED, evaluator.evaluate(Permission.of("cloudnet.command")));
+    Assertions.assertEquals(PermissionCheckResult.FORBIDDEN, evaluator.evaluate(Permission.of("cloudnet.service")));
+  }
+
+  @Test
+  void testHigherPotencyWins() {
+    var evaluator = PermissionEvaluator.compile(List.of(
+      permission("*", 100),
+      permission("cloudnet.command", -10),
+      permission("cloudnet.command", -50)));
+
+    Assertions.assertEquals(PermissionCheckResult.ALLOWED, evaluator.evaluate(Permission.of("cloudnet.command")));
+    Assertions.assertEquals(PermissionCheckResult.DENIED, evaluator.evaluate(permission("cloudnet.command", 200)));
+  }
+
+  @Test
+  void testCaseInsensitiveMatching() {
+    var evaluator = PermissionEvaluator.compile(List.of(
+      Permission.of("CloudNet.Command"),
+      Permission.of("CloudNet.Service.*")));
+
+    Assertions.assertEquals(PermissionCheckResult.ALLOWED, evaluator.evaluate(Permission.of("cloudnet.command")));
+    Assertions.assertEquals(PermissionCheckResult.ALLOWED, evaluator.evaluate(Permission.of("CLOUDNET.SERVICE.START")));
+  }
+}
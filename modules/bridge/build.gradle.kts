@@ -42,6 +42,9 @@ dependencies {
   // processing
   "annotationProcessor"(libs.aerogelAuto)
 
+  // testing
+  "testImplementation"(projects.wrapperJvm)
+
   "minecraft"(libs.minecraft)
   "modCompileOnly"(libs.fabricLoader)
   "mappings"(loom.officialMojangMappings())
@@ -25,7 +25,8 @@
 public record ProxyFallbackConfiguration(
   @NonNull String targetGroup,
   @Nullable String defaultFallbackTask,
-  @NonNull List<ProxyFallback> fallbacks
+  @NonNull List<ProxyFallback> fallbacks,
+  @Nullable FallbackBalancingStrategy balancingStrategy
 ) {
 
   public static @NonNull Builder builder() {
@@ -36,7 +37,8 @@ public record ProxyFallbackConfiguration(
     return builder()
       .targetGroup(configuration.targetGroup())
       .defaultFallbackTask(configuration.defaultFallbackTask())
-      .fallbacks(configuration.fallbacks());
+      .fallbacks(configuration.fallbacks())
+      .balancingStrategy(configuration.balancingStrategy());
   }
 
   public static class Builder {
@@ -44,6 +46,7 @@ public static class Builder {
     private String targetGroup;
     private String defaultFallbackTask;
     private List<ProxyFallback> fallbacks = new ArrayList<>();
+    private FallbackBalancingStrategy balancingStrategy = FallbackBalancingStrategy.LEAST_PLAYERS;
 
     public @NonNull Builder targetGroup(@NonNull String targetGroup) {
       this.targetGroup = targetGroup;
@@ -60,10 +63,19 @@ public static class Builder {
       return this;
     }
 
+    public @NonNull Builder balancingStrategy(@Nullable FallbackBalancingStrategy balancingStrategy) {
+      this.balancingStrategy = balancingStrategy;
+      return this;
+    }
+
     public @NonNull ProxyFallbackConfiguration build() {
       Preconditions.checkNotNull(this.targetGroup, "Missing targetGroup");
 
-      return new ProxyFallbackConfiguration(this.targetGroup, this.defaultFallbackTask, this.fallbacks);
+      return new ProxyFallbackConfiguration(
+        this.targetGroup,
+        this.defaultFallbackTask,
+        this.fallbacks,
+        this.balancingStrategy);
     }
   }
 
@@ -90,10 +90,12 @@ public void convertOldDatabaseEntries(
         LOGGER.warning("Converting the offline player database, this may take a bit! DO NOT STOP CLOUDNET!");
 
         // invalid player data - convert the database
-        var convertedPlayers = 0;
+        String previousKey = null;
         Map<String, Document> chunkData;
-        while ((chunkData = playerDb.readChunk(convertedPlayers, 100)) != null) {
+        while ((chunkData = playerDb.readChunk(previousKey, 100)) != null) {
           for (var entry : chunkData.entrySet()) {
+            previousKey = entry.getKey();
+
             // get all the required path
             var valueCopy = entry.getValue().mutableCopy();
             var lastProxyInfo = valueCopy.readMutableDocument("lastNetworkConnectionInfo");
@@ -128,7 +130,6 @@ public void convertOldDatabaseEntries(
           }
 
           // check if the chunk size was exactly 100 players - if not we just completed the last chunk
-          convertedPlayers += chunkData.size();
           if (chunkData.size() != 100) {
             break;
           }
@@ -29,6 +29,7 @@
 import eu.cloudnetservice.driver.service.GroupConfiguration;
 import eu.cloudnetservice.driver.service.ServiceTask;
 import eu.cloudnetservice.modules.bridge.BridgeManagement;
+import eu.cloudnetservice.modules.bridge.config.FallbackBalancingStrategy;
 import eu.cloudnetservice.modules.bridge.config.ProxyFallbackConfiguration;
 import eu.cloudnetservice.node.command.annotation.Description;
 import eu.cloudnetservice.node.command.exception.ArgumentNotAvailableException;
@@ -95,7 +96,8 @@ public void createBridgeEntry(
     var fallbackConfiguration = new ProxyFallbackConfiguration(
       group.name(),
       "Lobby",
-      Collections.emptyList());
+      Collections.emptyList(),
+      FallbackBalancingStrategy.LEAST_PLAYERS);
     var configuration = this.bridgeManagement.configuration();
     // add the new fallback entry to the configuration
     configuration.fallbackConfigurations().add(fallbackConfiguration);
@@ -119,6 +119,12 @@ public NodePlayerManager(
       .build());
   }
 
+  @PostConstruct
+  private void createDatabaseIndexes() {
+    // offline players are looked up by their name, index the name field to prevent a full scan of the database
+    this.database().createIndex("name");
+  }
+
   @PostConstruct
   private void registerPlayerCommand() {
     this.commandProvider.register(PlayersCommand.class);
@@ -18,7 +18,6 @@
 
 import com.github.benmanes.caffeine.cache.Caffeine;
 import com.github.benmanes.caffeine.cache.LoadingCache;
-import eu.cloudnetservice.common.tuple.Tuple2;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.network.NetworkClient;
 import eu.cloudnetservice.driver.network.rpc.RPCFactory;
@@ -37,6 +36,7 @@
 import eu.cloudnetservice.modules.bridge.config.ProxyFallback;
 import eu.cloudnetservice.modules.bridge.config.ProxyFallbackConfiguration;
 import eu.cloudnetservice.modules.bridge.event.BridgeConfigurationUpdateEvent;
+import eu.cloudnetservice.modules.bridge.platform.fallback.FallbackBalancer;
 import eu.cloudnetservice.modules.bridge.platform.fallback.FallbackProfile;
 import eu.cloudnetservice.modules.bridge.platform.listener.PlatformChannelMessageListener;
 import eu.cloudnetservice.modules.bridge.platform.listener.PlatformInformationListener;
@@ -52,7 +52,6 @@
 import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -84,10 +83,15 @@
   protected final WrapperConfiguration wrapperConfig;
   protected final LoadingCache<UUID, FallbackProfile> fallbackProfiles;
   protected final Map<UUID, ServiceInfoSnapshot> cachedServices;
+  // indexed views of the cached services, maintained together with the cached services
+  protected final Map<String, ServiceInfoSnapshot> cachedServicesByName;
+  protected final Map<String, Map<UUID, ServiceInfoSnapshot>> cachedServicesByTask;
 
   protected volatile ServiceTask selfTask;
   protected volatile BridgeConfiguration configuration;
   protected volatile ProxyFallbackConfiguration currentFallbackConfiguration;
+  protected volatile FallbackBalancer fallbackBalancer;
+  protected volatile FallbackBalancer customFallbackBalancer;
   // cache utils
   protected volatile Predicate<ServiceInfoSnapshot> cacheTester;
   protected volatile Consumer<ServiceInfoSnapshot> cacheRegisterListener;
@@ -110,6 +114,8 @@ public PlatformBridgeManagement(
     this.serviceProvider = serviceProvider;
     this.wrapperConfig = wrapperConfig;
     this.cachedServices = new ConcurrentHashMap<>();
+    this.cachedServicesByName = new ConcurrentHashMap<>();
+    this.cachedServicesByTask = new ConcurrentHashMap<>();
     this.fallbackProfiles = Caffeine.newBuilder()
       .expireAfterAccess(Duration.ofMinutes(10))
       .build($ -> new FallbackProfile());
@@ -152,6 +158,18 @@ public void configurationSilently(@NonNull BridgeConfiguration configuration) {
       .filter(config -> this.wrapperConfig.serviceConfiguration().groups().contains(config.targetGroup()))
       .findFirst()
       .orElse(null);
+    this.fallbackBalancer = FallbackBalancer.forStrategy(
+      this.currentFallbackConfiguration == null ? null : this.currentFallbackConfiguration.balancingStrategy());
+  }
+
+  public @NonNull FallbackBalancer fallbackBalancer() {
+    var customBalancer = this.customFallbackBalancer;
+    return customBalancer == null ? this.fallbackBalancer : customBalancer;
+  }
+
+  public void fallbackBalancer(@Nullable FallbackBalancer fallbackBalancer) {
+    // overrides the strategy of the fallback configuration, null to use the configured strategy again
+    this.customFallbackBalancer = fallbackBalancer;
   }
 
   public void appendServiceInformation(@NonNull ServiceInfoPropertiesConfigureEvent configureEvent) {
@@ -184,6 +202,15 @@ public void handleTaskUpdate(@NonNull String name, @Nullable ServiceTask task) {
     return Optional.ofNullable(this.cachedServices.get(uniqueId));
   }
 
+  public @NonNull Optional<ServiceInfoSnapshot> cachedService(@Nullable String name) {
+    return name == null ? Optional.empty() : Optional.ofNullable(this.cachedServicesByName.get(name));
+  }
+
+  public @NonNull Collection<ServiceInfoSnapshot> cachedTaskServices(@NonNull String task) {
+    var taskServices = this.cachedServicesByTask.get(task);
+    return taskServices == null ? Collections.emptyList() : taskServices.values();
+  }
+
   public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
     // if the service is not yet cached check if we need to cache it
     if (!this.cachedServices.containsKey(snapshot.serviceId().uniqueId())) {
@@ -191,18 +218,36 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
       if (this.cacheTester.test(snapshot)) {
         this.cacheRegisterListener.accept(snapshot);
         this.cachedServices.put(snapshot.serviceId().uniqueId(), snapshot);
+        this.indexCachedService(snapshot);
       }
     } else {
       // if the service is already cached we need to check if we should still cache it
       if (this.cacheTester.test(snapshot)) {
         this.cachedServices.replace(snapshot.serviceId().uniqueId(), snapshot);
+        this.indexCachedService(snapshot);
       } else {
         this.cacheUnregisterListener.accept(snapshot);
         this.cachedServices.remove(snapshot.serviceId().uniqueId());
+        this.unindexCachedService(snapshot);
       }
     }
   }
 
+  protected void indexCachedService(@NonNull ServiceInfoSnapshot snapshot) {
+    this.cachedServicesByName.put(snapshot.name(), snapshot);
+    this.cachedServicesByTask
+      .computeIfAbsent(snapshot.serviceId().taskName(), $ -> new ConcurrentHashMap<>())
+      .put(snapshot.serviceId().uniqueId(), snapshot);
+  }
+
+  protected void unindexCachedService(@NonNull ServiceInfoSnapshot snapshot) {
+    this.cachedServicesByName.remove(snapshot.name());
+    var taskServices = this.cachedServicesByTask.get(snapshot.serviceId().taskName());
+    if (taskServices != null) {
+      taskServices.remove(snapshot.serviceId().uniqueId());
+    }
+  }
+
   public @NonNull Optional<ServiceInfoSnapshot> fallback(
     @NonNull UUID playerId,
     @Nullable String currentServerName,
@@ -220,14 +265,13 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
     var profile = this.fallbackProfiles.get(playerId);
     // search for the best fallback
     return this.possibleFallbacks(currentServerName, virtualHost, permissionTester)
+      // order the fallbacks by their priority, only the services of the first fallback with services are resolved
+      .sorted()
       // get all services we have cached of the task
-      .map(fallback -> new Tuple2<>(fallback, this.anyTaskService(fallback.task(), profile, currentServerName)))
-      // filter out all fallbacks that have no services
-      .filter(possibility -> possibility.second().isPresent())
-      // get the first possibility with the highest priority
-      .min(Comparator.comparing(Tuple2::first))
-      // extract the target service
-      .map(Tuple2::second)
+      .map(fallback -> this.anyTaskService(fallback.task(), playerId, profile, currentServerName))
+      // get the first fallback that has services
+      .filter(Optional::isPresent)
+      .findFirst()
       // add the service to the tried ones
       .map(service -> {
         // we cannot flat-map because of the orElseGet
@@ -239,7 +283,7 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
           return Optional.empty();
         }
         // get any service associated with the task
-        return this.anyTaskService(config.defaultFallbackTask(), profile, currentServerName)
+        return this.anyTaskService(config.defaultFallbackTask(), playerId, profile, currentServerName)
           .map(service -> {
             // select as the service we are connecting to
             profile.selectService(service.name());
@@ -260,7 +304,7 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
     }
 
     // get all groups of the service the player is currently on
-    var currentGroups = this.cachedService(service -> service.name().equals(currentServerName))
+    var currentGroups = this.cachedService(currentServerName)
       .map(service -> service.configuration().groups())
       .orElse(Collections.emptySet());
     // find all matching fallback configurations
@@ -287,7 +331,7 @@ public boolean isOnAnyFallbackInstance(
     }
 
     // check if the current server of the player is given
-    return this.cachedService(service -> service.name().equals(currentServerName))
+    return this.cachedService(currentServerName)
       .map(service -> {
         // check if the configuration has a default fallback task
         if (config.defaultFallbackTask() != null
@@ -302,25 +346,22 @@ public boolean isOnAnyFallbackInstance(
 
   protected @NonNull Optional<ServiceInfoSnapshot> anyTaskService(
     @NonNull String task,
+    @NonNull UUID playerId,
     @NonNull FallbackProfile profile,
     @Nullable String currentServerName
   ) {
-    return this.cachedServices.values().stream()
-      // check if the service is associated with the task of the fallback
-      .filter(service -> service.serviceId().taskName().equals(task))
+    var candidates = this.cachedTaskServices(task).stream()
       // check if the player failed to connect to that fallback during the current iteration
       .filter(service -> !profile.hasTried(service.name()))
       // check if the service is marked as joinable
       .filter(service -> service.connected() && service.readProperty(BridgeDocProperties.IS_ONLINE))
       // check if the player is not currently connected to that service
       .filter(service -> currentServerName == null || !service.name().equals(currentServerName))
-      // find the service with the lowest player count known to use
-      .min((optionA, optionB) -> {
-        var playersOnOptionA = optionA.readProperty(BridgeDocProperties.ONLINE_COUNT);
-        var playersOnOptionB = optionB.readProperty(BridgeDocProperties.ONLINE_COUNT);
-        // compare the player count
-        return Integer.compare(playersOnOptionA, playersOnOptionB);
-      });
+      .toList();
+    // let the balancer decide which of the services to use
+    return candidates.isEmpty()
+      ? Optional.empty()
+      : Optional.ofNullable(this.fallbackBalancer().select(playerId, candidates));
   }
 
   public void handleFallbackConnectionSuccess(@NonNull UUID uniqueId) {
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.bridge.platform.fallback;
+
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.modules.bridge.BridgeDocProperties;
+import eu.cloudnetservice.modules.bridge.config.FallbackBalancingStrategy;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+@FunctionalInterface
+public interface FallbackBalancer {
+
+  Comparator<ServiceInfoSnapshot> PLAYER_COUNT_COMPARATOR = Comparator.comparingInt(
+    service -> service.readProperty(BridgeDocProperties.ONLINE_COUNT));
+
+  static @NonNull FallbackBalancer forStrategy(@Nullable FallbackBalancingStrategy strategy) {
+    return switch (strategy == null ? FallbackBalancingStrategy.LEAST_PLAYERS : strategy) {
+      case LEAST_PLAYERS -> leastPlayers();
+      case POWER_OF_TWO_CHOICES -> powerOfTwoChoices();
+      case CONSISTENT_HASH -> consistentHash();
+    };
+  }
+
+  static @NonNull FallbackBalancer leastPlayers() {
+    return ($, candidates) -> candidates.stream().min(PLAYER_COUNT_COMPARATOR).orElse(null);
+  }
+
+  static @NonNull FallbackBalancer powerOfTwoChoices() {
+    return ($, candidates) -> {
+      if (candidates.size() < 2) {
+        return candidates.isEmpty() ? null : candidates.get(0);
+      }
+
+      // compare two random services instead of all, the player counts are updated with a delay and a burst of
+      // players selecting the service with the least players would all end up on the same service
+      var random = ThreadLocalRandom.current();
+      var first = random.nextInt(candidates.size());
+      var second = random.nextInt(candidates.size() - 1);
+      if (second >= first) {
+        second++;
+      }
+
+      var firstCandidate = candidates.get(first);
+      var secondCandidate = candidates.get(second);
+      return PLAYER_COUNT_COMPARATOR.compare(firstCandidate, secondCandidate) <= 0 ? firstCandidate : secondCandidate;
+    };
+  }
+
+  static @NonNull FallbackBalancer consistentHash() {
+    return (playerId, candidates) -> {
+      // rendezvous hashing: only the players of a service are moved if the service goes away
+      ServiceInfoSnapshot bestChoice = null;
+      var bestWeight = Long.MIN_VALUE;
+      for (var candidate : candidates) {
+        var weight = mix(playerId.getMostSignificantBits()
+          ^ Long.rotateLeft(playerId.getLeastSignificantBits(), 32)
+          ^ candidate.name().hashCode());
+        if (bestChoice == null || weight > bestWeight) {
+          bestChoice = candidate;
+          bestWeight = weight;
+        }
+      }
+      return bestChoice;
+    };
+  }
+
+  private static long mix(long value) {
+    // the finalizer of splitmix64, spreads small input differences over all bits
+    value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+    value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+    return value ^ (value >>> 31);
+  }
+
+  @Nullable ServiceInfoSnapshot select(@NonNull UUID playerId, @NonNull List<ServiceInfoSnapshot> candidates);
+}
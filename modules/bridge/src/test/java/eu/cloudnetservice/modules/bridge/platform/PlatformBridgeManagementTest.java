@@ -0,0 +1,221 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.modules.bridge.platform;
+
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.network.NetworkClient;
+import eu.cloudnetservice.driver.network.rpc.RPC;
+import eu.cloudnetservice.driver.network.rpc.RPCFactory;
+import eu.cloudnetservice.driver.network.rpc.RPCSender;
+import eu.cloudnetservice.driver.network.rpc.generation.InstanceFactory;
+import eu.cloudnetservice.driver.provider.CloudServiceProvider;
+import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
+import eu.cloudnetservice.driver.registry.ServiceRegistry;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceId;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.modules.bridge.BridgeManagement;
+import eu.cloudnetservice.modules.bridge.BridgeServiceHelper;
+import eu.cloudnetservice.modules.bridge.config.BridgeConfiguration;
+import eu.cloudnetservice.modules.bridge.platform.fallback.FallbackProfile;
+import eu.cloudnetservice.modules.bridge.player.PlayerManager;
+import eu.cloudnetservice.modules.bridge.player.ServicePlayer;
+import eu.cloudnetservice.modules.bridge.player.executor.PlayerExecutor;
+import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import eu.cloudnetservice.wrapper.holder.ServiceInfoHolder;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class PlatformBridgeManagementTest {
+
+  private static TestBridgeManagement bridgeManagement() {
+    var rpc = Mockito.mock(RPC.class);
+    Mockito.when(rpc.fireSync()).thenReturn(new BridgeConfiguration());
+
+    var sender = Mockito.mock(RPCSender.class);
+    Mockito.when(sender.invokeMethod("configuration")).thenReturn(rpc);
+
+    @SuppressWarnings("unchecked")
+    InstanceFactory<PlayerManager> playerManagerFactory = Mockito.mock(InstanceFactory.class);
+    var rpcFactory = Mockito.mock(RPCFactory.class);
+    Mockito.when(rpcFactory.generateRPCBasedApi(Mockito.eq(PlayerManager.class), Mockito.any()))
+      .thenReturn(playerManagerFactory);
+    Mockito.when(rpcFactory.providerForClass(Mockito.any(), Mockito.eq(BridgeManagement.class))).thenReturn(sender);
+
+    var wrapperConfig = Mockito.mock(WrapperConfiguration.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(wrapperConfig.serviceConfiguration().groups()).thenReturn(Set.of("Proxy"));
+    Mockito.when(wrapperConfig.serviceInfoSnapshot().configuration().groups()).thenReturn(Set.of("Proxy"));
+
+    return new TestBridgeManagement(rpcFactory, wrapperConfig);
+  }
+
+  private static ServiceInfoSnapshot service(String task, String name, UUID uniqueId, boolean cached) {
+    var serviceId = Mockito.mock(ServiceId.class);
+    Mockito.when(serviceId.taskName()).thenReturn(task);
+    Mockito.when(serviceId.uniqueId()).thenReturn(uniqueId);
+
+    var snapshot = Mockito.mock(ServiceInfoSnapshot.class);
+    Mockito.when(snapshot.name()).thenReturn(name);
+    Mockito.when(snapshot.serviceId()).thenReturn(serviceId);
+    Mockito.when(snapshot.configuration()).thenReturn(Mockito.mock(ServiceConfiguration.class));
+    // the test bridge management caches all connected services
+    Mockito.when(snapshot.connected()).thenReturn(cached);
+    return snapshot;
+  }
+
+  @Test
+  void testServiceAddUpdatesIndexes() {
+    var management = bridgeManagement();
+    var uniqueId = UUID.randomUUID();
+
+    var service = service("Lobby", "Lobby-1", uniqueId, true);
+    management.handleServiceUpdate(service);
+
+    Assertions.assertSame(service, management.cachedService(uniqueId).orElse(null));
+    Assertions.assertSame(service, management.cachedService("Lobby-1").orElse(null));
+    Assertions.assertEquals(List.of(service), List.copyOf(management.cachedTaskServices("Lobby")));
+    Assertions.assertTrue(management.cachedTaskServices("Other").isEmpty());
+
+    // the indexes are replaced with the updated snapshot
+    var updatedService = service("Lobby", "Lobby-1", uniqueId, true);
+    management.handleServiceUpdate(updatedService);
+
+    Assertions.assertSame(updatedService, management.cachedService("Lobby-1").orElse(null));
+    Assertions.assertEquals(List.of(updatedService), List.copyOf(management.cachedTaskServices("Lobby")));
+  }
+
+  @Test
+  void testServiceRemoveUpdatesIndexes() {
+    var management = bridgeManagement();
+    var uniqueId = UUID.randomUUID();
+
+    management.handleServiceUpdate(service("Lobby", "Lobby-1", uniqueId, true));
+    management.handleServiceUpdate(service("Lobby", "Lobby-2", UUID.randomUUID(), true));
+    // the service is no longer cached once it disconnects
+    management.handleServiceUpdate(service("Lobby", "Lobby-1", uniqueId, false));
+
+    Assertions.assertTrue(management.cachedService(uniqueId).isEmpty());
+    Assertions.assertTrue(management.cachedService("Lobby-1").isEmpty());
+    Assertions.assertEquals(1, management.cachedTaskServices("Lobby").size());
+    Assertions.assertEquals("Lobby-2", management.cachedTaskServices("Lobby").iterator().next().name());
+  }
+
+  @Test
+  void testUncachedServiceIsNotIndexed() {
+    var management = bridgeManagement();
+    management.handleServiceUpdate(service("Lobby", "Lobby-1", UUID.randomUUID(), false));
+
+    Assertions.assertTrue(management.cachedService("Lobby-1").isEmpty());
+    Assertions.assertTrue(management.cachedTaskServices("Lobby").isEmpty());
+  }
+
+  @Test
+  void testCustomFallbackBalancerIsUsed() {
+    var management = bridgeManagement();
+    var first = service("Lobby", "Lobby-1", UUID.randomUUID(), true);
+    var second = service("Lobby", "Lobby-2", UUID.randomUUID(), true);
+    for (var service : List.of(first, second)) {
+      Mockito.when(service.readProperty(Mockito.any())).thenReturn(true);
+      management.handleServiceUpdate(service);
+    }
+
+    management.fallbackBalancer((playerId, candidates) -> candidates.stream()
+      .filter(candidate -> candidate.name().equals("Lobby-2"))
+      .findFirst()
+      .orElse(null));
+    var selected = management.anyTaskService("Lobby", UUID.randomUUID(), new FallbackProfile(), "Lobby-3");
+    Assertions.assertSame(second, selected.orElse(null));
+
+    // the player is not sent to the service they are currently connected to
+    selected = management.anyTaskService("Lobby", UUID.randomUUID(), new FallbackProfile(), "Lobby-2");
+    Assertions.assertTrue(selected.isEmpty());
+
+    // the configured strategy is used again after resetting the custom balancer
+    management.fallbackBalancer(null);
+    Assertions.assertNotNull(management.fallbackBalancer());
+  }
+
+  private static final class TestBridgeManagement extends PlatformBridgeManagement<Object, Object> {
+
+    private TestBridgeManagement(RPCFactory rpcFactory, WrapperConfiguration wrapperConfig) {
+      super(
+        rpcFactory,
+        Mockito.mock(EventManager.class),
+        Mockito.mock(NetworkClient.class),
+        Mockito.mock(ServiceTaskProvider.class),
+        Mockito.mock(BridgeServiceHelper.class),
+        Mockito.mock(ServiceInfoHolder.class),
+        Mockito.mock(CloudServiceProvider.class),
+        wrapperConfig);
+      this.cacheTester = ServiceInfoSnapshot::connected;
+    }
+
+    @Override
+    public void registerServices(ServiceRegistry registry) {
+    }
+
+    @Override
+    public ServicePlayer wrapPlayer(Object player) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object createPlayerInformation(Object player) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public BiFunction<Object, String, Boolean> permissionFunction() {
+      return ($, $$) -> true;
+    }
+
+    @Override
+    public boolean isOnAnyFallbackInstance(Object player) {
+      return false;
+    }
+
+    @Override
+    public Optional<ServiceInfoSnapshot> fallback(Object player) {
+      return Optional.empty();
+    }
+
+    @Override
+    public Optional<ServiceInfoSnapshot> fallback(Object player, String currServer) {
+      return Optional.empty();
+    }
+
+    @Override
+    public void handleFallbackConnectionSuccess(Object player) {
+    }
+
+    @Override
+    public void removeFallbackProfile(Object player) {
+    }
+
+    @Override
+    public PlayerExecutor directPlayerExecutor(UUID uniqueId) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
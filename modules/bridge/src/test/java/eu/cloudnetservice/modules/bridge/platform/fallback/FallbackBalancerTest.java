@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.modules.bridge.platform.fallback;
+
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.modules.bridge.BridgeDocProperties;
+import eu.cloudnetservice.modules.bridge.config.FallbackBalancingStrategy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class FallbackBalancerTest {
+
+  private static ServiceInfoSnapshot service(String name, int onlinePlayers) {
+    var snapshot = Mockito.mock(ServiceInfoSnapshot.class);
+    Mockito.when(snapshot.name()).thenReturn(name);
+    Mockito.when(snapshot.readProperty(BridgeDocProperties.ONLINE_COUNT)).thenReturn(onlinePlayers);
+    return snapshot;
+  }
+
+  private static List<ServiceInfoSnapshot> services() {
+    return List.of(service("Lobby-1", 20), service("Lobby-2", 5), service("Lobby-3", 50), service("Lobby-4", 10));
+  }
+
+  @Test
+  void testLeastPlayers() {
+    var services = services();
+    var balancer = FallbackBalancer.leastPlayers();
+
+    Assertions.assertSame(services.get(1), balancer.select(UUID.randomUUID(), services));
+    Assertions.assertNull(balancer.select(UUID.randomUUID(), List.of()));
+  }
+
+  @Test
+  void testLeastPlayersIsTheDefaultStrategy() {
+    var services = services();
+    var balancer = FallbackBalancer.forStrategy(null);
+
+    Assertions.assertSame(services.get(1), balancer.select(UUID.randomUUID(), services));
+  }
+
+  @Test
+  void testPowerOfTwoChoices() {
+    var services = services();
+    var balancer = FallbackBalancer.forStrategy(FallbackBalancingStrategy.POWER_OF_TWO_CHOICES);
+
+    Assertions.assertNull(balancer.select(UUID.randomUUID(), List.of()));
+    Assertions.assertSame(services.get(0), balancer.select(UUID.randomUUID(), List.of(services.get(0))));
+
+    // the service with the most players always loses the comparison against the other selected service
+    var selectedServices = new HashMap<String, Integer>();
+    for (var i = 0; i < 1000; i++) {
+      var selected = balancer.select(UUID.randomUUID(), services);
+      Assertions.assertNotNull(selected);
+      Assertions.assertNotSame(services.get(2), selected);
+      selectedServices.merge(selected.name(), 1, Integer::sum);
+    }
+    // the load is not sent to the service with the least players only
+    Assertions.assertTrue(selectedServices.size() > 1);
+  }
+
+  @Test
+  void testPowerOfTwoChoicesWithTwoServices() {
+    var services = List.of(service("Lobby-1", 20), service("Lobby-2", 5));
+    var balancer = FallbackBalancer.powerOfTwoChoices();
+
+    for (var i = 0; i < 100; i++) {
+      Assertions.assertSame(services.get(1), balancer.select(UUID.randomUUID(), services));
+    }
+  }
+
+  @Test
+  void testConsistentHashIsStable() {
+    var services = services();
+    var balancer = FallbackBalancer.forStrategy(FallbackBalancingStrategy.CONSISTENT_HASH);
+
+    for (var i = 0; i < 100; i++) {
+      var playerId = UUID.randomUUID();
+      var selected = balancer.select(playerId, services);
+      Assertions.assertSame(selected, balancer.select(playerId, services));
+
+      // removing another service doesn't move the player
+      var remaining = new ArrayList<>(services);
+      remaining.remove(selected == services.get(0) ? services.get(1) : services.get(0));
+      Assertions.assertSame(selected, balancer.select(playerId, remaining));
+    }
+  }
+
+  @Test
+  void testConsistentHashSpreadsPlayers() {
+    var services = services();
+    var balancer = FallbackBalancer.consistentHash();
+
+    var selectedServices = new HashMap<String, Integer>();
+    for (var i = 0; i < 4000; i++) {
+      var selected = balancer.select(UUID.randomUUID(), services);
+      Assertions.assertNotNull(selected);
+      selectedServices.merge(selected.name(), 1, Integer::sum);
+    }
+
+    Assertions.assertEquals(4, selectedServices.size());
+    for (var selections : selectedServices.values()) {
+      Assertions.assertTrue(selections > 500, "uneven spread: " + selectedServices);
+    }
+    Assertions.assertNull(balancer.select(UUID.randomUUID(), List.of()));
+  }
+}
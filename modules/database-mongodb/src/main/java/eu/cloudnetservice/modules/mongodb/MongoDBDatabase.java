@@ -17,11 +17,15 @@
 package eu.cloudnetservice.modules.mongodb;
 
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
 import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexOptions;
 import com.mongodb.client.model.Indexes;
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.database.AbstractDatabase;
@@ -29,6 +33,7 @@
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.BiConsumer;
@@ -43,6 +48,7 @@ public class MongoDBDatabase extends AbstractDatabase {
 
   protected static final IndexOptions UNIQUE_KEY_OPTIONS = new IndexOptions().unique(true);
   protected static final UpdateOptions INSERT_OR_REPLACE_OPTIONS = new UpdateOptions().upsert(true);
+  protected static final BulkWriteOptions UNORDERED_BULK_WRITE_OPTIONS = new BulkWriteOptions().ordered(false);
 
   protected final MongoCollection<org.bson.Document> collection;
 
@@ -58,39 +64,63 @@ protected MongoDBDatabase(
   }
 
   @Override
-  public boolean insert(@NonNull String key, @NonNull Document document) {
+  protected boolean insert0(@NonNull String key, @NonNull Document document) {
     return this.insertOrUpdate(key, document);
   }
 
   protected boolean insertOrUpdate(String key, Document document) {
     var result = this.collection.updateOne(
       Filters.eq(KEY_NAME, key),
-      Updates.combine(
-        Updates.setOnInsert(new org.bson.Document(KEY_NAME, key)),
-        Updates.set(VALUE_NAME, org.bson.Document.parse(this.serializeDocumentToJsonString(document)))
-      ),
+      this.insertOrUpdateDocument(key, document),
       INSERT_OR_REPLACE_OPTIONS);
     return result.getUpsertedId() != null || result.getMatchedCount() > 0;
   }
 
   @Override
-  public boolean contains(@NonNull String key) {
+  protected boolean insertAll0(@NonNull Map<String, Document> documents) {
+    List<WriteModel<org.bson.Document>> writes = new ArrayList<>(documents.size());
+    for (var entry : documents.entrySet()) {
+      writes.add(new UpdateOneModel<>(
+        Filters.eq(KEY_NAME, entry.getKey()),
+        this.insertOrUpdateDocument(entry.getKey(), entry.getValue()),
+        INSERT_OR_REPLACE_OPTIONS));
+    }
+
+    // the writes are independent of each other, no need to execute them in order
+    var result = this.collection.bulkWrite(writes, UNORDERED_BULK_WRITE_OPTIONS);
+    return result.getUpserts().size() + result.getMatchedCount() == writes.size();
+  }
+
+  protected @NonNull Bson insertOrUpdateDocument(@NonNull String key, @NonNull Document document) {
+    return Updates.combine(
+      Updates.setOnInsert(new org.bson.Document(KEY_NAME, key)),
+      Updates.set(VALUE_NAME, org.bson.Document.parse(this.serializeDocumentToJsonString(document))));
+  }
+
+  @Override
+  protected boolean contains0(@NonNull String key) {
     return this.collection.find(Filters.eq(KEY_NAME, key)).first() != null;
   }
 
   @Override
-  public boolean delete(@NonNull String key) {
+  protected boolean delete0(@NonNull String key) {
     return this.collection.deleteOne(Filters.eq(KEY_NAME, key)).getDeletedCount() > 0;
   }
 
   @Override
-  public @Nullable Document get(@NonNull String key) {
+  protected long deleteAll0(@NonNull Collection<String> keys) {
+    return this.collection.deleteMany(Filters.in(KEY_NAME, keys)).getDeletedCount();
+  }
+
+  @Override
+  protected @Nullable Document get0(@NonNull String key) {
     var document = this.collection.find(Filters.eq(KEY_NAME, key)).first();
     return this.parseDocumentValue(document);
   }
 
   @Override
   public @NonNull List<Document> find(@NonNull String fieldName, @Nullable String fieldValue) {
+    this.flushWrites();
     List<Document> documents = new ArrayList<>();
     try (var cursor = this.collection.find(this.valueEq(fieldName, fieldValue)).iterator()) {
       while (cursor.hasNext()) {
@@ -106,6 +136,8 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public @NonNull List<Document> find(@NonNull Map<String, String> filters) {
+    this.flushWrites();
+
     // the easiest way to prevent issues with json-to-json conversion is to use the in-build document of mongodb and
     // then reconvert the values as we need them
     Collection<Bson> bsonFilters = new ArrayList<>();
@@ -126,8 +158,16 @@ public boolean delete(@NonNull String key) {
     return documents;
   }
 
+  @Override
+  public void createIndex(@NonNull String fieldName) {
+    this.checkIndexFieldName(fieldName);
+    // creating an index which already exists has no effect in mongodb
+    this.collection.createIndex(Indexes.ascending(VALUE_NAME + '.' + fieldName));
+  }
+
   @Override
   public @NonNull Collection<String> keys() {
+    this.flushWrites();
     Collection<String> keys = new ArrayList<>();
     try (var cursor = this.collection.find().iterator()) {
       while (cursor.hasNext()) {
@@ -139,6 +179,7 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public @NonNull Collection<Document> documents() {
+    this.flushWrites();
     Collection<Document> documents = new ArrayList<>();
     try (var cursor = this.collection.find().iterator()) {
       while (cursor.hasNext()) {
@@ -154,6 +195,7 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public @NonNull Map<String, Document> entries() {
+    this.flushWrites();
     Map<String, Document> entries = new HashMap<>();
     try (var cursor = this.collection.find().iterator()) {
       while (cursor.hasNext()) {
@@ -171,16 +213,26 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public void iterate(@NonNull BiConsumer<String, Document> consumer) {
-    this.entries().forEach(consumer);
+    this.flushWrites();
+    try (var cursor = this.collection.find().iterator()) {
+      while (cursor.hasNext()) {
+        var document = cursor.next();
+        var parsedDocument = this.parseDocumentValue(document);
+        if (parsedDocument != null) {
+          consumer.accept(document.getString(KEY_NAME), parsedDocument);
+        }
+      }
+    }
   }
 
   @Override
-  public void clear() {
+  protected void clear0() {
     this.collection.deleteMany(new org.bson.Document());
   }
 
   @Override
   public long documentCount() {
+    this.flushWrites();
     return this.collection.estimatedDocumentCount();
   }
 
@@ -191,6 +243,7 @@ public boolean synced() {
 
   @Override
   public @Nullable Map<String, Document> readChunk(long beginIndex, int chunkSize) {
+    this.flushWrites();
     Map<String, Document> result = new HashMap<>();
     try (var cursor = this.collection.find().skip((int) beginIndex).limit(chunkSize).iterator()) {
       while (cursor.hasNext()) {
@@ -207,7 +260,23 @@ public boolean synced() {
   }
 
   @Override
-  public void close() {
+  public @Nullable Map<String, Document> readChunk(@Nullable String previousKey, int chunkSize) {
+    this.flushWrites();
+
+    // the key field is indexed, use keyset pagination to prevent skipping over all previous entries
+    var filter = previousKey == null ? new org.bson.Document() : Filters.gt(KEY_NAME, previousKey);
+    Map<String, Document> result = new LinkedHashMap<>();
+    try (var cursor = this.collection.find(filter).sort(Sorts.ascending(KEY_NAME)).limit(chunkSize).iterator()) {
+      while (cursor.hasNext()) {
+        var document = cursor.next();
+        var parsedDocument = this.parseDocumentValue(document);
+        if (parsedDocument != null) {
+          result.put(document.getString(KEY_NAME), parsedDocument);
+        }
+      }
+    }
+
+    return result.isEmpty() ? null : result;
   }
 
   protected @NonNull <T> Bson valueEq(@NonNull String fieldName, @Nullable final T value) {
@@ -61,8 +61,10 @@ public boolean containsDatabase(@NonNull String name) {
 
   @Override
   public boolean deleteDatabase(@NonNull String name) {
+    this.discardBufferedWrites(name);
     this.databaseCache.invalidate(name);
     this.mongoDatabase.getCollection(name).drop();
+    this.invalidateNearCaches(name);
 
     return true;
   }
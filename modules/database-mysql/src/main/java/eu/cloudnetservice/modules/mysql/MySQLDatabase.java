@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.modules.mysql;
 
+import com.google.common.collect.Iterables;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.database.sql.SQLDatabase;
@@ -23,7 +24,9 @@
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -49,10 +52,11 @@ public MySQLDatabase(@NonNull SQLDatabaseProvider provider, @NonNull String name
       name,
       TABLE_COLUMN_KEY,
       TABLE_COLUMN_VAL));
+    this.loadIndexedFields();
   }
 
   @Override
-  public boolean insert(@NonNull String key, @NonNull Document document) {
+  protected boolean insert0(@NonNull String key, @NonNull Document document) {
     var serializedDocument = this.serializeDocumentToJsonString(document);
     return this.databaseProvider.executeUpdate(
       String.format(
@@ -65,7 +69,25 @@ public boolean insert(@NonNull String key, @NonNull Document document) {
   }
 
   @Override
-  public boolean contains(@NonNull String key) {
+  protected boolean insertAll0(@NonNull Map<String, Document> documents) {
+    List<Object[]> parameters = new ArrayList<>(documents.size());
+    for (var entry : documents.entrySet()) {
+      parameters.add(new Object[]{entry.getKey(), this.serializeDocumentToJsonString(entry.getValue())});
+    }
+
+    return this.databaseProvider.executeBatchUpdate(
+      String.format(
+        "INSERT INTO `%s` (%s, %s) VALUES (?, ?) ON DUPLICATE KEY UPDATE %s = VALUES(%s);",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_VAL,
+        TABLE_COLUMN_VAL,
+        TABLE_COLUMN_VAL),
+      parameters) != -1;
+  }
+
+  @Override
+  protected boolean contains0(@NonNull String key) {
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?;", TABLE_COLUMN_KEY, this.name, TABLE_COLUMN_KEY),
       ResultSet::next,
@@ -74,14 +96,30 @@ public boolean contains(@NonNull String key) {
   }
 
   @Override
-  public boolean delete(@NonNull String key) {
+  protected boolean delete0(@NonNull String key) {
     return this.databaseProvider.executeUpdate(
       String.format("DELETE FROM %s WHERE `%s` = ?;", this.name, TABLE_COLUMN_KEY),
       key) > 0;
   }
 
   @Override
-  public @Nullable Document get(@NonNull String key) {
+  protected long deleteAll0(@NonNull Collection<String> keys) {
+    long deleted = 0;
+    for (var keyChunk : Iterables.partition(keys, BULK_DELETE_CHUNK_SIZE)) {
+      var deletedInChunk = this.databaseProvider.executeUpdate(
+        String.format(
+          "DELETE FROM `%s` WHERE `%s` IN (%s);",
+          this.name,
+          TABLE_COLUMN_KEY,
+          String.join(",", Collections.nCopies(keyChunk.size(), "?"))),
+        keyChunk.toArray());
+      deleted += Math.max(0, deletedInChunk);
+    }
+    return deleted;
+  }
+
+  @Override
+  protected @Nullable Document get0(@NonNull String key) {
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?;", TABLE_COLUMN_VAL, this.name, TABLE_COLUMN_KEY),
       resultSet -> {
@@ -95,6 +133,25 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public @NonNull Collection<Document> find(@NonNull String fieldName, @Nullable String fieldValue) {
+    this.flushWrites();
+    if (this.indexed(fieldName, fieldValue)) {
+      return this.databaseProvider.executeQuery(
+        String.format(
+          "SELECT %s FROM `%s` WHERE `%s%s` = ?;",
+          TABLE_COLUMN_VAL,
+          this.name,
+          TABLE_COLUMN_INDEX_PREFIX,
+          fieldName),
+        resultSet -> {
+          List<Document> results = new ArrayList<>();
+          while (resultSet.next()) {
+            results.add(DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)));
+          }
+
+          return results;
+        }, List.of(), fieldValue);
+    }
+
     return this.databaseProvider.executeQuery(
       String.format(
         "SELECT %s FROM `%s` WHERE JSON_SEARCH(%s, 'one', '%s', NULL, '$.%s') IS NOT NULL;",
@@ -115,17 +172,31 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public @NonNull Collection<Document> find(@NonNull Map<String, String> filters) {
+    this.flushWrites();
     var stringBuilder = new StringBuilder("SELECT ")
       .append(TABLE_COLUMN_VAL)
       .append(" FROM `")
       .append(this.name)
       .append('`');
 
+    List<Object> parameters = new ArrayList<>();
     if (!filters.isEmpty()) {
       stringBuilder.append(" WHERE ");
       var iterator = filters.entrySet().iterator();
       while (iterator.hasNext()) {
         var entry = iterator.next();
+        if (this.indexed(entry.getKey(), entry.getValue())) {
+          // use the generated index column of the field
+          stringBuilder
+            .append('`')
+            .append(TABLE_COLUMN_INDEX_PREFIX)
+            .append(entry.getKey())
+            .append("` = ?")
+            .append(iterator.hasNext() ? " AND " : ';');
+          parameters.add(entry.getValue());
+          continue;
+        }
+
         stringBuilder
           .append("JSON_SEARCH(")
           .append(TABLE_COLUMN_VAL)
@@ -145,11 +216,43 @@ public boolean delete(@NonNull String key) {
       }
 
       return results;
-    }, List.of());
+    }, List.of(), parameters.toArray());
+  }
+
+  @Override
+  public void createIndex(@NonNull String fieldName) {
+    this.checkIndexFieldName(fieldName);
+    if (this.indexedFields.contains(fieldName)) {
+      return;
+    }
+
+    // another node might have created the index in the meantime
+    this.loadIndexedFields();
+    if (this.indexedFields.contains(fieldName)) {
+      return;
+    }
+
+    // create a virtual column which is generated from the document and index it, this way mysql keeps the index up to
+    // date on each write without any further action. the binary collation keeps the lookups case-sensitive, the same
+    // way as when comparing the json values of unindexed fields
+    var columnName = TABLE_COLUMN_INDEX_PREFIX + fieldName;
+    this.databaseProvider.executeUpdate(String.format(
+      "ALTER TABLE `%s` ADD COLUMN `%s` VARCHAR(%d) CHARACTER SET utf8mb4 COLLATE utf8mb4_bin "
+        + "AS (LEFT(JSON_UNQUOTE(JSON_EXTRACT(%s, '$.\"%s\"')), %d)) VIRTUAL, ADD INDEX `%s` (`%s`);",
+      this.name,
+      columnName,
+      INDEX_VALUE_MAX_LENGTH,
+      TABLE_COLUMN_VAL,
+      fieldName,
+      INDEX_VALUE_MAX_LENGTH,
+      columnName,
+      columnName));
+    this.loadIndexedFields();
   }
 
   @Override
   public @NonNull Collection<String> keys() {
+    this.flushWrites();
     return this.databaseProvider.executeQuery(String.format("SELECT %s FROM `%s`;", TABLE_COLUMN_KEY, this.name),
       resultSet -> {
         List<String> results = new ArrayList<>();
@@ -163,6 +266,7 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public @NonNull Collection<Document> documents() {
+    this.flushWrites();
     return this.databaseProvider.executeQuery(String.format("SELECT %s FROM `%s`;", TABLE_COLUMN_VAL, this.name),
       resultSet -> {
         List<Document> results = new ArrayList<>();
@@ -176,6 +280,7 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public @NonNull Map<String, Document> entries() {
+    this.flushWrites();
     return this.databaseProvider.executeQuery(String.format("SELECT * FROM `%s`;", this.name), resultSet -> {
       Map<String, Document> results = new HashMap<>();
       while (resultSet.next()) {
@@ -189,12 +294,13 @@ public boolean delete(@NonNull String key) {
   }
 
   @Override
-  public void clear() {
+  protected void clear0() {
     this.databaseProvider.executeUpdate(String.format("TRUNCATE TABLE `%s`;", this.name));
   }
 
   @Override
   public long documentCount() {
+    this.flushWrites();
     return this.databaseProvider.executeQuery("SELECT COUNT(*) FROM `" + this.name + "`;", resultSet -> {
       if (resultSet.next()) {
         return resultSet.getLong(1);
@@ -210,6 +316,7 @@ public boolean synced() {
 
   @Override
   public void iterate(@NonNull BiConsumer<String, Document> consumer) {
+    this.flushWrites();
     this.databaseProvider.executeQuery(
       String.format("SELECT * FROM `%s`;", this.name),
       resultSet -> {
@@ -225,6 +332,7 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer) {
 
   @Override
   public @Nullable Map<String, Document> readChunk(long beginIndex, int chunkSize) {
+    this.flushWrites();
     return this.databaseProvider.executeQuery(
       String.format("SELECT * FROM `%s` ORDER BY `%s` LIMIT ? OFFSET ?;", this.name, TABLE_COLUMN_KEY),
       resultSet -> {
@@ -240,6 +348,32 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer) {
   }
 
   @Override
-  public void close() {
+  public @Nullable Map<String, Document> readChunk(@Nullable String previousKey, int chunkSize) {
+    this.flushWrites();
+
+    // start at the first key if no previous key is given, use keyset pagination otherwise
+    var query = previousKey == null
+      ? String.format("SELECT * FROM `%s` ORDER BY %s LIMIT ?;", this.name, TABLE_COLUMN_KEY)
+      : String.format(
+        "SELECT * FROM `%s` WHERE %s > ? ORDER BY %s LIMIT ?;",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_KEY);
+    var parameters = previousKey == null ? new Object[]{chunkSize} : new Object[]{previousKey, chunkSize};
+
+    return this.databaseProvider.executeQuery(
+      query,
+      resultSet -> {
+        Map<String, Document> result = new LinkedHashMap<>();
+        while (resultSet.next()) {
+          var key = resultSet.getString(TABLE_COLUMN_KEY);
+          var document = DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL));
+          result.put(key, document);
+        }
+
+        return result.isEmpty() ? null : result;
+      },
+      null,
+      parameters);
   }
 }
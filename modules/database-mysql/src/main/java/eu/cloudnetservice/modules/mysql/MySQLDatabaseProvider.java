@@ -27,6 +27,7 @@
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
@@ -88,7 +89,10 @@ public boolean init() {
 
   @Override
   public boolean deleteDatabase(@NonNull String name) {
-    return this.executeUpdate(String.format("DROP TABLE IF EXISTS `%s`;", name)) != -1;
+    this.discardBufferedWrites(name);
+    var deleted = this.executeUpdate(String.format("DROP TABLE IF EXISTS `%s`;", name)) != -1;
+    this.invalidateNearCaches(name);
+    return deleted;
   }
 
   @Override
@@ -132,7 +136,7 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     try (var con = this.connection(); var statement = con.prepareStatement(query)) {
       // write all parameters
       for (var i = 0; i < objects.length; i++) {
-        statement.setString(i + 1, Objects.toString(objects[i]));
+        statement.setString(i + 1, Objects.toString(objects[i], null));
       }
 
       // execute the statement
@@ -143,6 +147,39 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     }
   }
 
+  @Override
+  public int executeBatchUpdate(@NonNull String query, @NonNull List<Object[]> parameters) {
+    try (var con = this.connection(); var statement = con.prepareStatement(query)) {
+      // write all parameters of each batch entry
+      for (var objects : parameters) {
+        for (var i = 0; i < objects.length; i++) {
+          statement.setString(i + 1, Objects.toString(objects[i], null));
+        }
+        statement.addBatch();
+      }
+
+      // execute the whole batch in a single transaction
+      con.setAutoCommit(false);
+      try {
+        var updatedRows = 0;
+        for (var updateCount : statement.executeBatch()) {
+          updatedRows += Math.max(0, updateCount);
+        }
+
+        con.commit();
+        return updatedRows;
+      } catch (SQLException exception) {
+        con.rollback();
+        throw exception;
+      } finally {
+        con.setAutoCommit(true);
+      }
+    } catch (SQLException exception) {
+      LOGGER.severe("Exception while executing database batch update", exception);
+      return -1;
+    }
+  }
+
   @Override
   public <T> @UnknownNullability T executeQuery(
     @NonNull String query,
@@ -153,7 +190,7 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     try (var con = this.connection(); var statement = con.prepareStatement(query)) {
       // write all parameters
       for (var i = 0; i < objects.length; i++) {
-        statement.setString(i + 1, Objects.toString(objects[i]));
+        statement.setString(i + 1, Objects.toString(objects[i], null));
       }
 
       // execute the statement, apply to the result handler
@@ -18,6 +18,7 @@
 
 import com.github.dockerjava.api.DockerClient;
 import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.modules.docker.config.DockerConfiguration;
 import eu.cloudnetservice.node.TickLoop;
@@ -25,6 +26,7 @@
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.defaults.factory.BaseLocalCloudServiceFactory;
+import eu.cloudnetservice.node.template.TemplateCache;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -38,6 +40,27 @@ public class DockerizedLocalCloudServiceFactory extends BaseLocalCloudServiceFac
   protected final DockerClient dockerClient;
   protected final DockerConfiguration dockerConfiguration;
   protected final CloudServiceManager cloudServiceManager;
+  protected final TemplateCache templateCache;
+
+  public DockerizedLocalCloudServiceFactory(
+    @NonNull TickLoop tickLoop,
+    @NonNull Configuration nodeConfig,
+    @NonNull CloudServiceManager cloudServiceManager,
+    @NonNull EventManager eventManager,
+    @NonNull ServiceVersionProvider versionProvider,
+    @NonNull DockerClient dockerClient,
+    @NonNull DockerConfiguration configuration
+  ) {
+    this(
+      tickLoop,
+      nodeConfig,
+      cloudServiceManager,
+      eventManager,
+      versionProvider,
+      InjectionLayer.boot().instance(TemplateCache.class),
+      dockerClient,
+      configuration);
+  }
 
   @Inject
   public DockerizedLocalCloudServiceFactory(
@@ -46,6 +69,7 @@ public DockerizedLocalCloudServiceFactory(
     @NonNull CloudServiceManager cloudServiceManager,
     @NonNull EventManager eventManager,
     @NonNull ServiceVersionProvider versionProvider,
+    @NonNull TemplateCache templateCache,
     @NonNull DockerClient dockerClient,
     @NonNull DockerConfiguration configuration
   ) {
@@ -53,6 +77,7 @@ public DockerizedLocalCloudServiceFactory(
     this.mainThread = tickLoop;
     this.eventManager = eventManager;
     this.cloudServiceManager = cloudServiceManager;
+    this.templateCache = templateCache;
     this.dockerClient = dockerClient;
     this.dockerConfiguration = configuration;
   }
@@ -75,6 +100,7 @@ public DockerizedLocalCloudServiceFactory(
       this.eventManager,
       this.versionProvider,
       preparer,
+      this.templateCache,
       this.dockerClient,
       this.dockerConfiguration);
   }
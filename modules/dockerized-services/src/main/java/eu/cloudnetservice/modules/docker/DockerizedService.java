@@ -34,6 +34,7 @@
 import com.google.common.collect.Lists;
 import eu.cloudnetservice.common.util.StringUtil;
 import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.modules.docker.config.DockerConfiguration;
 import eu.cloudnetservice.modules.docker.config.DockerImage;
@@ -44,6 +45,7 @@
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
 import eu.cloudnetservice.node.service.defaults.JVMService;
+import eu.cloudnetservice.node.template.TemplateCache;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import java.io.IOException;
 import java.io.PipedInputStream;
@@ -104,7 +106,40 @@ protected DockerizedService(
     @NonNull DockerClient dockerClient,
     @NonNull DockerConfiguration dockerConfiguration
   ) {
-    super(tickLoop, nodeConfig, configuration, manager, eventManager, versionProvider, serviceConfigurationPreparer);
+    this(
+      tickLoop,
+      nodeConfig,
+      configuration,
+      manager,
+      eventManager,
+      versionProvider,
+      serviceConfigurationPreparer,
+      InjectionLayer.boot().instance(TemplateCache.class),
+      dockerClient,
+      dockerConfiguration);
+  }
+
+  protected DockerizedService(
+    @NonNull TickLoop tickLoop,
+    @NonNull Configuration nodeConfig,
+    @NonNull ServiceConfiguration configuration,
+    @NonNull CloudServiceManager manager,
+    @NonNull EventManager eventManager,
+    @NonNull ServiceVersionProvider versionProvider,
+    @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer,
+    @NonNull TemplateCache templateCache,
+    @NonNull DockerClient dockerClient,
+    @NonNull DockerConfiguration dockerConfiguration
+  ) {
+    super(
+      tickLoop,
+      nodeConfig,
+      configuration,
+      manager,
+      eventManager,
+      versionProvider,
+      serviceConfigurationPreparer,
+      templateCache);
 
     this.dockerClient = dockerClient;
     this.configuration = dockerConfiguration;
@@ -38,6 +38,10 @@ dependencies {
   "annotationProcessor"(libs.aerogelAuto)
 
   "compileOnly"(libs.bundles.serverPlatform)
+
+  // testing
+  "testImplementation"(projects.wrapperJvm)
+  "testImplementation"(projects.modules.bridge)
 }
 
 moduleJson {
@@ -22,6 +22,7 @@
 import eu.cloudnetservice.modules.signs.Sign;
 import eu.cloudnetservice.modules.signs.configuration.SignConfigurationEntry;
 import eu.cloudnetservice.modules.signs.configuration.SignLayout;
+import eu.cloudnetservice.modules.signs.configuration.SignLayoutsHolder;
 import eu.cloudnetservice.modules.signs.util.LayoutUtil;
 import eu.cloudnetservice.modules.signs.util.PriorityUtil;
 import java.util.UUID;
@@ -36,6 +37,7 @@
   protected final PlayerManager playerManager;
   protected final Function<String, C> lineMapper;
   protected volatile ServiceInfoSnapshot target;
+  protected volatile CachedLayoutHolder cachedLayoutHolder;
 
   public PlatformSign(
     @NonNull Sign base,
@@ -82,6 +84,19 @@ public void handleInteract(@NonNull UUID playerUniqueId, @NonNull P playerInstan
     this.playerManager.playerExecutor(playerUniqueId).connect(target.name());
   }
 
+  public @NonNull SignLayoutsHolder layoutHolder(@NonNull SignConfigurationEntry entry) {
+    // the layout holder only changes if the entry or the target changes, each service update creates a new snapshot
+    var target = this.target;
+    var cached = this.cachedLayoutHolder;
+    if (cached != null && cached.entry() == entry && cached.target() == target) {
+      return cached.holder();
+    }
+
+    var holder = LayoutUtil.layoutHolder(entry, this.base, target);
+    this.cachedLayoutHolder = new CachedLayoutHolder(entry, target, holder);
+    return holder;
+  }
+
   public int priority() {
     return this.priority(false);
   }
@@ -116,4 +131,12 @@ public int compareTo(@NonNull PlatformSign<P, C> sign) {
   public abstract void updateSign(@NonNull SignLayout layout);
 
   public abstract @Nullable ServiceInfoSnapshot callSignInteractEvent(@NonNull P player);
+
+  protected record CachedLayoutHolder(
+    @NonNull SignConfigurationEntry entry,
+    @Nullable ServiceInfoSnapshot target,
+    @NonNull SignLayoutsHolder holder
+  ) {
+
+  }
 }
@@ -34,7 +34,6 @@
 import eu.cloudnetservice.modules.signs.configuration.SignConfigurationEntry;
 import eu.cloudnetservice.modules.signs.configuration.SignLayoutsHolder;
 import eu.cloudnetservice.modules.signs.configuration.SignsConfiguration;
-import eu.cloudnetservice.modules.signs.util.LayoutUtil;
 import eu.cloudnetservice.modules.signs.util.PriorityUtil;
 import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
 import java.util.Collection;
@@ -75,6 +74,11 @@
   protected final Map<WorldPosition, PlatformSign<P, C>> platformSigns = new ConcurrentHashMap<>();
   protected final Queue<ServiceInfoSnapshot> waitingAssignments = new ConcurrentLinkedQueue<>();
 
+  // indexes of the platform signs to find the signs affected by a service change without iterating over all signs
+  protected final Map<String, PlatformSign<P, C>> signsByService = new ConcurrentHashMap<>();
+  protected final Map<String, Set<PlatformSign<P, C>>> signsByGroup = new ConcurrentHashMap<>();
+  protected final Map<String, Set<PlatformSign<P, C>>> freeSignsByGroup = new ConcurrentHashMap<>();
+
   protected int currentTick;
 
   protected PlatformSignManagement(
@@ -159,15 +163,20 @@ public void signsConfiguration(@NonNull SignsConfiguration signsConfiguration) {
   public void handleInternalSignCreate(@NonNull Sign sign) {
     if (this.wrapperConfig.serviceConfiguration().groups().contains(sign.location().group())) {
       var newSign = this.createPlatformSign(sign);
-      var oldSign = this.platformSigns.remove(sign.location());
+      this.updatingLock.lock();
+      try {
+        var oldSign = this.unregisterPlatformSign(sign.location());
 
-      // set the old target in the new sign if needed
-      if (oldSign != null) {
-        newSign.currentTarget(oldSign.currentTarget());
-      }
+        // set the old target in the new sign if needed
+        if (oldSign != null) {
+          newSign.currentTarget(oldSign.currentTarget());
+        }
 
-      // register the sign
-      this.platformSigns.put(sign.location(), newSign);
+        // register the sign
+        this.registerPlatformSign(newSign);
+      } finally {
+        this.updatingLock.unlock();
+      }
       super.handleInternalSignCreate(sign);
     }
   }
@@ -175,7 +184,7 @@ public void handleInternalSignCreate(@NonNull Sign sign) {
   @Override
   public void handleInternalSignRemove(@NonNull WorldPosition position) {
     if (this.wrapperConfig.serviceConfiguration().groups().contains(position.group())) {
-      var sign = this.platformSigns.remove(position);
+      var sign = this.unregisterPlatformSign(position);
       if (sign != null && sign.currentTarget() != null) {
         this.waitingAssignments.add(sign.currentTarget());
       }
@@ -210,28 +219,39 @@ public void handleServiceAdd(@NonNull ServiceInfoSnapshot snapshot) {
 
   public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot) {
     if (this.shouldAssign(snapshot)) {
-      var handlingSign = this.signOf(snapshot);
-      if (handlingSign == null) {
-        handlingSign = this.nextFreeSign(snapshot);
-        // in all cases we need to remove the old waiting assignment
-        this.waitingAssignments.removeIf(s -> s.serviceId().uniqueId().equals(snapshot.serviceId().uniqueId()));
+      // the sign lookup and the assignment must happen atomically, another thread might assign the sign in between
+      this.updatingLock.lock();
+      try {
+        var handlingSign = this.signOf(snapshot);
         if (handlingSign == null) {
-          this.waitingAssignments.add(snapshot);
-          return;
+          handlingSign = this.nextFreeSign(snapshot);
+          // in all cases we need to remove the old waiting assignment
+          this.waitingAssignments.removeIf(s -> s.serviceId().uniqueId().equals(snapshot.serviceId().uniqueId()));
+          if (handlingSign == null) {
+            this.waitingAssignments.add(snapshot);
+            return;
+          }
         }
-      }
 
-      handlingSign.currentTarget(snapshot);
+        this.assignTarget(handlingSign, snapshot);
+      } finally {
+        this.updatingLock.unlock();
+      }
     }
   }
 
   public void handleServiceRemove(@NonNull ServiceInfoSnapshot snapshot) {
     if (this.shouldAssign(snapshot)) {
-      var handlingSign = this.signOf(snapshot);
-      if (handlingSign != null) {
-        handlingSign.currentTarget(null);
-      } else {
-        this.waitingAssignments.removeIf(s -> s.serviceId().uniqueId().equals(snapshot.serviceId().uniqueId()));
+      this.updatingLock.lock();
+      try {
+        var handlingSign = this.signOf(snapshot);
+        if (handlingSign != null) {
+          this.assignTarget(handlingSign, null);
+        } else {
+          this.waitingAssignments.removeIf(s -> s.serviceId().uniqueId().equals(snapshot.serviceId().uniqueId()));
+        }
+      } finally {
+        this.updatingLock.unlock();
       }
     }
   }
@@ -244,7 +264,7 @@ public void initialize(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>>
     if (this.signsConfiguration != null) {
       // initialize the platform signs
       for (var value : this.signs.values()) {
-        this.platformSigns.put(value.location(), this.createPlatformSign(value));
+        this.registerPlatformSign(this.createPlatformSign(value));
       }
 
       // start the needed tasks
@@ -284,19 +304,24 @@ protected boolean shouldAssign(@NonNull ServiceInfoSnapshot snapshot) {
   }
 
   protected void tryAssign(@NonNull ServiceInfoSnapshot snapshot) {
-    // check if the service is already assigned to a sign
-    var sign = this.signOf(snapshot);
-    if (sign == null) {
-      // check if there is a free sign to handle the service
-      sign = this.nextFreeSign(snapshot);
+    this.updatingLock.lock();
+    try {
+      // check if the service is already assigned to a sign
+      var sign = this.signOf(snapshot);
       if (sign == null) {
-        // no free sign, add to the waiting services
-        this.waitingAssignments.add(snapshot);
-        return;
+        // check if there is a free sign to handle the service
+        sign = this.nextFreeSign(snapshot);
+        if (sign == null) {
+          // no free sign, add to the waiting services
+          this.waitingAssignments.add(snapshot);
+          return;
+        }
       }
+      // assign the service to the sign
+      this.assignTarget(sign, snapshot);
+    } finally {
+      this.updatingLock.unlock();
     }
-    // assign the service to the sign
-    sign.currentTarget(snapshot);
   }
 
   protected boolean checkTemplatePath(@NonNull ServiceInfoSnapshot snapshot, @NonNull Sign sign) {
@@ -319,7 +344,7 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
       var hasUpdates = false;
       for (var value : this.platformSigns.values()) {
         // tick all sign layouts which we need to tick in the current tick
-        var holder = LayoutUtil.layoutHolder(ownEntry, value.base(), value.currentTarget());
+        var holder = value.layoutHolder(ownEntry);
         if (holder.hasLayouts() && holder.animationsPerSecond() > 0
           && this.currentTick % (this.tps() / holder.animationsPerSecond()) == 0) {
           // tick the holder, then block the tick
@@ -352,16 +377,21 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
 
       // check if we have waiting services which are not yet assigned - try to assign them to a sign
       if (!this.waitingAssignments.isEmpty()) {
-        for (var waitingAssignment : this.waitingAssignments) {
-          // get the next free sign to which can assign the service
-          var freeSign = this.nextFreeSign(waitingAssignment);
-          if (freeSign != null) {
-            // remove instantly
-            this.waitingAssignments.remove(waitingAssignment);
-            // assign the service to the sign, the layout of it will be updated within the next second
-            // we could directly update the layout but there is no need to do that
-            freeSign.currentTarget(waitingAssignment);
+        this.updatingLock.lock();
+        try {
+          for (var waitingAssignment : this.waitingAssignments) {
+            // get the next free sign to which can assign the service
+            var freeSign = this.nextFreeSign(waitingAssignment);
+            if (freeSign != null) {
+              // remove instantly
+              this.waitingAssignments.remove(waitingAssignment);
+              // assign the service to the sign, the layout of it will be updated within the next second
+              // we could directly update the layout but there is no need to do that
+              this.assignTarget(freeSign, waitingAssignment);
+            }
           }
+        } finally {
+          this.updatingLock.unlock();
         }
       }
     }
@@ -379,17 +409,23 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
     // ensure that we only assign the snapshot to a sign that has no target yet
     this.updatingLock.lock();
     try {
+      // a sign which has no target yet is always the best choice
+      for (var group : snapshot.configuration().groups()) {
+        for (var platformSign : this.freeSignsByGroup.getOrDefault(group, Set.of())) {
+          var sign = platformSign.base();
+          if (platformSign.currentTarget() == null
+            && (sign.templatePath() == null || this.checkTemplatePath(snapshot, sign))) {
+            return platformSign;
+          }
+        }
+      }
+
       PlatformSign<P, C> bestChoice = null;
-      for (var platformSign : this.platformSigns.values()) {
-        var sign = platformSign.base();
-        if (snapshot.configuration().groups().contains(sign.targetGroup())
-          && (sign.templatePath() == null || this.checkTemplatePath(snapshot, sign))) {
-          // the service could be assigned to the sign
-          if (platformSign.currentTarget() == null) {
-            // the sign has no target yet, best choice
-            bestChoice = platformSign;
-            break;
-          } else {
+      for (var group : snapshot.configuration().groups()) {
+        for (var platformSign : this.signsByGroup.getOrDefault(group, Set.of())) {
+          var sign = platformSign.base();
+          if (platformSign.currentTarget() != null
+            && (sign.templatePath() == null || this.checkTemplatePath(snapshot, sign))) {
             // get the priority of the sign depending on the current sign choice (if any)
             var signPriority = platformSign.priority(entry);
             var priority = bestChoice == null ? servicePriority : bestChoice.priority(entry);
@@ -412,7 +448,7 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
       if (bestChoice != null && bestChoice.currentTarget() != null) {
         // enqueue and reset the current target of the sign
         this.waitingAssignments.add(bestChoice.currentTarget());
-        bestChoice.currentTarget(null);
+        this.assignTarget(bestChoice, null);
       }
 
       return bestChoice;
@@ -422,15 +458,86 @@ protected void tick(@NonNull Map<SignLayoutsHolder, Set<PlatformSign<P, C>>> sig
   }
 
   protected @Nullable PlatformSign<P, C> signOf(@NonNull ServiceInfoSnapshot snapshot) {
-    for (var value : this.platformSigns.values()) {
-      var target = value.currentTarget();
+    var sign = this.signsByService.get(snapshot.name());
+    if (sign != null) {
+      var target = sign.currentTarget();
       if (target != null && target.name().equals(snapshot.name())) {
-        return value;
+        return sign;
       }
     }
     return null;
   }
 
+  protected void assignTarget(@NonNull PlatformSign<P, C> sign, @Nullable ServiceInfoSnapshot target) {
+    // the target and the indexes must change together, concurrent assignments would leave stale index entries behind
+    this.updatingLock.lock();
+    try {
+      // remove the sign from the indexes based on the old target before changing it
+      this.unindexTarget(sign);
+      sign.currentTarget(target);
+      this.indexTarget(sign);
+    } finally {
+      this.updatingLock.unlock();
+    }
+  }
+
+  protected void registerPlatformSign(@NonNull PlatformSign<P, C> sign) {
+    this.updatingLock.lock();
+    try {
+      var oldSign = this.platformSigns.put(sign.base().location(), sign);
+      if (oldSign != null) {
+        this.unindexSign(oldSign);
+      }
+
+      this.signsByGroup.computeIfAbsent(sign.base().targetGroup(), $ -> ConcurrentHashMap.newKeySet()).add(sign);
+      this.indexTarget(sign);
+    } finally {
+      this.updatingLock.unlock();
+    }
+  }
+
+  protected @Nullable PlatformSign<P, C> unregisterPlatformSign(@NonNull WorldPosition position) {
+    this.updatingLock.lock();
+    try {
+      var sign = this.platformSigns.remove(position);
+      if (sign != null) {
+        this.unindexSign(sign);
+      }
+      return sign;
+    } finally {
+      this.updatingLock.unlock();
+    }
+  }
+
+  private void unindexSign(@NonNull PlatformSign<P, C> sign) {
+    var groupSigns = this.signsByGroup.get(sign.base().targetGroup());
+    if (groupSigns != null) {
+      groupSigns.remove(sign);
+    }
+    this.unindexTarget(sign);
+  }
+
+  private void indexTarget(@NonNull PlatformSign<P, C> sign) {
+    var target = sign.currentTarget();
+    if (target == null) {
+      this.freeSignsByGroup.computeIfAbsent(sign.base().targetGroup(), $ -> ConcurrentHashMap.newKeySet()).add(sign);
+    } else {
+      this.signsByService.put(target.name(), sign);
+    }
+  }
+
+  private void unindexTarget(@NonNull PlatformSign<P, C> sign) {
+    var target = sign.currentTarget();
+    if (target == null) {
+      var freeSigns = this.freeSignsByGroup.get(sign.base().targetGroup());
+      if (freeSigns != null) {
+        freeSigns.remove(sign);
+      }
+    } else {
+      this.signsByService.remove(target.name(), sign);
+    }
+  }
+
   public @Nullable PlatformSign<P, C> platformSignAt(@Nullable WorldPosition position) {
     return position == null ? null : this.platformSigns.get(position);
   }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.signs.platform;
+
+import dev.derklaro.aerogel.binding.BindingBuilder;
+import eu.cloudnetservice.driver.ComponentInfo;
+import eu.cloudnetservice.driver.DriverEnvironment;
+import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
+import eu.cloudnetservice.driver.provider.CloudMessenger;
+import eu.cloudnetservice.driver.provider.CloudServiceProvider;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceId;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.modules.bridge.WorldPosition;
+import eu.cloudnetservice.modules.bridge.player.PlayerManager;
+import eu.cloudnetservice.modules.signs.Sign;
+import eu.cloudnetservice.modules.signs.configuration.SignLayout;
+import eu.cloudnetservice.modules.signs.configuration.SignsConfiguration;
+import eu.cloudnetservice.wrapper.configuration.WrapperConfiguration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class PlatformSignManagementTest {
+
+  @BeforeAll
+  static void setupBootInjectionLayer() {
+    // the sign management requests the configuration and the signs from the node when constructing
+    var layer = InjectionLayer.boot();
+    layer.install(BindingBuilder.create().bind(CloudMessenger.class).toInstance(Mockito.mock(CloudMessenger.class)));
+    layer.install(BindingBuilder.create()
+      .bind(ComponentInfo.class)
+      .toInstance(new ComponentInfo(DriverEnvironment.WRAPPER, "Lobby-1", "Node-1")));
+  }
+
+  private static TestSignManagement signManagement() {
+    var wrapperConfig = Mockito.mock(WrapperConfiguration.class, Mockito.RETURNS_DEEP_STUBS);
+    Mockito.when(wrapperConfig.serviceConfiguration().groups()).thenReturn(Set.of("Lobby"));
+    Mockito.when(wrapperConfig.serviceConfiguration().serviceId().nodeUniqueId()).thenReturn("Node-1");
+
+    var management = new TestSignManagement(wrapperConfig);
+    management.handleInternalSignConfigUpdate(new SignsConfiguration(List.of()));
+    return management;
+  }
+
+  private static ServiceInfoSnapshot service(String name) {
+    var configuration = Mockito.mock(ServiceConfiguration.class);
+    Mockito.when(configuration.groups()).thenReturn(Set.of("Lobby"));
+
+    var serviceId = Mockito.mock(ServiceId.class);
+    Mockito.when(serviceId.uniqueId()).thenReturn(UUID.randomUUID());
+
+    var snapshot = Mockito.mock(ServiceInfoSnapshot.class);
+    Mockito.when(snapshot.name()).thenReturn(name);
+    Mockito.when(snapshot.serviceId()).thenReturn(serviceId);
+    Mockito.when(snapshot.configuration()).thenReturn(configuration);
+    return snapshot;
+  }
+
+  private static Sign sign(int x) {
+    return new Sign("Lobby", new WorldPosition(x, 0, 0, 0, 0, "world", "Lobby"));
+  }
+
+  private static void assertIndexesConsistent(TestSignManagement management) {
+    for (var sign : management.platformSigns.values()) {
+      var target = sign.currentTarget();
+      Assertions.assertTrue(management.signsByGroup.get("Lobby").contains(sign));
+      if (target == null) {
+        Assertions.assertTrue(management.freeSignsByGroup.get("Lobby").contains(sign));
+      } else {
+        Assertions.assertFalse(management.freeSignsByGroup.get("Lobby").contains(sign));
+        Assertions.assertSame(sign, management.signsByService.get(target.name()));
+      }
+    }
+
+    // no index contains a sign which is not registered or has another target
+    Assertions.assertTrue(management.platformSigns.values().containsAll(management.signsByGroup.get("Lobby")));
+    for (var entry : management.signsByService.entrySet()) {
+      var target = entry.getValue().currentTarget();
+      Assertions.assertNotNull(target);
+      Assertions.assertEquals(entry.getKey(), target.name());
+    }
+    for (var sign : management.freeSignsByGroup.get("Lobby")) {
+      Assertions.assertNull(sign.currentTarget());
+    }
+  }
+
+  @Test
+  void testAssignmentUpdatesIndexes() {
+    var management = signManagement();
+    management.handleInternalSignCreate(sign(0));
+
+    var platformSign = management.platformSignAt(sign(0).location());
+    Assertions.assertNotNull(platformSign);
+    Assertions.assertTrue(management.freeSignsByGroup.get("Lobby").contains(platformSign));
+
+    var service = service("Lobby-2");
+    management.handleServiceAdd(service);
+    Assertions.assertSame(service, platformSign.currentTarget());
+    Assertions.assertSame(platformSign, management.signOf(service));
+    assertIndexesConsistent(management);
+
+    management.handleServiceRemove(service);
+    Assertions.assertNull(platformSign.currentTarget());
+    Assertions.assertNull(management.signOf(service));
+    assertIndexesConsistent(management);
+  }
+
+  @Test
+  void testSignRemovalUpdatesIndexes() {
+    var management = signManagement();
+    management.handleInternalSignCreate(sign(0));
+
+    var service = service("Lobby-2");
+    management.handleServiceAdd(service);
+    management.handleInternalSignRemove(sign(0).location());
+
+    Assertions.assertNull(management.signOf(service));
+    Assertions.assertTrue(management.signsByGroup.get("Lobby").isEmpty());
+    Assertions.assertTrue(management.freeSignsByGroup.get("Lobby").isEmpty());
+    // the service is waiting for the next free sign
+    Assertions.assertTrue(management.waitingAssignments.contains(service));
+
+    management.handleInternalSignCreate(sign(1));
+    management.handleServiceUpdate(service);
+    Assertions.assertTrue(management.waitingAssignments.isEmpty());
+    Assertions.assertSame(service, management.platformSignAt(sign(1).location()).currentTarget());
+    assertIndexesConsistent(management);
+  }
+
+  @Test
+  void testConcurrentAssignmentsKeepIndexesConsistent() throws Exception {
+    var management = signManagement();
+    for (var i = 0; i < 10; i++) {
+      management.handleInternalSignCreate(sign(i));
+    }
+
+    var services = new ArrayList<ServiceInfoSnapshot>();
+    for (var i = 0; i < 20; i++) {
+      services.add(service("Lobby-" + i));
+    }
+
+    var executor = Executors.newFixedThreadPool(8);
+    try {
+      for (var round = 0; round < 200; round++) {
+        for (var service : services) {
+          executor.execute(() -> management.handleServiceUpdate(service));
+          executor.execute(() -> management.handleServiceRemove(service));
+        }
+      }
+    } finally {
+      executor.shutdown();
+      Assertions.assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+    }
+
+    assertIndexesConsistent(management);
+  }
+
+  private static final class TestSignManagement extends PlatformSignManagement<Object, Object, String> {
+
+    private TestSignManagement(WrapperConfiguration wrapperConfig) {
+      super(
+        Mockito.mock(EventManager.class),
+        Runnable::run,
+        wrapperConfig,
+        Mockito.mock(CloudServiceProvider.class),
+        Mockito.mock(ScheduledExecutorService.class));
+    }
+
+    @Override
+    protected boolean shouldAssign(ServiceInfoSnapshot snapshot) {
+      return true;
+    }
+
+    @Override
+    protected int tps() {
+      return 20;
+    }
+
+    @Override
+    protected void startKnockbackTask() {
+    }
+
+    @Override
+    public WorldPosition convertPosition(Object location) {
+      return null;
+    }
+
+    @Override
+    protected PlatformSign<Object, String> createPlatformSign(Sign base) {
+      return new TestPlatformSign(base);
+    }
+  }
+
+  private static final class TestPlatformSign extends PlatformSign<Object, String> {
+
+    private TestPlatformSign(Sign base) {
+      super(base, Mockito.mock(PlayerManager.class), Function.identity());
+    }
+
+    @Override
+    public boolean exists() {
+      return true;
+    }
+
+    @Override
+    public boolean needsUpdates() {
+      return false;
+    }
+
+    @Override
+    public void updateSign(SignLayout layout) {
+    }
+
+    @Override
+    public ServiceInfoSnapshot callSignInteractEvent(Object player) {
+      return null;
+    }
+  }
+}
@@ -22,6 +22,7 @@ tasks.withType<Jar> {
 
 dependencies {
   "compileOnly"(projects.modules.bridge)
+  "testImplementation"(projects.modules.bridge)
 }
 
 moduleJson {
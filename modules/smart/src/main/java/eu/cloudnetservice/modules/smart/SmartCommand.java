@@ -27,11 +27,14 @@
 import eu.cloudnetservice.common.language.I18n;
 import eu.cloudnetservice.driver.provider.ServiceTaskProvider;
 import eu.cloudnetservice.driver.service.ServiceTask;
+import eu.cloudnetservice.modules.smart.prediction.PlayerLoadSimulation;
 import eu.cloudnetservice.node.command.annotation.Description;
 import eu.cloudnetservice.node.command.exception.ArgumentNotAvailableException;
 import eu.cloudnetservice.node.command.source.CommandSource;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Queue;
 import java.util.function.Function;
@@ -241,6 +244,69 @@ public void percentOfPlayersForANewServiceByInstance(
       percent));
   }
 
+  @CommandMethod("smart task <task> predictiveScaling <enabled>")
+  public void predictiveScaling(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @Argument("enabled") boolean enabled
+  ) {
+    this.updateSmart(task, config -> config.predictiveScaling(enabled));
+    source.sendMessage(I18n.trans(
+      "command-tasks-set-property-success",
+      "predictiveScaling",
+      task.name(),
+      enabled));
+  }
+
+  @CommandMethod("smart task <task> predictionHorizonInSeconds <seconds>")
+  public void predictionHorizonInSeconds(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @Argument("seconds") @Range(min = "1") int seconds
+  ) {
+    this.updateSmart(task, config -> config.predictionHorizonInSeconds(seconds));
+    source.sendMessage(I18n.trans(
+      "command-tasks-set-property-success",
+      "predictionHorizonInSeconds",
+      task.name(),
+      seconds));
+  }
+
+  @CommandMethod("smart task <task> simulate <path> <maxPlayers> <startupSeconds>")
+  public void simulate(
+    @NonNull CommandSource source,
+    @NonNull @Argument(value = "task", parserName = "smartTask") ServiceTask task,
+    @NonNull @Argument("path") String path,
+    @Argument("maxPlayers") @Range(min = "1") int maxPlayers,
+    @Argument("startupSeconds") @Range(min = "0") int startupSeconds
+  ) {
+    double[] load;
+    try {
+      load = PlayerLoadSimulation.readLoad(Path.of(path));
+    } catch (IOException | NumberFormatException exception) {
+      source.sendMessage(I18n.trans("module-smart-command-simulation-invalid-load", path));
+      return;
+    }
+
+    // compare the reactive and the predictive mode using the current configuration of the task
+    var config = task.propertyHolder().readObject("smartConfig", SmartServiceTaskConfig.class);
+    for (var predictive : new boolean[]{false, true}) {
+      var result = PlayerLoadSimulation.simulate(
+        load,
+        SmartServiceTaskConfig.builder(config).predictiveScaling(predictive).build(),
+        maxPlayers,
+        startupSeconds);
+      source.sendMessage(I18n.trans(
+        "module-smart-command-simulation-result",
+        predictive ? "predictive" : "reactive",
+        result.seconds(),
+        result.overloadedSeconds(),
+        Math.round(result.unservedPlayerSeconds()),
+        result.serviceSeconds(),
+        result.startedServices()));
+    }
+  }
+
   private void updateSmart(
     @NonNull ServiceTask serviceTask,
     @NonNull Function<SmartServiceTaskConfig.Builder, SmartServiceTaskConfig.Builder> modifier
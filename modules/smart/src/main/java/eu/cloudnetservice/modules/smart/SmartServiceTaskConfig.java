@@ -30,7 +30,9 @@ public record SmartServiceTaskConfig(
   int autoStopTimeByUnusedServiceInSeconds,
   int percentOfPlayersToCheckShouldStopTheService,
   int forAnewInstanceDelayTimeInSeconds,
-  int percentOfPlayersForANewServiceByInstance
+  int percentOfPlayersForANewServiceByInstance,
+  boolean predictiveScaling,
+  int predictionHorizonInSeconds
 ) implements Comparable<SmartServiceTaskConfig> {
 
   public static @NonNull Builder builder() {
@@ -54,7 +56,10 @@ public record SmartServiceTaskConfig(
       .percentOfPlayersToCheckShouldStop(config.percentOfPlayersToCheckShouldStopTheService())
 
       .forAnewInstanceDelayTimeInSeconds(config.forAnewInstanceDelayTimeInSeconds())
-      .percentOfPlayersForANewServiceByInstance(config.percentOfPlayersForANewServiceByInstance());
+      .percentOfPlayersForANewServiceByInstance(config.percentOfPlayersForANewServiceByInstance())
+
+      .predictiveScaling(config.predictiveScaling())
+      .predictionHorizonInSeconds(config.predictionHorizonInSeconds());
   }
 
   @Override
@@ -89,6 +94,9 @@ public static class Builder {
     private int forAnewInstanceDelayTimeInSeconds = 300;
     private int percentOfPlayersForANewServiceByInstance = 100;
 
+    private boolean predictiveScaling = false;
+    private int predictionHorizonInSeconds = 60;
+
     public @NonNull Builder enabled(boolean enabled) {
       this.enabled = enabled;
       return this;
@@ -149,6 +157,16 @@ public static class Builder {
       return this;
     }
 
+    public @NonNull Builder predictiveScaling(boolean predictiveScaling) {
+      this.predictiveScaling = predictiveScaling;
+      return this;
+    }
+
+    public @NonNull Builder predictionHorizonInSeconds(int predictionHorizonInSeconds) {
+      this.predictionHorizonInSeconds = predictionHorizonInSeconds;
+      return this;
+    }
+
     public @NonNull SmartServiceTaskConfig build() {
       return new SmartServiceTaskConfig(
         this.enabled,
@@ -162,7 +180,9 @@ public static class Builder {
         this.autoStopTimeByUnusedServiceInSeconds,
         this.percentOfPlayersToCheckShouldStopTheService,
         this.forAnewInstanceDelayTimeInSeconds,
-        this.percentOfPlayersForANewServiceByInstance);
+        this.percentOfPlayersForANewServiceByInstance,
+        this.predictiveScaling,
+        this.predictionHorizonInSeconds);
     }
   }
 }
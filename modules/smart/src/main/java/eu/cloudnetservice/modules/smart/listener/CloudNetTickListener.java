@@ -28,6 +28,8 @@
 import eu.cloudnetservice.modules.bridge.BridgeDocProperties;
 import eu.cloudnetservice.modules.smart.CloudNetSmartModule;
 import eu.cloudnetservice.modules.smart.SmartServiceTaskConfig;
+import eu.cloudnetservice.modules.smart.prediction.PlayerLoadHistory;
+import eu.cloudnetservice.modules.smart.prediction.PlayerLoadSimulation;
 import eu.cloudnetservice.modules.smart.util.SmartUtil;
 import eu.cloudnetservice.node.cluster.NodeServer;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
@@ -40,6 +42,7 @@
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -58,6 +61,7 @@ public final class CloudNetTickListener {
 
   private final Map<String, Long> autoStartBlocks = new HashMap<>();
   private final Map<UUID, AtomicLong> autoStopTicks = new HashMap<>();
+  private final Map<String, PlayerLoadHistory> playerLoadHistories = new HashMap<>();
 
   @Inject
   public CloudNetTickListener(
@@ -80,6 +84,7 @@ public void handleTick(@NonNull CloudNetTickServiceStartEvent event) {
   }
 
   private void handleSmartEntries() {
+    Set<String> predictedTasks = new HashSet<>();
     this.taskProvider.serviceTasks().forEach(task -> {
       var config = this.module.smartConfig(task);
       if (config != null && config.enabled()) {
@@ -97,11 +102,26 @@ private void handleSmartEntries() {
         var onlineServices = runningServices.stream()
           .filter(service -> service.readProperty(BridgeDocProperties.IS_ONLINE))
           .collect(Collectors.toSet());
+        // record the player count of the task, the ticks are executed once per second
+        if (config.predictiveScaling()) {
+          predictedTasks.add(task.name());
+          var onlinePlayers = onlineServices.stream()
+            .mapToDouble(service -> service.readProperty(BridgeDocProperties.ONLINE_COUNT))
+            .sum();
+          this.playerLoadHistories
+            .computeIfAbsent(task.name(), $ -> new PlayerLoadHistory(PlayerLoadSimulation.HISTORY_SIZE))
+            .record(onlinePlayers);
+        }
         // handle all smart entries
         this.handleAutoStop(task, config, runningServices, onlineServices);
-        this.handleAutoStart(task, config, preparedServices, runningServices, onlineServices);
+        // the services are not changed further in the heartbeat in which a surplus prepared service was deleted
+        if (!this.handleSurplusPreparedServices(task, config, preparedServices, runningServices, onlineServices)) {
+          this.handleAutoStart(task, config, preparedServices, runningServices, onlineServices);
+        }
       }
     });
+    // drop the histories of tasks which were deleted or no longer use predictive scaling
+    this.playerLoadHistories.keySet().retainAll(predictedTasks);
   }
 
   private void handleAutoStop(
@@ -114,6 +134,10 @@ private void handleAutoStop(
     if (!SmartUtil.canStopNow(task, config, runningServices.size())) {
       return;
     }
+    // check if the services are needed for the predicted player count
+    if (this.predictedServices(task, config, onlineServices, 1) >= runningServices.size()) {
+      return;
+    }
     // go over all online services
     for (var service : onlineServices) {
       // check if the service should be stopped
@@ -130,6 +154,33 @@ private void handleAutoStop(
     }
   }
 
+  private boolean handleSurplusPreparedServices(
+    @NonNull ServiceTask task,
+    @NonNull SmartServiceTaskConfig config,
+    @NonNull Collection<ServiceInfoSnapshot> preparedServices,
+    @NonNull Collection<ServiceInfoSnapshot> runningServices,
+    @NonNull Collection<ServiceInfoSnapshot> onlineServices
+  ) {
+    // only the services prepared ahead for a predicted player count can be surplus
+    if (preparedServices.size() <= config.preparedServices()) {
+      return false;
+    }
+    // the services which are needed further ahead based on the current prediction, capped to the maximum services
+    var neededServices = this.predictedServices(task, config, onlineServices, 2);
+    if (neededServices < 0) {
+      return false;
+    }
+    if (config.maxServices() > 0) {
+      neededServices = Math.min(neededServices, config.maxServices());
+    }
+    // delete one of the prepared services if the predicted player count decreased
+    if (runningServices.size() + preparedServices.size() > neededServices) {
+      preparedServices.iterator().next().provider().delete();
+      return true;
+    }
+    return false;
+  }
+
   private void handleAutoStart(
     @NonNull ServiceTask task,
     @NonNull SmartServiceTaskConfig config,
@@ -173,6 +224,10 @@ private void handleAutoStart(
     if (nextAutoStartTime != null && nextAutoStartTime >= System.currentTimeMillis()) {
       return;
     }
+    // start the services needed for the predicted player count before the threshold is actually reached
+    if (this.handlePredictiveStart(task, config, preparedServices, runningServices, onlineServices)) {
+      return;
+    }
     // get the overall player counts
     var onlinePlayers = onlineServices.stream()
       .mapToDouble(service -> service.readProperty(BridgeDocProperties.ONLINE_COUNT))
@@ -195,11 +250,70 @@ private void handleAutoStart(
       if (service != null) {
         service.provider().start();
         // block player based service starting now
-        this.autoStartBlocks.put(
-          task.name(),
-          System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(config.forAnewInstanceDelayTimeInSeconds()));
+        this.blockAutoStart(task, config);
+      }
+    }
+  }
+
+  private void blockAutoStart(@NonNull ServiceTask task, @NonNull SmartServiceTaskConfig config) {
+    this.autoStartBlocks.put(
+      task.name(),
+      System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(config.forAnewInstanceDelayTimeInSeconds()));
+  }
+
+  private boolean handlePredictiveStart(
+    @NonNull ServiceTask task,
+    @NonNull SmartServiceTaskConfig config,
+    @NonNull Collection<ServiceInfoSnapshot> preparedServices,
+    @NonNull Collection<ServiceInfoSnapshot> runningServices,
+    @NonNull Collection<ServiceInfoSnapshot> onlineServices
+  ) {
+    // the prepared services are started later, they count to the maximum services when creating new services
+    var preparedAndRunning = runningServices.size() + preparedServices.size();
+    var canCreateService = config.maxServices() <= 0 || preparedAndRunning < config.maxServices();
+    // start a service if the current services are not enough for the predicted player count
+    if (this.predictedServices(task, config, onlineServices, 1) > runningServices.size()) {
+      // prefer starting a prepared service over creating a new one
+      var service = preparedServices.stream()
+        .findFirst()
+        .orElseGet(() -> canCreateService ? this.createService(task, config, runningServices) : null);
+      if (service != null) {
+        service.provider().start();
+        // the predictive start is blocked by the delay between player based starts as well
+        this.blockAutoStart(task, config);
+        return true;
       }
+      return false;
+    }
+    // prepare the services which are needed further ahead, so that they only need to be started
+    if (canCreateService && this.predictedServices(task, config, onlineServices, 2) > preparedAndRunning) {
+      Collection<ServiceInfoSnapshot> allServices = new HashSet<>(preparedServices);
+      allServices.addAll(runningServices);
+      return this.createService(task, config, allServices) != null;
+    }
+    return false;
+  }
+
+  private int predictedServices(
+    @NonNull ServiceTask task,
+    @NonNull SmartServiceTaskConfig config,
+    @NonNull Collection<ServiceInfoSnapshot> onlineServices,
+    int horizonMultiplier
+  ) {
+    var history = this.playerLoadHistories.get(task.name());
+    if (history == null || onlineServices.isEmpty() || config.percentOfPlayersForANewServiceByInstance() < 0) {
+      return -1;
     }
+    // the services of a task usually have the same player limit
+    var maxPlayersPerService = onlineServices.stream()
+      .mapToDouble(service -> Math.max(0, service.readProperty(BridgeDocProperties.MAX_PLAYERS)))
+      .average()
+      .orElse(0);
+    var horizon = Math.max(1, config.predictionHorizonInSeconds()) * horizonMultiplier;
+    return SmartUtil.requiredServices(
+      history.forecast(horizon),
+      maxPlayersPerService,
+      config.percentOfPlayersForANewServiceByInstance());
   }
 
   private @Nullable ServiceInfoSnapshot createService(
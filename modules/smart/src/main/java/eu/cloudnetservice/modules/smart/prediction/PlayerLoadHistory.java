@@ -0,0 +1,71 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.prediction;
+
+public final class PlayerLoadHistory {
+
+  // the smoothing factors of the level and the trend of the player count (double exponential smoothing)
+  private static final double LEVEL_SMOOTHING = 0.5;
+  private static final double TREND_SMOOTHING = 0.2;
+
+  private final double[] samples;
+
+  private int head;
+  private int size;
+
+  public PlayerLoadHistory(int capacity) {
+    if (capacity < 2) {
+      throw new IllegalArgumentException("At least two samples are required for a forecast");
+    }
+    this.samples = new double[capacity];
+  }
+
+  public synchronized void record(double onlinePlayers) {
+    // overwrite the oldest sample once the history is full
+    this.samples[this.head] = onlinePlayers;
+    this.head = (this.head + 1) % this.samples.length;
+    this.size = Math.min(this.size + 1, this.samples.length);
+  }
+
+  public synchronized int size() {
+    return this.size;
+  }
+
+  public synchronized double forecast(int steps) {
+    if (this.size == 0) {
+      return 0;
+    }
+
+    // initialize the level and trend based on the oldest samples
+    var level = this.sample(0);
+    var trend = this.size > 1 ? this.sample(1) - level : 0;
+    for (var index = 1; index < this.size; index++) {
+      var previousLevel = level;
+      level = LEVEL_SMOOTHING * this.sample(index) + (1 - LEVEL_SMOOTHING) * (level + trend);
+      trend = TREND_SMOOTHING * (level - previousLevel) + (1 - TREND_SMOOTHING) * trend;
+    }
+
+    // extrapolate the trend, there can't be less than no players
+    return Math.max(0, level + steps * trend);
+  }
+
+  private double sample(int index) {
+    // the index is relative to the oldest sample in the history
+    var start = this.size < this.samples.length ? 0 : this.head;
+    return this.samples[(start + index) % this.samples.length];
+  }
+}
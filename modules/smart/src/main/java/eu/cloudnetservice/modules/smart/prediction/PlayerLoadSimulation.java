@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.modules.smart.prediction;
+
+import eu.cloudnetservice.modules.smart.SmartServiceTaskConfig;
+import eu.cloudnetservice.modules.smart.util.SmartUtil;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import lombok.NonNull;
+
+/**
+ * Replays a recorded player load (one sample of the online players of a task per second) against a simplified model of
+ * the smart auto start and stop logic, to evaluate a smart configuration offline. Players are assumed to be spread
+ * evenly over the online services, a started service is online after the given startup time.
+ */
+public final class PlayerLoadSimulation {
+
+  public static final int HISTORY_SIZE = 300;
+
+  private PlayerLoadSimulation() {
+    throw new UnsupportedOperationException();
+  }
+
+  public static double @NonNull [] readLoad(@NonNull Path file) throws IOException {
+    try (var lines = Files.lines(file)) {
+      return lines
+        .map(String::trim)
+        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+        .mapToDouble(Double::parseDouble)
+        .toArray();
+    }
+  }
+
+  public static @NonNull Result simulate(
+    double @NonNull [] load,
+    @NonNull SmartServiceTaskConfig config,
+    int maxPlayersPerService,
+    int startupSeconds
+  ) {
+    var minServices = Math.max(1, config.smartMinServiceCount());
+    var history = new PlayerLoadHistory(HISTORY_SIZE);
+    Queue<Integer> bootingServices = new ArrayDeque<>();
+
+    var onlineServices = minServices;
+    var nextAutoStart = 0;
+    var unusedSeconds = 0;
+
+    var overloadedSeconds = 0;
+    var unservedPlayerSeconds = 0D;
+    var serviceSeconds = 0L;
+    var startedServices = 0;
+
+    for (var second = 0; second < load.length; second++) {
+      // services which finished booting are online now
+      while (!bootingServices.isEmpty() && bootingServices.peek() <= second) {
+        bootingServices.remove();
+        onlineServices++;
+      }
+
+      var players = load[second];
+      var capacity = (double) onlineServices * maxPlayersPerService;
+      if (players > capacity) {
+        overloadedSeconds++;
+        unservedPlayerSeconds += players - capacity;
+      }
+
+      var runningServices = onlineServices + bootingServices.size();
+      serviceSeconds += runningServices;
+      history.record(players);
+
+      // predicted amount of services required within the horizon, -1 if the prediction is disabled
+      var predictedServices = -1;
+      if (config.predictiveScaling() && config.percentOfPlayersForANewServiceByInstance() >= 0) {
+        predictedServices = SmartUtil.requiredServices(
+          history.forecast(Math.max(1, config.predictionHorizonInSeconds())),
+          maxPlayersPerService,
+          config.percentOfPlayersForANewServiceByInstance());
+      }
+
+      // auto start, at most one service per second
+      if (config.maxServices() <= 0 || runningServices < config.maxServices()) {
+        var start = runningServices < minServices;
+        if (!start && config.percentOfPlayersForANewServiceByInstance() >= 0 && nextAutoStart <= second) {
+          // the predictive start is blocked by the delay between player based starts as well
+          var percentage = SmartUtil.percentage(players / runningServices, maxPlayersPerService);
+          if (predictedServices > runningServices || percentage >= config.percentOfPlayersForANewServiceByInstance()) {
+            start = true;
+            nextAutoStart = second + config.forAnewInstanceDelayTimeInSeconds();
+          }
+        }
+
+        if (start) {
+          bootingServices.add(second + startupSeconds);
+          startedServices++;
+          continue;
+        }
+      }
+
+      // auto stop, only if the services are not needed for the predicted load
+      var playerLoad = onlineServices == 0 ? 0 : SmartUtil.percentage(players / onlineServices, maxPlayersPerService);
+      if (runningServices - 1 >= minServices
+        && onlineServices > 0
+        && predictedServices < runningServices
+        && playerLoad <= config.percentOfPlayersToCheckShouldStopTheService()) {
+        if (++unusedSeconds >= config.autoStopTimeByUnusedServiceInSeconds()) {
+          onlineServices--;
+          unusedSeconds = 0;
+        }
+      } else {
+        unusedSeconds = 0;
+      }
+    }
+
+    return new Result(load.length, overloadedSeconds, unservedPlayerSeconds, serviceSeconds, startedServices);
+  }
+
+  public record Result(
+    int seconds,
+    int overloadedSeconds,
+    double unservedPlayerSeconds,
+    long serviceSeconds,
+    int startedServices
+  ) {
+
+  }
+}
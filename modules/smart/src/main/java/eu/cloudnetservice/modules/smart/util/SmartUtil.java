@@ -49,4 +49,10 @@ public static double playerPercentage(@NonNull ServiceInfoSnapshot snapshot) {
   public static double percentage(double value, double max) {
     return ((value * 100) / max);
   }
+
+  public static int requiredServices(double players, double maxPlayersPerService, int percentOfPlayersForANewService) {
+    // a new service is needed once the percentage of players for a new service is reached on all services
+    var playersPerService = maxPlayersPerService * Math.max(1, Math.min(100, percentOfPlayersForANewService)) / 100;
+    return playersPerService <= 0 ? 0 : (int) Math.floor(players / playersPerService) + 1;
+  }
 }
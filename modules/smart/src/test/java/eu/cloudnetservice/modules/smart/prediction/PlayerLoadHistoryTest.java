@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.modules.smart.prediction;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class PlayerLoadHistoryTest {
+
+  @Test
+  void testEmptyHistoryForecastsNoPlayers() {
+    var history = new PlayerLoadHistory(10);
+    Assertions.assertEquals(0, history.forecast(60));
+  }
+
+  @Test
+  void testConstantLoadIsForecast() {
+    var history = new PlayerLoadHistory(10);
+    for (var i = 0; i < 10; i++) {
+      history.record(50);
+    }
+
+    Assertions.assertEquals(50, history.forecast(60), 1e-9);
+  }
+
+  @Test
+  void testLinearTrendIsExtrapolated() {
+    var history = new PlayerLoadHistory(10);
+    for (var i = 0; i < 10; i++) {
+      history.record(i * 10);
+    }
+
+    Assertions.assertEquals(140, history.forecast(5), 1e-9);
+  }
+
+  @Test
+  void testForecastIsNeverNegative() {
+    var history = new PlayerLoadHistory(10);
+    for (var i = 5; i >= 0; i--) {
+      history.record(i * 20);
+    }
+
+    Assertions.assertEquals(0, history.forecast(60));
+  }
+
+  @Test
+  void testOldestSamplesAreOverwritten() {
+    var history = new PlayerLoadHistory(3);
+    history.record(1000);
+    history.record(1000);
+    for (var i = 0; i < 3; i++) {
+      history.record(5);
+    }
+
+    Assertions.assertEquals(3, history.size());
+    Assertions.assertEquals(5, history.forecast(10), 1e-9);
+  }
+
+  @Test
+  void testTooSmallCapacityIsRejected() {
+    Assertions.assertThrows(IllegalArgumentException.class, () -> new PlayerLoadHistory(1));
+  }
+}
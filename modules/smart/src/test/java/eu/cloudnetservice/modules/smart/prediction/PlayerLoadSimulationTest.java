@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.modules.smart.prediction;
+
+import eu.cloudnetservice.modules.smart.SmartServiceTaskConfig;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class PlayerLoadSimulationTest {
+
+  private static double[] rampLoad() {
+    // the players increase by one per second for ten minutes, then stay the same for five minutes
+    var load = new double[900];
+    for (var second = 0; second < load.length; second++) {
+      load[second] = Math.min(second, 600);
+    }
+    return load;
+  }
+
+  private static SmartServiceTaskConfig.Builder config(boolean predictiveScaling) {
+    return SmartServiceTaskConfig.builder()
+      .enabled(true)
+      .smartMinServiceCount(1)
+      .percentOfPlayersForANewServiceByInstance(80)
+      .forAnewInstanceDelayTimeInSeconds(10)
+      .predictiveScaling(predictiveScaling)
+      .predictionHorizonInSeconds(60);
+  }
+
+  @Test
+  void testReadLoad(@TempDir Path tempDir) throws IOException {
+    var file = tempDir.resolve("load.txt");
+    Files.writeString(file, "# recorded player load\n10\n\n 20.5 \n30\n");
+
+    Assertions.assertArrayEquals(new double[]{10, 20.5, 30}, PlayerLoadSimulation.readLoad(file));
+  }
+
+  @Test
+  void testConstantLoadStartsNoServices() {
+    var load = new double[600];
+    Arrays.fill(load, 10);
+
+    var result = PlayerLoadSimulation.simulate(load, config(true).build(), 100, 30);
+    Assertions.assertEquals(600, result.seconds());
+    Assertions.assertEquals(0, result.overloadedSeconds());
+    Assertions.assertEquals(0, result.startedServices());
+    Assertions.assertEquals(600, result.serviceSeconds());
+  }
+
+  @Test
+  void testPredictiveScalingReducesOverload() {
+    var reactive = PlayerLoadSimulation.simulate(rampLoad(), config(false).build(), 100, 30);
+    var predictive = PlayerLoadSimulation.simulate(rampLoad(), config(true).build(), 100, 30);
+
+    Assertions.assertTrue(reactive.overloadedSeconds() > 0);
+    Assertions.assertTrue(predictive.overloadedSeconds() < reactive.overloadedSeconds());
+  }
+
+  @Test
+  void testMaxServicesAreRespected() {
+    var config = config(true).maxServices(3).build();
+    var result = PlayerLoadSimulation.simulate(rampLoad(), config, 100, 30);
+
+    Assertions.assertEquals(2, result.startedServices());
+    Assertions.assertTrue(result.serviceSeconds() <= 3L * result.seconds());
+  }
+
+  @Test
+  void testPredictiveStartRespectsTheStartDelay() {
+    var config = config(true).forAnewInstanceDelayTimeInSeconds(1000).build();
+    var result = PlayerLoadSimulation.simulate(rampLoad(), config, 100, 30);
+
+    Assertions.assertEquals(1, result.startedServices());
+  }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.modules.smart.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class SmartUtilTest {
+
+  @Test
+  void testPercentage() {
+    Assertions.assertEquals(25, SmartUtil.percentage(50, 200), 1e-9);
+    Assertions.assertEquals(100, SmartUtil.percentage(20, 20), 1e-9);
+  }
+
+  @Test
+  void testRequiredServices() {
+    // at least one service is always required
+    Assertions.assertEquals(1, SmartUtil.requiredServices(0, 100, 100));
+    Assertions.assertEquals(1, SmartUtil.requiredServices(99, 100, 100));
+    // a new service is needed once the threshold is reached
+    Assertions.assertEquals(2, SmartUtil.requiredServices(100, 100, 100));
+    Assertions.assertEquals(4, SmartUtil.requiredServices(150, 100, 50));
+  }
+
+  @Test
+  void testRequiredServicesClampsThePercentage() {
+    Assertions.assertEquals(2, SmartUtil.requiredServices(100, 100, 200));
+    Assertions.assertEquals(11, SmartUtil.requiredServices(10, 100, 0));
+  }
+
+  @Test
+  void testRequiredServicesWithoutPlayerLimit() {
+    Assertions.assertEquals(0, SmartUtil.requiredServices(100, 0, 100));
+  }
+}
@@ -25,7 +25,7 @@
 import eu.cloudnetservice.common.log.defaults.AcceptingLogHandler;
 import eu.cloudnetservice.common.log.defaults.DefaultFileHandler;
 import eu.cloudnetservice.common.log.defaults.DefaultLogFormatter;
-import eu.cloudnetservice.common.log.defaults.ThreadedLogRecordDispatcher;
+import eu.cloudnetservice.common.log.defaults.RingBufferLogRecordDispatcher;
 import eu.cloudnetservice.common.log.io.LogOutputStream;
 import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.database.Database;
@@ -53,6 +53,7 @@
 import eu.cloudnetservice.node.console.Console;
 import eu.cloudnetservice.node.console.log.ColoredLogFormatter;
 import eu.cloudnetservice.node.console.util.HeaderReader;
+import eu.cloudnetservice.node.database.DatabaseNearCacheRegistry;
 import eu.cloudnetservice.node.database.NodeDatabaseProvider;
 import eu.cloudnetservice.node.database.h2.H2DatabaseProvider;
 import eu.cloudnetservice.node.database.xodus.XodusDatabaseProvider;
@@ -111,7 +112,7 @@ private void initializeLogging(
 
     // set the default values for log record dispatches
     rootLogger.setLevel(LoggingUtil.defaultLogLevel());
-    rootLogger.logRecordDispatcher(ThreadedLogRecordDispatcher.forLogger(rootLogger));
+    rootLogger.logRecordDispatcher(RingBufferLogRecordDispatcher.forLogger(rootLogger));
 
     // add the default logging handlers
     rootLogger.addHandler(queuedConsoleLogHandler);
@@ -241,7 +242,9 @@ private void initializeDatabaseProvider(
     @NonNull ServiceRegistry serviceRegistry,
     @NonNull InjectionLayer<?> bootLayer,
     @NonNull RPCFactory rpcFactory,
-    @NonNull RPCHandlerRegistry rpcHandlerRegistry
+    @NonNull RPCHandlerRegistry rpcHandlerRegistry,
+    @NonNull EventManager eventManager,
+    @NonNull DatabaseNearCacheRegistry nearCacheRegistry
   ) throws Exception {
     // initialize the default database provider
     var configuredProvider = configuration.properties().getString("database_provider", "xodus");
@@ -256,6 +259,10 @@ private void initializeDatabaseProvider(
       }
     }
 
+    // notify the services caching documents of a database about changes
+    provider.nearCacheRegistry(nearCacheRegistry);
+    eventManager.registerListener(nearCacheRegistry);
+
     // bind the provider for dependency injection
     var binding = BindingBuilder.create()
       .bindAll(DatabaseProvider.class, NodeDatabaseProvider.class)
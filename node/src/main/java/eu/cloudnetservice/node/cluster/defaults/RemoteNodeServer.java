@@ -145,13 +145,24 @@ public void drain(boolean doDrain) {
 
   @Override
   public void syncClusterData(boolean force) {
+    // request the digest of the data of the node first to only send the entries which are different
     ChannelMessage.builder()
-      .message("sync_cluster_data")
+      .message("request_cluster_data_digest")
       .targetNode(this.info.uniqueId())
       .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-      .buffer(this.dataSyncRegistry.prepareClusterData(force))
       .build()
-      .send();
+      .sendSingleQueryAsync()
+      .whenComplete((response, exception) -> {
+        // fall back to a full sync if the node didn't respond with its digest
+        var digest = response == null ? null : response.content();
+        ChannelMessage.builder()
+          .message("sync_cluster_data")
+          .targetNode(this.info.uniqueId())
+          .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+          .buffer(this.dataSyncRegistry.prepareClusterData(force, $ -> true, digest))
+          .build()
+          .send();
+      });
   }
 
   @Override
@@ -17,7 +17,9 @@
 package eu.cloudnetservice.node.cluster.sync;
 
 import com.google.common.primitives.Ints;
+import com.google.common.primitives.Longs;
 import dev.derklaro.aerogel.auto.Provides;
+import eu.cloudnetservice.common.hash.HashUtil;
 import eu.cloudnetservice.common.language.I18n;
 import eu.cloudnetservice.common.log.LogManager;
 import eu.cloudnetservice.common.log.Logger;
@@ -28,8 +30,9 @@
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.Arrays;
-import java.util.Collection;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import lombok.NonNull;
@@ -89,26 +92,33 @@ public boolean hasHandler(@NonNull String handlerKey) {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public @NonNull DataBuf.Mutable prepareClusterData(boolean force, @NonNull Predicate<DataSyncHandler<?>> filter) {
+    return this.prepareClusterData(force, filter, null);
+  }
+
+  @Override
+  public @NonNull DataBuf.Mutable prepareClusterData(
+    boolean force,
+    @NonNull Predicate<DataSyncHandler<?>> filter,
+    @Nullable DataBuf remoteDigest
+  ) {
+    // the entry hashes of the target node, null if all entries should be included
+    var remoteHashes = remoteDigest == null ? null : this.readDigest(remoteDigest);
     // the result data
     var result = DataBuf.empty().writeBoolean(force);
     // append all handler content to the buf
     for (var handler : this.handlers.values()) {
       if (filter.test(handler)) {
-        // extract the whole content from the handler
-        var data = (Collection<Object>) handler.data();
-        // check if there is data
-        if (!data.isEmpty()) {
-          // check if there is only one argument to write
-          if (data.size() == 1) {
-            this.serializeData(data.iterator().next(), handler, result);
-          } else {
-            // serialize the whole result
-            for (var obj : data) {
-              this.serializeData(obj, handler, result);
-            }
+        var handlerHashes = remoteHashes == null ? null : remoteHashes.getOrDefault(handler.key(), Map.of());
+        for (var obj : handler.data()) {
+          var data = this.serializeEntry(obj, handler);
+          // skip the entry if the target node already knows the same version of it
+          if (handlerHashes != null && Objects.equals(handlerHashes.get(handler.name(obj)), entryHash(data))) {
+            data.release();
+            continue;
           }
+
+          result.writeString(handler.key()).writeDataBuf(data);
         }
       }
     }
@@ -116,6 +126,22 @@ public boolean hasHandler(@NonNull String handlerKey) {
     return result;
   }
 
+  @Override
+  public @NonNull DataBuf.Mutable prepareClusterDigest(@NonNull Predicate<DataSyncHandler<?>> filter) {
+    var result = DataBuf.empty();
+    for (var handler : this.handlers.values()) {
+      if (filter.test(handler)) {
+        for (var obj : handler.data()) {
+          // append the key, name and hash of the entry
+          try (var data = this.serializeEntry(obj, handler)) {
+            result.writeString(handler.key()).writeString(handler.name(obj)).writeLong(entryHash(data));
+          }
+        }
+      }
+    }
+    return result;
+  }
+
   @Override
   public @Nullable DataBuf handle(@NonNull DataBuf input, boolean force) {
     // holds the result of the handle - null by default indicates no result
@@ -198,13 +224,36 @@ protected void serializeData(
     @NonNull DataSyncHandler<?> handler,
     @NonNull DataBuf.Mutable target
   ) {
-    // append the information
-    target.writeString(handler.key());
-    // write the data
+    // append the information & data
+    target.writeString(handler.key()).writeDataBuf(this.serializeEntry(data, handler));
+  }
+
+  protected @NonNull DataBuf.Mutable serializeEntry(@NonNull Object data, @NonNull DataSyncHandler<?> handler) {
     var buf = DataBuf.empty();
     handler.serialize(buf, data);
-    // append the data
-    target.writeDataBuf(buf);
+    return buf;
+  }
+
+  protected @NonNull Map<String, Map<String, Long>> readDigest(@NonNull DataBuf digest) {
+    Map<String, Map<String, Long>> hashes = new HashMap<>();
+    try (digest) {
+      while (digest.readableBytes() > 0) {
+        var key = digest.readString();
+        var name = digest.readString();
+        hashes.computeIfAbsent(key, $ -> new HashMap<>()).put(name, digest.readLong());
+      }
+    }
+    return hashes;
+  }
+
+  protected static long entryHash(@NonNull DataBuf data) {
+    // reading the full content releases the buffer, acquire it once more to keep it usable
+    data.acquire().startTransaction();
+    try {
+      return Longs.fromByteArray(HashUtil.toSha256(data.toByteArray()));
+    } finally {
+      data.redoTransaction();
+    }
   }
 
   protected int waitForCorrectMergeInput(@NonNull Console console) {
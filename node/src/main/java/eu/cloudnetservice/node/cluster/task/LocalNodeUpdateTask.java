@@ -24,13 +24,18 @@
 import eu.cloudnetservice.node.TickLoop;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.NodeServerState;
+import eu.cloudnetservice.node.cluster.util.NodeInfoSnapshotCodec;
 import jakarta.inject.Provider;
 import jakarta.inject.Singleton;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.stream.Collectors;
 import lombok.NonNull;
 
 @Singleton
 public record LocalNodeUpdateTask(
   @NonNull NodeServerProvider provider,
+  @NonNull NodeInfoSnapshotCodec snapshotCodec,
   @NonNull Provider<TickLoop> mainThreadProvider
 ) implements Runnable {
 
@@ -54,23 +59,51 @@ public void run() {
           // exchanged a node snapshot which must not be the case (as this task will trigger the
           // initial exchange of a node snapshot)
           .filter(server -> server.state() == NodeServerState.READY)
+          // skip nodes which didn't flush the previous updates yet, they get a keyframe once they catch up
+          .filter(server -> server.channel() != null && server.channel().writeable())
           .map(server -> server.info().uniqueId())
-          .toList();
+          .collect(Collectors.toCollection(HashSet::new));
+        // nodes which are not able to decode deltas are receiving the full snapshot
+        var snapshot = localNode.nodeInfoSnapshot();
+        var prioritized = this.mainThreadProvider.get().currentTick() % 10 == 0;
+        var legacyNodes = targetNodes.stream().filter(node -> !this.snapshotCodec.supportsDeltas(node)).toList();
+        legacyNodes.forEach(targetNodes::remove);
+
+        // the messages are sent async, a slow node must not delay the update for the other nodes
+        if (!legacyNodes.isEmpty()) {
+          this.sendUpdate(
+            "update_node_info_snapshot",
+            DataBuf.empty().writeObject(snapshot),
+            legacyNodes,
+            prioritized);
+        }
         if (!targetNodes.isEmpty()) {
-          var message = ChannelMessage.builder()
-            .sendSync(true) // ensure that we don't schedule too many updates while other are still waiting
-            .message("update_node_info_snapshot")
-            .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
-            .buffer(DataBuf.empty().writeObject(localNode.nodeInfoSnapshot()))
-            .prioritized(this.mainThreadProvider.get().currentTick() % 10 == 0);
-          // add all targets
-          targetNodes.forEach(message::targetNode);
-          // send the update to all active nodes
-          message.build().send();
+          this.sendUpdate(
+            "update_node_info_snapshot_delta",
+            this.snapshotCodec.encode(snapshot, targetNodes),
+            targetNodes,
+            prioritized);
         }
       }
     } catch (Exception exception) {
       LOGGER.severe("Exception updating local node info to the cluster", exception);
     }
   }
+
+  private void sendUpdate(
+    @NonNull String message,
+    @NonNull DataBuf content,
+    @NonNull Collection<String> targetNodes,
+    boolean prioritized
+  ) {
+    var channelMessage = ChannelMessage.builder()
+      .message(message)
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .buffer(content)
+      .prioritized(prioritized);
+    // add all targets
+    targetNodes.forEach(channelMessage::targetNode);
+    // send the update to all active nodes
+    channelMessage.build().send();
+  }
 }
@@ -0,0 +1,249 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.cluster.util;
+
+import eu.cloudnetservice.driver.CloudNetVersion;
+import eu.cloudnetservice.driver.cluster.NetworkClusterNode;
+import eu.cloudnetservice.driver.cluster.NodeInfoSnapshot;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.module.ModuleConfiguration;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import io.leangen.geantyref.TypeFactory;
+import jakarta.inject.Singleton;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Encodes the node info snapshots of the local node as deltas to the previously encoded snapshot and decodes the deltas
+ * received from other nodes. A delta only contains the fields which changed since the last snapshot, which in most
+ * cases are only the creation time, the memory usage and the process snapshot. Every few updates (and each time a new
+ * node becomes a target of the updates) a full snapshot is sent as a keyframe. Deltas which are not based on the last
+ * snapshot decoded from the sending node (for example because a message was lost) are dropped, and the receiver
+ * requests a keyframe from the sending node. Deltas are decoded one at a time per sending node.
+ * <p>
+ * Deltas are only sent to nodes which announced their support for them during the authorization, all other nodes
+ * receive the full snapshot in the {@code update_node_info_snapshot} message.
+ */
+@Singleton
+public final class NodeInfoSnapshotCodec {
+
+  public static final int KEYFRAME_INTERVAL = 10;
+
+  private static final byte KEYFRAME = 0;
+  private static final byte DELTA = 1;
+
+  private static final int STARTUP_MILLIS = 1;
+  private static final int MAX_MEMORY = 1 << 1;
+  private static final int USED_MEMORY = 1 << 2;
+  private static final int RESERVED_MEMORY = 1 << 3;
+  private static final int SERVICE_COUNT = 1 << 4;
+  private static final int DRAIN = 1 << 5;
+  private static final int NODE = 1 << 6;
+  private static final int VERSION = 1 << 7;
+  private static final int PROCESS_SNAPSHOT = 1 << 8;
+  private static final int MAX_CPU_USAGE = 1 << 9;
+  private static final int MODULES = 1 << 10;
+  private static final int PROPERTIES = 1 << 11;
+
+  private static final Type MODULES_TYPE = TypeFactory.parameterizedClass(Collection.class, ModuleConfiguration.class);
+
+  // the last snapshots decoded from the other nodes in the cluster
+  private final Map<String, DecodedSnapshot> decodedSnapshots = new ConcurrentHashMap<>();
+  // the nodes which announced that they are able to decode deltas
+  private final Set<String> deltaCapableNodes = ConcurrentHashMap.newKeySet();
+
+  // the state of the encoder for the local node
+  private long sequence;
+  private int updatesSinceKeyframe;
+  private boolean keyframeRequested;
+  private NodeInfoSnapshot lastEncoded;
+  private Set<String> lastTargets = Set.of();
+
+  public void deltaSupport(@NonNull String nodeId, boolean supported) {
+    if (supported) {
+      this.deltaCapableNodes.add(nodeId);
+    } else {
+      this.deltaCapableNodes.remove(nodeId);
+    }
+  }
+
+  public boolean supportsDeltas(@NonNull String nodeId) {
+    return this.deltaCapableNodes.contains(nodeId);
+  }
+
+  public synchronized void requestKeyframe() {
+    this.keyframeRequested = true;
+  }
+
+  public synchronized @NonNull DataBuf.Mutable encode(
+    @NonNull NodeInfoSnapshot snapshot,
+    @NonNull Set<String> targets
+  ) {
+    var previous = this.lastEncoded;
+    var sequence = ++this.sequence;
+
+    this.lastEncoded = snapshot;
+    // send a keyframe periodically, when the targets changed (new targets don't know the previous snapshot) and when a
+    // target requested one because it missed an update
+    if (previous == null
+      || this.keyframeRequested
+      || ++this.updatesSinceKeyframe >= KEYFRAME_INTERVAL
+      || !this.lastTargets.containsAll(targets)
+    ) {
+      this.updatesSinceKeyframe = 0;
+      this.keyframeRequested = false;
+      this.lastTargets = Set.copyOf(targets);
+      return DataBuf.empty().writeByte(KEYFRAME).writeLong(sequence).writeObject(snapshot);
+    }
+
+    this.lastTargets = Set.copyOf(targets);
+    var changedFields = changedFields(previous, snapshot);
+    var buffer = DataBuf.empty()
+      .writeByte(DELTA)
+      .writeLong(sequence)
+      .writeString(snapshot.node().uniqueId())
+      .writeInt(changedFields)
+      .writeLong(snapshot.creationTime());
+    // write the changed fields in the order of their bit
+    if ((changedFields & STARTUP_MILLIS) != 0) {
+      buffer.writeLong(snapshot.startupMillis());
+    }
+    if ((changedFields & MAX_MEMORY) != 0) {
+      buffer.writeInt(snapshot.maxMemory());
+    }
+    if ((changedFields & USED_MEMORY) != 0) {
+      buffer.writeInt(snapshot.usedMemory());
+    }
+    if ((changedFields & RESERVED_MEMORY) != 0) {
+      buffer.writeInt(snapshot.reservedMemory());
+    }
+    if ((changedFields & SERVICE_COUNT) != 0) {
+      buffer.writeInt(snapshot.currentServicesCount());
+    }
+    if ((changedFields & DRAIN) != 0) {
+      buffer.writeBoolean(snapshot.draining());
+    }
+    if ((changedFields & NODE) != 0) {
+      buffer.writeObject(snapshot.node());
+    }
+    if ((changedFields & VERSION) != 0) {
+      buffer.writeObject(snapshot.version());
+    }
+    if ((changedFields & PROCESS_SNAPSHOT) != 0) {
+      buffer.writeObject(snapshot.processSnapshot());
+    }
+    if ((changedFields & MAX_CPU_USAGE) != 0) {
+      buffer.writeDouble(snapshot.maxProcessorUsageToStartServices());
+    }
+    if ((changedFields & MODULES) != 0) {
+      buffer.writeObject(snapshot.modules());
+    }
+    if ((changedFields & PROPERTIES) != 0) {
+      buffer.writeObject(snapshot.propertyHolder());
+    }
+    return buffer;
+  }
+
+  public @Nullable NodeInfoSnapshot decode(@NonNull DataBuf buffer) {
+    return this.decode(buffer, $ -> {
+    });
+  }
+
+  public @Nullable NodeInfoSnapshot decode(@NonNull DataBuf buffer, @NonNull Consumer<String> keyframeRequester) {
+    var type = buffer.readByte();
+    var sequence = buffer.readLong();
+    if (type == KEYFRAME) {
+      // keyframes are always applied, the sequence starts again when the sending node restarts
+      var snapshot = buffer.readObject(NodeInfoSnapshot.class);
+      this.decodedSnapshots.put(snapshot.node().uniqueId(), new DecodedSnapshot(sequence, snapshot));
+      return snapshot;
+    }
+
+    // decode the deltas of a node one at a time, a delta can only be applied to the snapshot it is based on
+    var nodeId = buffer.readString();
+    var missedUpdate = new boolean[1];
+    var decoded = this.decodedSnapshots.compute(nodeId, ($, base) -> {
+      // no base snapshot (yet) or an outdated delta which arrived after a newer snapshot
+      if (base == null || base.sequence() >= sequence) {
+        return base;
+      }
+
+      // an update between the base and this delta is missing, wait for the next keyframe
+      if (base.sequence() != sequence - 1) {
+        missedUpdate[0] = true;
+        return null;
+      }
+
+      return new DecodedSnapshot(sequence, readDelta(base.snapshot(), buffer));
+    });
+
+    if (missedUpdate[0]) {
+      keyframeRequester.accept(nodeId);
+      return null;
+    }
+
+    return decoded != null && decoded.sequence() == sequence ? decoded.snapshot() : null;
+  }
+
+  private static @NonNull NodeInfoSnapshot readDelta(@NonNull NodeInfoSnapshot previous, @NonNull DataBuf buffer) {
+    var changedFields = buffer.readInt();
+    return new NodeInfoSnapshot(
+      buffer.readLong(),
+      (changedFields & STARTUP_MILLIS) != 0 ? buffer.readLong() : previous.startupMillis(),
+      (changedFields & MAX_MEMORY) != 0 ? buffer.readInt() : previous.maxMemory(),
+      (changedFields & USED_MEMORY) != 0 ? buffer.readInt() : previous.usedMemory(),
+      (changedFields & RESERVED_MEMORY) != 0 ? buffer.readInt() : previous.reservedMemory(),
+      (changedFields & SERVICE_COUNT) != 0 ? buffer.readInt() : previous.currentServicesCount(),
+      (changedFields & DRAIN) != 0 ? buffer.readBoolean() : previous.draining(),
+      (changedFields & NODE) != 0 ? buffer.readObject(NetworkClusterNode.class) : previous.node(),
+      (changedFields & VERSION) != 0 ? buffer.readObject(CloudNetVersion.class) : previous.version(),
+      (changedFields & PROCESS_SNAPSHOT) != 0 ? buffer.readObject(ProcessSnapshot.class) : previous.processSnapshot(),
+      (changedFields & MAX_CPU_USAGE) != 0 ? buffer.readDouble() : previous.maxProcessorUsageToStartServices(),
+      (changedFields & MODULES) != 0 ? buffer.readObject(MODULES_TYPE) : previous.modules(),
+      (changedFields & PROPERTIES) != 0 ? buffer.readObject(Document.class) : previous.propertyHolder());
+  }
+
+  private static int changedFields(@NonNull NodeInfoSnapshot previous, @NonNull NodeInfoSnapshot current) {
+    var changedFields = 0;
+    changedFields |= previous.startupMillis() != current.startupMillis() ? STARTUP_MILLIS : 0;
+    changedFields |= previous.maxMemory() != current.maxMemory() ? MAX_MEMORY : 0;
+    changedFields |= previous.usedMemory() != current.usedMemory() ? USED_MEMORY : 0;
+    changedFields |= previous.reservedMemory() != current.reservedMemory() ? RESERVED_MEMORY : 0;
+    changedFields |= previous.currentServicesCount() != current.currentServicesCount() ? SERVICE_COUNT : 0;
+    changedFields |= previous.draining() != current.draining() ? DRAIN : 0;
+    changedFields |= !Objects.equals(previous.node(), current.node()) ? NODE : 0;
+    changedFields |= !Objects.equals(previous.version(), current.version()) ? VERSION : 0;
+    changedFields |= !Objects.equals(previous.processSnapshot(), current.processSnapshot()) ? PROCESS_SNAPSHOT : 0;
+    changedFields |= Double.compare(previous.maxProcessorUsageToStartServices(),
+      current.maxProcessorUsageToStartServices()) != 0 ? MAX_CPU_USAGE : 0;
+    changedFields |= !Objects.equals(previous.modules(), current.modules()) ? MODULES : 0;
+    changedFields |= !Objects.equals(previous.propertyHolder(), current.propertyHolder()) ? PROPERTIES : 0;
+    return changedFields;
+  }
+
+  private record DecodedSnapshot(long sequence, @NonNull NodeInfoSnapshot snapshot) {
+
+  }
+}
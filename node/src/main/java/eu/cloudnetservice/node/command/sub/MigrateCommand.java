@@ -23,11 +23,13 @@
 import cloud.commandframework.annotations.parsers.Parser;
 import cloud.commandframework.annotations.suggestions.Suggestions;
 import cloud.commandframework.context.CommandContext;
+import com.google.common.collect.Iterables;
 import eu.cloudnetservice.common.Named;
 import eu.cloudnetservice.common.language.I18n;
 import eu.cloudnetservice.common.log.LogManager;
 import eu.cloudnetservice.common.log.Logger;
 import eu.cloudnetservice.driver.database.DatabaseProvider;
+import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.registry.ServiceRegistry;
 import eu.cloudnetservice.node.command.annotation.Description;
 import eu.cloudnetservice.node.command.exception.ArgumentNotAvailableException;
@@ -38,6 +40,7 @@
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import lombok.NonNull;
 
@@ -108,7 +111,13 @@ public void migrateDatabase(
         var sourceDatabase = sourceDatabaseProvider.database(databaseName);
         var targetDatabase = targetDatabaseProvider.database(databaseName);
 
-        sourceDatabase.iterate(targetDatabase::insert, chunkSize);
+        // copy the data chunk-wise, writing each chunk in one bulk operation
+        String previousKey = null;
+        Map<String, Document> chunk;
+        while ((chunk = sourceDatabase.readChunk(previousKey, chunkSize)) != null) {
+          targetDatabase.insertAll(chunk);
+          previousKey = Iterables.getLast(chunk.keySet());
+        }
       }
     } catch (Exception exception) {
       LOGGER.severe(I18n.trans("command-migrate-database-connection-failed"), exception);
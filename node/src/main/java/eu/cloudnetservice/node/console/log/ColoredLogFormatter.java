@@ -31,21 +31,27 @@ public final class ColoredLogFormatter extends Formatter {
 
   @Override
   public String format(@NonNull LogRecord record) {
-    var builder = new StringBuilder()
-      .append(ConsoleColor.DARK_GRAY)
-      .append('[')
-      .append(ConsoleColor.WHITE)
-      .append(DATE_TIME_FORMATTER.format(record.getInstant().atZone(ZoneId.systemDefault())))
-      .append(ConsoleColor.DARK_GRAY)
-      .append("] ")
-      .append(this.color(record.getLevel()))
-      .append(ConsoleColor.DARK_GRAY)
-      .append(": ")
-      .append(ConsoleColor.DEFAULT)
-      .append(super.formatMessage(record));
-    LoggingUtil.printStackTraceInto(builder, record);
+    var builder = LoggingUtil.acquireFormatBuffer();
+    try {
+      builder
+        .append(ConsoleColor.DARK_GRAY)
+        .append('[')
+        .append(ConsoleColor.WHITE);
+      DATE_TIME_FORMATTER.formatTo(record.getInstant().atZone(ZoneId.systemDefault()), builder);
+      builder
+        .append(ConsoleColor.DARK_GRAY)
+        .append("] ")
+        .append(this.color(record.getLevel()))
+        .append(ConsoleColor.DARK_GRAY)
+        .append(": ")
+        .append(ConsoleColor.DEFAULT)
+        .append(super.formatMessage(record));
+      LoggingUtil.printStackTraceInto(builder, record);
 
-    return builder.toString();
+      return builder.toString();
+    } finally {
+      LoggingUtil.releaseFormatBuffer(builder);
+    }
   }
 
   private @NonNull String color(@NonNull Level level) {
@@ -16,14 +16,28 @@
 
 package eu.cloudnetservice.node.database;
 
+import com.google.common.base.Preconditions;
 import eu.cloudnetservice.driver.database.Database;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.StandardSerialisationStyle;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class AbstractDatabase implements LocalDatabase, Database {
 
+  protected static final Pattern INDEX_FIELD_NAME_PATTERN = Pattern.compile("[a-zA-Z0-9_]{1,48}");
+
   protected final String name;
   protected final NodeDatabaseProvider databaseProvider;
 
@@ -38,23 +52,189 @@ protected AbstractDatabase(@NonNull String name, @NonNull NodeDatabaseProvider d
   }
 
   @Override
-  public void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSize) {
-    var documentCount = this.documentCount();
-    if (documentCount != 0) {
-      long currentIndex = 0;
-      while (currentIndex < documentCount) {
-        var result = this.readChunk(currentIndex, chunkSize);
-        if (result != null) {
-          result.forEach(consumer);
-          currentIndex += chunkSize;
-          continue;
+  public boolean insert(@NonNull String key, @NonNull Document document) {
+    var writeBehindBuffer = this.databaseProvider.writeBehindBuffer(this.name, true);
+    if (writeBehindBuffer != null) {
+      writeBehindBuffer.write(this, key, document);
+      this.invalidateNearCaches(List.of(key));
+      return true;
+    }
+
+    var inserted = this.insert0(key, document);
+    this.invalidateNearCaches(List.of(key));
+    return inserted;
+  }
+
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    var writeBehindBuffer = this.databaseProvider.writeBehindBuffer(this.name, true);
+    if (writeBehindBuffer != null) {
+      documents.forEach((key, document) -> writeBehindBuffer.write(this, key, document));
+      this.invalidateNearCaches(documents.keySet());
+      return true;
+    }
+
+    if (documents.isEmpty()) {
+      return true;
+    }
+
+    var inserted = this.insertAll0(documents);
+    this.invalidateNearCaches(documents.keySet());
+    return inserted;
+  }
+
+  @Override
+  public boolean contains(@NonNull String key) {
+    var pendingWrite = this.pendingWrite(key);
+    return pendingWrite == null ? this.contains0(key) : pendingWrite.document() != null;
+  }
+
+  @Override
+  public boolean delete(@NonNull String key) {
+    var writeBehindBuffer = this.databaseProvider.writeBehindBuffer(this.name, true);
+    if (writeBehindBuffer != null) {
+      // check if the key exists before buffering the deletion to keep the result consistent
+      var exists = this.contains(key);
+      writeBehindBuffer.write(this, key, null);
+      this.invalidateNearCaches(List.of(key));
+      return exists;
+    }
+
+    var deleted = this.delete0(key);
+    this.invalidateNearCaches(List.of(key));
+    return deleted;
+  }
+
+  @Override
+  public long deleteAll(@NonNull Collection<String> keys) {
+    if (this.databaseProvider.writeBehindIntervalMillis() > 0) {
+      long deleted = 0;
+      for (var key : keys) {
+        if (this.delete(key)) {
+          deleted++;
         }
+      }
+      return deleted;
+    }
+
+    if (keys.isEmpty()) {
+      return 0;
+    }
+
+    var deleted = this.deleteAll0(keys);
+    this.invalidateNearCaches(keys);
+    return deleted;
+  }
+
+  @Override
+  public @Nullable Document get(@NonNull String key) {
+    var pendingWrite = this.pendingWrite(key);
+    return pendingWrite == null ? this.get0(key) : pendingWrite.document();
+  }
+
+  @Override
+  public void clear() {
+    var writeBehindBuffer = this.databaseProvider.writeBehindBuffer(this.name, false);
+    if (writeBehindBuffer != null) {
+      writeBehindBuffer.discard();
+    }
+
+    this.clear0();
+    this.invalidateNearCaches(null);
+  }
+
+  @Override
+  public void close() {
+    // the buffer is shared with other instances of this database, only write the pending writes
+    this.flushWrites();
+  }
+
+  /**
+   * Writes all writes which are buffered because write behind is enabled into the underlying database. This method
+   * has no effect if write behind is disabled. Bulk and query reads call this method before reading from the underlying
+   * database, as only key based reads take the pending writes into account.
+   */
+  public void flushWrites() {
+    var writeBehindBuffer = this.databaseProvider.writeBehindBuffer(this.name, false);
+    if (writeBehindBuffer != null) {
+      writeBehindBuffer.flush();
+    }
+  }
+
+  @Override
+  public void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSize) {
+    String previousKey = null;
+    Map<String, Document> chunk;
+    while ((chunk = this.readChunk(previousKey, chunkSize)) != null) {
+      for (var entry : chunk.entrySet()) {
+        consumer.accept(entry.getKey(), entry.getValue());
+        previousKey = entry.getKey();
+      }
 
+      // no need to query the database again if the chunk was not full
+      if (chunk.size() < chunkSize) {
         break;
       }
     }
   }
 
+  @Override
+  public @NonNull Stream<Map.Entry<String, Document>> stream(int chunkSize) {
+    Preconditions.checkArgument(chunkSize > 0, "chunk size must be positive");
+    return StreamSupport.stream(new ChunkSpliterator(chunkSize), false);
+  }
+
+  /**
+   * Get the buffered write to the given key which was not yet written to the underlying database.
+   *
+   * @param key the key to get the pending write of.
+   * @return the pending write to the given key, null if write behind is disabled or there is no pending write.
+   */
+  private @Nullable WriteBehindBuffer.PendingWrite pendingWrite(@NonNull String key) {
+    var writeBehindBuffer = this.databaseProvider.writeBehindBuffer(this.name, false);
+    return writeBehindBuffer == null ? null : writeBehindBuffer.pendingWrite(key);
+  }
+
+  /**
+   * Notifies the services caching documents of this database that the documents with the given keys were changed.
+   *
+   * @param keys the keys of the changed documents, null if all documents were changed.
+   */
+  protected void invalidateNearCaches(@Nullable Collection<String> keys) {
+    var nearCacheRegistry = this.databaseProvider.nearCacheRegistry();
+    if (nearCacheRegistry != null) {
+      nearCacheRegistry.invalidate(this.name, keys);
+    }
+  }
+
+  protected boolean insertAll0(@NonNull Map<String, Document> documents) {
+    var success = true;
+    for (var entry : documents.entrySet()) {
+      success &= this.insert0(entry.getKey(), entry.getValue());
+    }
+    return success;
+  }
+
+  protected long deleteAll0(@NonNull Collection<String> keys) {
+    long deleted = 0;
+    for (var key : keys) {
+      if (this.delete0(key)) {
+        deleted++;
+      }
+    }
+    return deleted;
+  }
+
+  protected abstract boolean insert0(@NonNull String key, @NonNull Document document);
+
+  protected abstract boolean contains0(@NonNull String key);
+
+  protected abstract boolean delete0(@NonNull String key);
+
+  protected abstract @Nullable Document get0(@NonNull String key);
+
+  protected abstract void clear0();
+
   protected @NonNull String serializeDocumentToJsonString(@NonNull Document document) {
     // send the given document into a new json document
     var jsonDocument = Document.newJsonDocument();
@@ -63,4 +243,63 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSiz
     // serialize the json document
     return jsonDocument.serializeToString(StandardSerialisationStyle.COMPACT);
   }
+
+  protected void checkIndexFieldName(@NonNull String fieldName) {
+    Preconditions.checkArgument(
+      INDEX_FIELD_NAME_PATTERN.matcher(fieldName).matches(),
+      "Invalid index field name %s",
+      fieldName);
+  }
+
+  /**
+   * A spliterator which lazily reads the entries of this database in chunks, continuing after the last read key.
+   *
+   * @since 4.0
+   */
+  protected final class ChunkSpliterator extends Spliterators.AbstractSpliterator<Map.Entry<String, Document>> {
+
+    private final int chunkSize;
+
+    private String previousKey;
+    private boolean exhausted;
+    private Iterator<Map.Entry<String, Document>> currentChunk;
+
+    /**
+     * Constructs a new chunk spliterator instance.
+     *
+     * @param chunkSize the amount of entries to read at once.
+     */
+    private ChunkSpliterator(int chunkSize) {
+      super(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.DISTINCT | Spliterator.NONNULL);
+      this.chunkSize = chunkSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean tryAdvance(@NonNull Consumer<? super Map.Entry<String, Document>> action) {
+      if (this.currentChunk == null || !this.currentChunk.hasNext()) {
+        if (this.exhausted) {
+          return false;
+        }
+
+        // read the next chunk from the database
+        var chunk = AbstractDatabase.this.readChunk(this.previousKey, this.chunkSize);
+        if (chunk == null || chunk.isEmpty()) {
+          this.exhausted = true;
+          return false;
+        }
+
+        // no need to query the database again if the chunk was not full
+        this.exhausted = chunk.size() < this.chunkSize;
+        this.currentChunk = chunk.entrySet().iterator();
+      }
+
+      var entry = this.currentChunk.next();
+      this.previousKey = entry.getKey();
+      action.accept(entry);
+      return true;
+    }
+  }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.database;
+
+import eu.cloudnetservice.driver.channel.ChannelMessage;
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
+import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Keeps track of the services which cache documents of a database locally (near-cache) and notifies them about changes
+ * made to the database through this node, so that they can invalidate the changed documents. The subscriptions are
+ * synced with the other nodes when they (re-)connect, a restarted node would not know about them otherwise.
+ */
+@Singleton
+public final class DatabaseNearCacheRegistry {
+
+  private final Map<String, Set<String>> subscribers = new ConcurrentHashMap<>();
+
+  @Inject
+  public DatabaseNearCacheRegistry(@NonNull DataSyncRegistry dataSyncRegistry) {
+    // cluster data sync
+    dataSyncRegistry.registerHandler(
+      DataSyncHandler.<Subscription>builder()
+        .key("database_near_cache_subscriptions")
+        .alwaysForce()
+        .nameExtractor(subscription -> subscription.database() + ':' + subscription.service())
+        .converter(new DataSyncHandler.DataConverter<>() {
+          @Override
+          public void write(@NonNull DataBuf.Mutable target, @NonNull Subscription data) {
+            target.writeString(data.database()).writeString(data.service());
+          }
+
+          @Override
+          public @NonNull Subscription parse(@NonNull DataBuf input) {
+            return new Subscription(input.readString(), input.readString());
+          }
+        })
+        .writer(subscription -> this.subscribe(subscription.database(), subscription.service()))
+        .dataCollector(this::subscriptions)
+        .currentGetter(subscription -> this.subscribers(subscription.database()).contains(subscription.service())
+          ? subscription
+          : null)
+        .build());
+  }
+
+  public @NonNull Collection<String> subscribers(@NonNull String database) {
+    var services = this.subscribers.get(database);
+    return services == null ? Set.of() : Collections.unmodifiableSet(services);
+  }
+
+  public @NonNull Collection<Subscription> subscriptions() {
+    Collection<Subscription> subscriptions = new ArrayList<>();
+    this.subscribers.forEach((database, services) -> services.forEach(
+      service -> subscriptions.add(new Subscription(database, service))));
+    return subscriptions;
+  }
+
+  public void subscribe(@NonNull String database, @NonNull String service) {
+    this.subscribers.computeIfAbsent(database, $ -> ConcurrentHashMap.newKeySet()).add(service);
+  }
+
+  public void unsubscribe(@NonNull String database, @NonNull String service) {
+    var services = this.subscribers.get(database);
+    if (services != null) {
+      services.remove(service);
+    }
+  }
+
+  public void unsubscribe(@NonNull String service) {
+    for (var services : this.subscribers.values()) {
+      services.remove(service);
+    }
+  }
+
+  public void unsubscribeAll(@NonNull String database) {
+    this.subscribers.remove(database);
+  }
+
+  public void invalidate(@NonNull String database, @Nullable Collection<String> keys) {
+    var services = this.subscribers.get(database);
+    if (services == null || services.isEmpty()) {
+      return;
+    }
+
+    // null keys indicate that the whole database was changed
+    var message = ChannelMessage.builder()
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .message(NetworkConstants.DATABASE_NEAR_CACHE_INVALIDATE)
+      .buffer(DataBuf.empty().writeString(database).writeNullable(keys, DataBuf.Mutable::writeObject));
+    services.forEach(message::targetService);
+    message.build().send();
+  }
+
+  @EventListener
+  public void handleServiceLifecycleChange(@NonNull CloudServiceLifecycleChangeEvent event) {
+    if (event.newLifeCycle() == ServiceLifeCycle.DELETED) {
+      this.unsubscribe(event.serviceInfo().name());
+    }
+  }
+
+  /**
+   * A service which caches the documents of a database locally.
+   *
+   * @param database the name of the cached database.
+   * @param service  the name of the service caching the database.
+   */
+  public record Subscription(@NonNull String database, @NonNull String service) {
+
+  }
+}
@@ -20,6 +20,7 @@
 import eu.cloudnetservice.driver.document.Document;
 import java.util.Map;
 import java.util.function.BiConsumer;
+import java.util.stream.Stream;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -42,4 +43,37 @@ public interface LocalDatabase extends Database {
   void iterate(@NonNull BiConsumer<String, Document> consumer, int chunkSize);
 
   @Nullable Map<String, Document> readChunk(long beginIndex, int chunkSize);
+
+  /**
+   * Reads the next chunk of entries ordered by their key, starting with the first key after the given key. Unlike
+   * {@link #readChunk(long, int)} the database does not need to skip all entries before the chunk, which makes reading
+   * all entries of a database in chunks a linear operation.
+   *
+   * @param previousKey the last key of the previous chunk, null to start with the first entry of the database.
+   * @param chunkSize   the maximum amount of entries to read.
+   * @return the next entries in key order, null if there are no more entries after the given key.
+   */
+  @Nullable Map<String, Document> readChunk(@Nullable String previousKey, int chunkSize);
+
+  /**
+   * Opens a lazy stream over all entries in this database, ordered by their key. The entries are read in chunks of the
+   * given size while the stream is consumed, only the current chunk is held in memory. No database resources are held
+   * between two chunks, but the returned stream should still be closed after use.
+   *
+   * @param chunkSize the amount of entries to read at once.
+   * @return a lazy stream over all entries in this database.
+   * @throws IllegalArgumentException if the given chunk size is not positive.
+   */
+  @NonNull Stream<Map.Entry<String, Document>> stream(int chunkSize);
+
+  /**
+   * Declares a secondary index on the given top-level field of the documents in this database. The index is persisted
+   * by the underlying database, maintained on each insert and delete and used by find operations filtering for a
+   * non-null value of the field. Declaring an index which already exists has no effect.
+   *
+   * @param fieldName the name of the top-level field to index, must only consist of letters, digits and underscores.
+   * @throws NullPointerException     if the given field name is null.
+   * @throws IllegalArgumentException if the given field name is not a valid index field name.
+   */
+  void createIndex(@NonNull String fieldName);
 }
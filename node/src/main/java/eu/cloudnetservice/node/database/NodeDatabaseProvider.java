@@ -25,11 +25,16 @@
 import eu.cloudnetservice.common.log.Logger;
 import eu.cloudnetservice.driver.database.DatabaseProvider;
 import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class NodeDatabaseProvider implements DatabaseProvider, Named, AutoCloseable {
 
   protected static final Logger LOGGER = LogManager.logger(NodeDatabaseProvider.class);
+  // the interval in which buffered writes are flushed, write behind is disabled if not positive
+  protected static final long WRITE_BEHIND_INTERVAL_MILLIS = Long.getLong("cloudnet.database.write-behind-interval", 0);
   protected static final RemovalListener<String, LocalDatabase> DEFAULT_REMOVAL_LISTENER = (key, value, cause) -> {
     // close the database instance that was removed, unless the database instance was garbage collected
     if (value != null) {
@@ -42,9 +47,15 @@ public abstract class NodeDatabaseProvider implements DatabaseProvider, Named, A
   };
 
   protected final Cache<String, LocalDatabase> databaseCache;
+  protected volatile DatabaseNearCacheRegistry nearCacheRegistry;
+
+  // the write behind buffers of the databases by their name, shared by all instances of a database
+  private final Map<String, WriteBehindBuffer> writeBehindBuffers = new ConcurrentHashMap<>();
 
   protected NodeDatabaseProvider(@NonNull RemovalListener<String, LocalDatabase> removalListener) {
     this.databaseCache = Caffeine.newBuilder()
+      // run the removal listener synchronously, a removed database must be closed before the store is closed
+      .executor(Runnable::run)
       .scheduler(Scheduler.systemScheduler())
       .expireAfterAccess(Duration.ofMinutes(5))
       .removalListener(removalListener)
@@ -53,11 +64,86 @@ protected NodeDatabaseProvider(@NonNull RemovalListener<String, LocalDatabase> r
 
   public abstract boolean init() throws Exception;
 
+  public @Nullable DatabaseNearCacheRegistry nearCacheRegistry() {
+    return this.nearCacheRegistry;
+  }
+
+  public void nearCacheRegistry(@Nullable DatabaseNearCacheRegistry nearCacheRegistry) {
+    this.nearCacheRegistry = nearCacheRegistry;
+  }
+
   @Override
   public abstract @NonNull LocalDatabase database(@NonNull String name);
 
+  /**
+   * Get the interval in which buffered writes to the databases of this provider are flushed. Write behind is disabled
+   * if the interval is not positive.
+   *
+   * @return the write behind interval in milliseconds.
+   */
+  protected long writeBehindIntervalMillis() {
+    return WRITE_BEHIND_INTERVAL_MILLIS;
+  }
+
+  /**
+   * Get the write behind buffer of the database with the given name, optionally creating it.
+   *
+   * @param name   the name of the database to get the buffer of.
+   * @param create if the buffer should be created if it doesn't exist yet.
+   * @return the write behind buffer of the database, null if write behind is disabled or no buffer exists.
+   */
+  @Nullable WriteBehindBuffer writeBehindBuffer(@NonNull String name, boolean create) {
+    var intervalMillis = this.writeBehindIntervalMillis();
+    if (intervalMillis <= 0) {
+      return null;
+    }
+
+    if (!create) {
+      return this.writeBehindBuffers.get(name);
+    }
+
+    var flushInterval = Duration.ofMillis(intervalMillis);
+    return this.writeBehindBuffers.computeIfAbsent(name, $ -> new WriteBehindBuffer(name, flushInterval));
+  }
+
+  /**
+   * Discards all buffered writes to the database with the given name, for example because the database is deleted.
+   *
+   * @param name the name of the database to discard the buffered writes of.
+   */
+  protected void discardBufferedWrites(@NonNull String name) {
+    var writeBehindBuffer = this.writeBehindBuffers.remove(name);
+    if (writeBehindBuffer != null) {
+      writeBehindBuffer.discardAndClose();
+    }
+  }
+
+  /**
+   * Invalidates all near-caches of the database with the given name and drops the subscriptions to it, for example
+   * because the database was deleted.
+   *
+   * @param name the name of the database to invalidate the near-caches of.
+   */
+  protected void invalidateNearCaches(@NonNull String name) {
+    var nearCacheRegistry = this.nearCacheRegistry;
+    if (nearCacheRegistry != null) {
+      nearCacheRegistry.invalidate(name, null);
+      nearCacheRegistry.unsubscribeAll(name);
+    }
+  }
+
   @Override
   public void close() throws Exception {
+    // write all buffered writes before the store gets closed by the subclass
+    for (var writeBehindBuffer : this.writeBehindBuffers.values()) {
+      try {
+        writeBehindBuffer.close();
+      } catch (Exception exception) {
+        LOGGER.severe("Exception flushing buffered database writes on close", exception);
+      }
+    }
+
+    this.writeBehindBuffers.clear();
     this.databaseCache.invalidateAll();
   }
 }
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.database;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.Logger;
+import eu.cloudnetservice.driver.document.Document;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A buffer for writes to a database which are written to the underlying database in bulk once per flush interval.
+ * Repeated writes to the same key within a flush interval are coalesced into a single write of the latest document.
+ * Pending writes stay visible to key based reads until they were written to the database, bulk and query reads flush
+ * the buffer before reading from the database.
+ * <p>
+ * There is only one buffer per database name and provider, shared by all instances of the database which were created
+ * by the provider. The buffered writes are written through the instance which buffered a write most recently.
+ *
+ * @since 4.0
+ */
+final class WriteBehindBuffer {
+
+  private static final Logger LOGGER = LogManager.logger(WriteBehindBuffer.class);
+
+  private final String databaseName;
+  private final ScheduledFuture<?> flushTask;
+  // key -> pending write, a pending write without a document is a pending deletion
+  private final Map<String, PendingWrite> pendingWrites = new ConcurrentHashMap<>();
+
+  // the database instance through which the buffered writes are written
+  private volatile AbstractDatabase database;
+
+  /**
+   * Constructs a new write behind buffer and schedules the periodic flush of it.
+   *
+   * @param databaseName  the name of the database of which the writes are buffered.
+   * @param flushInterval the interval in which the buffered writes are written to the database.
+   * @throws NullPointerException if the given database name or flush interval is null.
+   */
+  WriteBehindBuffer(@NonNull String databaseName, @NonNull Duration flushInterval) {
+    this.databaseName = databaseName;
+
+    var intervalMillis = flushInterval.toMillis();
+    this.flushTask = FlushSchedulerHolder.SCHEDULER.scheduleWithFixedDelay(
+      this::flushSafely,
+      intervalMillis,
+      intervalMillis,
+      TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Buffers the write of the given document, replacing any write to the same key which is still pending.
+   *
+   * @param database the database instance which buffers the write.
+   * @param key      the key to write the document to.
+   * @param document the document to write, null to delete the key.
+   * @throws NullPointerException if the given database or key is null.
+   */
+  void write(@NonNull AbstractDatabase database, @NonNull String key, @Nullable Document document) {
+    this.database = database;
+    this.pendingWrites.put(key, new PendingWrite(document));
+  }
+
+  /**
+   * Get the write to the given key which is still pending, null if there is no pending write to the given key.
+   *
+   * @param key the key to get the pending write of.
+   * @return the pending write to the given key, null if there is none.
+   * @throws NullPointerException if the given key is null.
+   */
+  @Nullable PendingWrite pendingWrite(@NonNull String key) {
+    return this.pendingWrites.get(key);
+  }
+
+  /**
+   * Discards all pending writes without writing them to the database.
+   */
+  void discard() {
+    this.pendingWrites.clear();
+  }
+
+  /**
+   * Writes all pending writes to the database. The writes stay visible to readers until they were written, a write is
+   * only removed from the buffer if it wasn't replaced while flushing.
+   */
+  synchronized void flush() {
+    var database = this.database;
+    if (database == null || this.pendingWrites.isEmpty()) {
+      return;
+    }
+
+    // collect the current writes, split into insertions and deletions
+    Map<String, PendingWrite> flushedWrites = new HashMap<>(this.pendingWrites);
+    Map<String, Document> insertions = new HashMap<>();
+    List<String> deletions = new ArrayList<>();
+    for (var entry : flushedWrites.entrySet()) {
+      var document = entry.getValue().document();
+      if (document == null) {
+        deletions.add(entry.getKey());
+      } else {
+        insertions.put(entry.getKey(), document);
+      }
+    }
+
+    // write the changes to the database
+    if (!insertions.isEmpty()) {
+      database.insertAll0(insertions);
+    }
+    if (!deletions.isEmpty()) {
+      database.deleteAll0(deletions);
+    }
+
+    // remove all writes which were not replaced in the meantime
+    for (var entry : flushedWrites.entrySet()) {
+      this.pendingWrites.remove(entry.getKey(), entry.getValue());
+    }
+  }
+
+  /**
+   * Stops the periodic flush of this buffer and writes all pending writes to the database.
+   */
+  void close() {
+    this.flushTask.cancel(false);
+    this.flush();
+  }
+
+  /**
+   * Stops the periodic flush of this buffer and discards all pending writes without writing them to the database.
+   */
+  void discardAndClose() {
+    this.flushTask.cancel(false);
+    this.discard();
+  }
+
+  /**
+   * Flushes this buffer, logging any exception instead of rethrowing it to keep the periodic flush alive.
+   */
+  private void flushSafely() {
+    try {
+      this.flush();
+    } catch (Exception exception) {
+      LOGGER.severe("Exception flushing buffered writes of database %s", exception, this.databaseName);
+    }
+  }
+
+  /**
+   * A write to a key which was not yet written to the database.
+   *
+   * @param document the document to write, null if the key should get deleted.
+   * @since 4.0
+   */
+  record PendingWrite(@Nullable Document document) {
+
+  }
+
+  /**
+   * Holds the scheduler which flushes all write behind buffers, only initialized when write behind is used.
+   *
+   * @since 4.0
+   */
+  private static final class FlushSchedulerHolder {
+
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(
+      new ThreadFactoryBuilder().setNameFormat("Database-Write-Behind").setDaemon(true).build());
+  }
+}
@@ -16,6 +16,7 @@
 
 package eu.cloudnetservice.node.database.h2;
 
+import com.google.common.collect.Iterables;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
 import eu.cloudnetservice.node.database.sql.SQLDatabase;
@@ -23,7 +24,9 @@
 import java.sql.ResultSet;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -44,37 +47,91 @@ public H2Database(@NonNull SQLDatabaseProvider provider, @NonNull String name) {
       name,
       TABLE_COLUMN_KEY,
       TABLE_COLUMN_VAL));
+    this.loadIndexedFields();
   }
 
   @Override
-  public void close() {
+  protected boolean insert0(@NonNull String key, @NonNull Document document) {
+    return this.insertOrUpdate(key, document);
   }
 
   @Override
-  public boolean insert(@NonNull String key, @NonNull Document document) {
-    return this.insertOrUpdate(key, document);
+  protected boolean insertAll0(@NonNull Map<String, Document> documents) {
+    var columns = new StringBuilder(TABLE_COLUMN_KEY).append(',').append(TABLE_COLUMN_VAL);
+    var values = new StringBuilder("?, ?");
+
+    // copy the indexed fields to use the same columns for all documents, even if an index gets created concurrently
+    List<String> indexedFields = List.copyOf(this.indexedFields);
+    for (var fieldName : indexedFields) {
+      columns.append(",\"").append(TABLE_COLUMN_INDEX_PREFIX).append(fieldName).append('"');
+      values.append(", ?");
+    }
+
+    List<Object[]> parameters = new ArrayList<>(documents.size());
+    for (var entry : documents.entrySet()) {
+      var documentParameters = new Object[indexedFields.size() + 2];
+      documentParameters[0] = entry.getKey();
+      documentParameters[1] = this.serializeDocumentToJsonString(entry.getValue());
+      for (var i = 0; i < indexedFields.size(); i++) {
+        documentParameters[i + 2] = this.indexValue(entry.getValue(), indexedFields.get(i));
+      }
+
+      parameters.add(documentParameters);
+    }
+
+    // merge inserts or updates the documents in a single batch, no need to check which keys exist
+    return this.databaseProvider.executeBatchUpdate(
+      "MERGE INTO `" + this.name + "` (" + columns + ") KEY(" + TABLE_COLUMN_KEY + ") VALUES (" + values + ");",
+      parameters
+    ) != -1;
   }
 
-  private boolean insert0(@NonNull String key, @NonNull Document document) {
+  private boolean insertNew(@NonNull String key, @NonNull Document document) {
+    var columns = new StringBuilder(TABLE_COLUMN_KEY).append(',').append(TABLE_COLUMN_VAL);
+    var values = new StringBuilder("?, ?");
+
+    List<Object> parameters = new ArrayList<>();
+    parameters.add(key);
+    parameters.add(this.serializeDocumentToJsonString(document));
+
+    // write the values of the indexed fields into the index columns
+    for (var fieldName : this.indexedFields) {
+      columns.append(",\"").append(TABLE_COLUMN_INDEX_PREFIX).append(fieldName).append('"');
+      values.append(", ?");
+      parameters.add(this.indexValue(document, fieldName));
+    }
+
     return this.databaseProvider.executeUpdate(
-      "INSERT INTO `" + this.name + "` (" + TABLE_COLUMN_KEY + "," + TABLE_COLUMN_VAL + ") VALUES (?, ?);",
-      key, this.serializeDocumentToJsonString(document)
+      "INSERT INTO `" + this.name + "` (" + columns + ") VALUES (" + values + ");",
+      parameters.toArray()
     ) != -1;
   }
 
   public boolean update0(String key, Document document) {
+    var columns = new StringBuilder(TABLE_COLUMN_VAL).append("=?");
+
+    List<Object> parameters = new ArrayList<>();
+    parameters.add(this.serializeDocumentToJsonString(document));
+
+    // update the values of the indexed fields in the index columns
+    for (var fieldName : this.indexedFields) {
+      columns.append(",\"").append(TABLE_COLUMN_INDEX_PREFIX).append(fieldName).append("\"=?");
+      parameters.add(this.indexValue(document, fieldName));
+    }
+
+    parameters.add(key);
     return this.databaseProvider.executeUpdate(
-      "UPDATE `" + this.name + "` SET " + TABLE_COLUMN_VAL + "=? WHERE " + TABLE_COLUMN_KEY + "=?",
-      this.serializeDocumentToJsonString(document), key
+      "UPDATE `" + this.name + "` SET " + columns + " WHERE " + TABLE_COLUMN_KEY + "=?",
+      parameters.toArray()
     ) != -1;
   }
 
   public boolean insertOrUpdate(String key, Document document) {
-    return this.contains(key) ? this.update0(key, document) : this.insert0(key, document);
+    return this.contains0(key) ? this.update0(key, document) : this.insertNew(key, document);
   }
 
   @Override
-  public boolean contains(@NonNull String key) {
+  protected boolean contains0(@NonNull String key) {
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?", TABLE_COLUMN_KEY, this.name, TABLE_COLUMN_KEY),
       ResultSet::next,
@@ -83,11 +140,7 @@ public boolean contains(@NonNull String key) {
   }
 
   @Override
-  public boolean delete(@NonNull String key) {
-    return this.delete0(key);
-  }
-
-  public boolean delete0(String key) {
+  protected boolean delete0(@NonNull String key) {
     return this.databaseProvider.executeUpdate(
       String.format("DELETE FROM `%s` WHERE %s = ?", this.name, TABLE_COLUMN_KEY),
       key
@@ -95,7 +148,23 @@ public boolean delete0(String key) {
   }
 
   @Override
-  public @Nullable Document get(@NonNull String key) {
+  protected long deleteAll0(@NonNull Collection<String> keys) {
+    long deleted = 0;
+    for (var keyChunk : Iterables.partition(keys, BULK_DELETE_CHUNK_SIZE)) {
+      var deletedInChunk = this.databaseProvider.executeUpdate(
+        String.format(
+          "DELETE FROM `%s` WHERE %s IN (%s)",
+          this.name,
+          TABLE_COLUMN_KEY,
+          String.join(",", Collections.nCopies(keyChunk.size(), "?"))),
+        keyChunk.toArray());
+      deleted += Math.max(0, deletedInChunk);
+    }
+    return deleted;
+  }
+
+  @Override
+  protected @Nullable Document get0(@NonNull String key) {
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s = ?", TABLE_COLUMN_VAL, this.name, TABLE_COLUMN_KEY),
       resultSet -> resultSet.next() ? DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)) : null,
@@ -106,6 +175,27 @@ public boolean delete0(String key) {
 
   @Override
   public @NonNull List<Document> find(@NonNull String fieldName, String fieldValue) {
+    this.flushWrites();
+    if (this.indexed(fieldName, fieldValue)) {
+      return this.databaseProvider.executeQuery(
+        String.format(
+          "SELECT %s FROM `%s` WHERE \"%s%s\" = ?",
+          TABLE_COLUMN_VAL,
+          this.name,
+          TABLE_COLUMN_INDEX_PREFIX,
+          fieldName),
+        resultSet -> {
+          List<Document> jsonDocuments = new ArrayList<>();
+          while (resultSet.next()) {
+            jsonDocuments.add(DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL)));
+          }
+
+          return jsonDocuments;
+        },
+        List.of(),
+        fieldValue);
+    }
+
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s` WHERE %s LIKE ? ESCAPE '$'", TABLE_COLUMN_VAL, this.name, TABLE_COLUMN_VAL),
       resultSet -> {
@@ -122,6 +212,7 @@ public boolean delete0(String key) {
 
   @Override
   public @NonNull List<Document> find(@NonNull Map<String, String> filters) {
+    this.flushWrites();
     var stringBuilder = new StringBuilder("SELECT ")
       .append(TABLE_COLUMN_VAL).append(" FROM `")
       .append(this.name).append('`');
@@ -135,8 +226,14 @@ public boolean delete0(String key) {
       while (iterator.hasNext()) {
         var entry = iterator.next();
 
-        stringBuilder.append(TABLE_COLUMN_VAL).append(" LIKE ? ESCAPE '$'");
-        collection.add("%\"" + entry.getKey() + "\":\"" + entry.getValue().replaceAll("([_%])", "\\$$1") + "\"%");
+        if (this.indexed(entry.getKey(), entry.getValue())) {
+          // use the index column of the field
+          stringBuilder.append('"').append(TABLE_COLUMN_INDEX_PREFIX).append(entry.getKey()).append("\" = ?");
+          collection.add(entry.getValue());
+        } else {
+          stringBuilder.append(TABLE_COLUMN_VAL).append(" LIKE ? ESCAPE '$'");
+          collection.add("%\"" + entry.getKey() + "\":\"" + entry.getValue().replaceAll("([_%])", "\\$$1") + "\"%");
+        }
 
         if (iterator.hasNext()) {
           stringBuilder.append(" and ");
@@ -159,8 +256,37 @@ public boolean delete0(String key) {
     );
   }
 
+  @Override
+  public void createIndex(@NonNull String fieldName) {
+    this.checkIndexFieldName(fieldName);
+    if (this.indexedFields.contains(fieldName)) {
+      return;
+    }
+
+    // create the index column and the index on it
+    var columnName = TABLE_COLUMN_INDEX_PREFIX + fieldName;
+    this.databaseProvider.executeUpdate(String.format(
+      "ALTER TABLE `%s` ADD COLUMN IF NOT EXISTS \"%s\" VARCHAR(%d);",
+      this.name,
+      columnName,
+      INDEX_VALUE_MAX_LENGTH));
+    this.databaseProvider.executeUpdate(String.format(
+      "CREATE INDEX IF NOT EXISTS \"%s_%s\" ON `%s` (\"%s\");",
+      this.name,
+      columnName,
+      this.name,
+      columnName));
+
+    // register the index before filling it, so that concurrent inserts are writing the index column as well
+    this.indexedFields.add(fieldName);
+    this.iterate((key, document) -> this.databaseProvider.executeUpdate(
+      String.format("UPDATE `%s` SET \"%s\" = ? WHERE %s = ?", this.name, columnName, TABLE_COLUMN_KEY),
+      this.indexValue(document, fieldName), key));
+  }
+
   @Override
   public @NonNull Collection<String> keys() {
+    this.flushWrites();
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s`;", TABLE_COLUMN_KEY, this.name),
       resultSet -> {
@@ -175,6 +301,7 @@ public boolean delete0(String key) {
 
   @Override
   public @NonNull Collection<Document> documents() {
+    this.flushWrites();
     return this.databaseProvider.executeQuery(
       String.format("SELECT %s FROM `%s`;", TABLE_COLUMN_VAL, this.name),
       resultSet -> {
@@ -189,6 +316,7 @@ public boolean delete0(String key) {
 
   @Override
   public @NonNull Map<String, Document> entries() {
+    this.flushWrites();
     return this.databaseProvider.executeQuery(
       String.format("SELECT * FROM `%s`;", this.name),
       resultSet -> {
@@ -205,6 +333,7 @@ public boolean delete0(String key) {
 
   @Override
   public void iterate(@NonNull BiConsumer<String, Document> consumer) {
+    this.flushWrites();
     this.databaseProvider.executeQuery(
       String.format("SELECT * FROM `%s`;", this.name),
       resultSet -> {
@@ -219,12 +348,13 @@ public void iterate(@NonNull BiConsumer<String, Document> consumer) {
   }
 
   @Override
-  public void clear() {
+  protected void clear0() {
     this.databaseProvider.executeUpdate(String.format("TRUNCATE TABLE `%s`", this.name));
   }
 
   @Override
   public long documentCount() {
+    this.flushWrites();
     return this.databaseProvider.executeQuery("SELECT COUNT(*) FROM `" + this.name + "`;", resultSet -> {
       if (resultSet.next()) {
         return resultSet.getLong(1);
@@ -240,6 +370,7 @@ public boolean synced() {
 
   @Override
   public @Nullable Map<String, Document> readChunk(long beginIndex, int chunkSize) {
+    this.flushWrites();
     return this.databaseProvider.executeQuery(
       String.format("SELECT * FROM `%s` ORDER BY `%s` OFFSET ? LIMIT ?;", this.name, TABLE_COLUMN_KEY),
       resultSet -> {
@@ -256,4 +387,34 @@ public boolean synced() {
       beginIndex, chunkSize
     );
   }
+
+  @Override
+  public @Nullable Map<String, Document> readChunk(@Nullable String previousKey, int chunkSize) {
+    this.flushWrites();
+
+    // start at the first key if no previous key is given, use keyset pagination otherwise
+    var query = previousKey == null
+      ? String.format("SELECT * FROM `%s` ORDER BY %s LIMIT ?;", this.name, TABLE_COLUMN_KEY)
+      : String.format(
+        "SELECT * FROM `%s` WHERE %s > ? ORDER BY %s LIMIT ?;",
+        this.name,
+        TABLE_COLUMN_KEY,
+        TABLE_COLUMN_KEY);
+    var parameters = previousKey == null ? new Object[]{chunkSize} : new Object[]{previousKey, chunkSize};
+
+    return this.databaseProvider.executeQuery(
+      query,
+      resultSet -> {
+        Map<String, Document> result = new LinkedHashMap<>();
+        while (resultSet.next()) {
+          var key = resultSet.getString(TABLE_COLUMN_KEY);
+          var document = DocumentFactory.json().parse(resultSet.getString(TABLE_COLUMN_VAL));
+          result.put(key, document);
+        }
+
+        return result.isEmpty() ? null : result;
+      },
+      null,
+      parameters);
+  }
 }
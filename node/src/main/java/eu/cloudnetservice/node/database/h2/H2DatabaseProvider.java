@@ -28,6 +28,8 @@
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import lombok.NonNull;
 import org.h2.Driver;
@@ -64,7 +66,10 @@ public boolean init() throws Exception {
 
   @Override
   public boolean deleteDatabase(@NonNull String name) {
-    return this.executeUpdate("DROP TABLE IF EXISTS `" + name + "`") != -1;
+    this.discardBufferedWrites(name);
+    var deleted = this.executeUpdate("DROP TABLE IF EXISTS `" + name + "`") != -1;
+    this.invalidateNearCaches(name);
+    return deleted;
   }
 
   @Override
@@ -105,7 +110,7 @@ public void close() throws Exception {
   public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     try (var preparedStatement = this.connection().prepareStatement(query)) {
       for (var i = 0; i < objects.length; i++) {
-        preparedStatement.setString(i + 1, objects[i].toString());
+        preparedStatement.setString(i + 1, Objects.toString(objects[i], null));
       }
 
       return preparedStatement.executeUpdate();
@@ -115,6 +120,27 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
     }
   }
 
+  @Override
+  public int executeBatchUpdate(@NonNull String query, @NonNull List<Object[]> parameters) {
+    try (var preparedStatement = this.connection().prepareStatement(query)) {
+      for (var objects : parameters) {
+        for (var i = 0; i < objects.length; i++) {
+          preparedStatement.setString(i + 1, Objects.toString(objects[i], null));
+        }
+        preparedStatement.addBatch();
+      }
+
+      var updatedRows = 0;
+      for (var updateCount : preparedStatement.executeBatch()) {
+        updatedRows += Math.max(0, updateCount);
+      }
+      return updatedRows;
+    } catch (SQLException exception) {
+      LOGGER.severe("Exception while executing database batch update", exception);
+      return -1;
+    }
+  }
+
   @Override
   public @UnknownNullability <T> T executeQuery(
     @NonNull String query,
@@ -124,7 +150,7 @@ public int executeUpdate(@NonNull String query, @NonNull Object... objects) {
   ) {
     try (var preparedStatement = this.connection().prepareStatement(query)) {
       for (var i = 0; i < objects.length; i++) {
-        preparedStatement.setString(i + 1, objects[i].toString());
+        preparedStatement.setString(i + 1, Objects.toString(objects[i], null));
       }
 
       try (var resultSet = preparedStatement.executeQuery()) {
@@ -16,9 +16,13 @@
 
 package eu.cloudnetservice.node.database.sql;
 
+import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.node.database.AbstractDatabase;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.Nullable;
 
 @Deprecated
 @ApiStatus.ScheduledForRemoval(inVersion = "4.1")
@@ -26,11 +30,47 @@ public abstract class SQLDatabase extends AbstractDatabase {
 
   protected static final String TABLE_COLUMN_KEY = "Name";
   protected static final String TABLE_COLUMN_VAL = "Document";
+  protected static final String TABLE_COLUMN_INDEX_PREFIX = "Index_";
+
+  // values which are longer than this are not indexed
+  protected static final int INDEX_VALUE_MAX_LENGTH = 512;
+  // the maximum amount of keys to delete in a single statement
+  protected static final int BULK_DELETE_CHUNK_SIZE = 500;
 
   protected final SQLDatabaseProvider databaseProvider;
+  protected final Set<String> indexedFields = ConcurrentHashMap.newKeySet();
 
   public SQLDatabase(@NonNull SQLDatabaseProvider provider, @NonNull String name) {
     super(name, provider);
     this.databaseProvider = provider;
   }
+
+  protected void loadIndexedFields() {
+    // the index columns are named after the indexed field, prefixed with the index column prefix
+    this.databaseProvider.executeQuery(
+      String.format("SELECT * FROM `%s` WHERE 1 = 0;", this.name),
+      resultSet -> {
+        var metaData = resultSet.getMetaData();
+        for (var column = 1; column <= metaData.getColumnCount(); column++) {
+          var columnName = metaData.getColumnName(column);
+          if (columnName.startsWith(TABLE_COLUMN_INDEX_PREFIX)) {
+            this.indexedFields.add(columnName.substring(TABLE_COLUMN_INDEX_PREFIX.length()));
+          }
+        }
+
+        return null;
+      },
+      null);
+  }
+
+  protected boolean indexed(@NonNull String fieldName, @Nullable String fieldValue) {
+    return fieldValue != null
+      && fieldValue.length() < INDEX_VALUE_MAX_LENGTH
+      && this.indexedFields.contains(fieldName);
+  }
+
+  protected @Nullable String indexValue(@NonNull Document document, @NonNull String fieldName) {
+    var value = document.getString(fieldName);
+    return value == null || value.length() >= INDEX_VALUE_MAX_LENGTH ? null : value;
+  }
 }
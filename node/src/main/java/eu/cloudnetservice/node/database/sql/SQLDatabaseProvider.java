@@ -24,6 +24,7 @@
 import io.vavr.CheckedFunction1;
 import java.sql.Connection;
 import java.sql.ResultSet;
+import java.util.List;
 import lombok.NonNull;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.Nullable;
@@ -55,6 +56,8 @@ public boolean containsDatabase(@NonNull String name) {
 
   public abstract int executeUpdate(@NonNull String query, @NonNull Object... objects);
 
+  public abstract int executeBatchUpdate(@NonNull String query, @NonNull List<Object[]> parameters);
+
   public abstract <T> @UnknownNullability T executeQuery(
     @NonNull String query,
     @NonNull CheckedFunction1<ResultSet, T> callback,
@@ -18,66 +18,169 @@
 
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.document.DocumentFactory;
+import eu.cloudnetservice.driver.document.gson.BinaryDocumentFactory;
 import eu.cloudnetservice.node.database.AbstractDatabase;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
+import java.util.function.Predicate;
 import jetbrains.exodus.ArrayByteIterable;
+import jetbrains.exodus.ByteIterable;
 import jetbrains.exodus.bindings.StringBinding;
 import jetbrains.exodus.env.Environment;
 import jetbrains.exodus.env.Store;
+import jetbrains.exodus.env.StoreConfig;
+import jetbrains.exodus.env.Transaction;
 import lombok.NonNull;
 import org.jetbrains.annotations.Nullable;
 
 public class XodusDatabase extends AbstractDatabase {
 
+  protected static final String INDEX_STORE_SEPARATOR = "$index$";
+  protected static final StoreConfig INDEX_STORE_CONFIG = StoreConfig.WITH_DUPLICATES_WITH_PREFIXING;
+  // if documents should be stored in the binary document format, existing documents are readable in both formats
+  protected static final boolean BINARY_DOCUMENTS = Boolean.getBoolean("cloudnet.database.xodus.binary-documents");
+
   protected final Environment environment;
   protected final AtomicReference<Store> store;
+  // field name -> index store mapping the field value to the keys of all documents with that value
+  protected final Map<String, Store> indexStores = new ConcurrentHashMap<>();
 
-  protected XodusDatabase(@NonNull String name, @NonNull Store store, @NonNull XodusDatabaseProvider provider) {
+  protected XodusDatabase(
+    @NonNull String name,
+    @NonNull Store store,
+    @NonNull Map<String, Store> indexStores,
+    @NonNull XodusDatabaseProvider provider
+  ) {
     super(name, provider);
 
     this.environment = store.getEnvironment();
     this.store = new AtomicReference<>(store);
+    this.indexStores.putAll(indexStores);
+  }
+
+  protected static @NonNull Document parseDocument(@NonNull ByteIterable entry) {
+    // documents might be stored in both formats, for example if the format was changed
+    var data = entry.getBytesUnsafe();
+    return BinaryDocumentFactory.binaryDocument(data)
+      ? DocumentFactory.binary().parse(data)
+      : DocumentFactory.json().parse(data);
+  }
+
+  protected static @NonNull String indexStoreName(@NonNull String databaseName, @NonNull String fieldName) {
+    return databaseName + INDEX_STORE_SEPARATOR + fieldName;
+  }
+
+  protected byte[] serializeDocument(@NonNull Document document) {
+    if (BINARY_DOCUMENTS) {
+      return BinaryDocumentFactory.encode(document);
+    }
+
+    return this.serializeDocumentToJsonString(document).getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Override
+  protected boolean insert0(@NonNull String key, @NonNull Document document) {
+    var serializedDocument = this.serializeDocument(document);
+    return this.environment.computeInExclusiveTransaction(txn -> {
+      var keyEntry = StringBinding.stringToEntry(key);
+      // replace the index entries of the previous document with the entries of the new document
+      if (!this.indexStores.isEmpty()) {
+        this.removeIndexEntries(txn, keyEntry);
+        this.addIndexEntries(txn, keyEntry, document);
+      }
+
+      return this.store().put(txn, keyEntry, new ArrayByteIterable(serializedDocument));
+    });
   }
 
   @Override
-  public boolean insert(@NonNull String key, @NonNull Document document) {
-    return this.environment.computeInExclusiveTransaction(
-      txn -> this.store().put(
-        txn,
-        StringBinding.stringToEntry(key),
-        new ArrayByteIterable(this.serializeDocumentToJsonString(document).getBytes(StandardCharsets.UTF_8))));
+  protected boolean insertAll0(@NonNull Map<String, Document> documents) {
+    // serialize the documents outside the transaction to keep the exclusive transaction as short as possible
+    Map<String, ByteIterable> serializedDocuments = new HashMap<>();
+    for (var entry : documents.entrySet()) {
+      var serializedDocument = this.serializeDocument(entry.getValue());
+      serializedDocuments.put(entry.getKey(), new ArrayByteIterable(serializedDocument));
+    }
+
+    return this.environment.computeInExclusiveTransaction(txn -> {
+      var success = true;
+      for (var entry : documents.entrySet()) {
+        var keyEntry = StringBinding.stringToEntry(entry.getKey());
+        if (!this.indexStores.isEmpty()) {
+          this.removeIndexEntries(txn, keyEntry);
+          this.addIndexEntries(txn, keyEntry, entry.getValue());
+        }
+
+        success &= this.store().put(txn, keyEntry, serializedDocuments.get(entry.getKey()));
+      }
+      return success;
+    });
   }
 
   @Override
-  public boolean contains(@NonNull String key) {
+  protected boolean contains0(@NonNull String key) {
     return this.environment.computeInReadonlyTransaction(
       txn -> this.store().get(txn, StringBinding.stringToEntry(key)) != null);
   }
 
   @Override
-  public boolean delete(@NonNull String key) {
-    return this.environment.computeInTransaction(txn -> this.store().delete(txn, StringBinding.stringToEntry(key)));
+  protected boolean delete0(@NonNull String key) {
+    return this.environment.computeInTransaction(txn -> {
+      var keyEntry = StringBinding.stringToEntry(key);
+      if (!this.indexStores.isEmpty()) {
+        this.removeIndexEntries(txn, keyEntry);
+      }
+
+      return this.store().delete(txn, keyEntry);
+    });
   }
 
   @Override
-  public @Nullable Document get(@NonNull String key) {
+  protected long deleteAll0(@NonNull Collection<String> keys) {
+    return this.environment.computeInTransaction(txn -> {
+      long deleted = 0;
+      for (var key : keys) {
+        var keyEntry = StringBinding.stringToEntry(key);
+        if (!this.indexStores.isEmpty()) {
+          this.removeIndexEntries(txn, keyEntry);
+        }
+
+        if (this.store().delete(txn, keyEntry)) {
+          deleted++;
+        }
+      }
+      return deleted;
+    });
+  }
+
+  @Override
+  protected @Nullable Document get0(@NonNull String key) {
     return this.environment.computeInReadonlyTransaction(txn -> {
       var entry = this.store().get(txn, StringBinding.stringToEntry(key));
-      return entry == null ? null : DocumentFactory.json().parse(entry.getBytesUnsafe());
+      return entry == null ? null : parseDocument(entry);
     });
   }
 
   @Override
   public @NonNull List<Document> find(@NonNull String fieldName, @Nullable String fieldValue) {
+    this.flushWrites();
+
+    // null values are not indexed
+    var indexStore = fieldValue == null ? null : this.indexStores.get(fieldName);
+    if (indexStore != null) {
+      return this.findIndexed(indexStore, fieldValue, $ -> true);
+    }
+
     return this.handleWithCursor(($, document) -> {
       if (Objects.equals(document.getString(fieldName), fieldValue)) {
         return document;
@@ -88,29 +191,67 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public @NonNull List<Document> find(@NonNull Map<String, String> filters) {
+    this.flushWrites();
     var entries = filters.entrySet();
-    return this.handleWithCursor(($, document) -> {
+    Predicate<Document> filter = document -> {
       for (var entry : entries) {
         if (!Objects.equals(document.getString(entry.getKey()), entry.getValue())) {
-          return null;
+          return false;
         }
       }
-      return document;
+      return true;
+    };
+
+    // use the first indexed field to narrow down the documents to check
+    for (var entry : entries) {
+      var indexStore = entry.getValue() == null ? null : this.indexStores.get(entry.getKey());
+      if (indexStore != null) {
+        return this.findIndexed(indexStore, entry.getValue(), filter);
+      }
+    }
+
+    return this.handleWithCursor(($, document) -> filter.test(document) ? document : null);
+  }
+
+  @Override
+  public void createIndex(@NonNull String fieldName) {
+    this.checkIndexFieldName(fieldName);
+    if (this.indexStores.containsKey(fieldName)) {
+      return;
+    }
+
+    this.environment.executeInExclusiveTransaction(txn -> {
+      var indexStore = this.environment.openStore(indexStoreName(this.name, fieldName), INDEX_STORE_CONFIG, txn);
+      // index all documents which are already in the database
+      try (var cursor = this.store().openCursor(txn)) {
+        while (cursor.getNext()) {
+          var document = parseDocument(cursor.getValue());
+          var value = document.getString(fieldName);
+          if (value != null) {
+            indexStore.put(txn, StringBinding.stringToEntry(value), cursor.getKey());
+          }
+        }
+      }
+
+      this.indexStores.put(fieldName, indexStore);
     });
   }
 
   @Override
   public @NonNull Collection<String> keys() {
+    this.flushWrites();
     return this.handleWithCursor((key, $) -> key);
   }
 
   @Override
   public @NonNull Collection<Document> documents() {
+    this.flushWrites();
     return this.handleWithCursor(($, document) -> document);
   }
 
   @Override
   public @NonNull Map<String, Document> entries() {
+    this.flushWrites();
     Map<String, Document> result = new HashMap<>();
     this.acceptWithCursor(result::put);
     return result;
@@ -118,19 +259,28 @@ public boolean delete(@NonNull String key) {
 
   @Override
   public void iterate(@NonNull BiConsumer<String, Document> consumer) {
+    this.flushWrites();
     this.acceptWithCursor(consumer);
   }
 
   @Override
-  public void clear() {
+  protected void clear0() {
     this.environment.executeInExclusiveTransaction(txn -> {
       this.environment.truncateStore(this.name, txn);
       this.store.set(this.environment.openStore(this.name, this.store().getConfig(), txn));
+
+      // truncate the index stores as well
+      for (var fieldName : this.indexStores.keySet()) {
+        var indexStoreName = indexStoreName(this.name, fieldName);
+        this.environment.truncateStore(indexStoreName, txn);
+        this.indexStores.put(fieldName, this.environment.openStore(indexStoreName, INDEX_STORE_CONFIG, txn));
+      }
     });
   }
 
   @Override
   public long documentCount() {
+    this.flushWrites();
     return this.environment.computeInReadonlyTransaction(txn -> this.store().count(txn));
   }
 
@@ -139,10 +289,6 @@ public boolean synced() {
     return false;
   }
 
-  @Override
-  public void close() {
-  }
-
   protected @NonNull <T> List<T> handleWithCursor(@NonNull BiFunction<String, Document, T> mapper) {
     List<T> result = new ArrayList<>();
     this.acceptWithCursor((key, document) -> {
@@ -154,13 +300,69 @@ public void close() {
     return result;
   }
 
+  protected @NonNull List<Document> findIndexed(
+    @NonNull Store indexStore,
+    @NonNull String fieldValue,
+    @NonNull Predicate<Document> filter
+  ) {
+    return this.environment.computeInReadonlyTransaction(txn -> {
+      List<Document> result = new ArrayList<>();
+      try (var cursor = indexStore.openCursor(txn)) {
+        // visit the keys of all documents which are associated with the given value
+        var found = cursor.getSearchKey(StringBinding.stringToEntry(fieldValue)) != null;
+        while (found) {
+          var entry = this.store().get(txn, cursor.getValue());
+          if (entry != null) {
+            var document = parseDocument(entry);
+            if (filter.test(document)) {
+              result.add(document);
+            }
+          }
+
+          found = cursor.getNextDup();
+        }
+      }
+
+      return result;
+    });
+  }
+
+  protected void addIndexEntries(@NonNull Transaction txn, @NonNull ByteIterable key, @NonNull Document document) {
+    for (var entry : this.indexStores.entrySet()) {
+      var value = document.getString(entry.getKey());
+      if (value != null) {
+        entry.getValue().put(txn, StringBinding.stringToEntry(value), key);
+      }
+    }
+  }
+
+  protected void removeIndexEntries(@NonNull Transaction txn, @NonNull ByteIterable key) {
+    // get the currently stored document, no index entries to remove if there is none
+    var entry = this.store().get(txn, key);
+    if (entry == null) {
+      return;
+    }
+
+    var document = parseDocument(entry);
+    for (var indexEntry : this.indexStores.entrySet()) {
+      var value = document.getString(indexEntry.getKey());
+      if (value != null) {
+        try (var cursor = indexEntry.getValue().openCursor(txn)) {
+          if (cursor.getSearchBoth(StringBinding.stringToEntry(value), key)) {
+            cursor.deleteCurrent();
+          }
+        }
+      }
+    }
+  }
+
   protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
     this.environment.executeInReadonlyTransaction(txn -> {
       try (var cursor = this.store().openCursor(txn)) {
         while (cursor.getNext()) {
           handler.accept(
             StringBinding.entryToString(cursor.getKey()),
-            DocumentFactory.json().parse(cursor.getValue().getBytesUnsafe()));
+            parseDocument(cursor.getValue()));
         }
       }
     });
@@ -168,6 +370,7 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
 
   @Override
   public @Nullable Map<String, Document> readChunk(long beginIndex, int chunkSize) {
+    this.flushWrites();
     return this.environment.computeInReadonlyTransaction(txn -> {
       try (var cursor = this.store().openCursor(txn)) {
         // skip to the begin index
@@ -183,7 +386,7 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
         while (chunkSize > currentReadCount && cursor.getNext()) {
           result.put(
             StringBinding.entryToString(cursor.getKey()),
-            DocumentFactory.json().parse(cursor.getValue().getBytesUnsafe()));
+            parseDocument(cursor.getValue()));
           currentReadCount++;
         }
 
@@ -192,6 +395,36 @@ protected void acceptWithCursor(@NonNull BiConsumer<String, Document> handler) {
     });
   }
 
+  @Override
+  public @Nullable Map<String, Document> readChunk(@Nullable String previousKey, int chunkSize) {
+    this.flushWrites();
+    return this.environment.computeInReadonlyTransaction(txn -> {
+      try (var cursor = this.store().openCursor(txn)) {
+        boolean found;
+        if (previousKey == null) {
+          found = cursor.getNext();
+        } else {
+          // jump to the first key which is equal or greater than the previous key, skip it if it's the previous key
+          var previousKeyEntry = StringBinding.stringToEntry(previousKey);
+          found = cursor.getSearchKeyRange(previousKeyEntry) != null;
+          if (found && cursor.getKey().equals(previousKeyEntry)) {
+            found = cursor.getNext();
+          }
+        }
+
+        Map<String, Document> result = new LinkedHashMap<>();
+        while (found && result.size() < chunkSize) {
+          result.put(
+            StringBinding.entryToString(cursor.getKey()),
+            parseDocument(cursor.getValue()));
+          found = cursor.getNext();
+        }
+
+        return result.isEmpty() ? null : result;
+      }
+    });
+  }
+
   protected @NonNull Store store() {
     return this.store.get();
   }
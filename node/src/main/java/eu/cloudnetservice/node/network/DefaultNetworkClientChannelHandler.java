@@ -31,6 +31,8 @@
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.NodeServerState;
+import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
+import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.network.listener.PacketServerAuthorizationResponseListener;
 import jakarta.inject.Inject;
@@ -47,6 +49,7 @@ public final class DefaultNetworkClientChannelHandler implements NetworkChannelH
   private final EventManager eventManager;
   private final NodeNetworkUtil networkUtil;
   private final Configuration configuration;
+  private final DataSyncRegistry dataSyncRegistry;
   private final NodeServerProvider nodeServerProvider;
 
   @Inject
@@ -54,11 +57,13 @@ public DefaultNetworkClientChannelHandler(
     @NonNull EventManager eventManager,
     @NonNull NodeNetworkUtil networkUtil,
     @NonNull Configuration configuration,
+    @NonNull DataSyncRegistry dataSyncRegistry,
     @NonNull NodeServerProvider nodeServerProvider
   ) {
     this.eventManager = eventManager;
     this.networkUtil = networkUtil;
     this.configuration = configuration;
+    this.dataSyncRegistry = dataSyncRegistry;
     this.nodeServerProvider = nodeServerProvider;
   }
 
@@ -69,12 +74,15 @@ public void handleChannelInitialize(@NonNull NetworkChannel channel) {
       channel.packetRegistry().addListener(
         NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL,
         PacketServerAuthorizationResponseListener.class);
-      // send the authentication request
+      // send the authentication request, including the digest of our data in case the other node needs to sync
+      // and announcing that we are able to decode node info snapshot deltas
       channel.sendPacket(new PacketClientAuthorization(
         PacketClientAuthorization.PacketAuthorizationType.NODE_TO_NODE,
         DataBuf.empty()
           .writeUniqueId(this.configuration.clusterConfig().clusterId())
-          .writeObject(this.configuration.identity())));
+          .writeObject(this.configuration.identity())
+          .writeDataBuf(this.dataSyncRegistry.prepareClusterDigest(DataSyncHandler::alwaysForceApply))
+          .writeBoolean(true)));
 
       LOGGER.fine(I18n.trans("client-network-channel-init",
         channel.serverAddress(),
@@ -24,6 +24,7 @@
 import eu.cloudnetservice.driver.network.chunk.network.ChunkedPacketListener;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.PacketListenerRegistry;
+import eu.cloudnetservice.driver.network.rpc.listener.RPCBatchPacketListener;
 import eu.cloudnetservice.driver.network.rpc.listener.RPCPacketListener;
 import eu.cloudnetservice.node.network.listener.PacketServerChannelMessageListener;
 import jakarta.inject.Inject;
@@ -47,6 +48,7 @@ boolean shouldInitializeChannel(@NonNull NetworkChannel channel, @NonNull Channe
   public void addDefaultPacketListeners(@NonNull PacketListenerRegistry registry) {
     registry.addListener(NetworkConstants.CHANNEL_MESSAGING_CHANNEL, PacketServerChannelMessageListener.class);
     registry.addListener(NetworkConstants.INTERNAL_RPC_COM_CHANNEL, RPCPacketListener.class);
+    registry.addListener(NetworkConstants.INTERNAL_RPC_BATCH_COM_CHANNEL, RPCBatchPacketListener.class);
     registry.addListener(
       NetworkConstants.CHUNKED_PACKET_COM_CHANNEL,
       new ChunkedPacketListener(EventChunkHandlerFactory.withEventManager(this.eventManager)));
@@ -22,6 +22,7 @@
 import eu.cloudnetservice.driver.cluster.NetworkClusterNode;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.def.PacketClientAuthorization;
 import eu.cloudnetservice.driver.network.protocol.Packet;
@@ -31,6 +32,7 @@
 import eu.cloudnetservice.node.cluster.NodeServerState;
 import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import eu.cloudnetservice.node.cluster.util.NodeInfoSnapshotCodec;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.event.network.NetworkClusterNodeAuthSuccessEvent;
 import eu.cloudnetservice.node.event.network.NetworkClusterNodeReconnectEvent;
@@ -53,6 +55,7 @@ public final class PacketClientAuthorizationListener implements PacketListener {
   private final DataSyncRegistry dataSyncRegistry;
   private final NodeServerProvider nodeServerProvider;
   private final CloudServiceManager cloudServiceManager;
+  private final NodeInfoSnapshotCodec snapshotCodec;
 
   @Inject
   public PacketClientAuthorizationListener(
@@ -61,7 +64,8 @@ public PacketClientAuthorizationListener(
     @NonNull NodeNetworkUtil networkUtil,
     @NonNull DataSyncRegistry dataSyncRegistry,
     @NonNull NodeServerProvider nodeServerProvider,
-    @NonNull CloudServiceManager cloudServiceManager
+    @NonNull CloudServiceManager cloudServiceManager,
+    @NonNull NodeInfoSnapshotCodec snapshotCodec
   ) {
     this.eventManager = eventManager;
     this.configuration = configuration;
@@ -69,6 +73,7 @@ public PacketClientAuthorizationListener(
     this.dataSyncRegistry = dataSyncRegistry;
     this.nodeServerProvider = nodeServerProvider;
     this.cloudServiceManager = cloudServiceManager;
+    this.snapshotCodec = snapshotCodec;
   }
 
   @Override
@@ -87,17 +92,27 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
           if (!this.configuration.clusterConfig().clusterId().equals(clusterId)) {
             break;
           }
+          // nodes running an older version are not sending a digest of their data, and are not announcing their
+          // support of node info snapshot deltas
+          var remoteDigest = hasRemaining(content) ? content.readDataBuf() : null;
+          var supportsDeltas = hasRemaining(content) && content.readBoolean();
           // search for the node server which represents the connected node and initialize it
           for (var server : this.nodeServerProvider.nodeServers()) {
             if (server.info().uniqueId().equals(node.uniqueId())) {
+              this.snapshotCodec.deltaSupport(node.uniqueId(), supportsDeltas);
               // add the required packet listeners
               this.networkUtil.addDefaultPacketListeners(channel.packetRegistry());
               channel.packetRegistry().removeListeners(NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL);
               // check if the node is currently marked disconnected and reconnected to the network
               if (server.state() == NodeServerState.DISCONNECTED) {
-                // respond with an auth success
-                var data = this.dataSyncRegistry.prepareClusterData(true, DataSyncHandler::alwaysForceApply);
-                channel.sendPacket(new PacketServerAuthorizationResponse(true, true, data));
+                // respond with an auth success, only including the data which changed on our side
+                // send all data if the other node didn't send a digest of its data
+                var data = this.dataSyncRegistry.prepareClusterData(
+                  true,
+                  DataSyncHandler::alwaysForceApply,
+                  remoteDigest);
+                var digest = this.dataSyncRegistry.prepareClusterDigest(DataSyncHandler::alwaysForceApply);
+                channel.sendPacket(new PacketServerAuthorizationResponse(true, true, data, digest));
                 channel.packetRegistry().addListener(
                   NetworkConstants.INTERNAL_SERVICE_SYNC_ACK_CHANNEL,
                   PacketClientServiceSyncAckListener.class);
@@ -107,7 +122,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
                 this.eventManager.callEvent(new NetworkClusterNodeReconnectEvent(server, channel));
               } else {
                 // reply with a default auth success
-                channel.sendPacket(new PacketServerAuthorizationResponse(true, false, null));
+                channel.sendPacket(new PacketServerAuthorizationResponse(true, false, null, null));
                 // set the state of the node for further handling
                 server.channel(channel);
                 server.state(NodeServerState.READY);
@@ -138,7 +153,7 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
             channel.packetRegistry().removeListeners(NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL);
             this.networkUtil.addDefaultPacketListeners(channel.packetRegistry());
             // successful auth
-            channel.sendPacket(new PacketServerAuthorizationResponse(true, false, null));
+            channel.sendPacket(new PacketServerAuthorizationResponse(true, false, null, null));
             // call the auth success event
             this.eventManager.callEvent(new NetworkServiceAuthSuccessEvent(service, channel));
             var serviceId = service.serviceId();
@@ -157,7 +172,12 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
       }
     }
     // auth not successful
-    channel.sendPacketSync(new PacketServerAuthorizationResponse(false, false, null));
+    channel.sendPacketSync(new PacketServerAuthorizationResponse(false, false, null, null));
     channel.close();
   }
+
+  private static boolean hasRemaining(@NonNull DataBuf content) {
+    // the buffer is released once it was read fully
+    return content.accessible() && content.readableBytes() > 0;
+  }
 }
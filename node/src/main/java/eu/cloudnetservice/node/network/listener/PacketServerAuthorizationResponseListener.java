@@ -20,6 +20,7 @@
 import eu.cloudnetservice.common.log.LogManager;
 import eu.cloudnetservice.common.log.Logger;
 import eu.cloudnetservice.driver.network.NetworkChannel;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.protocol.Packet;
 import eu.cloudnetservice.driver.network.protocol.PacketListener;
@@ -27,6 +28,7 @@
 import eu.cloudnetservice.node.cluster.NodeServerState;
 import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import eu.cloudnetservice.node.cluster.util.NodeInfoSnapshotCodec;
 import eu.cloudnetservice.node.cluster.util.QueuedNetworkChannel;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.network.NodeNetworkUtil;
@@ -45,18 +47,21 @@ public final class PacketServerAuthorizationResponseListener implements PacketLi
   private final NodeNetworkUtil networkUtil;
   private final DataSyncRegistry dataSyncRegistry;
   private final NodeServerProvider nodeServerProvider;
+  private final NodeInfoSnapshotCodec snapshotCodec;
 
   @Inject
   public PacketServerAuthorizationResponseListener(
     @NonNull Configuration configuration,
     @NonNull NodeNetworkUtil networkUtil,
     @NonNull DataSyncRegistry dataSyncRegistry,
-    @NonNull NodeServerProvider nodeServerProvider
+    @NonNull NodeServerProvider nodeServerProvider,
+    @NonNull NodeInfoSnapshotCodec snapshotCodec
   ) {
     this.configuration = configuration;
     this.networkUtil = networkUtil;
     this.dataSyncRegistry = dataSyncRegistry;
     this.nodeServerProvider = nodeServerProvider;
+    this.snapshotCodec = snapshotCodec;
   }
 
   @Override
@@ -72,9 +77,17 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
         .orElse(null);
       if (server != null) {
         // check if this was a reconnection from the point of view of the other node
-        if (packet.content().readBoolean()) {
+        var reconnect = packet.content().readBoolean();
+        // the sync data and the digest of the other node are only present on a reconnect
+        var content = packet.content();
+        var syncData = content.readObject(DataBuf.class);
+        var remoteDigest = hasRemaining(content) ? content.readObject(DataBuf.class) : null;
+        // nodes running an older version are not announcing their support of node info snapshot deltas
+        var supportsDeltas = hasRemaining(content) && content.readBoolean();
+        this.snapshotCodec.deltaSupport(server.info().uniqueId(), supportsDeltas);
+
+        if (reconnect && syncData != null) {
           // handle the data sync
-          var syncData = packet.content().readDataBuf();
           this.dataSyncRegistry.handle(syncData, syncData.readBoolean());
 
           // check if there are pending packets for the node
@@ -86,10 +99,11 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
           var local = this.nodeServerProvider.localNode();
           local.updateLocalSnapshot();
 
-          // acknowledge the packet
+          // acknowledge the packet, only including the data which changed on our side
           var data = this.dataSyncRegistry.prepareClusterData(
             true,
-            DataSyncHandler::alwaysForceApply);
+            DataSyncHandler::alwaysForceApply,
+            remoteDigest);
           channel.sendPacketSync(new PacketServerServiceSyncAckPacket(local.nodeInfoSnapshot(), data));
 
           // close the old channel
@@ -111,4 +125,9 @@ public void handle(@NonNull NetworkChannel channel, @NonNull Packet packet) {
     channel.close();
     LOGGER.warning(I18n.trans("cluster-server-networking-authorization-failed", channel.serverAddress()));
   }
+
+  private static boolean hasRemaining(@NonNull DataBuf content) {
+    // the buffer is released once it was read fully
+    return content.accessible() && content.readableBytes() > 0;
+  }
 }
@@ -29,7 +29,9 @@
 import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.node.cluster.NodeServerProvider;
 import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import eu.cloudnetservice.node.cluster.util.NodeInfoSnapshotCodec;
 import eu.cloudnetservice.node.config.Configuration;
+import eu.cloudnetservice.node.database.DatabaseNearCacheRegistry;
 import eu.cloudnetservice.node.event.cluster.NetworkClusterNodeInfoUpdateEvent;
 import eu.cloudnetservice.node.provider.NodeClusterNodeProvider;
 import jakarta.inject.Inject;
@@ -46,6 +48,8 @@ public final class NodeChannelMessageListener {
   private final DataSyncRegistry dataSyncRegistry;
   private final NodeClusterNodeProvider nodeInfoProvider;
   private final NodeServerProvider nodeServerProvider;
+  private final NodeInfoSnapshotCodec snapshotCodec;
+  private final DatabaseNearCacheRegistry nearCacheRegistry;
 
   @Inject
   public NodeChannelMessageListener(
@@ -53,13 +57,17 @@ public NodeChannelMessageListener(
     @NonNull Configuration configuration,
     @NonNull DataSyncRegistry dataSyncRegistry,
     @NonNull NodeClusterNodeProvider nodeInfoProvider,
-    @NonNull NodeServerProvider nodeServerProvider
+    @NonNull NodeServerProvider nodeServerProvider,
+    @NonNull NodeInfoSnapshotCodec snapshotCodec,
+    @NonNull DatabaseNearCacheRegistry nearCacheRegistry
   ) {
     this.eventManager = eventManager;
     this.configuration = configuration;
     this.dataSyncRegistry = dataSyncRegistry;
     this.nodeInfoProvider = nodeInfoProvider;
     this.nodeServerProvider = nodeServerProvider;
+    this.snapshotCodec = snapshotCodec;
+    this.nearCacheRegistry = nearCacheRegistry;
   }
 
   @EventListener
@@ -67,16 +75,25 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
     if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)) {
       switch (event.message()) {
         // update a single node info snapshot
-        case "update_node_info_snapshot" -> {
-          var snapshot = event.content().readObject(NodeInfoSnapshot.class);
-          // get the associated node server
-          var server = this.nodeServerProvider.node(snapshot.node().uniqueId());
-          if (server != null) {
-            server.updateNodeInfoSnapshot(snapshot);
-            this.eventManager.callEvent(new NetworkClusterNodeInfoUpdateEvent(event.networkChannel(), snapshot));
+        case "update_node_info_snapshot" -> this.handleNodeInfoSnapshot(
+          event,
+          event.content().readObject(NodeInfoSnapshot.class));
+
+        // a delta or keyframe of a node info snapshot, deltas which can't be applied are dropped
+        case "update_node_info_snapshot_delta" -> {
+          var snapshot = this.snapshotCodec.decode(event.content(), this::requestNodeInfoSnapshotKeyframe);
+          if (snapshot != null) {
+            this.handleNodeInfoSnapshot(event, snapshot);
           }
         }
 
+        // another node missed a delta of our node info snapshot, send a keyframe with the next update
+        case "request_node_info_snapshot_keyframe" -> this.snapshotCodec.requestKeyframe();
+
+        // handles the request for the digest of the local data, sent before the actual data sync
+        case "request_cluster_data_digest" -> event.binaryResponse(
+          this.dataSyncRegistry.prepareClusterDigest($ -> true));
+
         // handles the sync requests of cluster data
         case "sync_cluster_data" -> {
           // handle the sync and send back the data to override on the caller
@@ -137,10 +154,36 @@ public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event) {
         // change the local draining state
         case "change_draining_state" -> this.nodeServerProvider.localNode().drain(event.content().readBoolean());
 
+        // a service started or stopped caching documents of a database locally
+        case NetworkConstants.DATABASE_NEAR_CACHE_SUBSCRIBE -> this.nearCacheRegistry.subscribe(
+          event.content().readString(),
+          event.sender().name());
+        case NetworkConstants.DATABASE_NEAR_CACHE_UNSUBSCRIBE -> this.nearCacheRegistry.unsubscribe(
+          event.content().readString(),
+          event.sender().name());
+
         // none of our business
         default -> {
         }
       }
     }
   }
+
+  private void handleNodeInfoSnapshot(@NonNull ChannelMessageReceiveEvent event, @NonNull NodeInfoSnapshot snapshot) {
+    // get the associated node server
+    var server = this.nodeServerProvider.node(snapshot.node().uniqueId());
+    if (server != null) {
+      server.updateNodeInfoSnapshot(snapshot);
+      this.eventManager.callEvent(new NetworkClusterNodeInfoUpdateEvent(event.networkChannel(), snapshot));
+    }
+  }
+
+  private void requestNodeInfoSnapshotKeyframe(@NonNull String nodeId) {
+    ChannelMessage.builder()
+      .targetNode(nodeId)
+      .message("request_node_info_snapshot_keyframe")
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .build()
+      .send();
+  }
 }
@@ -23,12 +23,20 @@
 
 public final class PacketServerAuthorizationResponse extends BasePacket {
 
-  public PacketServerAuthorizationResponse(boolean success, boolean reconnect, @Nullable DataBuf extraData) {
+  public PacketServerAuthorizationResponse(
+    boolean success,
+    boolean reconnect,
+    @Nullable DataBuf extraData,
+    @Nullable DataBuf dataDigest
+  ) {
     super(
       NetworkConstants.INTERNAL_AUTHORIZATION_CHANNEL,
       DataBuf.empty()
         .writeBoolean(success)
         .writeBoolean(reconnect)
-        .writeObject(extraData));
+        .writeObject(extraData)
+        .writeObject(dataDigest)
+        // announce that we are able to decode node info snapshot deltas
+        .writeBoolean(true));
   }
 }
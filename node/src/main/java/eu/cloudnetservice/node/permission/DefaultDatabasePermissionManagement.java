@@ -122,6 +122,9 @@ public void init() {
       this.loadGroups();
     }
 
+    // users are looked up by their name, index the name field to prevent a full scan of the user database
+    this.userDatabaseTable().createIndex("name");
+
     this.eventManager.registerListener(this.networkListener);
     this.rpcFactory.newHandler(PermissionManagement.class, this).registerTo(this.handlerRegistry);
   }
@@ -410,6 +413,9 @@ public void setGroupsSilently(@Nullable Collection<PermissionGroup> groups) {
       }
       // save the groups
       this.saveGroups();
+    } else {
+      // the groups were removed, all compiled permissions are outdated
+      this.invalidatePermissionEvaluators();
     }
   }
 
@@ -428,6 +434,8 @@ public void permissionManagementHandler(@NonNull PermissionManagementHandler han
   }
 
   protected void saveGroups() {
+    // the groups changed, all compiled permissions might be outdated
+    this.invalidatePermissionEvaluators();
     // sort the groups
     List<PermissionGroup> groups = new ArrayList<>(this.groups.values());
     Collections.sort(groups);
@@ -79,23 +79,28 @@ public void sendChannelMessage(@NonNull ChannelMessage message) {
   public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClusterRedirect) {
     // find the target channels to send the message to
     var channels = this.findChannels(message.targets(), allowClusterRedirect);
-    for (var channel : channels) {
-      // acquire the message content for each channel we're sending the message to
-      // when writing the message content to the target buffer, the message is released
-      // that means when the message was written to all channels it's released unless someone acquired it before
-      message.content().acquire();
+    if (channels.isEmpty()) {
+      // no target channels found, release the message now
+      message.content().release();
+      return;
+    }
 
-      // construct and send the packet
-      var packet = new PacketServerChannelMessage(message, false);
-      if (message.sendSync()) {
-        channel.sendPacketSync(packet);
-      } else {
-        channel.sendPacket(packet);
+    // encode the message only once, this releases the message content
+    var encodedMessage = PacketServerChannelMessage.encode(message, false);
+    try {
+      for (var channel : channels) {
+        // each packet gets a duplicate of the encoded message, sharing the memory with the encoded message
+        var packet = new PacketServerChannelMessage(message.prioritized(), encodedMessage.retainedDuplicate());
+        if (message.sendSync()) {
+          channel.sendPacketSync(packet);
+        } else {
+          channel.sendPacket(packet);
+        }
       }
+    } finally {
+      // the shared memory is freed once all packets were written
+      encodedMessage.release();
     }
-
-    // release the message now
-    message.content().release();
   }
 
   public @NonNull Task<Collection<ChannelMessage>> sendChannelMessageQueryAsync(
@@ -113,28 +118,28 @@ public void sendChannelMessage(@NonNull ChannelMessage message, boolean allowClu
       Set<ChannelMessage> result = new HashSet<>();
       var task = new CountingTask<Collection<ChannelMessage>>(result, channels.size());
 
-      // send the packet to each channel
-      for (var channel : channels) {
-        // acquire the message content for each channel we're sending the message to
-        // when writing the message content to the target buffer, the message is released
-        // that means when the message was written to all channels it's released unless someone acquired it before
-        message.content().acquire();
-
-        channel.sendQueryAsync(new PacketServerChannelMessage(message, false)).whenComplete((packet, th) -> {
-          // check if we got an actual result from the request
-          if (th == null && packet.readable()) {
-            // add all resulting messages we got
-            result.addAll(packet.content().readObject(COL_MSG));
-          }
+      // encode the message only once, this releases the message content
+      var encodedMessage = PacketServerChannelMessage.encode(message, false);
+      try {
+        // send the packet to each channel, each packet gets a duplicate of the encoded message
+        for (var channel : channels) {
+          var packet = new PacketServerChannelMessage(message.prioritized(), encodedMessage.retainedDuplicate());
+          channel.sendQueryAsync(packet).whenComplete((response, th) -> {
+            // check if we got an actual result from the request
+            if (th == null && response.readable()) {
+              // add all resulting messages we got
+              result.addAll(response.content().readObject(COL_MSG));
+            }
 
-          // count down - one channel responded
-          task.countDown();
-        });
+            // count down - one channel responded
+            task.countDown();
+          });
+        }
+      } finally {
+        // the shared memory is freed once all packets were written
+        encodedMessage.release();
       }
 
-      // release the message now
-      message.content().release();
-
       // return the task on which the user can wait
       return task;
     }
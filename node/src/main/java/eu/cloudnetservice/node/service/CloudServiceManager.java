@@ -93,6 +93,9 @@ void addServicePreparer(
   @ApiStatus.Internal
   void unregisterLocalService(@NonNull CloudService service);
 
+  @ApiStatus.Internal
+  void handleLocalServiceLifeCycleChange(@NonNull CloudService service);
+
   @ApiStatus.Internal
   void registerUnacceptedService(@NonNull CloudService service);
 
@@ -30,6 +30,7 @@
 import eu.cloudnetservice.driver.channel.ChannelMessageTarget;
 import eu.cloudnetservice.driver.document.Document;
 import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.network.HostAndPort;
 import eu.cloudnetservice.driver.network.NetworkChannel;
 import eu.cloudnetservice.driver.network.buffer.DataBuf;
@@ -59,6 +60,7 @@
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.ServiceConfigurationPreparer;
 import eu.cloudnetservice.node.service.ServiceConsoleLogCache;
+import eu.cloudnetservice.node.template.TemplateCache;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import java.net.Inet6Address;
 import java.nio.charset.StandardCharsets;
@@ -104,6 +106,7 @@ public abstract class AbstractService implements CloudService {
   protected final ServiceConfiguration serviceConfiguration;
   protected final ServiceVersionProvider serviceVersionProvider;
   protected final ServiceConfigurationPreparer serviceConfigurationPreparer;
+  protected final TemplateCache templateCache;
 
   protected final Lock lifecycleLock = new ReentrantLock(true);
   protected final Set<Tuple2<ChannelMessageTarget, String>> logTargets = ConcurrentHashMap.newKeySet();
@@ -132,6 +135,27 @@ protected AbstractService(
     @NonNull EventManager eventManager,
     @NonNull ServiceVersionProvider versionProvider,
     @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer
+  ) {
+    this(
+      tickLoop,
+      nodeConfig,
+      configuration,
+      manager,
+      eventManager,
+      versionProvider,
+      serviceConfigurationPreparer,
+      InjectionLayer.boot().instance(TemplateCache.class));
+  }
+
+  protected AbstractService(
+    @NonNull TickLoop tickLoop,
+    @NonNull Configuration nodeConfig,
+    @NonNull ServiceConfiguration configuration,
+    @NonNull CloudServiceManager manager,
+    @NonNull EventManager eventManager,
+    @NonNull ServiceVersionProvider versionProvider,
+    @NonNull ServiceConfigurationPreparer serviceConfigurationPreparer,
+    @NonNull TemplateCache templateCache
   ) {
     this.mainThread = tickLoop;
     this.configuration = nodeConfig;
@@ -140,6 +164,7 @@ protected AbstractService(
     this.serviceConfiguration = configuration;
     this.serviceVersionProvider = versionProvider;
     this.serviceConfigurationPreparer = serviceConfigurationPreparer;
+    this.templateCache = templateCache;
 
     this.connectionKey = StringUtil.generateRandomString(64);
     this.serviceDirectory = resolveServicePath(configuration.serviceId(), manager, configuration.staticService());
@@ -346,7 +371,7 @@ public void includeWaitingServiceTemplates(boolean force) {
         var storage = template.storage();
         if (!this.eventManager.callEvent(new CloudServiceTemplateLoadEvent(this, storage, template)).cancelled()) {
           // the event is not cancelled - copy the template
-          storage.pull(template, this.serviceDirectory);
+          this.templateCache.pull(storage, template, this.serviceDirectory);
           // we've pulled the template
           this.installedTemplates.add(template);
         }
@@ -639,9 +664,11 @@ protected void pushServiceInfoSnapshotUpdate(
       this.connectionTimestamp,
       lifeCycle,
       Objects.requireNonNullElse(properties, this.lastServiceInfo.propertyHolder()));
-    // remove the service in the local manager if the service was deleted
+    // remove the service in the local manager if the service was deleted, update the indexed life cycle otherwise
     if (lifeCycle == ServiceLifeCycle.DELETED) {
       this.cloudServiceManager.unregisterLocalService(this);
+    } else {
+      this.cloudServiceManager.handleLocalServiceLifeCycleChange(this);
     }
 
     if (sendUpdate) {
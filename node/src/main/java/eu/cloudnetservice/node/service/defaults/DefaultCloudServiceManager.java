@@ -97,6 +97,8 @@ public class DefaultCloudServiceManager implements CloudServiceManager {
   protected final CloudServiceFactory cloudServiceFactory;
 
   protected final Map<UUID, SpecificCloudServiceProvider> knownServices = new ConcurrentHashMap<>();
+  // secondary indexes of the known services, all modifications must be synchronized on the index
+  protected final ServiceIndex serviceIndex = new ServiceIndex();
   protected final Cache<UUID, CloudService> localUnacceptedServices = Caffeine.newBuilder()
     .expireAfterWrite(Duration.ofMinutes(1))
     .build();
@@ -178,13 +180,8 @@ private void registerDefaultServiceFactory() {
 
   @Override
   public @NonNull SpecificCloudServiceProvider serviceProviderByName(@NonNull String serviceName) {
-    return this.knownServices.values().stream()
-      .filter(provider -> {
-        var serviceInfo = provider.serviceInfo();
-        return serviceInfo != null && serviceInfo.serviceId().name().equals(serviceName);
-      })
-      .findFirst()
-      .orElse(EmptySpecificCloudServiceProvider.INSTANCE);
+    var provider = this.serviceIndex.byName(serviceName);
+    return provider == null ? EmptySpecificCloudServiceProvider.INSTANCE : provider;
   }
 
   @Override
@@ -197,38 +194,22 @@ private void registerDefaultServiceFactory() {
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> runningServices() {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.lifeCycle() == ServiceLifeCycle.RUNNING)
-      .toList();
+    return this.snapshots(this.serviceIndex.byLifeCycle(ServiceLifeCycle.RUNNING));
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByTask(@NonNull String taskName) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.serviceId().taskName().equals(taskName))
-      .toList();
+    return this.snapshots(this.serviceIndex.byTask(taskName));
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByEnvironment(@NonNull String environment) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.serviceId().environmentName().equals(environment))
-      .toList();
+    return this.snapshots(this.serviceIndex.byEnvironment(environment));
   }
 
   @Override
   public @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> servicesByGroup(@NonNull String group) {
-    return this.knownServices.values().stream()
-      .map(SpecificCloudServiceProvider::serviceInfo)
-      .filter(Objects::nonNull)
-      .filter(snapshot -> snapshot.configuration().groups().contains(group))
-      .toList();
+    return this.snapshots(this.serviceIndex.byGroup(group));
   }
 
   @Override
@@ -238,12 +219,12 @@ public int serviceCount() {
 
   @Override
   public int serviceCountByGroup(@NonNull String group) {
-    return this.servicesByGroup(group).size();
+    return this.serviceIndex.byGroup(group).size();
   }
 
   @Override
   public int serviceCountByTask(@NonNull String taskName) {
-    return this.servicesByTask(taskName).size();
+    return this.serviceIndex.byTask(taskName).size();
   }
 
   @Override
@@ -436,12 +417,19 @@ public int currentReservedMemory() {
 
   @Override
   public void registerLocalService(@NonNull CloudService service) {
-    this.knownServices.putIfAbsent(service.serviceId().uniqueId(), service);
+    this.registerKnownService(service.serviceInfo(), service);
   }
 
   @Override
   public void unregisterLocalService(@NonNull CloudService service) {
-    this.knownServices.remove(service.serviceId().uniqueId());
+    this.removeKnownService(service.serviceId().uniqueId());
+  }
+
+  @Override
+  public void handleLocalServiceLifeCycleChange(@NonNull CloudService service) {
+    synchronized (this.serviceIndex) {
+      this.serviceIndex.updateLifeCycle(service.serviceId().uniqueId(), service.lifeCycle());
+    }
   }
 
   @Override
@@ -458,7 +446,7 @@ public void registerUnacceptedService(@NonNull CloudService service) {
 
   @Override
   public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
-    this.knownServices.remove(uniqueId);
+    this.removeKnownService(uniqueId);
   }
 
   @Override
@@ -481,7 +469,7 @@ public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
     ).newInstance(new Object[]{snapshot}, new Object[]{snapshot.serviceId().uniqueId()});
 
     // register the service and return the new provider, unless some other thread registered the service
-    var knownProvider = this.knownServices.putIfAbsent(serviceUniqueId, serviceProvider);
+    var knownProvider = this.registerKnownService(snapshot, serviceProvider);
     return knownProvider == null ? serviceProvider : null;
   }
 
@@ -489,7 +477,7 @@ public void forceRemoveRegisteredService(@NonNull UUID uniqueId) {
   public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable NetworkChannel source) {
     // deleted services were removed on the other node - remove it here too
     if (snapshot.lifeCycle() == ServiceLifeCycle.DELETED) {
-      this.knownServices.remove(snapshot.serviceId().uniqueId());
+      this.removeKnownService(snapshot.serviceId().uniqueId());
       LOGGER.fine("Deleted cloud service %s after lifecycle change to deleted", null, snapshot.serviceId());
     } else {
       // register the service if the provider is available
@@ -503,10 +491,12 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable
         // update the provider if possible - we need only to handle remote node providers as local providers will update
         // the snapshot directly "in" them
         remoteProvider.snapshot(snapshot);
+        this.updateIndexedLifeCycle(snapshot);
         LOGGER.fine("Updated service snapshot of %s to %s", null, snapshot.serviceId(), snapshot);
       } else if (provider instanceof CloudService localService) {
         // just set the service information locally - no further processing
         localService.updateServiceInfoSnapshot(snapshot);
+        this.updateIndexedLifeCycle(snapshot);
       }
     }
   }
@@ -580,6 +570,43 @@ public void handleServiceUpdate(@NonNull ServiceInfoSnapshot snapshot, @Nullable
     }
   }
 
+  protected @Nullable SpecificCloudServiceProvider registerKnownService(
+    @NonNull ServiceInfoSnapshot snapshot,
+    @NonNull SpecificCloudServiceProvider provider
+  ) {
+    synchronized (this.serviceIndex) {
+      var knownProvider = this.knownServices.putIfAbsent(snapshot.serviceId().uniqueId(), provider);
+      if (knownProvider == null) {
+        this.serviceIndex.add(snapshot, provider);
+      }
+      return knownProvider;
+    }
+  }
+
+  protected void removeKnownService(@NonNull UUID uniqueId) {
+    synchronized (this.serviceIndex) {
+      if (this.knownServices.remove(uniqueId) != null) {
+        this.serviceIndex.remove(uniqueId);
+      }
+    }
+  }
+
+  protected void updateIndexedLifeCycle(@NonNull ServiceInfoSnapshot snapshot) {
+    synchronized (this.serviceIndex) {
+      this.serviceIndex.updateLifeCycle(snapshot.serviceId().uniqueId(), snapshot.lifeCycle());
+    }
+  }
+
+  protected @UnmodifiableView @NonNull Collection<ServiceInfoSnapshot> snapshots(
+    @NonNull Collection<SpecificCloudServiceProvider> providers
+  ) {
+    // only visits the matching services, the current snapshot must be resolved each time as it changes frequently
+    return providers.stream()
+      .map(SpecificCloudServiceProvider::serviceInfo)
+      .filter(Objects::nonNull)
+      .toList();
+  }
+
   protected int calculateReservedMemoryPercentage(@NonNull NodeServer server) {
     // get the reserved memory on the given node based on the services which are running on it and sum it up
     var reservedMemory = this.services().stream()
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.provider.SpecificCloudServiceProvider;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+
+/**
+ * Secondary indexes over the services known to a service manager. The name, task, environment and groups of a service
+ * never change after it was created, therefore these are only indexed once when the service gets registered. The life
+ * cycle of a service must be updated explicitly whenever it changes.
+ * <p>
+ * Reads are lock-free and can be executed concurrently to writes. Writes must be synchronized externally, usually
+ * together with the write to the primary service map.
+ *
+ * @since 4.0
+ */
+final class ServiceIndex {
+
+  private final Map<UUID, IndexedService> services = new ConcurrentHashMap<>();
+
+  private final Map<String, SpecificCloudServiceProvider> servicesByName = new ConcurrentHashMap<>();
+  private final Map<String, Map<UUID, SpecificCloudServiceProvider>> servicesByTask = new ConcurrentHashMap<>();
+  private final Map<String, Map<UUID, SpecificCloudServiceProvider>> servicesByGroup = new ConcurrentHashMap<>();
+  private final Map<String, Map<UUID, SpecificCloudServiceProvider>> servicesByEnvironment = new ConcurrentHashMap<>();
+  private final Map<ServiceLifeCycle, Map<UUID, SpecificCloudServiceProvider>> servicesByLifeCycle;
+
+  public ServiceIndex() {
+    this.servicesByLifeCycle = new EnumMap<>(ServiceLifeCycle.class);
+    for (var lifeCycle : ServiceLifeCycle.values()) {
+      this.servicesByLifeCycle.put(lifeCycle, new ConcurrentHashMap<>());
+    }
+  }
+
+  public void add(@NonNull ServiceInfoSnapshot snapshot, @NonNull SpecificCloudServiceProvider provider) {
+    var serviceId = snapshot.serviceId();
+    var indexedService = new IndexedService(
+      provider,
+      serviceId.name(),
+      serviceId.taskName(),
+      serviceId.environmentName(),
+      Set.copyOf(snapshot.configuration().groups()),
+      snapshot.lifeCycle());
+
+    // remove the old entries in case the service was already indexed
+    var uniqueId = serviceId.uniqueId();
+    this.remove(uniqueId);
+    this.services.put(uniqueId, indexedService);
+
+    this.servicesByName.put(indexedService.name, provider);
+    addToBucket(this.servicesByTask, indexedService.task, uniqueId, provider);
+    addToBucket(this.servicesByEnvironment, indexedService.environment, uniqueId, provider);
+    for (var group : indexedService.groups) {
+      addToBucket(this.servicesByGroup, group, uniqueId, provider);
+    }
+    this.servicesByLifeCycle.get(indexedService.lifeCycle).put(uniqueId, provider);
+  }
+
+  public void remove(@NonNull UUID uniqueId) {
+    var indexedService = this.services.remove(uniqueId);
+    if (indexedService == null) {
+      return;
+    }
+
+    this.servicesByName.remove(indexedService.name, indexedService.provider);
+    removeFromBucket(this.servicesByTask, indexedService.task, uniqueId);
+    removeFromBucket(this.servicesByEnvironment, indexedService.environment, uniqueId);
+    for (var group : indexedService.groups) {
+      removeFromBucket(this.servicesByGroup, group, uniqueId);
+    }
+    this.servicesByLifeCycle.get(indexedService.lifeCycle).remove(uniqueId);
+  }
+
+  public void updateLifeCycle(@NonNull UUID uniqueId, @NonNull ServiceLifeCycle lifeCycle) {
+    var indexedService = this.services.get(uniqueId);
+    if (indexedService != null && indexedService.lifeCycle != lifeCycle) {
+      // add the service to the new life cycle before removing it to not lose it for concurrent readers
+      this.servicesByLifeCycle.get(lifeCycle).put(uniqueId, indexedService.provider);
+      this.servicesByLifeCycle.get(indexedService.lifeCycle).remove(uniqueId);
+      indexedService.lifeCycle = lifeCycle;
+    }
+  }
+
+  public @Nullable SpecificCloudServiceProvider byName(@NonNull String name) {
+    return this.servicesByName.get(name);
+  }
+
+  public @UnmodifiableView @NonNull Collection<SpecificCloudServiceProvider> byTask(@NonNull String task) {
+    return bucket(this.servicesByTask, task);
+  }
+
+  public @UnmodifiableView @NonNull Collection<SpecificCloudServiceProvider> byGroup(@NonNull String group) {
+    return bucket(this.servicesByGroup, group);
+  }
+
+  public @UnmodifiableView @NonNull Collection<SpecificCloudServiceProvider> byEnvironment(@NonNull String env) {
+    return bucket(this.servicesByEnvironment, env);
+  }
+
+  public @UnmodifiableView @NonNull Collection<SpecificCloudServiceProvider> byLifeCycle(
+    @NonNull ServiceLifeCycle lifeCycle
+  ) {
+    return Collections.unmodifiableCollection(this.servicesByLifeCycle.get(lifeCycle).values());
+  }
+
+  private static void addToBucket(
+    @NonNull Map<String, Map<UUID, SpecificCloudServiceProvider>> index,
+    @NonNull String key,
+    @NonNull UUID uniqueId,
+    @NonNull SpecificCloudServiceProvider provider
+  ) {
+    index.computeIfAbsent(key, $ -> new ConcurrentHashMap<>()).put(uniqueId, provider);
+  }
+
+  private static void removeFromBucket(
+    @NonNull Map<String, Map<UUID, SpecificCloudServiceProvider>> index,
+    @NonNull String key,
+    @NonNull UUID uniqueId
+  ) {
+    // drop the bucket once it's empty to not keep the buckets of old tasks and groups forever
+    index.computeIfPresent(key, ($, bucket) -> {
+      bucket.remove(uniqueId);
+      return bucket.isEmpty() ? null : bucket;
+    });
+  }
+
+  private static @UnmodifiableView @NonNull Collection<SpecificCloudServiceProvider> bucket(
+    @NonNull Map<String, Map<UUID, SpecificCloudServiceProvider>> index,
+    @NonNull String key
+  ) {
+    var bucket = index.get(key);
+    return bucket == null ? Set.of() : Collections.unmodifiableCollection(bucket.values());
+  }
+
+  private static final class IndexedService {
+
+    private final SpecificCloudServiceProvider provider;
+    private final String name;
+    private final String task;
+    private final String environment;
+    private final Set<String> groups;
+
+    private volatile ServiceLifeCycle lifeCycle;
+
+    public IndexedService(
+      @NonNull SpecificCloudServiceProvider provider,
+      @NonNull String name,
+      @NonNull String task,
+      @NonNull String environment,
+      @NonNull Set<String> groups,
+      @NonNull ServiceLifeCycle lifeCycle
+    ) {
+      this.provider = provider;
+      this.name = name;
+      this.task = task;
+      this.environment = environment;
+      this.groups = groups;
+      this.lifeCycle = lifeCycle;
+    }
+  }
+}
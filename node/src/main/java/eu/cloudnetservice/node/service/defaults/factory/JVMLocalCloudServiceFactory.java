@@ -17,12 +17,14 @@
 package eu.cloudnetservice.node.service.defaults.factory;
 
 import eu.cloudnetservice.driver.event.EventManager;
+import eu.cloudnetservice.driver.inject.InjectionLayer;
 import eu.cloudnetservice.driver.service.ServiceConfiguration;
 import eu.cloudnetservice.node.TickLoop;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.CloudServiceManager;
 import eu.cloudnetservice.node.service.defaults.JVMService;
+import eu.cloudnetservice.node.template.TemplateCache;
 import eu.cloudnetservice.node.version.ServiceVersionProvider;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
@@ -34,19 +36,38 @@ public class JVMLocalCloudServiceFactory extends BaseLocalCloudServiceFactory {
   protected final TickLoop mainThread;
   protected final EventManager eventManager;
   protected final CloudServiceManager cloudServiceManager;
+  protected final TemplateCache templateCache;
 
-  @Inject
   public JVMLocalCloudServiceFactory(
     @NonNull TickLoop tickLoop,
     @NonNull Configuration nodeConfig,
     @NonNull CloudServiceManager cloudServiceManager,
     @NonNull EventManager eventManager,
     @NonNull ServiceVersionProvider versionProvider
+  ) {
+    this(
+      tickLoop,
+      nodeConfig,
+      cloudServiceManager,
+      eventManager,
+      versionProvider,
+      InjectionLayer.boot().instance(TemplateCache.class));
+  }
+
+  @Inject
+  public JVMLocalCloudServiceFactory(
+    @NonNull TickLoop tickLoop,
+    @NonNull Configuration nodeConfig,
+    @NonNull CloudServiceManager cloudServiceManager,
+    @NonNull EventManager eventManager,
+    @NonNull ServiceVersionProvider versionProvider,
+    @NonNull TemplateCache templateCache
   ) {
     super(nodeConfig, versionProvider);
     this.mainThread = tickLoop;
     this.eventManager = eventManager;
     this.cloudServiceManager = cloudServiceManager;
+    this.templateCache = templateCache;
   }
 
   @Override
@@ -66,7 +87,8 @@ public JVMLocalCloudServiceFactory(
       manager,
       this.eventManager,
       this.versionProvider,
-      preparer);
+      preparer,
+      this.templateCache);
   }
 
   @Override
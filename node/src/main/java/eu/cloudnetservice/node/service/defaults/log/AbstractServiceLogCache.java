@@ -28,7 +28,6 @@
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import lombok.NonNull;
 import org.jetbrains.annotations.UnmodifiableView;
 
@@ -38,7 +37,7 @@ public abstract class AbstractServiceLogCache implements ServiceConsoleLogCache
 
   protected final CloudService service;
 
-  protected final Queue<String> cachedLogMessages = new ConcurrentLinkedQueue<>();
+  protected final ServiceLogRingBuffer cachedLogMessages;
   protected final Set<ServiceConsoleLineHandler> handlers = ConcurrentHashMap.newKeySet();
 
   protected volatile int logCacheSize;
@@ -47,6 +46,7 @@ public abstract class AbstractServiceLogCache implements ServiceConsoleLogCache
   public AbstractServiceLogCache(@NonNull Configuration configuration, @NonNull CloudService service) {
     this.service = service;
     this.logCacheSize = configuration.maxServiceConsoleLogCacheSize();
+    this.cachedLogMessages = new ServiceLogRingBuffer(this.logCacheSize);
     this.alwaysPrintErrorStreamToConsole = configuration.printErrorStreamLinesFromServices();
   }
 
@@ -69,6 +69,11 @@ public int logCacheSize() {
   public void logCacheSize(int cacheSize) {
     Preconditions.checkArgument(cacheSize >= 0, "Cache size must be higher or equal to 0");
     this.logCacheSize = cacheSize;
+    this.cachedLogMessages.capacity(cacheSize);
+  }
+
+  public long droppedLogLines() {
+    return this.cachedLogMessages.droppedLines();
   }
 
   @Override
@@ -97,16 +102,12 @@ public void removeHandler(@NonNull ServiceConsoleLineHandler handler) {
   }
 
   protected void handleItem(@NonNull String entry, boolean comesFromErrorStream) {
-    // drain the cache
-    while (this.cachedLogMessages.size() > this.logCacheSize) {
-      this.cachedLogMessages.poll();
-    }
     // print the line to the console if enabled
     if (this.alwaysPrintErrorStreamToConsole && comesFromErrorStream) {
       LOGGER.warning(String.format("[%s/SERR]: %s", this.service.serviceId().name(), entry));
     }
-    // add the line
-    this.cachedLogMessages.add(entry);
+    // add the line, overwriting the oldest line if the cache is full
+    this.cachedLogMessages.offer(entry);
     // call all handlers
     if (!this.handlers.isEmpty()) {
       for (var handler : this.handlers) {
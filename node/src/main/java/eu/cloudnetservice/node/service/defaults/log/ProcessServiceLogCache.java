@@ -16,21 +16,33 @@
 
 package eu.cloudnetservice.node.service.defaults.log;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import eu.cloudnetservice.node.config.Configuration;
 import eu.cloudnetservice.node.service.CloudService;
 import eu.cloudnetservice.node.service.ServiceConsoleLogCache;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.function.Supplier;
 import lombok.NonNull;
 
 public class ProcessServiceLogCache extends AbstractServiceLogCache {
 
+  // lines longer than this are split into multiple lines
+  protected static final int MAX_LINE_LENGTH = 8192;
+  // process streams can't be selected, each stream gets pumped by a blocking reader on its own thread
+  protected static final ExecutorService LOG_PUMP_EXECUTOR = Executors.newCachedThreadPool(new ThreadFactoryBuilder()
+    .setNameFormat("Service-Log-Pump-%d")
+    .setDaemon(true)
+    .build());
+
   protected final Supplier<Process> processSupplier;
 
-  protected final byte[] buffer = new byte[2048];
-  protected final StringBuffer stringBuffer = new StringBuffer();
+  // the process of which the output streams are currently pumped
+  protected volatile Process pumpedProcess;
 
   public ProcessServiceLogCache(
     @NonNull Supplier<Process> processSupplier,
@@ -43,43 +55,63 @@ public ProcessServiceLogCache(
 
   @Override
   public @NonNull ServiceConsoleLogCache update() {
-    // check if we can currently update
+    // start pumping the streams of the current process if not already done
     var process = this.processSupplier.get();
-    if (process != null) {
-      try {
-        this.readStream(process.getInputStream(), false);
-        this.readStream(process.getErrorStream(), true);
-      } catch (IOException exception) {
-        LOGGER.severe("Exception updating content of console for service %s",
-          exception,
-          this.service.serviceId().name());
-        // reset the string buffer
-        this.stringBuffer.setLength(0);
+    if (process != null && process != this.pumpedProcess) {
+      synchronized (this) {
+        if (process != this.pumpedProcess) {
+          this.pumpedProcess = process;
+          LOG_PUMP_EXECUTOR.execute(() -> this.pumpStream(process.getInputStream(), false));
+          LOG_PUMP_EXECUTOR.execute(() -> this.pumpStream(process.getErrorStream(), true));
+        }
       }
     }
     // for chaining
     return this;
   }
 
-  protected void readStream(@NonNull InputStream stream, boolean isErrorStream) throws IOException {
-    int len;
-    while (stream.available() > 0 && (len = stream.read(this.buffer, 0, this.buffer.length)) != -1) {
-      this.stringBuffer.append(new String(this.buffer, 0, len, StandardCharsets.UTF_8));
-    }
+  protected void pumpStream(@NonNull InputStream stream, boolean isErrorStream) {
+    var line = new StringBuilder();
+    var buffer = new char[2048];
 
-    // check if we got a result we can work with
-    var content = this.stringBuffer.toString();
-    if (content.contains("\n") || content.contains("\r")) {
-      for (var input : content.split("\r")) {
-        for (var text : input.split("\n")) {
-          if (!text.trim().isEmpty()) {
-            this.handleItem(text, isErrorStream);
+    // decode the stream incrementally, the reader blocks until data is available or the process exited
+    try (var reader = new InputStreamReader(stream, StandardCharsets.UTF_8)) {
+      int read;
+      while ((read = reader.read(buffer, 0, buffer.length)) != -1) {
+        for (var index = 0; index < read; index++) {
+          var character = buffer[index];
+          if (character == '\n' || character == '\r') {
+            this.flushLine(line, isErrorStream);
+          } else {
+            line.append(character);
+            if (line.length() >= MAX_LINE_LENGTH) {
+              this.flushLine(line, isErrorStream);
+            }
           }
         }
       }
+    } catch (IOException exception) {
+      LOGGER.fine("Exception reading console of service %s", exception, this.service.serviceId().name());
     }
 
-    // reset the string buffer
-    this.stringBuffer.setLength(0);
+    // handle the remaining content of a line that was not terminated
+    this.flushLine(line, isErrorStream);
+  }
+
+  protected void flushLine(@NonNull StringBuilder line, boolean isErrorStream) {
+    if (!line.isEmpty()) {
+      var text = line.toString();
+      line.setLength(0);
+
+      if (!text.isBlank()) {
+        try {
+          this.handleItem(text, isErrorStream);
+        } catch (Exception exception) {
+          LOGGER.severe("Exception updating content of console for service %s",
+            exception,
+            this.service.serviceId().name());
+        }
+      }
+    }
   }
 }
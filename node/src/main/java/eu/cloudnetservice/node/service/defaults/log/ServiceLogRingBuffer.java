@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults.log;
+
+import com.google.common.base.Preconditions;
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import lombok.NonNull;
+
+/**
+ * A bounded queue holding the latest log lines of a service. If the buffer is full the oldest line is overwritten by
+ * the newly added line, adding a line never blocks or fails. The amount of overwritten lines is counted and can be
+ * retrieved using {@link #droppedLines()}. Iterators of this queue operate on a snapshot of the buffer.
+ */
+public final class ServiceLogRingBuffer extends AbstractQueue<String> {
+
+  private String[] lines;
+  private int head;
+  private int size;
+  private long droppedLines;
+
+  public ServiceLogRingBuffer(int capacity) {
+    Preconditions.checkArgument(capacity >= 0, "Capacity must be higher or equal to 0");
+    this.lines = new String[capacity];
+  }
+
+  @Override
+  public synchronized boolean offer(@NonNull String line) {
+    if (this.lines.length == 0) {
+      this.droppedLines++;
+    } else if (this.size == this.lines.length) {
+      // overwrite the oldest line
+      this.lines[this.head] = line;
+      this.head = (this.head + 1) % this.lines.length;
+      this.droppedLines++;
+    } else {
+      this.lines[(this.head + this.size) % this.lines.length] = line;
+      this.size++;
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized String poll() {
+    if (this.size == 0) {
+      return null;
+    }
+
+    var line = this.lines[this.head];
+    this.lines[this.head] = null;
+    this.head = (this.head + 1) % this.lines.length;
+    this.size--;
+    return line;
+  }
+
+  @Override
+  public synchronized String peek() {
+    return this.size == 0 ? null : this.lines[this.head];
+  }
+
+  @Override
+  public synchronized int size() {
+    return this.size;
+  }
+
+  @Override
+  public synchronized void clear() {
+    this.lines = new String[this.lines.length];
+    this.head = 0;
+    this.size = 0;
+  }
+
+  @Override
+  public @NonNull Iterator<String> iterator() {
+    return Collections.unmodifiableList(this.snapshot()).iterator();
+  }
+
+  public synchronized void capacity(int capacity) {
+    Preconditions.checkArgument(capacity >= 0, "Capacity must be higher or equal to 0");
+    if (capacity != this.lines.length) {
+      // keep the newest lines which fit into the new buffer
+      var snapshot = this.snapshot();
+      var kept = Math.min(capacity, snapshot.size());
+
+      this.lines = snapshot.subList(snapshot.size() - kept, snapshot.size()).toArray(new String[capacity]);
+      this.head = 0;
+      this.size = kept;
+      this.droppedLines += snapshot.size() - kept;
+    }
+  }
+
+  public synchronized int capacity() {
+    return this.lines.length;
+  }
+
+  public synchronized long droppedLines() {
+    return this.droppedLines;
+  }
+
+  private synchronized @NonNull ArrayList<String> snapshot() {
+    var snapshot = new ArrayList<String>(this.size);
+    for (var index = 0; index < this.size; index++) {
+      snapshot.add(this.lines[(this.head + index) % this.lines.length]);
+    }
+    return snapshot;
+  }
+}
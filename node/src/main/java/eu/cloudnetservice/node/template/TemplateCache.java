@@ -0,0 +1,260 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.template;
+
+import eu.cloudnetservice.common.hash.HashUtil;
+import eu.cloudnetservice.common.io.FileUtil;
+import eu.cloudnetservice.common.log.LogManager;
+import eu.cloudnetservice.common.log.Logger;
+import eu.cloudnetservice.driver.service.ServiceTemplate;
+import eu.cloudnetservice.driver.template.FileInfo;
+import eu.cloudnetservice.driver.template.TemplateStorage;
+import jakarta.inject.Singleton;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Materializes templates into service directories from a local cache. Each template is pulled from its storage once
+ * per version (derived from the file listing of the template) into the cache. Templates of the local storage are not
+ * cached, pulling them directly is a single copy already.
+ * <p>
+ * Immutable files of a cached template (jar files) are hard linked into the service directory, all other files are
+ * copied. The size and modification time of linked files are checked before each use of the cached template, a cached
+ * template with a linked file which was written in place is pulled again. Files are copied if the file system doesn't
+ * support hard links.
+ */
+@Singleton
+public class TemplateCache {
+
+  private static final Logger LOGGER = LogManager.logger(TemplateCache.class);
+
+  private static final boolean DISABLED = Boolean.getBoolean("cloudnet.template.cache.disabled");
+  private static final boolean HARD_LINKS = !Boolean.getBoolean("cloudnet.template.cache.no-hard-links");
+  private static final Path CACHE_DIRECTORY = FileUtil.TEMP_DIR.resolve("caches").resolve("templates");
+
+  protected final Map<String, CachedTemplate> cachedTemplates = new ConcurrentHashMap<>();
+  private final Map<String, ReadWriteLock> templateLocks = new ConcurrentHashMap<>();
+
+  /**
+   * Pulls the given template from the given storage into the given directory, using the cached version of the template
+   * if it is up-to-date.
+   *
+   * @param storage   the storage in which the template is stored.
+   * @param template  the template to pull.
+   * @param directory the directory to pull the template into.
+   * @return true if the template was pulled successfully, false otherwise.
+   * @throws NullPointerException if the given storage, template or directory is null.
+   */
+  public boolean pull(@NonNull TemplateStorage storage, @NonNull ServiceTemplate template, @NonNull Path directory) {
+    // the local storage copies the template directly, caching it would only add another copy
+    if (DISABLED || storage instanceof LocalTemplateStorage) {
+      return storage.pull(template, directory);
+    }
+
+    // storages which are not able to list their files can't be cached
+    var files = storage.listFiles(template, "", true);
+    if (files.isEmpty()) {
+      return storage.pull(template, directory);
+    }
+
+    var key = template.toString();
+    var version = version(files);
+    var lock = this.templateLocks.computeIfAbsent(key, $ -> new ReentrantReadWriteLock());
+
+    lock.readLock().lock();
+    try {
+      var cachedTemplate = this.cachedTemplates.get(key);
+      if (cachedTemplate == null || !cachedTemplate.usable(version)) {
+        // upgrade to the write lock to update the cached template
+        lock.readLock().unlock();
+        lock.writeLock().lock();
+        try {
+          cachedTemplate = this.cachedTemplates.get(key);
+          if (cachedTemplate == null || !cachedTemplate.usable(version)) {
+            cachedTemplate = this.populate(storage, template, files, key, version, cachedTemplate);
+          }
+        } finally {
+          // downgrade to the read lock, the cached template must not change while materializing it
+          lock.readLock().lock();
+          lock.writeLock().unlock();
+        }
+      }
+
+      // the template could not be cached, pull it directly
+      if (cachedTemplate == null) {
+        return storage.pull(template, directory);
+      }
+
+      this.materialize(cachedTemplate, directory);
+      return true;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  protected @Nullable CachedTemplate populate(
+    @NonNull TemplateStorage storage,
+    @NonNull ServiceTemplate template,
+    @NonNull Collection<FileInfo> files,
+    @NonNull String key,
+    @NonNull String version,
+    @Nullable CachedTemplate outdated
+  ) {
+    // remove the outdated version first
+    if (outdated != null) {
+      this.cachedTemplates.remove(key);
+      FileUtil.delete(outdated.directory());
+    }
+
+    var templateDirectory = CACHE_DIRECTORY.resolve(template.storage()).resolve(template.fullName());
+    var versionDirectory = templateDirectory.resolve(version);
+    var stagingDirectory = templateDirectory.resolve(version + '-' + UUID.randomUUID());
+
+    try {
+      // pull into a staging directory first to never expose a partially pulled template
+      FileUtil.createDirectory(stagingDirectory);
+      if (!storage.pull(template, stagingDirectory)) {
+        FileUtil.delete(stagingDirectory);
+        return null;
+      }
+
+      // storages are not required to pull empty directories, create all listed directories
+      for (var file : files) {
+        var target = stagingDirectory.resolve(file.path()).normalize();
+        if (file.directory() && target.startsWith(stagingDirectory)) {
+          FileUtil.createDirectory(target);
+        }
+      }
+
+      FileUtil.delete(versionDirectory);
+      Files.move(stagingDirectory, versionDirectory);
+
+      var cachedTemplate = new CachedTemplate(version, versionDirectory, linkableFiles(versionDirectory));
+      this.cachedTemplates.put(key, cachedTemplate);
+      return cachedTemplate;
+    } catch (IOException | RuntimeException exception) {
+      LOGGER.warning("Unable to cache template %s, pulling it directly", exception, template);
+      FileUtil.delete(stagingDirectory);
+      FileUtil.delete(versionDirectory);
+      return null;
+    }
+  }
+
+  protected void materialize(@NonNull CachedTemplate cachedTemplate, @NonNull Path directory) {
+    var source = cachedTemplate.directory();
+    FileUtil.createDirectory(directory);
+    FileUtil.walkFileTree(source, ($, file) -> {
+      var target = directory.resolve(source.relativize(file).toString());
+      if (Files.isDirectory(file)) {
+        // create the directory as well, it might be empty
+        FileUtil.createDirectory(target);
+      } else if (!cachedTemplate.linkedFiles().containsKey(file) || !this.link(file, target)) {
+        FileUtil.copy(file, target);
+      }
+    });
+  }
+
+  protected boolean link(@NonNull Path file, @NonNull Path target) {
+    try {
+      // an existing file must be replaced, it might be a leftover of a previous template
+      Files.deleteIfExists(target);
+      Files.createLink(target, file);
+      return true;
+    } catch (IOException | UnsupportedOperationException exception) {
+      LOGGER.fine("Unable to hard link cached template file %s to %s, copying it", exception, file, target);
+      return false;
+    }
+  }
+
+  protected static @NonNull Map<Path, FileState> linkableFiles(@NonNull Path directory) {
+    Map<Path, FileState> linkableFiles = new HashMap<>();
+    if (HARD_LINKS) {
+      FileUtil.walkFileTree(directory, ($, file) -> {
+        if (Files.isRegularFile(file) && file.getFileName().toString().endsWith(".jar")) {
+          var state = FileState.of(file);
+          if (state != null) {
+            linkableFiles.put(file, state);
+          }
+        }
+      });
+    }
+    return linkableFiles;
+  }
+
+  protected static @NonNull String version(@NonNull Iterable<FileInfo> files) {
+    List<FileInfo> sortedFiles = new ArrayList<>();
+    files.forEach(sortedFiles::add);
+    sortedFiles.sort(Comparator.comparing(FileInfo::path));
+
+    var state = new StringBuilder();
+    for (var file : sortedFiles) {
+      state.append(file.path())
+        .append(':').append(file.directory())
+        .append(':').append(file.size())
+        .append(':').append(file.lastModified())
+        .append('\n');
+    }
+    return HexFormat.of().formatHex(HashUtil.toSha256(state.toString()));
+  }
+
+  protected record CachedTemplate(
+    @NonNull String version,
+    @NonNull Path directory,
+    @NonNull Map<Path, FileState> linkedFiles
+  ) {
+
+    public boolean usable(@NonNull String version) {
+      if (!this.version.equals(version) || !Files.isDirectory(this.directory)) {
+        return false;
+      }
+
+      // a service might have written into a linked file in place, which changed the cached file as well
+      for (var entry : this.linkedFiles.entrySet()) {
+        if (!entry.getValue().equals(FileState.of(entry.getKey()))) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  protected record FileState(long size, @NonNull FileTime lastModified) {
+
+    public static @Nullable FileState of(@NonNull Path file) {
+      try {
+        return new FileState(Files.size(file), Files.getLastModifiedTime(file));
+      } catch (IOException exception) {
+        return null;
+      }
+    }
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.cluster.sync;
+
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.node.console.Console;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import lombok.NonNull;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class DefaultDataSyncRegistryTest {
+
+  private static DefaultDataSyncRegistry registry(@NonNull Collection<String> entries) {
+    var registry = new DefaultDataSyncRegistry(Mockito.mock(Console.class));
+    registry.registerHandler(DataSyncHandler.<String>builder()
+      .key("entries")
+      .alwaysForce()
+      .converter(new DataSyncHandler.DataConverter<>() {
+        @Override
+        public void write(@NonNull DataBuf.Mutable target, @NonNull String data) {
+          target.writeString(data);
+        }
+
+        @Override
+        public @NonNull String parse(@NonNull DataBuf input) {
+          return input.readString();
+        }
+      })
+      .writer(entries::add)
+      .currentGetter(entry -> null)
+      .nameExtractor(entry -> entry.split("=")[0])
+      .dataCollector(() -> entries)
+      .build());
+    return registry;
+  }
+
+  private static List<String> readEntries(@NonNull DataBuf data) {
+    List<String> entries = new ArrayList<>();
+    Assertions.assertTrue(data.readBoolean());
+    while (data.readableBytes() > 0) {
+      Assertions.assertEquals("entries", data.readString());
+      try (var entry = data.readDataBuf()) {
+        entries.add(entry.readString());
+      }
+    }
+    return entries;
+  }
+
+  @Test
+  void testOnlyChangedEntriesAreSent() {
+    var local = registry(List.of("a=1", "b=2", "c=3"));
+    var remote = registry(List.of("a=1", "b=1"));
+
+    var digest = remote.prepareClusterDigest($ -> true);
+    var data = local.prepareClusterData(true, $ -> true, digest);
+
+    Assertions.assertEquals(List.of("b=2", "c=3"), readEntries(data));
+  }
+
+  @Test
+  void testFullSyncWithoutDigest() {
+    var local = registry(List.of("a=1", "b=2"));
+    var data = local.prepareClusterData(true, $ -> true, null);
+
+    Assertions.assertEquals(List.of("a=1", "b=2"), readEntries(data));
+  }
+
+  @Test
+  void testDeltaIsApplied() {
+    List<String> remoteEntries = new ArrayList<>(List.of("a=1"));
+    var remote = registry(remoteEntries);
+    var local = registry(List.of("a=1", "b=2"));
+
+    var data = local.prepareClusterData(true, $ -> true, remote.prepareClusterDigest($ -> true));
+    Assertions.assertNull(remote.handle(data, data.readBoolean()));
+    Assertions.assertEquals(List.of("a=1", "b=2"), remoteEntries);
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.cluster.util;
+
+import eu.cloudnetservice.driver.CloudNetVersion;
+import eu.cloudnetservice.driver.cluster.NetworkClusterNode;
+import eu.cloudnetservice.driver.cluster.NodeInfoSnapshot;
+import eu.cloudnetservice.driver.document.Document;
+import eu.cloudnetservice.driver.network.buffer.DataBufFactory;
+import eu.cloudnetservice.driver.service.ProcessSnapshot;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class NodeInfoSnapshotCodecTest {
+
+  private static final NetworkClusterNode NODE = new NetworkClusterNode("Node-1", List.of());
+  private static final CloudNetVersion VERSION = new CloudNetVersion(4, 0, 0, "abc", "RC", "Blizzard");
+
+  private static NodeInfoSnapshot snapshot(long creationTime, int usedMemory) {
+    return new NodeInfoSnapshot(
+      creationTime,
+      1000,
+      4096,
+      usedMemory,
+      512,
+      2,
+      false,
+      NODE,
+      VERSION,
+      ProcessSnapshot.empty(),
+      90,
+      Set.of(),
+      Document.newJsonDocument());
+  }
+
+  @Test
+  void testDeltasAreApplied() {
+    var sender = new NodeInfoSnapshotCodec();
+    var receiver = new NodeInfoSnapshotCodec();
+
+    for (var update = 0; update < NodeInfoSnapshotCodec.KEYFRAME_INTERVAL * 2; update++) {
+      var snapshot = snapshot(update, 100 + update);
+      Assertions.assertEquals(snapshot, receiver.decode(sender.encode(snapshot, Set.of("Node-2"))));
+    }
+  }
+
+  @Test
+  void testDeltaIsSmallerThanKeyframe() {
+    var codec = new NodeInfoSnapshotCodec();
+
+    var keyframe = codec.encode(snapshot(1, 100), Set.of("Node-2"));
+    var delta = codec.encode(snapshot(2, 200), Set.of("Node-2"));
+
+    Assertions.assertTrue(delta.readableBytes() < keyframe.readableBytes());
+  }
+
+  @Test
+  void testDeltaAfterGapIsDropped() {
+    var sender = new NodeInfoSnapshotCodec();
+    var receiver = new NodeInfoSnapshotCodec();
+
+    Assertions.assertNotNull(receiver.decode(sender.encode(snapshot(1, 100), Set.of("Node-2"))));
+    // simulate a lost update
+    sender.encode(snapshot(2, 200), Set.of("Node-2"));
+    Assertions.assertNull(receiver.decode(sender.encode(snapshot(3, 300), Set.of("Node-2"))));
+
+    // the next keyframe recovers the receiver
+    NodeInfoSnapshot decoded = null;
+    for (var update = 4; decoded == null; update++) {
+      decoded = receiver.decode(sender.encode(snapshot(update, 100 * update), Set.of("Node-2")));
+    }
+    Assertions.assertEquals(NodeInfoSnapshotCodec.KEYFRAME_INTERVAL + 1, decoded.creationTime());
+  }
+
+  @Test
+  void testNewTargetTriggersKeyframe() {
+    var sender = new NodeInfoSnapshotCodec();
+    var receiver = new NodeInfoSnapshotCodec();
+
+    sender.encode(snapshot(1, 100), Set.of("Node-2"));
+    var snapshot = snapshot(2, 200);
+    Assertions.assertEquals(snapshot, receiver.decode(sender.encode(snapshot, Set.of("Node-2", "Node-3"))));
+  }
+
+  @Test
+  void testGapRequestsKeyframe() {
+    var sender = new NodeInfoSnapshotCodec();
+    var receiver = new NodeInfoSnapshotCodec();
+    var requestedKeyframes = new ArrayList<String>();
+
+    receiver.decode(sender.encode(snapshot(1, 100), Set.of("Node-2")), requestedKeyframes::add);
+    // simulate a lost update
+    sender.encode(snapshot(2, 200), Set.of("Node-2"));
+    Assertions.assertNull(receiver.decode(sender.encode(snapshot(3, 300), Set.of("Node-2")), requestedKeyframes::add));
+    Assertions.assertEquals(List.of("Node-1"), requestedKeyframes);
+
+    // the sender sends a keyframe with the next update once requested
+    sender.requestKeyframe();
+    var snapshot = snapshot(4, 400);
+    var keyframe = sender.encode(snapshot, Set.of("Node-2"));
+    Assertions.assertEquals(snapshot, receiver.decode(keyframe, requestedKeyframes::add));
+    Assertions.assertEquals(1, requestedKeyframes.size());
+  }
+
+  @Test
+  void testOutdatedDeltaIsIgnored() {
+    var sender = new NodeInfoSnapshotCodec();
+    var receiver = new NodeInfoSnapshotCodec();
+
+    receiver.decode(sender.encode(snapshot(1, 100), Set.of("Node-2")));
+    var first = sender.encode(snapshot(2, 200), Set.of("Node-2"));
+    var second = sender.encode(snapshot(3, 300), Set.of("Node-2"));
+
+    var firstCopy = DataBufFactory.defaultFactory().copyOf(first);
+    Assertions.assertEquals(snapshot(2, 200), receiver.decode(first));
+    Assertions.assertEquals(snapshot(3, 300), receiver.decode(second));
+
+    // a delta which was already applied doesn't reset the state of the receiver
+    Assertions.assertNull(receiver.decode(firstCopy));
+    var snapshot = snapshot(4, 400);
+    Assertions.assertEquals(snapshot, receiver.decode(sender.encode(snapshot, Set.of("Node-2"))));
+  }
+
+  @Test
+  void testDeltaSupport() {
+    var codec = new NodeInfoSnapshotCodec();
+    Assertions.assertFalse(codec.supportsDeltas("Node-2"));
+
+    codec.deltaSupport("Node-2", true);
+    Assertions.assertTrue(codec.supportsDeltas("Node-2"));
+
+    codec.deltaSupport("Node-2", false);
+    Assertions.assertFalse(codec.supportsDeltas("Node-2"));
+  }
+}
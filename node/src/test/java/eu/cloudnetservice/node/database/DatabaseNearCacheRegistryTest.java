@@ -0,0 +1,108 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.node.database;
+
+import eu.cloudnetservice.driver.event.events.service.CloudServiceLifecycleChangeEvent;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import eu.cloudnetservice.node.cluster.sync.DataSyncHandler;
+import eu.cloudnetservice.node.cluster.sync.DataSyncRegistry;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+class DatabaseNearCacheRegistryTest {
+
+  @Test
+  void testSubscriptions() {
+    var registry = new DatabaseNearCacheRegistry(Mockito.mock(DataSyncRegistry.class));
+    registry.subscribe("players", "Lobby-1");
+    registry.subscribe("players", "Lobby-2");
+    registry.subscribe("stats", "Lobby-1");
+
+    Assertions.assertEquals(Set.of("Lobby-1", "Lobby-2"), Set.copyOf(registry.subscribers("players")));
+    Assertions.assertTrue(registry.subscribers("unknown").isEmpty());
+
+    registry.unsubscribe("players", "Lobby-2");
+    Assertions.assertEquals(Set.of("Lobby-1"), Set.copyOf(registry.subscribers("players")));
+
+    // deleting a database drops all of its subscriptions
+    registry.unsubscribeAll("stats");
+    Assertions.assertTrue(registry.subscribers("stats").isEmpty());
+    Assertions.assertEquals(Set.of("Lobby-1"), Set.copyOf(registry.subscribers("players")));
+
+    registry.unsubscribe("Lobby-1");
+    Assertions.assertTrue(registry.subscribers("players").isEmpty());
+    Assertions.assertTrue(registry.subscribers("stats").isEmpty());
+    // no message is sent without subscribers
+    Assertions.assertDoesNotThrow(() -> registry.invalidate("players", List.of("a")));
+  }
+
+  @Test
+  void testDeletedServicesAreUnsubscribed() {
+    var registry = new DatabaseNearCacheRegistry(Mockito.mock(DataSyncRegistry.class));
+    registry.subscribe("players", "Lobby-1");
+
+    var service = Mockito.mock(ServiceInfoSnapshot.class);
+    Mockito.when(service.name()).thenReturn("Lobby-1");
+
+    // stopping the service keeps the subscription
+    Mockito.when(service.lifeCycle()).thenReturn(ServiceLifeCycle.STOPPED);
+    registry.handleServiceLifecycleChange(new CloudServiceLifecycleChangeEvent(ServiceLifeCycle.RUNNING, service));
+    Assertions.assertEquals(Set.of("Lobby-1"), Set.copyOf(registry.subscribers("players")));
+
+    Mockito.when(service.lifeCycle()).thenReturn(ServiceLifeCycle.DELETED);
+    registry.handleServiceLifecycleChange(new CloudServiceLifecycleChangeEvent(ServiceLifeCycle.STOPPED, service));
+    Assertions.assertTrue(registry.subscribers("players").isEmpty());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static DataSyncHandler<DatabaseNearCacheRegistry.Subscription> syncHandler(DataSyncRegistry syncRegistry) {
+    ArgumentCaptor<DataSyncHandler<?>> captor = ArgumentCaptor.forClass(DataSyncHandler.class);
+    Mockito.verify(syncRegistry).registerHandler(captor.capture());
+    return (DataSyncHandler<DatabaseNearCacheRegistry.Subscription>) captor.getValue();
+  }
+
+  @Test
+  void testSubscriptionsAreSynced() throws Exception {
+    var syncRegistry = Mockito.mock(DataSyncRegistry.class);
+    var registry = new DatabaseNearCacheRegistry(syncRegistry);
+    registry.subscribe("players", "Lobby-1");
+
+    var handler = syncHandler(syncRegistry);
+    var subscription = new DatabaseNearCacheRegistry.Subscription("players", "Lobby-1");
+    Assertions.assertEquals(List.of(subscription), List.copyOf(handler.data()));
+    Assertions.assertEquals(subscription, handler.current(subscription));
+    Assertions.assertNull(handler.current(new DatabaseNearCacheRegistry.Subscription("players", "Lobby-2")));
+
+    var buffer = DataBuf.empty();
+    handler.serialize(buffer, subscription);
+
+    // a restarted node receives the subscriptions from the other nodes
+    var restartedSyncRegistry = Mockito.mock(DataSyncRegistry.class);
+    var restartedRegistry = new DatabaseNearCacheRegistry(restartedSyncRegistry);
+    var restartedHandler = syncHandler(restartedSyncRegistry);
+    restartedHandler.write(restartedHandler.converter().parse(buffer));
+
+    Assertions.assertEquals(Set.of("Lobby-1"), Set.copyOf(restartedRegistry.subscribers("players")));
+  }
+}
@@ -22,6 +22,7 @@
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
@@ -165,4 +166,157 @@ void testChunkedDataRead() {
     Assertions.assertEquals(expectedReadCounts, readsCalled);
     Assertions.assertTrue(keys.isEmpty());
   }
+
+  @Test
+  void testIndexedFind() throws Exception {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    Assertions.assertTrue(database.insert("1", Document.newJsonDocument().append("name", "a").append("group", "x")));
+    Assertions.assertTrue(database.insert("2", Document.newJsonDocument().append("name", "b").append("group", "x")));
+
+    // existing documents must be indexed when creating the index
+    database.createIndex("name");
+    Assertions.assertTrue(database.insert("3", Document.newJsonDocument().append("name", "a").append("group", "y")));
+
+    Assertions.assertEquals(2, database.find("name", "a").size());
+    Assertions.assertEquals(1, database.find("name", "b").size());
+    Assertions.assertEquals(1, database.find(Map.of("name", "a", "group", "y")).size());
+
+    // the index entry of the replaced document must be removed
+    Assertions.assertTrue(database.insert("1", Document.newJsonDocument().append("name", "c").append("group", "x")));
+    Assertions.assertEquals(1, database.find("name", "a").size());
+    Assertions.assertEquals(1, database.find("name", "c").size());
+
+    // the index entry of the deleted document must be removed
+    Assertions.assertTrue(database.delete("3"));
+    Assertions.assertTrue(database.find("name", "a").isEmpty());
+
+    // the index must be used by new instances of the database as well
+    this.databaseProvider.close();
+    this.databaseProvider.init();
+    Assertions.assertEquals(1, this.databaseProvider.database("test").find("name", "c").size());
+    Assertions.assertEquals(1, this.databaseProvider.databaseNames().size());
+  }
+
+  @Test
+  void testKeysetChunkedDataRead() {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    // fill in some data
+    var entries = 1235;
+    List<String> keys = new ArrayList<>();
+    for (var i = 0; i < entries; i++) {
+      var key = UUID.randomUUID().toString();
+
+      keys.add(key);
+      database.insert(key, Document.newJsonDocument().append("this_is", "a_world_test"));
+    }
+
+    List<String> iteratedKeys = new ArrayList<>();
+    database.iterate((key, $) -> iteratedKeys.add(key), 50);
+    Assertions.assertEquals(entries, iteratedKeys.size());
+    Assertions.assertTrue(iteratedKeys.containsAll(keys));
+
+    try (var stream = database.stream(50)) {
+      var streamedKeys = stream.map(Map.Entry::getKey).toList();
+      Assertions.assertEquals(iteratedKeys, streamedKeys);
+    }
+  }
+
+  @Test
+  void testBulkWrites() {
+    var database = this.databaseProvider.database("test");
+    Assertions.assertNotNull(database);
+
+    database.createIndex("name");
+    Assertions.assertTrue(database.insert("1", Document.newJsonDocument().append("name", "a")));
+
+    // bulk inserts must replace existing documents and maintain the index
+    Assertions.assertTrue(database.insertAll(Map.of(
+      "1", Document.newJsonDocument().append("name", "b"),
+      "2", Document.newJsonDocument().append("name", "b"),
+      "3", Document.newJsonDocument().append("name", "c"))));
+    Assertions.assertEquals(3, database.documentCount());
+    Assertions.assertTrue(database.find("name", "a").isEmpty());
+    Assertions.assertEquals(2, database.find("name", "b").size());
+
+    // only existing keys must be counted as deleted
+    Assertions.assertEquals(2, database.deleteAll(List.of("1", "3", "4")));
+    Assertions.assertEquals(1, database.documentCount());
+    Assertions.assertTrue(database.contains("2"));
+    Assertions.assertTrue(database.find("name", "c").isEmpty());
+  }
+
+  @Test
+  void testBufferedWritesAreFlushedOnClose() throws Exception {
+    var directory = Path.of("build", "tmp", "xodus-write-behind").toAbsolutePath();
+    try {
+      var provider = new WriteBehindXodusDatabaseProvider(directory);
+      provider.init();
+
+      // the write is buffered, but visible to key based reads
+      var database = provider.database("test");
+      Assertions.assertTrue(database.insert("1", Document.newJsonDocument().append("name", "a")));
+      Assertions.assertEquals("a", database.get("1").getString("name"));
+      Assertions.assertSame(database, provider.database("test"));
+
+      // closing the provider must write the buffered write before the environment is closed
+      provider.close();
+
+      var reopenedProvider = new XodusDatabaseProvider(directory.toFile(), false);
+      reopenedProvider.init();
+      try {
+        var reopenedDatabase = reopenedProvider.database("test");
+        Assertions.assertEquals(1, reopenedDatabase.documentCount());
+        Assertions.assertEquals("a", reopenedDatabase.get("1").getString("name"));
+      } finally {
+        reopenedProvider.close();
+      }
+    } finally {
+      FileUtil.delete(directory);
+    }
+  }
+
+  @Test
+  void testBufferedWritesAreVisibleToQueries() throws Exception {
+    var directory = Path.of("build", "tmp", "xodus-write-behind-queries").toAbsolutePath();
+    try {
+      var provider = new WriteBehindXodusDatabaseProvider(directory);
+      provider.init();
+      try {
+        var database = provider.database("test");
+        database.insert("1", Document.newJsonDocument().append("name", "a"));
+        database.insert("2", Document.newJsonDocument().append("name", "b"));
+        Assertions.assertEquals(1, database.find("name", "a").size());
+        Assertions.assertEquals(2, database.documentCount());
+
+        // buffered deletions must be visible to queries as well
+        database.delete("1");
+        database.insert("2", Document.newJsonDocument().append("name", "c"));
+        Assertions.assertTrue(database.find("name", "a").isEmpty());
+        Assertions.assertTrue(database.find("name", "b").isEmpty());
+        Assertions.assertEquals(Set.of("2"), Set.copyOf(database.keys()));
+        Assertions.assertEquals("c", database.documents().iterator().next().getString("name"));
+      } finally {
+        provider.close();
+      }
+    } finally {
+      FileUtil.delete(directory);
+    }
+  }
+
+  private static final class WriteBehindXodusDatabaseProvider extends XodusDatabaseProvider {
+
+    public WriteBehindXodusDatabaseProvider(Path directory) {
+      super(directory.toFile(), false);
+    }
+
+    @Override
+    protected long writeBehindIntervalMillis() {
+      // long enough to never flush while the test is running
+      return 60_000;
+    }
+  }
 }
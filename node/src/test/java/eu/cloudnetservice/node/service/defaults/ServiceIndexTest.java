@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults;
+
+import eu.cloudnetservice.driver.provider.SpecificCloudServiceProvider;
+import eu.cloudnetservice.driver.service.ServiceConfiguration;
+import eu.cloudnetservice.driver.service.ServiceId;
+import eu.cloudnetservice.driver.service.ServiceInfoSnapshot;
+import eu.cloudnetservice.driver.service.ServiceLifeCycle;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+public class ServiceIndexTest {
+
+  private static ServiceInfoSnapshot mockSnapshot(
+    UUID uniqueId,
+    String name,
+    String task,
+    Set<String> groups,
+    ServiceLifeCycle lifeCycle
+  ) {
+    var serviceId = Mockito.mock(ServiceId.class);
+    Mockito.when(serviceId.uniqueId()).thenReturn(uniqueId);
+    Mockito.when(serviceId.name()).thenReturn(name);
+    Mockito.when(serviceId.taskName()).thenReturn(task);
+    Mockito.when(serviceId.environmentName()).thenReturn("MINECRAFT_SERVER");
+
+    var configuration = Mockito.mock(ServiceConfiguration.class);
+    Mockito.when(configuration.groups()).thenReturn(groups);
+
+    var snapshot = Mockito.mock(ServiceInfoSnapshot.class);
+    Mockito.when(snapshot.serviceId()).thenReturn(serviceId);
+    Mockito.when(snapshot.configuration()).thenReturn(configuration);
+    Mockito.when(snapshot.lifeCycle()).thenReturn(lifeCycle);
+    return snapshot;
+  }
+
+  @Test
+  void testIndexedLookups() {
+    var index = new ServiceIndex();
+
+    var firstId = UUID.randomUUID();
+    var first = Mockito.mock(SpecificCloudServiceProvider.class);
+    index.add(mockSnapshot(firstId, "Lobby-1", "Lobby", Set.of("Global", "Lobby"), ServiceLifeCycle.RUNNING), first);
+
+    var secondId = UUID.randomUUID();
+    var second = Mockito.mock(SpecificCloudServiceProvider.class);
+    index.add(mockSnapshot(secondId, "Proxy-1", "Proxy", Set.of("Global"), ServiceLifeCycle.PREPARED), second);
+
+    Assertions.assertSame(first, index.byName("Lobby-1"));
+    Assertions.assertSame(second, index.byName("Proxy-1"));
+    Assertions.assertNull(index.byName("Lobby-2"));
+
+    Assertions.assertEquals(1, index.byTask("Lobby").size());
+    Assertions.assertTrue(index.byTask("Lobby").contains(first));
+    Assertions.assertTrue(index.byTask("Unknown").isEmpty());
+
+    Assertions.assertEquals(2, index.byGroup("Global").size());
+    Assertions.assertEquals(1, index.byGroup("Lobby").size());
+    Assertions.assertEquals(2, index.byEnvironment("MINECRAFT_SERVER").size());
+
+    Assertions.assertEquals(1, index.byLifeCycle(ServiceLifeCycle.RUNNING).size());
+    Assertions.assertTrue(index.byLifeCycle(ServiceLifeCycle.RUNNING).contains(first));
+  }
+
+  @Test
+  void testLifeCycleUpdate() {
+    var index = new ServiceIndex();
+
+    var uniqueId = UUID.randomUUID();
+    var provider = Mockito.mock(SpecificCloudServiceProvider.class);
+    index.add(mockSnapshot(uniqueId, "Lobby-1", "Lobby", Set.of(), ServiceLifeCycle.PREPARED), provider);
+    Assertions.assertTrue(index.byLifeCycle(ServiceLifeCycle.RUNNING).isEmpty());
+
+    index.updateLifeCycle(uniqueId, ServiceLifeCycle.RUNNING);
+    Assertions.assertTrue(index.byLifeCycle(ServiceLifeCycle.PREPARED).isEmpty());
+    Assertions.assertTrue(index.byLifeCycle(ServiceLifeCycle.RUNNING).contains(provider));
+
+    // updates of unknown services must be ignored
+    index.updateLifeCycle(UUID.randomUUID(), ServiceLifeCycle.STOPPED);
+    Assertions.assertTrue(index.byLifeCycle(ServiceLifeCycle.STOPPED).isEmpty());
+  }
+
+  @Test
+  void testRemoval() {
+    var index = new ServiceIndex();
+
+    var uniqueId = UUID.randomUUID();
+    var provider = Mockito.mock(SpecificCloudServiceProvider.class);
+    index.add(mockSnapshot(uniqueId, "Lobby-1", "Lobby", Set.of("Global"), ServiceLifeCycle.RUNNING), provider);
+    index.remove(uniqueId);
+
+    Assertions.assertNull(index.byName("Lobby-1"));
+    Assertions.assertTrue(index.byTask("Lobby").isEmpty());
+    Assertions.assertTrue(index.byGroup("Global").isEmpty());
+    Assertions.assertTrue(index.byEnvironment("MINECRAFT_SERVER").isEmpty());
+    Assertions.assertTrue(index.byLifeCycle(ServiceLifeCycle.RUNNING).isEmpty());
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.service.defaults.log;
+
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+class ServiceLogRingBufferTest {
+
+  @Test
+  void testOldestLinesAreOverwritten() {
+    var buffer = new ServiceLogRingBuffer(3);
+    for (var line = 0; line < 5; line++) {
+      Assertions.assertTrue(buffer.offer("line " + line));
+    }
+
+    Assertions.assertEquals(3, buffer.size());
+    Assertions.assertEquals(2, buffer.droppedLines());
+    Assertions.assertEquals(List.of("line 2", "line 3", "line 4"), List.copyOf(buffer));
+
+    Assertions.assertEquals("line 2", buffer.poll());
+    Assertions.assertEquals("line 3", buffer.peek());
+    Assertions.assertEquals(2, buffer.size());
+  }
+
+  @Test
+  void testCapacityChangeKeepsNewestLines() {
+    var buffer = new ServiceLogRingBuffer(4);
+    for (var line = 0; line < 6; line++) {
+      buffer.offer("line " + line);
+    }
+
+    buffer.capacity(2);
+    Assertions.assertEquals(List.of("line 4", "line 5"), List.copyOf(buffer));
+    Assertions.assertEquals(4, buffer.droppedLines());
+
+    buffer.capacity(3);
+    buffer.offer("line 6");
+    Assertions.assertEquals(List.of("line 4", "line 5", "line 6"), List.copyOf(buffer));
+  }
+
+  @Test
+  void testZeroCapacityDropsEverything() {
+    var buffer = new ServiceLogRingBuffer(0);
+    buffer.offer("line");
+
+    Assertions.assertTrue(buffer.isEmpty());
+    Assertions.assertNull(buffer.poll());
+    Assertions.assertEquals(1, buffer.droppedLines());
+  }
+}
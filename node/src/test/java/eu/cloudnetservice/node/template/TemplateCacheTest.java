@@ -0,0 +1,138 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.node.template;
+
+import eu.cloudnetservice.common.io.FileUtil;
+import eu.cloudnetservice.driver.service.ServiceTemplate;
+import eu.cloudnetservice.driver.template.TemplateStorage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
+import org.mockito.Mockito;
+
+class TemplateCacheTest {
+
+  private static final Path HOME_PATH = Path.of("build", "tmp", "template_cache");
+  private static final ServiceTemplate TEMPLATE = ServiceTemplate.builder()
+    .prefix("global")
+    .name("lobby")
+    .storage("local")
+    .build();
+
+  private static LocalTemplateStorage storage;
+  // the local storage itself is never cached, use a storage which isn't known to the cache
+  private static TemplateStorage remoteStorage;
+
+  @BeforeAll
+  static void setupStorage() throws IOException {
+    storage = new LocalTemplateStorage(HOME_PATH.resolve("templates"));
+    remoteStorage = Mockito.mock(TemplateStorage.class, AdditionalAnswers.delegatesTo(storage));
+    Assertions.assertTrue(storage.create(TEMPLATE));
+
+    try (var stream = storage.newOutputStream(TEMPLATE, "plugins/plugin.jar")) {
+      Assertions.assertNotNull(stream);
+      stream.write(new byte[]{1, 2, 3});
+    }
+
+    try (var stream = storage.newOutputStream(TEMPLATE, "server.properties")) {
+      Assertions.assertNotNull(stream);
+      stream.write(new byte[]{4, 5, 6});
+    }
+  }
+
+  @AfterAll
+  static void closeStorage() {
+    storage.close();
+    FileUtil.delete(HOME_PATH);
+    FileUtil.delete(FileUtil.TEMP_DIR.resolve("caches").resolve("templates"));
+  }
+
+  @Test
+  void testTemplateMaterialization() throws IOException {
+    var cache = new TemplateCache();
+    var firstService = HOME_PATH.resolve("services").resolve("Lobby-1");
+    var secondService = HOME_PATH.resolve("services").resolve("Lobby-2");
+
+    Assertions.assertTrue(cache.pull(remoteStorage, TEMPLATE, firstService));
+    Assertions.assertTrue(cache.pull(remoteStorage, TEMPLATE, secondService));
+
+    // both services must have all files of the template
+    for (var service : new Path[]{firstService, secondService}) {
+      Assertions.assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(service.resolve("plugins/plugin.jar")));
+      Assertions.assertArrayEquals(new byte[]{4, 5, 6}, Files.readAllBytes(service.resolve("server.properties")));
+    }
+
+    // mutable files must never be shared between services
+    Files.write(firstService.resolve("server.properties"), new byte[]{7});
+    Assertions.assertArrayEquals(new byte[]{4, 5, 6}, Files.readAllBytes(secondService.resolve("server.properties")));
+
+    // changes to the template must be visible to services pulling the template afterwards
+    try (var stream = storage.newOutputStream(TEMPLATE, "plugins/other.jar")) {
+      Assertions.assertNotNull(stream);
+      stream.write(new byte[]{8});
+    }
+
+    var thirdService = HOME_PATH.resolve("services").resolve("Lobby-3");
+    Assertions.assertTrue(cache.pull(remoteStorage, TEMPLATE, thirdService));
+    Assertions.assertArrayEquals(new byte[]{8}, Files.readAllBytes(thirdService.resolve("plugins/other.jar")));
+  }
+
+  @Test
+  void testServiceWritesAreNotShared() throws IOException {
+    var cache = new TemplateCache();
+    var firstService = HOME_PATH.resolve("services").resolve("Proxy-1");
+    var secondService = HOME_PATH.resolve("services").resolve("Proxy-2");
+    Assertions.assertTrue(cache.pull(remoteStorage, TEMPLATE, firstService));
+    Assertions.assertTrue(cache.pull(remoteStorage, TEMPLATE, secondService));
+
+    // write into a copied file of one service, this must neither be visible to other services nor to the cache
+    Files.write(firstService.resolve("server.properties"), new byte[]{9, 9, 9, 9});
+    Assertions.assertArrayEquals(new byte[]{4, 5, 6}, Files.readAllBytes(secondService.resolve("server.properties")));
+
+    // write into a (possibly) linked file in place, the cache must notice the change and pull the template again
+    Files.write(firstService.resolve("plugins/plugin.jar"), new byte[]{9, 9, 9, 9});
+
+    var thirdService = HOME_PATH.resolve("services").resolve("Proxy-3");
+    Assertions.assertTrue(cache.pull(remoteStorage, TEMPLATE, thirdService));
+    Assertions.assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(thirdService.resolve("plugins/plugin.jar")));
+    Assertions.assertArrayEquals(new byte[]{4, 5, 6}, Files.readAllBytes(thirdService.resolve("server.properties")));
+  }
+
+  @Test
+  void testLocalStorageIsNotCached() throws IOException {
+    var cache = new TemplateCache();
+    var service = HOME_PATH.resolve("services").resolve("Lobby-5");
+    Assertions.assertTrue(cache.pull(storage, TEMPLATE, service));
+    Assertions.assertArrayEquals(new byte[]{1, 2, 3}, Files.readAllBytes(service.resolve("plugins/plugin.jar")));
+    Assertions.assertTrue(cache.cachedTemplates.isEmpty());
+  }
+
+  @Test
+  void testEmptyDirectoriesAreMaterialized() {
+    Assertions.assertTrue(storage.createDirectory(TEMPLATE, "world/region"));
+
+    var cache = new TemplateCache();
+    var service = HOME_PATH.resolve("services").resolve("Lobby-4");
+    Assertions.assertTrue(cache.pull(remoteStorage, TEMPLATE, service));
+    Assertions.assertTrue(Files.isDirectory(service.resolve("world").resolve("region")));
+  }
+}
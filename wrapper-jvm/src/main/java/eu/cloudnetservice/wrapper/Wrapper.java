@@ -23,7 +23,7 @@
 import eu.cloudnetservice.common.log.LoggingUtil;
 import eu.cloudnetservice.common.log.defaults.DefaultFileHandler;
 import eu.cloudnetservice.common.log.defaults.DefaultLogFormatter;
-import eu.cloudnetservice.common.log.defaults.ThreadedLogRecordDispatcher;
+import eu.cloudnetservice.common.log.defaults.RingBufferLogRecordDispatcher;
 import eu.cloudnetservice.driver.event.EventManager;
 import eu.cloudnetservice.driver.module.DefaultModuleProviderHandler;
 import eu.cloudnetservice.driver.module.ModuleProvider;
@@ -40,6 +40,7 @@
 import eu.cloudnetservice.wrapper.network.chunk.TemplateStorageCallbackListener;
 import eu.cloudnetservice.wrapper.network.listener.PacketAuthorizationResponseListener;
 import eu.cloudnetservice.wrapper.network.listener.PacketServerChannelMessageListener;
+import eu.cloudnetservice.wrapper.network.listener.message.DatabaseChannelMessageListener;
 import eu.cloudnetservice.wrapper.network.listener.message.GroupChannelMessageListener;
 import eu.cloudnetservice.wrapper.network.listener.message.ServiceChannelMessageListener;
 import eu.cloudnetservice.wrapper.network.listener.message.TaskChannelMessageListener;
@@ -79,7 +80,7 @@ private void setupLogger(@NonNull @Named("root") Logger logger) {
     var logFilePattern = Path.of(".wrapper", "logs", "wrapper.%g.log");
 
     logger.setLevel(LoggingUtil.defaultLogLevel());
-    logger.logRecordDispatcher(ThreadedLogRecordDispatcher.forLogger(logger));
+    logger.logRecordDispatcher(RingBufferLogRecordDispatcher.forLogger(logger));
 
     logger.addHandler(InternalPrintStreamLogHandler.forSystemStreams().withFormatter(DefaultLogFormatter.END_CLEAN));
     logger.addHandler(DefaultFileHandler
@@ -192,6 +193,7 @@ private void registerDefaultListeners(@NonNull EventManager eventManager) {
     eventManager.registerListener(TaskChannelMessageListener.class);
     eventManager.registerListener(GroupChannelMessageListener.class);
     eventManager.registerListener(ServiceChannelMessageListener.class);
+    eventManager.registerListener(DatabaseChannelMessageListener.class);
     eventManager.registerListener(TemplateStorageCallbackListener.class);
   }
 
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.database;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import eu.cloudnetservice.common.concurrent.Task;
+import eu.cloudnetservice.driver.database.Database;
+import eu.cloudnetservice.driver.document.Document;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A database which caches the documents and query results of another database locally. The cache is bounded in size
+ * and each entry expires after a fixed duration. Writes made through this database invalidate the changed entries
+ * directly, writes made through other services are invalidated when the node notifies this service about them.
+ * Because a query result might be affected by any change, all cached query results are dropped on each change.
+ */
+public final class NearCachedDatabase implements Database {
+
+  private static final Object DOCUMENT_COUNT_KEY = new Object();
+
+  private final Database delegate;
+  private final Runnable closeListener;
+  private final Cache<String, Optional<Document>> documents;
+  private final Cache<Object, Object> queries;
+
+  // incremented on each invalidation to prevent caching results which were loaded before the invalidation
+  private final AtomicLong generation = new AtomicLong();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder invalidations = new LongAdder();
+
+  public NearCachedDatabase(@NonNull Database delegate, long maximumSize, @NonNull Duration expireAfterWrite) {
+    this(delegate, maximumSize, expireAfterWrite, () -> {
+    });
+  }
+
+  public NearCachedDatabase(
+    @NonNull Database delegate,
+    long maximumSize,
+    @NonNull Duration expireAfterWrite,
+    @NonNull Runnable closeListener
+  ) {
+    this.delegate = delegate;
+    this.closeListener = closeListener;
+    this.documents = Caffeine.newBuilder()
+      .maximumSize(maximumSize)
+      .expireAfterWrite(expireAfterWrite)
+      .build();
+    this.queries = Caffeine.newBuilder()
+      .maximumSize(maximumSize)
+      .expireAfterWrite(expireAfterWrite)
+      .build();
+  }
+
+  public @NonNull Database delegate() {
+    return this.delegate;
+  }
+
+  public @NonNull NearCacheStatistics statistics() {
+    return new NearCacheStatistics(this.hits.sum(), this.misses.sum(), this.invalidations.sum());
+  }
+
+  public void invalidate(@Nullable Collection<String> keys) {
+    this.generation.incrementAndGet();
+    this.invalidations.increment();
+
+    // null keys indicate that the whole database was changed
+    if (keys == null) {
+      this.documents.invalidateAll();
+    } else {
+      this.documents.invalidateAll(keys);
+    }
+    this.queries.invalidateAll();
+  }
+
+  @Override
+  public @NonNull String name() {
+    return this.delegate.name();
+  }
+
+  @Override
+  public boolean insert(@NonNull String key, @NonNull Document document) {
+    try {
+      return this.delegate.insert(key, document);
+    } finally {
+      this.invalidate(Set.of(key));
+    }
+  }
+
+  @Override
+  public boolean insertAll(@NonNull Map<String, Document> documents) {
+    try {
+      return this.delegate.insertAll(documents);
+    } finally {
+      this.invalidate(documents.keySet());
+    }
+  }
+
+  @Override
+  public boolean contains(@NonNull String key) {
+    var document = this.documents.getIfPresent(key);
+    if (document != null) {
+      this.hits.increment();
+      return document.isPresent();
+    }
+
+    this.misses.increment();
+    return this.delegate.contains(key);
+  }
+
+  @Override
+  public boolean delete(@NonNull String key) {
+    try {
+      return this.delegate.delete(key);
+    } finally {
+      this.invalidate(Set.of(key));
+    }
+  }
+
+  @Override
+  public long deleteAll(@NonNull Collection<String> keys) {
+    try {
+      return this.delegate.deleteAll(keys);
+    } finally {
+      this.invalidate(keys);
+    }
+  }
+
+  @Override
+  public @Nullable Document get(@NonNull String key) {
+    var document = this.documents.getIfPresent(key);
+    if (document != null) {
+      this.hits.increment();
+      return document.orElse(null);
+    }
+
+    this.misses.increment();
+    var generation = this.generation.get();
+    var loaded = Optional.ofNullable(this.delegate.get(key));
+    this.cacheIfUnchanged(generation, this.documents, key, loaded);
+    return loaded.orElse(null);
+  }
+
+  @Override
+  public @NonNull Task<Document> getAsync(@NonNull String key) {
+    // serve cache hits without switching to another thread
+    var document = this.documents.getIfPresent(key);
+    if (document != null) {
+      this.hits.increment();
+      return Task.completedTask(document.orElse(null));
+    }
+
+    return Database.super.getAsync(key);
+  }
+
+  @Override
+  public @NonNull Collection<Document> find(@NonNull String fieldName, @Nullable String fieldValue) {
+    // the cached result is shared between all callers, prevent modifications to it
+    return this.cachedQuery(
+      new FieldQuery(fieldName, fieldValue),
+      () -> List.copyOf(this.delegate.find(fieldName, fieldValue)));
+  }
+
+  @Override
+  public @NonNull Collection<Document> find(@NonNull Map<String, String> filters) {
+    return this.cachedQuery(Map.copyOf(filters), () -> List.copyOf(this.delegate.find(filters)));
+  }
+
+  @Override
+  public @NonNull Collection<String> keys() {
+    return this.delegate.keys();
+  }
+
+  @Override
+  public @NonNull Collection<Document> documents() {
+    return this.delegate.documents();
+  }
+
+  @Override
+  public @NonNull Map<String, Document> entries() {
+    return this.delegate.entries();
+  }
+
+  @Override
+  public void clear() {
+    try {
+      this.delegate.clear();
+    } finally {
+      this.invalidate(null);
+    }
+  }
+
+  @Override
+  public long documentCount() {
+    return this.cachedQuery(DOCUMENT_COUNT_KEY, this.delegate::documentCount);
+  }
+
+  @Override
+  public boolean synced() {
+    return this.delegate.synced();
+  }
+
+  @Override
+  public void close() throws Exception {
+    this.documents.invalidateAll();
+    this.queries.invalidateAll();
+    try {
+      this.delegate.close();
+    } finally {
+      this.closeListener.run();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> @NonNull T cachedQuery(@NonNull Object key, @NonNull Supplier<T> loader) {
+    var cached = this.queries.getIfPresent(key);
+    if (cached != null) {
+      this.hits.increment();
+      return (T) cached;
+    }
+
+    this.misses.increment();
+    var generation = this.generation.get();
+    var result = loader.get();
+    this.cacheIfUnchanged(generation, this.queries, key, result);
+    return result;
+  }
+
+  private <K, V> void cacheIfUnchanged(long generation, @NonNull Cache<K, V> cache, @NonNull K key, @NonNull V value) {
+    cache.put(key, value);
+    // an invalidation happened while loading, the loaded value might be outdated already
+    if (this.generation.get() != generation) {
+      cache.invalidate(key);
+    }
+  }
+
+  private record FieldQuery(@NonNull String fieldName, @Nullable String fieldValue) {
+
+  }
+
+  /**
+   * The statistics of a near-cached database.
+   *
+   * @param hits          the amount of reads which were served from the cache.
+   * @param misses        the amount of reads which had to be sent to the node.
+   * @param invalidations the amount of changes which invalidated cached entries.
+   */
+  public record NearCacheStatistics(long hits, long misses, long invalidations) {
+
+  }
+}
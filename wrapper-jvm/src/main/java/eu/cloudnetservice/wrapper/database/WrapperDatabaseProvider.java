@@ -16,15 +16,24 @@
 
 package eu.cloudnetservice.wrapper.database;
 
+import eu.cloudnetservice.driver.channel.ChannelMessage;
 import eu.cloudnetservice.driver.database.Database;
 import eu.cloudnetservice.driver.database.DatabaseProvider;
+import eu.cloudnetservice.driver.network.buffer.DataBuf;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
 import eu.cloudnetservice.driver.network.rpc.RPCSender;
 import eu.cloudnetservice.driver.network.rpc.generation.GenerationContext;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
+import org.jetbrains.annotations.Nullable;
 
 public abstract class WrapperDatabaseProvider implements DatabaseProvider {
 
   private final RPCSender rpcSender;
+  private final Map<String, NearCachedDatabase> nearCachedDatabases = new ConcurrentHashMap<>();
 
   public WrapperDatabaseProvider(@NonNull RPCSender sender) {
     this.rpcSender = sender;
@@ -38,4 +47,49 @@ public WrapperDatabaseProvider(@NonNull RPCSender sender) {
       GenerationContext.forClass(WrapperDatabase.class).build()
     ).newInstance(name);
   }
+
+  /**
+   * Get a database which caches the documents and query results of the database with the given name locally. The nodes
+   * notify this service about changes to the database, invalidating the changed entries. The cache settings are only
+   * applied when the near-cached database is created initially.
+   *
+   * @param name             the name of the database to cache.
+   * @param maximumSize      the maximum amount of cached documents and query results.
+   * @param expireAfterWrite the duration after which a cached entry expires.
+   * @return the near-cached database with the given name.
+   * @throws NullPointerException if the given name or duration is null.
+   */
+  public @NonNull NearCachedDatabase nearCachedDatabase(
+    @NonNull String name,
+    long maximumSize,
+    @NonNull Duration expireAfterWrite
+  ) {
+    return this.nearCachedDatabases.computeIfAbsent(name, $ -> {
+      // subscribe to the changes of the database on all nodes, the nodes sync the subscriptions when reconnecting
+      this.sendNearCacheSubscription(NetworkConstants.DATABASE_NEAR_CACHE_SUBSCRIBE, name);
+      return new NearCachedDatabase(this.database(name), maximumSize, expireAfterWrite, () -> {
+        // stop receiving the changes once the database was closed
+        if (this.nearCachedDatabases.remove(name) != null) {
+          this.sendNearCacheSubscription(NetworkConstants.DATABASE_NEAR_CACHE_UNSUBSCRIBE, name);
+        }
+      });
+    });
+  }
+
+  private void sendNearCacheSubscription(@NonNull String message, @NonNull String name) {
+    ChannelMessage.builder()
+      .targetNodes()
+      .channel(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      .message(message)
+      .buffer(DataBuf.empty().writeString(name))
+      .build()
+      .send();
+  }
+
+  public void invalidateNearCache(@NonNull String name, @Nullable Collection<String> keys) {
+    var database = this.nearCachedDatabases.get(name);
+    if (database != null) {
+      database.invalidate(keys);
+    }
+  }
 }
@@ -0,0 +1,44 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package eu.cloudnetservice.wrapper.network.listener.message;
+
+import eu.cloudnetservice.driver.database.DatabaseProvider;
+import eu.cloudnetservice.driver.event.EventListener;
+import eu.cloudnetservice.driver.event.events.channel.ChannelMessageReceiveEvent;
+import eu.cloudnetservice.driver.network.def.NetworkConstants;
+import eu.cloudnetservice.wrapper.database.WrapperDatabaseProvider;
+import io.leangen.geantyref.TypeFactory;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import lombok.NonNull;
+
+public final class DatabaseChannelMessageListener {
+
+  private static final Type KEYS_TYPE = TypeFactory.parameterizedClass(Collection.class, String.class);
+
+  @EventListener
+  public void handleChannelMessage(@NonNull ChannelMessageReceiveEvent event, @NonNull DatabaseProvider provider) {
+    if (event.channel().equals(NetworkConstants.INTERNAL_MSG_CHANNEL)
+      && event.message().equals(NetworkConstants.DATABASE_NEAR_CACHE_INVALIDATE)
+      && provider instanceof WrapperDatabaseProvider wrapperDatabaseProvider) {
+      // null keys indicate that the whole database was changed
+      var database = event.content().readString();
+      Collection<String> keys = event.content().readNullable(buf -> buf.readObject(KEYS_TYPE));
+      wrapperDatabaseProvider.invalidateNearCache(database, keys);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019-2023 CloudNetService team & contributors
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package eu.cloudnetservice.wrapper.database;
+
+import eu.cloudnetservice.driver.database.Database;
+import eu.cloudnetservice.driver.document.Document;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class NearCachedDatabaseTest {
+
+  private static NearCachedDatabase nearCachedDatabase(Database delegate) {
+    return new NearCachedDatabase(delegate, 100, Duration.ofMinutes(1));
+  }
+
+  @Test
+  void testDocumentsAreCached() {
+    var document = Mockito.mock(Document.class);
+    var delegate = Mockito.mock(Database.class);
+    Mockito.when(delegate.get("a")).thenReturn(document);
+
+    var database = nearCachedDatabase(delegate);
+    Assertions.assertSame(document, database.get("a"));
+    Assertions.assertSame(document, database.get("a"));
+    Assertions.assertTrue(database.contains("a"));
+
+    Mockito.verify(delegate, Mockito.times(1)).get("a");
+    Mockito.verify(delegate, Mockito.never()).contains("a");
+    Assertions.assertEquals(new NearCachedDatabase.NearCacheStatistics(2, 1, 0), database.statistics());
+  }
+
+  @Test
+  void testMissingDocumentsAreCached() {
+    var delegate = Mockito.mock(Database.class);
+
+    var database = nearCachedDatabase(delegate);
+    Assertions.assertNull(database.get("a"));
+    Assertions.assertNull(database.get("a"));
+    Assertions.assertFalse(database.contains("a"));
+
+    Mockito.verify(delegate, Mockito.times(1)).get("a");
+    Mockito.verify(delegate, Mockito.never()).contains("a");
+  }
+
+  @Test
+  void testWritesInvalidateTheChangedDocuments() {
+    var delegate = Mockito.mock(Database.class);
+    Mockito.when(delegate.get(Mockito.anyString())).thenReturn(Mockito.mock(Document.class));
+
+    var database = nearCachedDatabase(delegate);
+    database.get("a");
+    database.get("b");
+
+    database.insert("a", Mockito.mock(Document.class));
+    database.get("a");
+    database.get("b");
+
+    Mockito.verify(delegate, Mockito.times(2)).get("a");
+    Mockito.verify(delegate, Mockito.times(1)).get("b");
+    Assertions.assertEquals(1, database.statistics().invalidations());
+
+    database.clear();
+    database.get("b");
+    Mockito.verify(delegate, Mockito.times(2)).get("b");
+  }
+
+  @Test
+  void testInvalidationWhileLoadingIsNotCached() {
+    var delegate = Mockito.mock(Database.class);
+    var database = nearCachedDatabase(delegate);
+    Mockito.when(delegate.get("a")).thenAnswer(invocation -> {
+      // the document is changed by another service while it is loaded
+      database.invalidate(Set.of("a"));
+      return Mockito.mock(Document.class);
+    });
+
+    database.get("a");
+    database.get("a");
+
+    Mockito.verify(delegate, Mockito.times(2)).get("a");
+  }
+
+  @Test
+  void testQueryResultsAreCachedAndUnmodifiable() {
+    var delegate = Mockito.mock(Database.class);
+    Mockito.when(delegate.find("name", "value")).thenReturn(new ArrayList<>(List.of(Mockito.mock(Document.class))));
+    Mockito.when(delegate.find(Map.of("name", "value"))).thenReturn(new ArrayList<>());
+    Mockito.when(delegate.documentCount()).thenReturn(5L);
+
+    var database = nearCachedDatabase(delegate);
+    var result = database.find("name", "value");
+    Assertions.assertEquals(1, result.size());
+    Assertions.assertSame(result, database.find("name", "value"));
+    Assertions.assertThrows(UnsupportedOperationException.class, result::clear);
+
+    var filterResult = database.find(Map.of("name", "value"));
+    Assertions.assertThrows(UnsupportedOperationException.class, () -> filterResult.add(null));
+
+    Assertions.assertEquals(5, database.documentCount());
+    Assertions.assertEquals(5, database.documentCount());
+    Mockito.verify(delegate, Mockito.times(1)).documentCount();
+    Mockito.verify(delegate, Mockito.times(1)).find("name", "value");
+  }
+
+  @Test
+  void testQueryResultsAreDroppedOnChanges() {
+    var delegate = Mockito.mock(Database.class);
+    Mockito.when(delegate.find("name", "value")).thenReturn(List.of());
+
+    var database = nearCachedDatabase(delegate);
+    database.find("name", "value");
+    // any change might affect the result of a query
+    database.invalidate(Set.of("unrelated"));
+    database.find("name", "value");
+
+    Mockito.verify(delegate, Mockito.times(2)).find("name", "value");
+  }
+
+  @Test
+  void testCloseNotifiesTheCloseListener() throws Exception {
+    var closed = new AtomicBoolean();
+    var delegate = Mockito.mock(Database.class);
+
+    var database = new NearCachedDatabase(delegate, 100, Duration.ofMinutes(1), () -> closed.set(true));
+    database.close();
+
+    Assertions.assertTrue(closed.get());
+    Mockito.verify(delegate).close();
+  }
+}